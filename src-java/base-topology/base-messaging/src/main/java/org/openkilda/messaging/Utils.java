@@ -28,6 +28,10 @@ public final class Utils {
      * Common object mapper.
      */
     public static final ObjectMapper MAPPER = new ObjectMapper();
+    /**
+     * Common object mapper of the binary wire format.
+     */
+    public static final ObjectMapper BINARY_MAPPER = WireCodec.createBinaryMapper();
     /**
      * The request timestamp attribute.
      */
@@ -0,0 +1,114 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encodes and decodes Kafka record values. Values of the topics listed as binary are encoded with
+ * {@link WireFormat#SMILE}, other ones with {@link WireFormat#JSON}. Decoding detects the format of each value, so
+ * JSON records are accepted on binary topics as well, e.g. from producers which are not switched yet.
+ */
+public class WireCodec {
+    /**
+     * Comma separated list of the binary topics, expected in the Kafka client configuration.
+     */
+    public static final String BINARY_TOPICS_CONFIG = "openkilda.wire.binary.topics";
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper binaryMapper;
+    private final Set<String> binaryTopics;
+
+    public WireCodec(ObjectMapper jsonMapper, ObjectMapper binaryMapper, Set<String> binaryTopics) {
+        this.jsonMapper = jsonMapper;
+        this.binaryMapper = binaryMapper;
+        this.binaryTopics = ImmutableSet.copyOf(binaryTopics);
+    }
+
+    /**
+     * Creates an object mapper of {@link WireFormat#SMILE}. Modules of the JSON mapper must be registered on it.
+     */
+    public static ObjectMapper createBinaryMapper() {
+        SmileFactory factory = new SmileFactory();
+        factory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+        return new ObjectMapper(factory);
+    }
+
+    /**
+     * Reads the binary topics from the Kafka client configuration.
+     */
+    public static Set<String> getBinaryTopics(Map<String, ?> configs) {
+        Object topics = configs.get(BINARY_TOPICS_CONFIG);
+        if (topics == null) {
+            return ImmutableSet.of();
+        }
+        return ImmutableSet.copyOf(Splitter.on(',').trimResults().omitEmptyStrings().split(topics.toString()));
+    }
+
+    public WireFormat getFormat(String topic) {
+        return binaryTopics.contains(topic) ? WireFormat.SMILE : WireFormat.JSON;
+    }
+
+    /**
+     * Encodes the value in the format of the topic.
+     */
+    public byte[] encode(String topic, Object value) throws IOException {
+        return getMapper(getFormat(topic)).writeValueAsBytes(value);
+    }
+
+    /**
+     * Decodes the value of either format.
+     */
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        return getMapper(WireFormat.detect(data)).readValue(data, type);
+    }
+
+    /**
+     * Decodes the value of either format.
+     */
+    public <T> T decode(byte[] data, TypeReference<T> type) throws IOException {
+        return getMapper(WireFormat.detect(data)).readValue(data, type);
+    }
+
+    /**
+     * Returns the text of a JSON value or the length and Base64 of a binary one, to be written into logs.
+     */
+    public static String toLogString(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (WireFormat.detect(data) == WireFormat.SMILE) {
+            return String.format("<%s %d bytes: %s>", WireFormat.SMILE, data.length,
+                    Base64.getEncoder().encodeToString(data));
+        }
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    private ObjectMapper getMapper(WireFormat format) {
+        return format == WireFormat.SMILE ? binaryMapper : jsonMapper;
+    }
+}
@@ -0,0 +1,50 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging;
+
+/**
+ * Encodings of Kafka record values.
+ */
+public enum WireFormat {
+    /**
+     * Jackson JSON, the default encoding.
+     */
+    JSON,
+
+    /**
+     * Smile, the binary JSON of Jackson. Repeated property names and short string values are written as back
+     * references, so collections of similar objects (e.g. stats entries) are encoded several times more compact
+     * and faster than with JSON. Every record starts with the Smile header, so the format is detected on decoding.
+     */
+    SMILE;
+
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+    /**
+     * Detects the format of the encoded value.
+     */
+    public static WireFormat detect(byte[] data) {
+        if (data == null || data.length < SMILE_HEADER.length) {
+            return JSON;
+        }
+        for (int i = 0; i < SMILE_HEADER.length; i++) {
+            if (data[i] != SMILE_HEADER[i]) {
+                return JSON;
+            }
+        }
+        return SMILE;
+    }
+}
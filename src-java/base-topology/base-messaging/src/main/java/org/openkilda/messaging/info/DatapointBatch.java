@@ -0,0 +1,70 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Several datapoints sent to OpenTSDB topology as a single message.
+ */
+@JsonSerialize
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DatapointBatch extends InfoData {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("datapoints")
+    private List<Datapoint> datapoints;
+
+    @JsonCreator
+    public DatapointBatch(@JsonProperty("datapoints") List<Datapoint> datapoints) {
+        this.datapoints = datapoints;
+    }
+
+    public List<Datapoint> getDatapoints() {
+        return datapoints;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Objects.equals(datapoints, ((DatapointBatch) o).getDatapoints());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(datapoints);
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("datapoints", datapoints)
+                .toString();
+    }
+}
@@ -0,0 +1,127 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.reroute.RerouteAffectedInactiveFlows;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsEntry;
+import org.openkilda.model.SwitchId;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+public class WireCodecTest {
+    private static final String JSON_TOPIC = "kilda.json";
+    private static final String BINARY_TOPIC = "kilda.binary";
+    private static final SwitchId SWITCH_ID = new SwitchId("00:00:00:00:00:00:00:01");
+
+    private final WireCodec codec = new WireCodec(
+            Utils.MAPPER, Utils.BINARY_MAPPER, ImmutableSet.of(BINARY_TOPIC));
+
+    @Test
+    public void shouldEncodeInFormatOfTopic() throws Exception {
+        Message message = makeStatsMessage(1);
+
+        assertEquals(WireFormat.JSON, WireFormat.detect(codec.encode(JSON_TOPIC, message)));
+        assertEquals(WireFormat.SMILE, WireFormat.detect(codec.encode(BINARY_TOPIC, message)));
+    }
+
+    @Test
+    public void shouldRoundTripStatsMessage() throws Exception {
+        verifyRoundTrip(makeStatsMessage(100));
+    }
+
+    @Test
+    public void shouldRoundTripDiscoveryMessage() throws Exception {
+        IslInfoData isl = new IslInfoData(
+                new PathNode(SWITCH_ID, 1, 0), new PathNode(new SwitchId(2), 2, 1), IslChangeType.DISCOVERED, false);
+        verifyRoundTrip(new InfoMessage(isl, System.currentTimeMillis(), "discovery"));
+    }
+
+    @Test
+    public void shouldRoundTripCommandMessage() throws Exception {
+        verifyRoundTrip(new CommandMessage(
+                new RerouteAffectedInactiveFlows(SWITCH_ID), System.currentTimeMillis(), "command"));
+    }
+
+    @Test
+    public void shouldDecodeJsonOnBinaryTopic() throws Exception {
+        Message message = makeStatsMessage(10);
+        byte[] json = Utils.MAPPER.writeValueAsBytes(message);
+
+        Message decoded = codec.decode(json, Message.class);
+        assertEquals(Utils.MAPPER.writeValueAsString(message), Utils.MAPPER.writeValueAsString(decoded));
+    }
+
+    @Test
+    public void shouldEncodeStatsMoreCompactThanJson() throws Exception {
+        Message message = makeStatsMessage(1000);
+
+        int jsonSize = codec.encode(JSON_TOPIC, message).length;
+        int binarySize = codec.encode(BINARY_TOPIC, message).length;
+        assertTrue(String.format("Binary size %d is not less than half of JSON size %d", binarySize, jsonSize),
+                binarySize * 2 < jsonSize);
+    }
+
+    @Test
+    public void shouldReadBinaryTopicsFromConfig() {
+        assertEquals(ImmutableSet.of("a", "b"), WireCodec.getBinaryTopics(
+                ImmutableMap.of(WireCodec.BINARY_TOPICS_CONFIG, " a, b,,")));
+        assertEquals(ImmutableSet.of(), WireCodec.getBinaryTopics(ImmutableMap.of()));
+    }
+
+    @Test
+    public void shouldWriteBinaryValueToLogsAsBase64() throws Exception {
+        byte[] binary = codec.encode(BINARY_TOPIC, makeStatsMessage(1));
+        String logString = WireCodec.toLogString(binary);
+        assertTrue(logString, logString.startsWith(String.format("<SMILE %d bytes: ", binary.length)));
+        assertTrue(logString, logString.contains(Base64.getEncoder().encodeToString(binary)));
+
+        byte[] json = codec.encode(JSON_TOPIC, makeStatsMessage(1));
+        assertEquals(new String(json, StandardCharsets.UTF_8), WireCodec.toLogString(json));
+    }
+
+    private void verifyRoundTrip(Message message) throws Exception {
+        String expected = Utils.MAPPER.writeValueAsString(message);
+        for (String topic : new String[]{JSON_TOPIC, BINARY_TOPIC}) {
+            Message decoded = codec.decode(codec.encode(topic, message), Message.class);
+            assertEquals(message.getClass(), decoded.getClass());
+            assertEquals(expected, Utils.MAPPER.writeValueAsString(decoded));
+        }
+    }
+
+    private static Message makeStatsMessage(int entriesCount) {
+        List<FlowStatsEntry> entries = new ArrayList<>(entriesCount);
+        for (int i = 0; i < entriesCount; i++) {
+            entries.add(new FlowStatsEntry(0, 0x4000000000000000L + i, 1000L * i, 64000L * i, i + 1, i + 2));
+        }
+        return new InfoMessage(new FlowStatsData(SWITCH_ID, entries), System.currentTimeMillis(), "stats");
+    }
+}
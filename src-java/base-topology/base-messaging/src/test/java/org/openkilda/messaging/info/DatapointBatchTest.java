@@ -0,0 +1,38 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info;
+
+import org.openkilda.messaging.Utils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DatapointBatchTest {
+    @Test
+    public void serializeLoop() throws Exception {
+        long timestamp = System.currentTimeMillis();
+        DatapointBatch origin = new DatapointBatch(ImmutableList.of(
+                new Datapoint("test.alpha", timestamp, ImmutableMap.of("key", "alpha"), 1),
+                new Datapoint("test.beta", timestamp, ImmutableMap.of("key", "beta"), 4294967296L)));
+
+        String json = Utils.MAPPER.writeValueAsString(origin);
+        InfoData reconstruct = Utils.MAPPER.readValue(json, InfoData.class);
+
+        Assert.assertEquals(origin, reconstruct);
+    }
+}
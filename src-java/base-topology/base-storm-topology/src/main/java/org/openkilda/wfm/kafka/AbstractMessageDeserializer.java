@@ -18,15 +18,14 @@ package org.openkilda.wfm.kafka;
 import static java.lang.String.format;
 
 import org.openkilda.messaging.AbstractMessage;
+import org.openkilda.messaging.WireCodec;
 import org.openkilda.wfm.topology.utils.SerializationUtils;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.storm.kafka.spout.SerializableDeserializer;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.Map;
 
 @Slf4j
@@ -40,10 +39,10 @@ public class AbstractMessageDeserializer implements SerializableDeserializer<Abs
     @Override
     public AbstractMessage deserialize(String topic, byte[] data) {
         try {
-            return SerializationUtils.MAPPER.readValue(data, AbstractMessage.class);
+            return SerializationUtils.WIRE_CODEC.decode(data, AbstractMessage.class);
         } catch (IOException e) {
             log.error(format("Failed to deserialize message: %s from topic %s",
-                    StringUtils.toEncodedString(data, Charset.defaultCharset()), topic), e);
+                    WireCodec.toLogString(data), topic), e);
             throw new SerializationException(e);
         }
     }
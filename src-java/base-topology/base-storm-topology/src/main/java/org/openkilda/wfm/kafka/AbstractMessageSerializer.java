@@ -18,6 +18,7 @@ package org.openkilda.wfm.kafka;
 import static java.lang.String.format;
 
 import org.openkilda.messaging.AbstractMessage;
+import org.openkilda.messaging.WireCodec;
 import org.openkilda.wfm.topology.utils.SerializationUtils;
 
 import lombok.extern.slf4j.Slf4j;
@@ -29,9 +30,11 @@ import java.util.Map;
 
 @Slf4j
 public class AbstractMessageSerializer implements Serializer<AbstractMessage> {
+    private WireCodec codec = SerializationUtils.WIRE_CODEC;
+
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // nothing to do
+        codec = SerializationUtils.createWireCodec(WireCodec.getBinaryTopics(configs));
     }
 
     @Override
@@ -39,7 +42,7 @@ public class AbstractMessageSerializer implements Serializer<AbstractMessage> {
         try {
             byte[] result = null;
             if (message != null) {
-                result = SerializationUtils.MAPPER.writeValueAsBytes(message);
+                result = codec.encode(topic, message);
             }
             return result;
         } catch (IOException e) {
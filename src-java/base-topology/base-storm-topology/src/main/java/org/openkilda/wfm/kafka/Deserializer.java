@@ -17,13 +17,13 @@ package org.openkilda.wfm.kafka;
 
 import static java.lang.String.format;
 
+import org.openkilda.messaging.WireCodec;
+
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.storm.kafka.spout.SerializableDeserializer;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.Map;
 
 @Slf4j
@@ -37,15 +37,15 @@ public abstract class Deserializer<T> implements SerializableDeserializer<T> {
     @Override
     public T deserialize(String topic, byte[] data) {
         try {
-            return jsonDecode(data);
+            return decode(data);
         } catch (IOException e) {
             log.error(format("Failed to deserialize data: %s from topic %s",
-                    StringUtils.toEncodedString(data, Charset.defaultCharset()), topic), e);
+                    WireCodec.toLogString(data), topic), e);
             throw new SerializationException(e.getMessage());
         }
     }
 
-    protected abstract T jsonDecode(byte[] data) throws IOException;
+    protected abstract T decode(byte[] data) throws IOException;
 
     @Override
     public void close() {
@@ -26,7 +26,7 @@ import java.io.IOException;
 public class InfoDataDeserializer extends Deserializer<InfoData> {
 
     @Override
-    protected InfoData jsonDecode(byte[] data) throws IOException {
-        return SerializationUtils.MAPPER.readValue(data, InfoData.class);
+    protected InfoData decode(byte[] data) throws IOException {
+        return SerializationUtils.WIRE_CODEC.decode(data, InfoData.class);
     }
 }
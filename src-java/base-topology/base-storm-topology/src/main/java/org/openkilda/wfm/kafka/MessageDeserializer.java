@@ -26,7 +26,7 @@ import java.io.IOException;
 public class MessageDeserializer extends Deserializer<Message> {
 
     @Override
-    protected Message jsonDecode(byte[] data) throws IOException {
-        return SerializationUtils.MAPPER.readValue(data, Message.class);
+    protected Message decode(byte[] data) throws IOException {
+        return SerializationUtils.WIRE_CODEC.decode(data, Message.class);
     }
 }
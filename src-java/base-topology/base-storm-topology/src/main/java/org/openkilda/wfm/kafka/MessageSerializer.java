@@ -18,6 +18,7 @@ package org.openkilda.wfm.kafka;
 import static java.lang.String.format;
 
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.WireCodec;
 import org.openkilda.wfm.topology.utils.SerializationUtils;
 
 import lombok.extern.slf4j.Slf4j;
@@ -29,10 +30,11 @@ import java.util.Map;
 
 @Slf4j
 public class MessageSerializer implements Serializer<Message> {
+    private WireCodec codec = SerializationUtils.WIRE_CODEC;
 
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // No-op
+        codec = SerializationUtils.createWireCodec(WireCodec.getBinaryTopics(configs));
     }
 
     @Override
@@ -40,7 +42,7 @@ public class MessageSerializer implements Serializer<Message> {
         try {
             byte[] result = null;
             if (data != null) {
-                result = SerializationUtils.MAPPER.writeValueAsBytes(data);
+                result = codec.encode(topic, data);
             }
             return result;
         } catch (IOException e) {
@@ -0,0 +1,62 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import org.openkilda.messaging.WireCodec;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Utils;
+import org.apache.storm.kafka.bolt.KafkaBolt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Kafka bolt which hands {@link WireCodec#BINARY_TOPICS_CONFIG} to the serializers only. The Kafka producer doesn't
+ * know this property and would complain about it.
+ */
+public class WireCodecKafkaBolt<K, V> extends KafkaBolt<K, V> {
+    @Override
+    protected KafkaProducer<K, V> mkProducer(Properties props) {
+        Map<String, Object> serializerConfigs = new HashMap<>();
+        for (String name : props.stringPropertyNames()) {
+            serializerConfigs.put(name, props.getProperty(name));
+        }
+        Serializer<K> keySerializer = makeSerializer(props, ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG);
+        keySerializer.configure(serializerConfigs, true);
+        Serializer<V> valueSerializer = makeSerializer(props, ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG);
+        valueSerializer.configure(serializerConfigs, false);
+
+        Properties producerProps = new Properties();
+        producerProps.putAll(props);
+        producerProps.remove(WireCodec.BINARY_TOPICS_CONFIG);
+        return new KafkaProducer<>(producerProps, keySerializer, valueSerializer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Serializer<T> makeSerializer(Properties props, String classNameProperty) {
+        String className = props.getProperty(classNameProperty);
+        try {
+            return Utils.newInstance(className, Serializer.class);
+        } catch (ClassNotFoundException e) {
+            throw new KafkaException(String.format("Unable to load serializer %s", className), e);
+        }
+    }
+}
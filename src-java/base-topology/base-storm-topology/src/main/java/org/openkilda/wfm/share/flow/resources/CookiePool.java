@@ -31,16 +31,15 @@ public class CookiePool {
     private final TransactionManager transactionManager;
     private final FlowCookieRepository flowCookieRepository;
 
-    private final long minCookie;
-    private final long maxCookie;
+    private final ResourceIdBitmap cookies;
 
-    public CookiePool(PersistenceManager persistenceManager, long minCookie, long maxCookie) {
+    public CookiePool(PersistenceManager persistenceManager, long minCookie, long maxCookie, int partition) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         flowCookieRepository = repositoryFactory.createFlowCookieRepository();
 
-        this.minCookie = minCookie;
-        this.maxCookie = maxCookie;
+        cookies = new ResourceIdBitmap(minCookie, maxCookie, partition, () ->
+                flowCookieRepository.findAssignedCookies(minCookie, maxCookie).stream().mapToLong(Long::longValue));
     }
 
     /**
@@ -50,11 +49,8 @@ public class CookiePool {
      */
     public long allocate(String flowId) {
         return transactionManager.doInTransaction(() -> {
-            long availableCookie = flowCookieRepository.findUnassignedCookie(minCookie)
+            long availableCookie = cookies.allocate()
                     .orElseThrow(() -> new ResourceNotAvailableException("No cookie available"));
-            if (availableCookie > maxCookie) {
-                throw new ResourceNotAvailableException("No cookie available");
-            }
 
             FlowCookie flowCookie = FlowCookie.builder()
                     .unmaskedCookie(availableCookie)
@@ -72,7 +68,10 @@ public class CookiePool {
     public void deallocate(long unmaskedCookie) {
         transactionManager.doInTransaction(() ->
                 flowCookieRepository.findByCookie(unmaskedCookie)
-                        .ifPresent(flowCookieRepository::delete)
+                        .ifPresent(flowCookie -> {
+                            flowCookieRepository.delete(flowCookie);
+                            cookies.deallocate(unmaskedCookie);
+                        })
         );
     }
 }
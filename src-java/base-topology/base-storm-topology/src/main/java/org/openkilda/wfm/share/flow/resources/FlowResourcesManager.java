@@ -52,18 +52,29 @@ public class FlowResourcesManager {
     private final Map<FlowEncapsulationType, EncapsulationResourcesProvider> encapsulationResourcesProviders;
 
     public FlowResourcesManager(PersistenceManager persistenceManager, FlowResourcesConfig config) {
+        this(persistenceManager, config, 0);
+    }
+
+    /**
+     * Creates the manager for a worker which allocates resources concurrently with other ones.
+     *
+     * @param partition the partition of the worker, e.g. the task id. The pools start allocation from different ids
+     *                  for different partitions, so concurrent workers rarely compete for the same ids.
+     */
+    public FlowResourcesManager(PersistenceManager persistenceManager, FlowResourcesConfig config, int partition) {
         transactionManager = persistenceManager.getTransactionManager();
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
 
-        this.cookiePool = new CookiePool(persistenceManager, config.getMinFlowCookie(), config.getMaxFlowCookie());
+        this.cookiePool = new CookiePool(persistenceManager, config.getMinFlowCookie(), config.getMaxFlowCookie(),
+                partition);
         this.meterPool = new MeterPool(persistenceManager,
-                new MeterId(config.getMinFlowMeterId()), new MeterId(config.getMaxFlowMeterId()));
+                new MeterId(config.getMinFlowMeterId()), new MeterId(config.getMaxFlowMeterId()), partition);
 
         encapsulationResourcesProviders = ImmutableMap.<FlowEncapsulationType, EncapsulationResourcesProvider>builder()
                 .put(FlowEncapsulationType.TRANSIT_VLAN, new TransitVlanPool(persistenceManager,
-                        config.getMinFlowTransitVlan(), config.getMaxFlowTransitVlan()))
+                        config.getMinFlowTransitVlan(), config.getMaxFlowTransitVlan(), partition))
                 .put(FlowEncapsulationType.VXLAN, new VxlanPool(persistenceManager,
-                        config.getMinFlowVxlan(), config.getMaxFlowVxlan()))
+                        config.getMinFlowVxlan(), config.getMaxFlowVxlan(), partition))
                 .build();
     }
 
@@ -34,6 +34,9 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The resource pool is responsible for meter de-/allocation.
@@ -46,8 +49,10 @@ public class MeterPool {
 
     private final MeterId minMeterId;
     private final MeterId maxMeterId;
+    private final int partition;
+    private final Map<SwitchId, ResourceIdBitmap> meterIds = new ConcurrentHashMap<>();
 
-    public MeterPool(PersistenceManager persistenceManager, MeterId minMeterId, MeterId maxMeterId) {
+    public MeterPool(PersistenceManager persistenceManager, MeterId minMeterId, MeterId maxMeterId, int partition) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         flowMeterRepository = repositoryFactory.createFlowMeterRepository();
@@ -55,6 +60,7 @@ public class MeterPool {
 
         this.minMeterId = minMeterId;
         this.maxMeterId = maxMeterId;
+        this.partition = partition;
     }
 
     /**
@@ -62,10 +68,13 @@ public class MeterPool {
      */
     public MeterId allocate(SwitchId switchId, String flowId, PathId pathId) {
         return transactionManager.doInTransaction(() -> {
-            Switch theSwitch = switchRepository.findById(switchId)
-                    .orElseThrow(() ->
-                            new ResourceNotAvailableException(format("No switch for meter allocation: %s", switchId)));
-            return allocate(theSwitch, flowId, pathId);
+            Optional<Switch> theSwitch = switchRepository.findById(switchId);
+            if (!theSwitch.isPresent()) {
+                // the switch has been removed
+                meterIds.remove(switchId);
+                throw new ResourceNotAvailableException(format("No switch for meter allocation: %s", switchId));
+            }
+            return allocate(theSwitch.get(), flowId, pathId);
         });
     }
 
@@ -76,11 +85,8 @@ public class MeterPool {
         return transactionManager.doInTransaction(() -> {
             String noMetersErrorMessage = format("No meter available for switch %s", theSwitch);
 
-            MeterId availableMeterId = flowMeterRepository.findUnassignedMeterId(theSwitch.getSwitchId(), minMeterId)
-                    .orElseThrow(() -> new ResourceNotAvailableException(noMetersErrorMessage));
-            if (availableMeterId.compareTo(maxMeterId) > 0) {
-                throw new ResourceNotAvailableException(noMetersErrorMessage);
-            }
+            MeterId availableMeterId = new MeterId(getMeterIds(theSwitch.getSwitchId()).allocate()
+                    .orElseThrow(() -> new ResourceNotAvailableException(noMetersErrorMessage)));
 
             FlowMeter flowMeter = FlowMeter.builder()
                     .meterId(availableMeterId)
@@ -105,6 +111,24 @@ public class MeterPool {
                     .collect(toList());
 
             meters.forEach(flowMeterRepository::delete);
+            meters.forEach(meter -> deallocate(meter.getSwitchId(), meter.getMeterId()));
         });
     }
+
+    /**
+     * Releases the meter id in the bitmap of the switch. The bitmap is dropped once no meter of the switch is known,
+     * so switches without flows, including removed ones, don't hold memory.
+     */
+    private void deallocate(SwitchId switchId, MeterId meterId) {
+        meterIds.computeIfPresent(switchId, (id, bitmap) -> {
+            bitmap.deallocate(meterId.getValue());
+            return bitmap.isEmpty() ? null : bitmap;
+        });
+    }
+
+    private ResourceIdBitmap getMeterIds(SwitchId switchId) {
+        return meterIds.computeIfAbsent(switchId, id -> new ResourceIdBitmap(minMeterId.getValue(),
+                maxMeterId.getValue(), partition, () -> flowMeterRepository.findAssignedMeterIds(id, minMeterId,
+                maxMeterId).stream().mapToLong(MeterId::getValue)));
+    }
 }
@@ -0,0 +1,143 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static java.lang.String.format;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.BitSet;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * In-memory bitmap of assigned resource ids of a range. The assigned ids are loaded from the repository once and
+ * then tracked on de-/allocation, so a free id is found without a gap search query.
+ * <p/>
+ * Workers allocate ids of the same range, so each of them starts from its own partition of the range: the lowest
+ * free id is searched from the partition start and wraps around the end of the range. Partition starts are spread
+ * over the range by the golden ratio, so they don't need the number of workers to be known.
+ * <p/>
+ * The bitmap is a hint only, as a transaction which de-/allocated ids may be rolled back. The unique constraints of
+ * the repository stay the source of truth: an id taken by another worker fails the transaction with a constraint
+ * violation, while the id stays marked as assigned, so the retry takes the next one. Ids of rolled back allocations
+ * stay marked as well until the range looks exhausted: then the assigned ids are reloaded, so ids released by other
+ * workers are found before giving up.
+ */
+@Slf4j
+public class ResourceIdBitmap {
+    private static final double GOLDEN_RATIO_FRACTION = 0.6180339887498949;
+
+    private final long minId;
+    private final int size;
+    private final int partitionStart;
+    private final Supplier<LongStream> assignedIdsLoader;
+
+    /**
+     * Assigned ids by their index counted from the partition start.
+     */
+    private BitSet assigned;
+    /**
+     * All ids below this index are assigned.
+     */
+    private int lowestCandidate;
+
+    public ResourceIdBitmap(long minId, long maxId, Supplier<LongStream> assignedIdsLoader) {
+        this(minId, maxId, 0, assignedIdsLoader);
+    }
+
+    /**
+     * Creates the bitmap of the range.
+     *
+     * @param partition the partition of the allocating worker, e.g. the task id.
+     */
+    public ResourceIdBitmap(long minId, long maxId, int partition, Supplier<LongStream> assignedIdsLoader) {
+        if (maxId < minId || maxId - minId >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Invalid resource id range %d - %d", minId, maxId));
+        }
+        this.minId = minId;
+        this.size = (int) (maxId - minId + 1);
+        this.assignedIdsLoader = assignedIdsLoader;
+
+        double fraction = partition * GOLDEN_RATIO_FRACTION;
+        this.partitionStart = (int) ((fraction - Math.floor(fraction)) * size);
+    }
+
+    /**
+     * Marks the lowest free id, counting from the partition start, as assigned.
+     *
+     * @return the id or {@link OptionalLong#empty()} if all ids of the range are assigned.
+     */
+    public synchronized OptionalLong allocate() {
+        boolean reloaded = false;
+        if (assigned == null) {
+            reload();
+            reloaded = true;
+        }
+
+        int index = assigned.nextClearBit(lowestCandidate);
+        if (index >= size && !reloaded) {
+            reload();
+            index = assigned.nextClearBit(lowestCandidate);
+        }
+        if (index >= size) {
+            return OptionalLong.empty();
+        }
+
+        assigned.set(index);
+        lowestCandidate = index + 1;
+        return OptionalLong.of(toId(index));
+    }
+
+    /**
+     * Marks the id as free.
+     */
+    public synchronized void deallocate(long id) {
+        if (assigned == null || id < minId || id - minId >= size) {
+            return;
+        }
+        int index = toIndex(id);
+        assigned.clear(index);
+        lowestCandidate = Math.min(lowestCandidate, index);
+    }
+
+    /**
+     * Whether no id of the range is known to be assigned.
+     */
+    public synchronized boolean isEmpty() {
+        return assigned == null || assigned.isEmpty();
+    }
+
+    private void reload() {
+        BitSet loaded = new BitSet();
+        assignedIdsLoader.get()
+                .filter(id -> id >= minId && id - minId < size)
+                .forEach(id -> loaded.set(toIndex(id)));
+        log.debug("Loaded {} assigned resource ids of range {} - {}", loaded.cardinality(), minId, minId + size - 1);
+
+        assigned = loaded;
+        lowestCandidate = 0;
+    }
+
+    private long toId(int index) {
+        return minId + ((long) partitionStart + index) % size;
+    }
+
+    private int toIndex(long id) {
+        return (int) ((id - minId - partitionStart + size) % size);
+    }
+}
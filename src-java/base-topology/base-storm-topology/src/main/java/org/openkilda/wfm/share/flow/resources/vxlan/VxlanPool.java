@@ -23,6 +23,7 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.VxlanRepository;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
+import org.openkilda.wfm.share.flow.resources.ResourceIdBitmap;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -38,16 +39,15 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
     private final TransactionManager transactionManager;
     private final VxlanRepository vxlanRepository;
 
-    private final int minVxlan;
-    private final int maxVxlan;
+    private final ResourceIdBitmap vxlans;
 
-    public VxlanPool(PersistenceManager persistenceManager, int minVxlan, int maxVxlan) {
+    public VxlanPool(PersistenceManager persistenceManager, int minVxlan, int maxVxlan, int partition) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         vxlanRepository = repositoryFactory.createVxlanRepository();
 
-        this.minVxlan = minVxlan;
-        this.maxVxlan = maxVxlan;
+        vxlans = new ResourceIdBitmap(minVxlan, maxVxlan, partition, () ->
+                vxlanRepository.findAssignedVxlans(minVxlan, maxVxlan).stream().mapToLong(Integer::longValue));
     }
 
     /**
@@ -61,11 +61,8 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
 
     private VxlanEncapsulation allocate(Flow flow, PathId pathId) {
         return transactionManager.doInTransaction(() -> {
-            int availableVxlan = vxlanRepository.findUnassignedVxlan(minVxlan)
+            int availableVxlan = (int) vxlans.allocate()
                     .orElseThrow(() -> new ResourceNotAvailableException("No vxlan available"));
-            if (availableVxlan > maxVxlan) {
-                throw new ResourceNotAvailableException("No vxlan available");
-            }
 
             Vxlan vxlan = Vxlan.builder()
                     .vni(availableVxlan)
@@ -87,7 +84,10 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
     public void deallocate(PathId pathId) {
         transactionManager.doInTransaction(() ->
                 vxlanRepository.findByPathId(pathId, null)
-                        .forEach(vxlanRepository::delete));
+                        .forEach(vxlan -> {
+                            vxlanRepository.delete(vxlan);
+                            vxlans.deallocate(vxlan.getVni());
+                        }));
     }
 
     /**
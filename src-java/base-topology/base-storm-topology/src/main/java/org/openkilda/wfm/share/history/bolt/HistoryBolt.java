@@ -18,38 +18,280 @@ package org.openkilda.wfm.share.history.bolt;
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.RecoverablePersistenceException;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
 import org.openkilda.wfm.share.history.service.HistoryService;
+import org.openkilda.wfm.share.history.service.PendingFlowEvents;
 
+import lombok.Getter;
+import org.apache.storm.metric.api.CountMetric;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Stores flow history records in batches. Records are buffered and stored once a batch is collected or on a tick,
+ * so history persistence doesn't slow down the flow operations producing the records. The buffer is bounded: if
+ * the storage can't keep up, the oldest records are dropped.
+ * <p/>
+ * Flow events and their actions may be handled by different instances of the bolt. Actions and dumps whose flow event
+ * is not stored yet are kept aside and retried on the following ticks, so they are linked to the event once another
+ * instance stores it.
+ * <p/>
+ * Task ids of the buffered flow events are registered in {@link PendingFlowEvents}, so the hubs of the worker detect
+ * a reused task id before its event is stored.
+ */
 public class HistoryBolt extends AbstractBolt {
+    private static final int METRICS_TIME_BUCKET = 60;
+
     private final PersistenceManager persistenceManager;
+    private final HistoryBoltConfig config;
     private transient HistoryService historyService;
+    private transient Deque<FlowHistoryHolder> buffer;
+    private transient Deque<UnlinkedRecord> unlinked;
+    private transient CountMetric storedMetric;
+    private transient CountMetric droppedMetric;
 
-    public HistoryBolt(PersistenceManager persistenceManager) {
+    public HistoryBolt(PersistenceManager persistenceManager, HistoryBoltConfig config) {
         this.persistenceManager = persistenceManager;
+        this.config = config;
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        storedMetric = context.registerMetric("history.stored", new CountMetric(), METRICS_TIME_BUCKET);
+        droppedMetric = context.registerMetric("history.dropped", new CountMetric(), METRICS_TIME_BUCKET);
+        context.registerMetric("history.buffered", () -> buffer.size() + unlinked.size(), METRICS_TIME_BUCKET);
     }
 
     @Override
     protected void init() {
         historyService = new HistoryService(persistenceManager);
+        buffer = new ArrayDeque<>();
+        unlinked = new ArrayDeque<>();
     }
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
+        if (TupleUtils.isTick(input)) {
+            int unlinkedCount = unlinked.size();
+            flush();
+            retryUnlinked(unlinkedCount);
+            return;
+        }
+
         Object payload = input.getValueByField(FIELD_ID_PAYLOAD);
         if (payload instanceof FlowHistoryHolder) {
-            historyService.store((FlowHistoryHolder) payload);
+            enqueue((FlowHistoryHolder) payload);
         } else {
             log.error("Skip undefined payload: {}", payload);
         }
     }
 
+    private void enqueue(FlowHistoryHolder historyHolder) {
+        if (buffer.size() >= config.getBufferCapacity()) {
+            FlowHistoryHolder dropped = buffer.removeFirst();
+            releaseFlowEvent(dropped);
+            droppedMetric.incr();
+            log.debug("History buffer is full, drop the record of task {}", dropped.getTaskId());
+        }
+        buffer.addLast(historyHolder);
+        if (hasFlowEvent(historyHolder)) {
+            PendingFlowEvents.add(historyHolder.getTaskId());
+        }
+
+        if (buffer.size() >= config.getBatchSize()) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        while (!buffer.isEmpty()) {
+            List<FlowHistoryHolder> batch = new ArrayList<>(Math.min(buffer.size(), config.getBatchSize()));
+            for (FlowHistoryHolder historyHolder : buffer) {
+                if (batch.size() >= config.getBatchSize()) {
+                    break;
+                }
+                batch.add(historyHolder);
+            }
+
+            List<FlowHistoryHolder> unlinkedHolders;
+            try {
+                unlinkedHolders = store(batch, true);
+            } catch (RecoverablePersistenceException e) {
+                log.warn("Unable to store {} history records, keep them until the next flush: {}",
+                        batch.size(), e.getMessage());
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                releaseFlowEvent(buffer.removeFirst());
+            }
+            unlinkedHolders.forEach(historyHolder -> keepUnlinked(new UnlinkedRecord(historyHolder)));
+        }
+    }
+
+    private static boolean hasFlowEvent(FlowHistoryHolder historyHolder) {
+        return historyHolder.getFlowEventData() != null && historyHolder.getTaskId() != null;
+    }
+
+    private static void releaseFlowEvent(FlowHistoryHolder historyHolder) {
+        if (hasFlowEvent(historyHolder)) {
+            PendingFlowEvents.remove(historyHolder.getTaskId());
+        }
+    }
+
+    /**
+     * Retries the first {@code count} records which were not linked to their flow events. Records which exhausted
+     * their attempts are stored unlinked.
+     */
+    private void retryUnlinked(int count) {
+        List<FlowHistoryHolder> expired = new ArrayList<>();
+        while (count > 0 && !unlinked.isEmpty()) {
+            List<UnlinkedRecord> batch = new ArrayList<>(Math.min(count, config.getBatchSize()));
+            for (UnlinkedRecord record : unlinked) {
+                if (batch.size() >= count || batch.size() >= config.getBatchSize()) {
+                    break;
+                }
+                batch.add(record);
+            }
+
+            Set<FlowHistoryHolder> stillUnlinked = Collections.newSetFromMap(new IdentityHashMap<>());
+            try {
+                stillUnlinked.addAll(store(batch.stream()
+                        .map(UnlinkedRecord::getHistoryHolder)
+                        .collect(Collectors.toList()), true));
+            } catch (RecoverablePersistenceException e) {
+                log.warn("Unable to store {} unlinked history records, keep them until the next tick: {}",
+                        batch.size(), e.getMessage());
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                unlinked.removeFirst();
+            }
+            count -= batch.size();
+
+            for (UnlinkedRecord record : batch) {
+                if (!stillUnlinked.contains(record.getHistoryHolder())) {
+                    continue;
+                }
+                record.attempts += 1;
+                if (record.attempts < config.getLinkAttempts()) {
+                    keepUnlinked(record);
+                } else {
+                    expired.add(record.getHistoryHolder());
+                }
+            }
+        }
+
+        if (!expired.isEmpty()) {
+            log.warn("Flow events of {} history records were not stored in time, store the records unlinked",
+                    expired.size());
+            try {
+                store(expired, false);
+            } catch (RecoverablePersistenceException e) {
+                log.error("Unable to store {} unlinked history records, drop them", expired.size(), e);
+                droppedMetric.incrBy(expired.size());
+            }
+        }
+    }
+
+    private void keepUnlinked(UnlinkedRecord record) {
+        if (unlinked.size() >= config.getBufferCapacity()) {
+            UnlinkedRecord dropped = unlinked.removeFirst();
+            droppedMetric.incr();
+            log.debug("Unlinked history buffer is full, drop the record of task {}",
+                    dropped.getHistoryHolder().getTaskId());
+        }
+        unlinked.addLast(record);
+    }
+
+    /**
+     * Stores the batch in one transaction. If the transaction fails with a non-recoverable error, the records are
+     * stored one by one, so only the failing ones are dropped.
+     *
+     * @return records which were not stored because their flow events are missing.
+     */
+    private List<FlowHistoryHolder> store(List<FlowHistoryHolder> batch, boolean requireFlowEvent) {
+        try {
+            return save(batch, requireFlowEvent);
+        } catch (RecoverablePersistenceException e) {
+            throw e;
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                log.error("Unable to store the history record of task {}, drop it", batch.get(0).getTaskId(), e);
+                droppedMetric.incr();
+                return Collections.emptyList();
+            }
+            log.error("Unable to store {} history records, store them one by one", batch.size(), e);
+        }
+
+        List<FlowHistoryHolder> unlinkedHolders = new ArrayList<>();
+        for (FlowHistoryHolder historyHolder : batch) {
+            try {
+                unlinkedHolders.addAll(save(Collections.singletonList(historyHolder), requireFlowEvent));
+            } catch (Exception e) {
+                log.error("Unable to store the history record of task {}, drop it", historyHolder.getTaskId(), e);
+                droppedMetric.incr();
+            }
+        }
+        return unlinkedHolders;
+    }
+
+    private List<FlowHistoryHolder> save(List<FlowHistoryHolder> batch, boolean requireFlowEvent) {
+        List<FlowHistoryHolder> unlinkedHolders;
+        if (requireFlowEvent) {
+            unlinkedHolders = historyService.storeLinked(batch);
+        } else {
+            historyService.store(batch);
+            unlinkedHolders = Collections.emptyList();
+        }
+        storedMetric.incrBy(batch.size() - unlinkedHolders.size());
+        return unlinkedHolders;
+    }
+
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(super.getComponentConfiguration(),
+                config.getFlushInterval());
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
 
     }
+
+    @Getter
+    private static class UnlinkedRecord {
+        private final FlowHistoryHolder historyHolder;
+        private int attempts;
+
+        UnlinkedRecord(FlowHistoryHolder historyHolder) {
+            this.historyHolder = historyHolder;
+            this.attempts = 1;
+        }
+    }
 }
@@ -0,0 +1,55 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.bolt;
+
+import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+import java.io.Serializable;
+
+@Configuration
+@Key("history")
+public interface HistoryBoltConfig extends Serializable {
+    /**
+     * Max number of history records stored in one transaction.
+     */
+    @Key("batch.size")
+    @Default("100")
+    int getBatchSize();
+
+    /**
+     * How often buffered history records are stored in seconds.
+     */
+    @Key("flush.interval")
+    @Default("1")
+    int getFlushInterval();
+
+    /**
+     * Max number of buffered history records, the oldest ones are dropped when it is exceeded.
+     */
+    @Key("buffer.capacity")
+    @Default("10000")
+    int getBufferCapacity();
+
+    /**
+     * How many ticks history actions and dumps wait for their flow event to be stored, they are stored unlinked
+     * afterwards.
+     */
+    @Key("link.attempts")
+    @Default("10")
+    int getLinkAttempts();
+}
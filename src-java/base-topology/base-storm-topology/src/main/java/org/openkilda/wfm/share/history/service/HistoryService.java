@@ -39,8 +39,13 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 public class HistoryService {
@@ -72,22 +77,18 @@ public class HistoryService {
      * @param historyHolder holder of history information.
      */
     public void store(FlowHistoryHolder historyHolder) {
-        transactionManager.doInTransaction(() -> {
-            if (historyHolder.getFlowEventData() != null) {
-                FlowEvent event = HistoryMapper.INSTANCE.map(historyHolder.getFlowEventData());
-                store(historyHolder.getTaskId(), event);
-            }
-
-            if (historyHolder.getFlowHistoryData() != null) {
-                FlowHistory history = HistoryMapper.INSTANCE.map(historyHolder.getFlowHistoryData());
-                store(historyHolder.getTaskId(), history);
-            }
+        store(Collections.singletonList(historyHolder));
+    }
 
-            if (historyHolder.getFlowDumpData() != null) {
-                FlowDump dump = HistoryMapper.INSTANCE.map(historyHolder.getFlowDumpData());
-                store(historyHolder.getTaskId(), dump);
-            }
-        });
+    /**
+     * Save history data of several holders into data storage in one transaction. Flow events and history actions
+     * are created in bulk, history actions and dumps are linked to the flow events of the same holders or to the ones
+     * stored before. Actions and dumps without a related flow event are stored unlinked.
+     *
+     * @param historyHolders holders of history information in the order they were produced.
+     */
+    public void store(Collection<FlowHistoryHolder> historyHolders) {
+        storeHolders(historyHolders, false);
     }
 
     public void store(PortHistoryData data) {
@@ -95,44 +96,102 @@ public class HistoryService {
         portHistoryRepository.createOrUpdate(entity);
     }
 
-    private void store(String taskId, FlowEvent flowEvent) {
-        flowEvent.setTaskId(taskId);
-        flowEventRepository.createOrUpdate(flowEvent);
+    /**
+     * Save history data of several holders into data storage in one transaction, same as
+     * {@link #store(Collection)}, but only if actions and dumps can be linked to their flow events. Holders whose flow
+     * event is not stored yet are left untouched and returned, so the caller may retry them later.
+     *
+     * @param historyHolders holders of history information in the order they were produced.
+     * @return holders which were not stored because the related flow event is missing.
+     */
+    public List<FlowHistoryHolder> storeLinked(Collection<FlowHistoryHolder> historyHolders) {
+        return storeHolders(historyHolders, true);
     }
 
-    private void store(String taskId, FlowHistory flowHistory) {
-        flowHistory.setTaskId(taskId);
-
-        transactionManager.doInTransaction(() -> {
-            flowHistoryRepository.createOrUpdate(flowHistory);
-            Optional<FlowEvent> flowEvents = flowEventRepository.findByTaskId(taskId);
-            if (flowEvents.isPresent()) {
-                historyLogRepository.createOrUpdate(HistoryLog.builder()
-                        .flowEvent(flowEvents.get())
-                        .flowHistory(flowHistory)
-                        .build());
-            } else {
-                log.warn("Unable to find related FlowEvent by taskId: {}", flowHistory.getTaskId());
+    private List<FlowHistoryHolder> storeHolders(Collection<FlowHistoryHolder> historyHolders,
+                                                 boolean requireFlowEvent) {
+        List<FlowEvent> events = new ArrayList<>();
+        for (FlowHistoryHolder historyHolder : historyHolders) {
+            if (historyHolder.getFlowEventData() != null) {
+                FlowEvent event = HistoryMapper.INSTANCE.map(historyHolder.getFlowEventData());
+                event.setTaskId(historyHolder.getTaskId());
+                events.add(event);
+            }
+        }
+
+        return transactionManager.doInTransaction(() -> {
+            flowEventRepository.createAll(events);
+            Map<String, FlowEvent> eventsByTaskId = findFlowEvents(events, historyHolders);
+
+            List<FlowHistoryHolder> unlinked = new ArrayList<>();
+            List<FlowHistory> histories = new ArrayList<>();
+            List<FlowDump> dumps = new ArrayList<>();
+            for (FlowHistoryHolder historyHolder : historyHolders) {
+                if (historyHolder.getFlowHistoryData() == null && historyHolder.getFlowDumpData() == null) {
+                    continue;
+                }
+                if (requireFlowEvent && !eventsByTaskId.containsKey(historyHolder.getTaskId())) {
+                    unlinked.add(historyHolder);
+                    continue;
+                }
+
+                if (historyHolder.getFlowHistoryData() != null) {
+                    FlowHistory history = HistoryMapper.INSTANCE.map(historyHolder.getFlowHistoryData());
+                    history.setTaskId(historyHolder.getTaskId());
+                    histories.add(history);
+                }
+                if (historyHolder.getFlowDumpData() != null) {
+                    FlowDump dump = HistoryMapper.INSTANCE.map(historyHolder.getFlowDumpData());
+                    dump.setTaskId(historyHolder.getTaskId());
+                    dumps.add(dump);
+                }
             }
+
+            flowHistoryRepository.createAll(histories);
+            dumps.forEach(flowStateRepository::createOrUpdate);
+
+            for (FlowHistory history : histories) {
+                FlowEvent event = eventsByTaskId.get(history.getTaskId());
+                if (event != null) {
+                    historyLogRepository.createOrUpdate(HistoryLog.builder()
+                            .flowEvent(event)
+                            .flowHistory(history)
+                            .build());
+                } else {
+                    log.warn("Unable to find related FlowEvent by taskId: {}", history.getTaskId());
+                }
+            }
+            for (FlowDump dump : dumps) {
+                FlowEvent event = eventsByTaskId.get(dump.getTaskId());
+                if (event != null) {
+                    stateLogRepository.createOrUpdate(StateLog.builder()
+                            .flowEvent(event)
+                            .flowDump(dump)
+                            .type(dump.getType())
+                            .build());
+                } else {
+                    log.warn("Unable to find related FlowEvent by taskId: {}", dump.getTaskId());
+                }
+            }
+            return unlinked;
         });
     }
 
-    private void store(String taskId, FlowDump flowDump) {
-        flowDump.setTaskId(taskId);
-
-        transactionManager.doInTransaction(() -> {
-            flowStateRepository.createOrUpdate(flowDump);
-            Optional<FlowEvent> flowEvents = flowEventRepository.findByTaskId(taskId);
-            if (flowEvents.isPresent()) {
-                stateLogRepository.createOrUpdate(StateLog.builder()
-                        .flowEvent(flowEvents.get())
-                        .flowDump(flowDump)
-                        .type(flowDump.getType())
-                        .build());
-            } else {
-                log.warn("Unable to find related FlowEvent by taskId: {}", flowDump.getTaskId());
+    private Map<String, FlowEvent> findFlowEvents(
+            List<FlowEvent> events, Collection<FlowHistoryHolder> historyHolders) {
+        Map<String, FlowEvent> eventsByTaskId = new HashMap<>();
+        events.forEach(event -> eventsByTaskId.putIfAbsent(event.getTaskId(), event));
+
+        Set<String> missingTaskIds = new HashSet<>();
+        for (FlowHistoryHolder historyHolder : historyHolders) {
+            if (historyHolder.getFlowHistoryData() != null || historyHolder.getFlowDumpData() != null) {
+                missingTaskIds.add(historyHolder.getTaskId());
             }
-        });
+        }
+        missingTaskIds.removeAll(eventsByTaskId.keySet());
+        flowEventRepository.findByTaskIds(missingTaskIds)
+                .forEach(event -> eventsByTaskId.putIfAbsent(event.getTaskId(), event));
+        return eventsByTaskId;
     }
 
     public List<FlowEvent> listFlowEvents(String flowId, Instant timeFrom, Instant timeTo) {
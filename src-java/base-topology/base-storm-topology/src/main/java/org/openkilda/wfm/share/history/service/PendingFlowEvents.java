@@ -0,0 +1,48 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Task ids of the flow events which are buffered by the history bolts of the worker but not stored yet. The hubs
+ * check it along with the stored flow events, so a reused task id is detected before its event reaches the storage.
+ */
+public final class PendingFlowEvents {
+    private static final Map<String, Integer> taskIds = new ConcurrentHashMap<>();
+
+    private PendingFlowEvents() {
+    }
+
+    /**
+     * Registers the buffered flow event of the task.
+     */
+    public static void add(String taskId) {
+        taskIds.merge(taskId, 1, Integer::sum);
+    }
+
+    /**
+     * Unregisters the flow event of the task once it's stored or dropped.
+     */
+    public static void remove(String taskId) {
+        taskIds.computeIfPresent(taskId, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    public static boolean contains(String taskId) {
+        return taskId != null && taskIds.containsKey(taskId);
+    }
+}
@@ -20,6 +20,8 @@ import static org.openkilda.wfm.share.hubandspoke.CoordinatedBolt.COMMAND_FIELD;
 import static org.openkilda.wfm.share.hubandspoke.CoordinatedBolt.TIMEOUT_FIELD;
 
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.share.utils.TimerWheel;
+import org.openkilda.wfm.share.utils.TimerWheel.Timer;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -31,12 +33,7 @@ import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 /**
  * Storm bolt that keeps track of duration of operation's execution and then sends callback to the requester.
@@ -46,8 +43,11 @@ public final class CoordinatorBolt extends AbstractBolt {
     public static final String ID = "coordinator.bolt";
     public static final String INCOME_STREAM = "coordinator.command";
 
+    private static final long TIMER_TICK_MS = 10;
+    private static final int TIMER_WHEEL_SIZE = 4096;
+
     private Map<String, Callback> callbacks = new HashMap<>();
-    private SortedMap<Long, Set<String>> timeouts = new TreeMap<>();
+    private TimerWheel<String> timeouts = new TimerWheel<>(TIMER_TICK_MS, TIMER_WHEEL_SIZE);
 
     @Override
     protected void handleInput(Tuple input) {
@@ -82,18 +82,22 @@ public final class CoordinatorBolt extends AbstractBolt {
     void registerCallback(String key, Object context, int timeout, int taskId) {
         log.trace("Adding callback for {} with timeout {}", key, timeout);
         long triggerTime = System.currentTimeMillis() + timeout;
-        timeouts.computeIfAbsent(triggerTime, mappingFunction -> new HashSet<>())
-                .add(key);
+        Timer<String> timer = timeouts.schedule(triggerTime, key);
 
         Values value = new Values(key, context);
-        callbacks.put(key, Callback.of(taskId, value));
+        Callback replaced = callbacks.put(key, Callback.of(taskId, value, timer));
+        if (replaced != null) {
+            replaced.timer.cancel();
+        }
     }
 
     @VisibleForTesting
     void cancelCallback(String key) {
-        if (callbacks.remove(key) == null) {
+        Callback callback = callbacks.remove(key);
+        if (callback == null) {
             log.warn("{} is already cancelled", key);
         } else {
+            callback.timer.cancel();
             log.debug("Request processing of {} is finished", key);
         }
     }
@@ -103,15 +107,12 @@ public final class CoordinatorBolt extends AbstractBolt {
      */
     @VisibleForTesting
     void tick(Long currentTime) {
-        SortedMap<Long, Set<String>> outdatedCallbacks = timeouts.headMap(currentTime);
-        for (Set<String> callbacks : outdatedCallbacks.values()) {
-            callbacks.stream()
-                    .map(this.callbacks::remove)
-                    .filter(Objects::nonNull)
-                    .forEach(callback -> getOutput().emitDirect(callback.taskId, callback.context));
+        for (String key : timeouts.advance(currentTime)) {
+            Callback callback = callbacks.remove(key);
+            if (callback != null) {
+                getOutput().emitDirect(callback.taskId, callback.context);
+            }
         }
-
-        outdatedCallbacks.clear();
     }
 
     @Override
@@ -126,7 +127,7 @@ public final class CoordinatorBolt extends AbstractBolt {
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<String>> getTimeouts() {
+    TimerWheel<String> getTimeouts() {
         return timeouts;
     }
 
@@ -139,5 +140,6 @@ public final class CoordinatorBolt extends AbstractBolt {
     private static class Callback {
         private final int taskId;
         private final Values context;
+        private final Timer<String> timer;
     }
 }
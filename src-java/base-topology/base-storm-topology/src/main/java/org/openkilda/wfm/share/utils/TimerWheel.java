@@ -0,0 +1,217 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Hashed timer wheel. Timers are hashed by the tick of their deadline into a fixed ring of slots, each slot is a
+ * doubly-linked list, so scheduling and cancelling a timer are O(1). Advancing the wheel visits only the slots of
+ * the passed ticks, i.e. the timers due plus the ones which are whole turns of the wheel ahead.
+ * <p/>
+ * Time units are up to the caller, the tick duration must be in the units of deadlines. A timer expires once the
+ * wheel is advanced to the time not before its deadline, so the tick duration affects performance, not accuracy.
+ * Not thread-safe.
+ */
+public class TimerWheel<T> implements Serializable {
+    private static final Comparator<Timer<?>> DEADLINE_ORDER = Comparator.comparingLong(Timer::getDeadline);
+
+    private final long tickDuration;
+    private final Timer<T>[] heads;
+    private final Timer<T>[] tails;
+    private final int mask;
+
+    /**
+     * The slot of this tick may still keep timers due later within the tick, all the previous ticks are passed.
+     */
+    private long currentTick;
+    private boolean started;
+    private int size;
+
+    /**
+     * Creates the wheel.
+     *
+     * @param tickDuration duration of a slot in the units of deadlines.
+     * @param wheelSize number of slots, rounded up to a power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickDuration, int wheelSize) {
+        if (tickDuration <= 0 || wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid timer wheel tick duration %d or size %d", tickDuration, wheelSize));
+        }
+        int slotsCount = Integer.highestOneBit(wheelSize);
+        if (slotsCount < wheelSize) {
+            slotsCount <<= 1;
+        }
+        this.tickDuration = tickDuration;
+        this.heads = new Timer[slotsCount];
+        this.tails = new Timer[slotsCount];
+        this.mask = slotsCount - 1;
+    }
+
+    /**
+     * Schedules the timer. Timers with passed deadlines expire on the next advance.
+     */
+    public Timer<T> schedule(long deadline, T payload) {
+        long tick = Math.floorDiv(deadline, tickDuration);
+        if (!started) {
+            currentTick = tick;
+            started = true;
+        }
+
+        Timer<T> timer = new Timer<>(this, deadline, Math.max(tick, currentTick), payload);
+        link(timer);
+        return timer;
+    }
+
+    /**
+     * Removes the timers which deadlines are not after the given time.
+     *
+     * @return payloads of the expired timers ordered by deadline.
+     */
+    public List<T> advance(long now) {
+        long targetTick = Math.floorDiv(now, tickDuration);
+        if (!started) {
+            currentTick = targetTick;
+            started = true;
+        }
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return Collections.emptyList();
+        }
+
+        List<Timer<T>> expired = new ArrayList<>();
+        // a turn of the wheel visits all slots, so the passed ticks beyond it have nothing left to expire
+        long lastTick = Math.min(Math.max(currentTick, targetTick), currentTick + mask);
+        for (long tick = currentTick; tick <= lastTick; tick++) {
+            collectExpired((int) (tick & mask), now, expired);
+        }
+        currentTick = Math.max(currentTick, targetTick);
+
+        if (expired.isEmpty()) {
+            return Collections.emptyList();
+        }
+        expired.sort(DEADLINE_ORDER);
+        List<T> payloads = new ArrayList<>(expired.size());
+        for (Timer<T> timer : expired) {
+            payloads.add(timer.payload);
+        }
+        return payloads;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void collectExpired(int slot, long now, List<Timer<T>> expired) {
+        Timer<T> timer = heads[slot];
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            if (timer.deadline <= now) {
+                unlink(timer);
+                expired.add(timer);
+            }
+            timer = next;
+        }
+    }
+
+    private void link(Timer<T> timer) {
+        int slot = (int) (timer.tick & mask);
+        Timer<T> tail = tails[slot];
+        timer.prev = tail;
+        if (tail == null) {
+            heads[slot] = timer;
+        } else {
+            tail.next = timer;
+        }
+        tails[slot] = timer;
+        timer.scheduled = true;
+        size++;
+    }
+
+    private void unlink(Timer<T> timer) {
+        int slot = (int) (timer.tick & mask);
+        if (timer.prev == null) {
+            heads[slot] = timer.next;
+        } else {
+            timer.prev.next = timer.next;
+        }
+        if (timer.next == null) {
+            tails[slot] = timer.prev;
+        } else {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.scheduled = false;
+        size--;
+    }
+
+    /**
+     * Handle of a scheduled timer.
+     */
+    public static final class Timer<T> implements Serializable {
+        private final TimerWheel<T> wheel;
+        private final long deadline;
+        private final long tick;
+        private final T payload;
+
+        private Timer<T> prev;
+        private Timer<T> next;
+        private boolean scheduled;
+
+        private Timer(TimerWheel<T> wheel, long deadline, long tick, T payload) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.tick = tick;
+            this.payload = payload;
+        }
+
+        /**
+         * Removes the timer from the wheel.
+         *
+         * @return false if the timer is already expired or cancelled.
+         */
+        public boolean cancel() {
+            if (!scheduled) {
+                return false;
+            }
+            wheel.unlink(this);
+            return true;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public boolean isScheduled() {
+            return scheduled;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.openkilda.config.KafkaConfig;
 import org.openkilda.config.naming.KafkaNamingStrategy;
 import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.WireCodec;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.config.naming.TopologyNamingStrategy;
 import org.openkilda.wfm.config.provider.MultiPrefixConfigurationProvider;
@@ -31,6 +32,7 @@ import org.openkilda.wfm.kafka.AbstractMessageSerializer;
 import org.openkilda.wfm.kafka.CustomNamedSubscription;
 import org.openkilda.wfm.kafka.MessageDeserializer;
 import org.openkilda.wfm.kafka.MessageSerializer;
+import org.openkilda.wfm.kafka.WireCodecKafkaBolt;
 import org.openkilda.wfm.topology.utils.AbstractMessageTranslator;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
@@ -160,13 +162,14 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
         return errorCode;
     }
 
-    private Properties getKafkaProducerProperties() {
+    protected Properties getKafkaProducerProperties() {
         Properties kafka = new Properties();
 
         kafka.setProperty(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
         kafka.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
         kafka.setProperty(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfig.getHosts());
         kafka.setProperty("request.required.acks", "1");
+        kafka.setProperty(WireCodec.BINARY_TOPICS_CONFIG, kafkaConfig.getBinaryTopics());
 
         return kafka;
     }
@@ -265,7 +268,7 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
      */
     @Deprecated
     protected KafkaBolt<String, String> createKafkaBolt(final String topic) {
-        return new KafkaBolt<String, String>()
+        return new WireCodecKafkaBolt<String, String>()
                 .withProducerProperties(getKafkaProducerProperties())
                 .withTopicSelector(new DefaultTopicSelector(topic))
                 .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
@@ -281,7 +284,7 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
         Properties properties = getKafkaProducerProperties();
         properties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, MessageSerializer.class.getName());
 
-        return new KafkaBolt<String, Message>()
+        return new WireCodecKafkaBolt<String, Message>()
                 .withProducerProperties(properties)
                 .withTopicSelector(new DefaultTopicSelector(topic))
                 .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
@@ -297,7 +300,7 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
         Properties properties = getKafkaProducerProperties();
         properties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, AbstractMessageSerializer.class.getName());
 
-        return new KafkaBolt<String, T>()
+        return new WireCodecKafkaBolt<String, T>()
                 .withProducerProperties(properties)
                 .withTopicSelector(new DefaultTopicSelector(topic))
                 .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
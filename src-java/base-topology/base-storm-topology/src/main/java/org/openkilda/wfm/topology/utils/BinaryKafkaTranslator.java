@@ -1,4 +1,4 @@
-/* Copyright 2019 Telstra Open Source
+/* Copyright 2020 Telstra Open Source
  *
  *   Licensed under the Apache License, Version 2.0 (the "License");
  *   you may not use this file except in compliance with the License.
@@ -13,14 +13,17 @@
  *   limitations under the License.
  */
 
-package org.openkilda.wfm.topology.stats;
+package org.openkilda.wfm.topology.utils;
 
-import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.CommandContext;
 
-import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 
-@Value
-public class MeterCacheKey {
-    private SwitchId switchId;
-    private Long meterId;
+@Slf4j
+public class BinaryKafkaTranslator extends GenericKafkaRecordTranslator<byte[]> {
+    @Override
+    protected CommandContext makeContext(ConsumerRecord<?, ?> record, byte[] payload) {
+        return new CommandContext(record);
+    }
 }
@@ -15,14 +15,31 @@
 
 package org.openkilda.wfm.topology.utils;
 
+import org.openkilda.messaging.WireCodec;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import java.util.Collections;
+import java.util.Set;
+
 public final class SerializationUtils {
 
     public static ObjectMapper MAPPER = new ObjectMapper()
             .registerModule(new JavaTimeModule());
 
+    public static ObjectMapper BINARY_MAPPER = WireCodec.createBinaryMapper()
+            .registerModule(new JavaTimeModule());
+
+    /**
+     * Codec which encodes values as JSON and decodes values of any wire format.
+     */
+    public static final WireCodec WIRE_CODEC = createWireCodec(Collections.emptySet());
+
+    public static WireCodec createWireCodec(Set<String> binaryTopics) {
+        return new WireCodec(MAPPER, BINARY_MAPPER, binaryTopics);
+    }
+
     /**
      * A private constructor.
      */
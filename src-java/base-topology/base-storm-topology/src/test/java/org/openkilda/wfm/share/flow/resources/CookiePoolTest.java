@@ -30,7 +30,7 @@ public class CookiePoolTest extends Neo4jBasedTest {
 
     @Before
     public void setUp() {
-        cookiePool = new CookiePool(persistenceManager, 5, 25);
+        cookiePool = new CookiePool(persistenceManager, 5, 25, 0);
     }
 
     @Test
@@ -47,7 +47,7 @@ public class MeterPoolTest extends Neo4jBasedTest {
 
     @Before
     public void setUp() {
-        meterPool = new MeterPool(persistenceManager, new MeterId(31), new MeterId(40));
+        meterPool = new MeterPool(persistenceManager, new MeterId(31), new MeterId(40), 0);
 
         SwitchRepository switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         switchRepository.createOrUpdate(Switch.builder().switchId(SWITCH_ID).build());
@@ -78,6 +78,22 @@ public class MeterPoolTest extends Neo4jBasedTest {
         assertEquals(34, sixth);
     }
 
+    @Test
+    public void shouldReloadMetersOfSwitchOnceAllReleased() {
+        meterPool.allocate(SWITCH_ID, FLOW_1, PATH_ID_1);
+        meterPool.deallocate(PATH_ID_1);
+
+        // another worker has taken the released meter
+        flowMeterRepository.createOrUpdate(FlowMeter.builder()
+                .meterId(new MeterId(31))
+                .switchId(SWITCH_ID)
+                .flowId(FLOW_2)
+                .pathId(PATH_ID_2)
+                .build());
+
+        assertEquals(32, meterPool.allocate(SWITCH_ID, FLOW_3, PATH_ID_3).getValue());
+    }
+
     @Test(expected = ResourceNotAvailableException.class)
     public void meterPoolFullTest() {
         for (int i = 31; i <= 41; i++) {
@@ -0,0 +1,104 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResourceIdBitmapTest {
+    @Test
+    public void shouldAllocateLowestFreeId() {
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(5, 25, () -> Arrays.stream(new long[]{1, 6, 8, 30}));
+
+        assertEquals(OptionalLong.of(5), bitmap.allocate());
+        assertEquals(OptionalLong.of(7), bitmap.allocate());
+        assertEquals(OptionalLong.of(9), bitmap.allocate());
+
+        bitmap.deallocate(6);
+        assertEquals(OptionalLong.of(6), bitmap.allocate());
+        assertEquals(OptionalLong.of(10), bitmap.allocate());
+    }
+
+    @Test
+    public void shouldLoadAssignedIdsOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(1, 100, () -> {
+            loads.incrementAndGet();
+            return Arrays.stream(new long[0]);
+        });
+
+        for (int i = 0; i < 10; i++) {
+            bitmap.allocate();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldReloadBeforeReportingExhaustedRange() {
+        List<Long> assigned = new ArrayList<>(Arrays.asList(1L, 2L));
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(1, 3, () -> assigned.stream().mapToLong(Long::longValue));
+
+        assertEquals(OptionalLong.of(3), bitmap.allocate());
+
+        // another worker has released an id
+        assigned.remove(1L);
+        assigned.add(3L);
+        assertEquals(OptionalLong.of(1), bitmap.allocate());
+        assigned.add(1L);
+
+        assertFalse(bitmap.allocate().isPresent());
+    }
+
+    @Test
+    public void shouldAllocateFromPartitionStart() {
+        ResourceIdBitmap first = new ResourceIdBitmap(1, 10, 1, () -> Arrays.stream(new long[]{8}));
+        ResourceIdBitmap second = new ResourceIdBitmap(1, 10, 2, () -> Arrays.stream(new long[]{8}));
+
+        assertEquals(OptionalLong.of(7), first.allocate());
+        assertEquals(OptionalLong.of(9), first.allocate());
+        assertEquals(OptionalLong.of(3), second.allocate());
+    }
+
+    @Test
+    public void shouldWrapAroundRangeEnd() {
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(1, 10, 1, () -> Arrays.stream(new long[]{2}));
+        for (long id : new long[]{7, 8, 9, 10, 1, 3}) {
+            assertEquals(OptionalLong.of(id), bitmap.allocate());
+        }
+
+        bitmap.deallocate(8);
+        assertEquals(OptionalLong.of(8), bitmap.allocate());
+        assertEquals(OptionalLong.of(4), bitmap.allocate());
+    }
+
+    @Test
+    public void shouldIgnoreIdsOutOfRange() {
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(10, 11, () -> Arrays.stream(new long[0]));
+        bitmap.allocate();
+        bitmap.deallocate(9);
+        bitmap.deallocate(12);
+
+        assertEquals(OptionalLong.of(11), bitmap.allocate());
+    }
+}
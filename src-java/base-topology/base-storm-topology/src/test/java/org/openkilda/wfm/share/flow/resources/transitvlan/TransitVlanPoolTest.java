@@ -41,7 +41,7 @@ public class TransitVlanPoolTest extends Neo4jBasedTest {
 
     @Before
     public void setUp() {
-        transitVlanPool = new TransitVlanPool(persistenceManager, 100, 110);
+        transitVlanPool = new TransitVlanPool(persistenceManager, 100, 110, 0);
 
         SwitchRepository switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         switchRepository.createOrUpdate(switch1);
@@ -39,7 +39,7 @@ public class VxlanPoolTest extends Neo4jBasedTest {
 
     @Before
     public void setUp() {
-        vxlanPool = new VxlanPool(persistenceManager, 100, 110);
+        vxlanPool = new VxlanPool(persistenceManager, 100, 110, 0);
 
         SwitchRepository switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         switchRepository.createOrUpdate(switch1);
@@ -0,0 +1,293 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.bolt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openkilda.wfm.AbstractBolt.FIELD_ID_CONTEXT;
+import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
+
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.model.history.FlowHistory;
+import org.openkilda.model.history.HistoryLog;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.RecoverablePersistenceException;
+import org.openkilda.persistence.TransactionCallback;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+import org.openkilda.persistence.repositories.history.FlowHistoryRepository;
+import org.openkilda.persistence.repositories.history.FlowStateRepository;
+import org.openkilda.persistence.repositories.history.HistoryLogRepository;
+import org.openkilda.persistence.repositories.history.PortHistoryRepository;
+import org.openkilda.persistence.repositories.history.StateLogRepository;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.share.history.model.FlowEventData;
+import org.openkilda.wfm.share.history.model.FlowHistoryData;
+import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
+import org.openkilda.wfm.share.history.service.PendingFlowEvents;
+
+import org.apache.storm.Constants;
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class HistoryBoltTest {
+    private static final String FLOW_ID = "test_flow";
+    private static final String TASK_ID_1 = "task_1";
+    private static final String TASK_ID_2 = "task_2";
+    private static final String BROKEN_TASK_ID = "broken_task";
+
+    private FlowEventRepository flowEventRepository;
+    private FlowHistoryRepository flowHistoryRepository;
+    private HistoryLogRepository historyLogRepository;
+    private HistoryBoltConfig config;
+    private HistoryBolt bolt;
+
+    @Before
+    public void setUp() throws Exception {
+        TransactionManager transactionManager = mock(TransactionManager.class);
+        doAnswer(invocation -> ((TransactionCallback<?, ?>) invocation.getArgument(0)).doInTransaction())
+                .when(transactionManager).doInTransaction(any(TransactionCallback.class));
+
+        flowEventRepository = mock(FlowEventRepository.class);
+        flowHistoryRepository = mock(FlowHistoryRepository.class);
+        historyLogRepository = mock(HistoryLogRepository.class);
+        RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
+        when(repositoryFactory.createFlowEventRepository()).thenReturn(flowEventRepository);
+        when(repositoryFactory.createFlowHistoryRepository()).thenReturn(flowHistoryRepository);
+        when(repositoryFactory.createHistoryLogRepository()).thenReturn(historyLogRepository);
+        when(repositoryFactory.createFlowStateRepository()).thenReturn(mock(FlowStateRepository.class));
+        when(repositoryFactory.createStateLogRepository()).thenReturn(mock(StateLogRepository.class));
+        when(repositoryFactory.createPortHistoryRepository()).thenReturn(mock(PortHistoryRepository.class));
+
+        PersistenceManager persistenceManager = mock(PersistenceManager.class);
+        when(persistenceManager.getTransactionManager()).thenReturn(transactionManager);
+        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+
+        config = mock(HistoryBoltConfig.class);
+        when(config.getBatchSize()).thenReturn(10);
+        when(config.getFlushInterval()).thenReturn(1);
+        when(config.getBufferCapacity()).thenReturn(100);
+        when(config.getLinkAttempts()).thenReturn(3);
+
+        TopologyContext context = mock(TopologyContext.class);
+        when(context.getThisComponentId()).thenReturn("history");
+        when(context.registerMetric(anyString(), any(IMetric.class), anyInt()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+
+        bolt = new HistoryBolt(persistenceManager, config);
+        bolt.prepare(Collections.emptyMap(), context, mock(OutputCollector.class));
+    }
+
+    @Test
+    public void shouldStoreBatchOnceCollected() {
+        when(config.getBatchSize()).thenReturn(2);
+
+        bolt.execute(makeTuple(buildEvent(TASK_ID_1)));
+        verify(flowEventRepository, never()).createAll(anyCollection());
+
+        bolt.execute(makeTuple(buildHistory(TASK_ID_1, "first")));
+        assertEquals(Collections.singletonList(TASK_ID_1), captureCreatedEventTaskIds(1).get(0));
+        assertEquals(Collections.singletonList("first"), captureCreatedActions(1).get(0));
+        verify(historyLogRepository).createOrUpdate(any(HistoryLog.class));
+    }
+
+    @Test
+    public void shouldStoreBufferOnTick() {
+        bolt.execute(makeTuple(buildEvent(TASK_ID_1)));
+        bolt.execute(makeTuple(buildHistory(TASK_ID_1, "first")));
+        verify(flowEventRepository, never()).createAll(anyCollection());
+
+        bolt.execute(makeTickTuple());
+        assertEquals(Collections.singletonList(TASK_ID_1), captureCreatedEventTaskIds(1).get(0));
+        verify(historyLogRepository).createOrUpdate(any(HistoryLog.class));
+    }
+
+    @Test
+    public void shouldExposeBufferedFlowEventUntilStored() {
+        bolt.execute(makeTuple(buildEvent(TASK_ID_1)));
+        assertTrue(PendingFlowEvents.contains(TASK_ID_1));
+
+        bolt.execute(makeTickTuple());
+        assertFalse(PendingFlowEvents.contains(TASK_ID_1));
+    }
+
+    @Test
+    public void shouldRetryUnlinkedActionUntilEventIsStored() {
+        bolt.execute(makeTuple(buildHistory(TASK_ID_2, "second")));
+        bolt.execute(makeTickTuple());
+        assertEquals(Collections.emptyList(), captureCreatedActions(1).get(0));
+
+        // the event is stored by another bolt instance
+        FlowEvent storedEvent = FlowEvent.builder().taskId(TASK_ID_2).flowId(FLOW_ID).build();
+        when(flowEventRepository.findByTaskIds(Collections.singleton(TASK_ID_2)))
+                .thenReturn(Collections.singletonList(storedEvent));
+        bolt.execute(makeTickTuple());
+
+        List<List<String>> actions = captureCreatedActions(2);
+        assertEquals(Collections.singletonList("second"), actions.get(1));
+        ArgumentCaptor<HistoryLog> logs = ArgumentCaptor.forClass(HistoryLog.class);
+        verify(historyLogRepository).createOrUpdate(logs.capture());
+        assertEquals(storedEvent, logs.getValue().getFlowEvent());
+    }
+
+    @Test
+    public void shouldStoreUnlinkedActionOnceAttemptsAreExhausted() {
+        bolt.execute(makeTuple(buildHistory(TASK_ID_2, "second")));
+        for (int i = 0; i < config.getLinkAttempts(); i++) {
+            bolt.execute(makeTickTuple());
+        }
+
+        List<List<String>> actions = captureCreatedActions(config.getLinkAttempts() + 1);
+        for (int i = 0; i < config.getLinkAttempts(); i++) {
+            assertEquals(Collections.emptyList(), actions.get(i));
+        }
+        assertEquals(Collections.singletonList("second"), actions.get(config.getLinkAttempts()));
+        verify(historyLogRepository, never()).createOrUpdate(any(HistoryLog.class));
+
+        bolt.execute(makeTickTuple());
+        captureCreatedActions(config.getLinkAttempts() + 1);
+    }
+
+    @Test
+    public void shouldDropOnlyFailingRecordOfBatch() {
+        doAnswer(invocation -> {
+            Collection<FlowEvent> events = invocation.getArgument(0);
+            if (events.stream().anyMatch(event -> BROKEN_TASK_ID.equals(event.getTaskId()))) {
+                throw new IllegalStateException("broken event");
+            }
+            return null;
+        }).when(flowEventRepository).createAll(anyCollection());
+
+        bolt.execute(makeTuple(buildEvent(TASK_ID_1)));
+        bolt.execute(makeTuple(buildEvent(BROKEN_TASK_ID)));
+        bolt.execute(makeTuple(buildEvent(TASK_ID_2)));
+        bolt.execute(makeTickTuple());
+
+        List<List<String>> events = captureCreatedEventTaskIds(4);
+        assertEquals(3, events.get(0).size());
+        assertEquals(Collections.singletonList(TASK_ID_1), events.get(1));
+        assertEquals(Collections.singletonList(BROKEN_TASK_ID), events.get(2));
+        assertEquals(Collections.singletonList(TASK_ID_2), events.get(3));
+
+        // nothing is left in the buffer
+        bolt.execute(makeTickTuple());
+        captureCreatedEventTaskIds(4);
+    }
+
+    @Test
+    public void shouldKeepBatchOnRecoverableError() {
+        doThrow(new RecoverablePersistenceException("locked"))
+                .doNothing()
+                .when(flowEventRepository).createAll(anyCollection());
+
+        bolt.execute(makeTuple(buildEvent(TASK_ID_1)));
+        bolt.execute(makeTickTuple());
+        bolt.execute(makeTickTuple());
+
+        List<List<String>> events = captureCreatedEventTaskIds(2);
+        assertEquals(Collections.singletonList(TASK_ID_1), events.get(0));
+        assertEquals(Collections.singletonList(TASK_ID_1), events.get(1));
+
+        bolt.execute(makeTickTuple());
+        captureCreatedEventTaskIds(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<String>> captureCreatedEventTaskIds(int times) {
+        ArgumentCaptor<Collection<FlowEvent>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(flowEventRepository, times(times)).createAll(captor.capture());
+        List<List<String>> result = new ArrayList<>();
+        for (Collection<FlowEvent> events : captor.getAllValues()) {
+            result.add(events.stream().map(FlowEvent::getTaskId).collect(Collectors.toList()));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<String>> captureCreatedActions(int times) {
+        ArgumentCaptor<Collection<FlowHistory>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(flowHistoryRepository, times(times)).createAll(captor.capture());
+        List<List<String>> result = new ArrayList<>();
+        for (Collection<FlowHistory> histories : captor.getAllValues()) {
+            result.add(histories.stream().map(FlowHistory::getAction).collect(Collectors.toList()));
+        }
+        return result;
+    }
+
+    private static FlowHistoryHolder buildEvent(String taskId) {
+        return FlowHistoryHolder.builder()
+                .taskId(taskId)
+                .flowEventData(FlowEventData.builder()
+                        .flowId(FLOW_ID)
+                        .event(FlowEventData.Event.CREATE)
+                        .initiator(FlowEventData.Initiator.NB)
+                        .time(Instant.now())
+                        .build())
+                .build();
+    }
+
+    private static FlowHistoryHolder buildHistory(String taskId, String action) {
+        return FlowHistoryHolder.builder()
+                .taskId(taskId)
+                .flowHistoryData(FlowHistoryData.builder()
+                        .flowId(FLOW_ID)
+                        .action(action)
+                        .time(Instant.now())
+                        .build())
+                .build();
+    }
+
+    private static Tuple makeTuple(FlowHistoryHolder historyHolder) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceComponent()).thenReturn("hub");
+        when(tuple.getSourceStreamId()).thenReturn("history");
+        when(tuple.getValueByField(FIELD_ID_PAYLOAD)).thenReturn(historyHolder);
+        when(tuple.getValueByField(FIELD_ID_CONTEXT)).thenReturn(new CommandContext());
+        return tuple;
+    }
+
+    private static Tuple makeTickTuple() {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceComponent()).thenReturn(Constants.SYSTEM_COMPONENT_ID);
+        when(tuple.getSourceStreamId()).thenReturn(Constants.SYSTEM_TICK_STREAM_ID);
+        return tuple;
+    }
+}
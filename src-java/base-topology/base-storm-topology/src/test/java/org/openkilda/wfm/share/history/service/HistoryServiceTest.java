@@ -0,0 +1,131 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.model.history.FlowHistory;
+import org.openkilda.model.history.HistoryLog;
+import org.openkilda.persistence.TransactionCallback;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+import org.openkilda.persistence.repositories.history.FlowHistoryRepository;
+import org.openkilda.persistence.repositories.history.FlowStateRepository;
+import org.openkilda.persistence.repositories.history.HistoryLogRepository;
+import org.openkilda.wfm.share.history.model.FlowEventData;
+import org.openkilda.wfm.share.history.model.FlowHistoryData;
+import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class HistoryServiceTest {
+    private static final String FLOW_ID = "test_flow";
+    private static final String TASK_ID_1 = "task_1";
+    private static final String TASK_ID_2 = "task_2";
+
+    private TransactionManager transactionManager;
+    private FlowEventRepository flowEventRepository;
+    private FlowHistoryRepository flowHistoryRepository;
+    private HistoryLogRepository historyLogRepository;
+    private HistoryService service;
+
+    @Before
+    public void setUp() throws Exception {
+        transactionManager = mock(TransactionManager.class);
+        doAnswer(invocation -> ((TransactionCallback<?, ?>) invocation.getArgument(0)).doInTransaction())
+                .when(transactionManager).doInTransaction(any(TransactionCallback.class));
+
+        flowEventRepository = mock(FlowEventRepository.class);
+        flowHistoryRepository = mock(FlowHistoryRepository.class);
+        historyLogRepository = mock(HistoryLogRepository.class);
+        RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
+        when(repositoryFactory.createFlowEventRepository()).thenReturn(flowEventRepository);
+        when(repositoryFactory.createFlowHistoryRepository()).thenReturn(flowHistoryRepository);
+        when(repositoryFactory.createHistoryLogRepository()).thenReturn(historyLogRepository);
+        when(repositoryFactory.createFlowStateRepository()).thenReturn(mock(FlowStateRepository.class));
+
+        service = new HistoryService(transactionManager, repositoryFactory);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldStoreBatchInOneTransaction() throws Exception {
+        FlowEvent storedEvent = FlowEvent.builder().taskId(TASK_ID_2).flowId(FLOW_ID).build();
+        when(flowEventRepository.findByTaskIds(ImmutableSet.of(TASK_ID_2)))
+                .thenReturn(Collections.singletonList(storedEvent));
+
+        service.store(ImmutableList.of(
+                FlowHistoryHolder.builder().taskId(TASK_ID_1).flowEventData(buildEventData()).build(),
+                FlowHistoryHolder.builder().taskId(TASK_ID_1).flowHistoryData(buildHistoryData("first")).build(),
+                FlowHistoryHolder.builder().taskId(TASK_ID_2).flowHistoryData(buildHistoryData("second")).build()));
+
+        verify(transactionManager, times(1)).doInTransaction(any(TransactionCallback.class));
+
+        ArgumentCaptor<Collection<FlowEvent>> events = ArgumentCaptor.forClass(Collection.class);
+        verify(flowEventRepository).createAll(events.capture());
+        assertEquals(1, events.getValue().size());
+        FlowEvent newEvent = events.getValue().iterator().next();
+        assertEquals(TASK_ID_1, newEvent.getTaskId());
+
+        ArgumentCaptor<Collection<FlowHistory>> histories = ArgumentCaptor.forClass(Collection.class);
+        verify(flowHistoryRepository).createAll(histories.capture());
+        assertEquals(2, histories.getValue().size());
+
+        // the first action is linked to the event of the same batch, the second one to the stored event
+        ArgumentCaptor<HistoryLog> logs = ArgumentCaptor.forClass(HistoryLog.class);
+        verify(historyLogRepository, times(2)).createOrUpdate(logs.capture());
+        List<HistoryLog> historyLogs = logs.getAllValues();
+        assertSame(newEvent, historyLogs.get(0).getFlowEvent());
+        assertEquals("first", historyLogs.get(0).getFlowHistory().getAction());
+        assertSame(storedEvent, historyLogs.get(1).getFlowEvent());
+        assertEquals("second", historyLogs.get(1).getFlowHistory().getAction());
+    }
+
+    private FlowEventData buildEventData() {
+        return FlowEventData.builder()
+                .flowId(FLOW_ID)
+                .event(FlowEventData.Event.CREATE)
+                .initiator(FlowEventData.Initiator.NB)
+                .time(Instant.now())
+                .build();
+    }
+
+    private FlowHistoryData buildHistoryData(String action) {
+        return FlowHistoryData.builder()
+                .flowId(FLOW_ID)
+                .action(action)
+                .time(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.wfm.share.utils.TimerWheel.Timer;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimerWheelTest {
+    @Test
+    public void shouldExpireTimersInDeadlineOrder() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 8);
+        wheel.schedule(35, "c");
+        wheel.schedule(12, "a");
+        wheel.schedule(30, "b");
+        wheel.schedule(1000, "far");
+        assertEquals(4, wheel.size());
+
+        assertTrue(wheel.advance(11).isEmpty());
+        assertEquals(ImmutableList.of("a"), wheel.advance(12));
+        assertTrue(wheel.advance(29).isEmpty());
+        assertEquals(ImmutableList.of("b", "c"), wheel.advance(40));
+        assertEquals(1, wheel.size());
+
+        // the far timer shares the slot with the passed ones, but is not due until later turns of the wheel
+        assertTrue(wheel.advance(999).isEmpty());
+        assertEquals(ImmutableList.of("far"), wheel.advance(1000));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void shouldNotExpireCancelledTimers() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 8);
+        Timer<String> first = wheel.schedule(20, "first");
+        wheel.schedule(20, "second");
+
+        assertTrue(first.cancel());
+        assertFalse(first.cancel());
+        assertFalse(first.isScheduled());
+        assertEquals(1, wheel.size());
+
+        assertEquals(ImmutableList.of("second"), wheel.advance(100));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void shouldExpirePassedDeadlinesOnNextAdvance() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 8);
+        wheel.advance(500);
+        wheel.schedule(100, "late");
+        wheel.schedule(505, "now");
+
+        assertEquals(ImmutableList.of("late", "now"), wheel.advance(505));
+    }
+
+    @Test
+    public void shouldExpireAfterLongPause() {
+        TimerWheel<Integer> wheel = new TimerWheel<>(1, 16);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(i * 7, i);
+            expected.add(i);
+        }
+
+        assertEquals(expected, wheel.advance(10_000));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void shouldAllowSchedulingFromExpiredTimerHandler() {
+        TimerWheel<Integer> wheel = new TimerWheel<>(5, 4);
+        wheel.schedule(10, 0);
+
+        int fired = 0;
+        for (long now = 0; now <= 100; now++) {
+            for (Integer generation : wheel.advance(now)) {
+                fired++;
+                wheel.schedule(now + 10, generation + 1);
+            }
+        }
+        assertEquals(10, fired);
+        assertEquals(1, wheel.size());
+    }
+}
@@ -48,7 +48,8 @@ public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesT
     }
 
     private void createPacketBolt(TopologyBuilder builder, PersistenceManager persistenceManager) {
-        PacketBolt routerBolt = new PacketBolt(persistenceManager);
+        PacketBolt routerBolt = new PacketBolt(persistenceManager, topologyConfig.getFlushInterval(),
+                topologyConfig.getDeviceCacheExpiry());
         builder.setBolt(PACKET_BOLT_ID, routerBolt, topologyConfig.getNewParallelism())
                 .shuffleGrouping(CONNECTED_DEVICES_SPOUT_ID);
     }
@@ -18,6 +18,10 @@ package org.openkilda.wfm.topology.connecteddevices;
 import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+import javax.validation.constraints.Min;
 
 @Configuration
 public interface ConnectedDevicesTopologyConfig extends AbstractTopologyConfig {
@@ -25,4 +29,14 @@ public interface ConnectedDevicesTopologyConfig extends AbstractTopologyConfig {
     default String getKafkaTopoConnectedDevicesTopic() {
         return getKafkaTopics().getTopoConnectedDevicesTopic();
     }
+
+    @Key("connected.devices.flush.interval") // how often last seen time of devices is stored in neo4j in seconds
+    @Default("10")
+    @Min(1)
+    int getFlushInterval();
+
+    @Key("connected.devices.cache.expiry") // devices not seen for this time are evicted from the cache in seconds
+    @Default("300")
+    @Min(1)
+    int getDeviceCacheExpiry();
 }
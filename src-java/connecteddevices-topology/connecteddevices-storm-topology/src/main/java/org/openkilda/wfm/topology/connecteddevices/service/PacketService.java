@@ -41,57 +41,166 @@ import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+/**
+ * Keeps connected devices in sync with received LLDP packets. LLDP packets of the same device come periodically with
+ * the same attributes, so known devices and flow lookups are cached: a packet of a known unchanged device only updates
+ * its last seen time in memory and the dirty last seen times are stored in batches by {@link #flushLastSeenTime()}.
+ * New and changed devices are stored right away. Not thread-safe.
+ */
 @Slf4j
 public class PacketService {
     public static final int FULL_PORT_VLAN = 0;
 
+    private static final Duration DEFAULT_FLOW_CACHE_TTL = Duration.ofSeconds(10);
+    private static final Duration DEFAULT_DEVICE_CACHE_EXPIRY = Duration.ofMinutes(5);
+
     private TransactionManager transactionManager;
     private SwitchRepository switchRepository;
     private SwitchConnectedDeviceRepository switchConnectedDeviceRepository;
     private TransitVlanRepository transitVlanRepository;
     private FlowRepository flowRepository;
 
+    private final Clock clock;
+    private final Duration flowCacheTtl;
+    private final Duration deviceCacheExpiry;
+    private final Map<PacketKey, CachedFlowRelatedData> flowCache = new HashMap<>();
+    private final Map<DeviceKey, CachedDevice> deviceCache = new HashMap<>();
+
     public PacketService(PersistenceManager persistenceManager) {
+        this(persistenceManager, Clock.systemUTC(), DEFAULT_FLOW_CACHE_TTL, DEFAULT_DEVICE_CACHE_EXPIRY);
+    }
+
+    public PacketService(PersistenceManager persistenceManager, Clock clock, Duration flowCacheTtl,
+                         Duration deviceCacheExpiry) {
         transactionManager = persistenceManager.getTransactionManager();
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         switchConnectedDeviceRepository = persistenceManager.getRepositoryFactory()
                 .createSwitchConnectedDeviceRepository();
         transitVlanRepository = persistenceManager.getRepositoryFactory().createTransitVlanRepository();
         flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
+        this.clock = clock;
+        this.flowCacheTtl = flowCacheTtl;
+        this.deviceCacheExpiry = deviceCacheExpiry;
     }
 
     /**
      * Handle Switch LLDP info data.
      */
     public void handleSwitchLldpData(SwitchLldpInfoData data) {
-        transactionManager.doInTransaction(() -> {
+        final Instant now = clock.instant();
+        FlowRelatedData flowRelatedData = getFlowRelatedData(data, now);
+        if (flowRelatedData == null) {
+            return;
+        }
 
-            FlowRelatedData flowRelatedData = findFlowRelatedData(data);
-            if (flowRelatedData == null) {
-                return;
-            }
+        DeviceKey key = new DeviceKey(data.getSwitchId(), data.getPortNumber(), flowRelatedData.originalVlan,
+                data.getMacAddress(), data.getChassisId(), data.getPortId());
+        DeviceAttributes attributes = new DeviceAttributes(data.getTtl(), data.getPortDescription(),
+                data.getSystemName(), data.getSystemDescription(), data.getSystemCapabilities(),
+                data.getManagementAddress(), flowRelatedData.flowId, flowRelatedData.source);
+        Instant timeLastSeen = Instant.ofEpochMilli(data.getTimestamp());
+
+        CachedDevice cachedDevice = deviceCache.get(key);
+        if (cachedDevice != null && cachedDevice.attributes.equals(attributes)) {
+            cachedDevice.see(timeLastSeen, now);
+            return;
+        }
+
+        boolean stored = transactionManager.doInTransaction(() -> storeDevice(data, key, attributes, timeLastSeen));
+        if (stored) {
+            deviceCache.put(key, new CachedDevice(attributes, timeLastSeen, now));
+        } else {
+            deviceCache.remove(key);
+        }
+    }
+
+    /**
+     * Stores last seen times of the devices which were seen since the previous flush and evicts expired cache
+     * entries. Devices removed from the DB meanwhile are evicted too, the next packet of such device stores it again.
+     */
+    public void flushLastSeenTime() {
+        Instant now = clock.instant();
+        flowCache.values().removeIf(entry -> !now.isBefore(entry.expireAt));
+
+        List<DeviceKey> dirty = deviceCache.entrySet().stream()
+                .filter(entry -> entry.getValue().dirty)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (!dirty.isEmpty()) {
+            List<DeviceKey> missing = transactionManager.doInTransaction(() -> storeLastSeenTime(dirty));
+            dirty.forEach(key -> deviceCache.get(key).dirty = false);
+            missing.forEach(deviceCache::remove);
+            log.debug("Stored last seen time of {} connected devices, {} of them are missing", dirty.size(),
+                    missing.size());
+        }
+
+        Instant expireBefore = now.minus(deviceCacheExpiry);
+        deviceCache.values().removeIf(device -> device.lastReceived.isBefore(expireBefore));
+    }
+
+    private FlowRelatedData getFlowRelatedData(SwitchLldpInfoData data, Instant now) {
+        PacketKey key = new PacketKey(data.getCookie(), data.getSwitchId(), data.getPortNumber(), data.getVlans());
+        CachedFlowRelatedData cached = flowCache.get(key);
+        if (cached != null && now.isBefore(cached.expireAt)) {
+            return cached.data;
+        }
+
+        FlowRelatedData flowRelatedData = transactionManager.doInTransaction(() -> findFlowRelatedData(data));
+        // negative results are cached too, so packets of unknown flows don't hit the DB on each packet
+        flowCache.put(key, new CachedFlowRelatedData(flowRelatedData, now.plus(flowCacheTtl)));
+        return flowRelatedData;
+    }
+
+    private boolean storeDevice(SwitchLldpInfoData data, DeviceKey key, DeviceAttributes attributes,
+                                Instant timeLastSeen) {
+        SwitchConnectedDevice device = getOrBuildSwitchDevice(data, key.vlan);
+
+        if (device == null) {
+            return false;
+        }
 
-            SwitchConnectedDevice device = getOrBuildSwitchDevice(data, flowRelatedData.originalVlan);
+        device.setTtl(attributes.ttl);
+        device.setPortDescription(attributes.portDescription);
+        device.setSystemName(attributes.systemName);
+        device.setSystemDescription(attributes.systemDescription);
+        device.setSystemCapabilities(attributes.systemCapabilities);
+        device.setManagementAddress(attributes.managementAddress);
+        device.setTimeLastSeen(timeLastSeen);
+        device.setFlowId(attributes.flowId);
+        device.setSource(attributes.source);
+
+        switchConnectedDeviceRepository.createOrUpdate(device);
+        return true;
+    }
 
-            if (device == null) {
-                return;
+    private List<DeviceKey> storeLastSeenTime(List<DeviceKey> keys) {
+        List<DeviceKey> missing = new ArrayList<>();
+        for (DeviceKey key : keys) {
+            Optional<SwitchConnectedDevice> device = switchConnectedDeviceRepository.findByUniqueFieldCombination(
+                    key.switchId, key.portNumber, key.vlan, key.macAddress, LLDP, key.chassisId, key.portId);
+            if (!device.isPresent()) {
+                missing.add(key);
+                continue;
             }
 
-            device.setTtl(data.getTtl());
-            device.setPortDescription(data.getPortDescription());
-            device.setSystemName(data.getSystemName());
-            device.setSystemDescription(data.getSystemDescription());
-            device.setSystemCapabilities(data.getSystemCapabilities());
-            device.setManagementAddress(data.getManagementAddress());
-            device.setTimeLastSeen(Instant.ofEpochMilli(data.getTimestamp()));
-            device.setFlowId(flowRelatedData.flowId);
-            device.setSource(flowRelatedData.source);
-
-            switchConnectedDeviceRepository.createOrUpdate(device);
-        });
+            Instant timeLastSeen = deviceCache.get(key).timeLastSeen;
+            // other bolt instances may have stored a later time already
+            if (device.get().getTimeLastSeen() == null || device.get().getTimeLastSeen().isBefore(timeLastSeen)) {
+                device.get().setTimeLastSeen(timeLastSeen);
+                switchConnectedDeviceRepository.createOrUpdate(device.get());
+            }
+        }
+        return missing;
     }
 
     private FlowRelatedData findFlowRelatedData(SwitchLldpInfoData data) {
@@ -345,4 +454,61 @@ public class PacketService {
         String flowId;
         Boolean source; // device connected to source of Flow or to destination
     }
+
+    @Value
+    private static class PacketKey {
+        long cookie;
+        SwitchId switchId;
+        int portNumber;
+        List<Integer> vlans;
+    }
+
+    @Value
+    private static class CachedFlowRelatedData {
+        FlowRelatedData data;
+        Instant expireAt;
+    }
+
+    @Value
+    private static class DeviceKey {
+        SwitchId switchId;
+        int portNumber;
+        int vlan;
+        String macAddress;
+        String chassisId;
+        String portId;
+    }
+
+    @Value
+    private static class DeviceAttributes {
+        Integer ttl;
+        String portDescription;
+        String systemName;
+        String systemDescription;
+        String systemCapabilities;
+        String managementAddress;
+        String flowId;
+        Boolean source;
+    }
+
+    private static class CachedDevice {
+        private final DeviceAttributes attributes;
+        private Instant timeLastSeen;
+        private Instant lastReceived;
+        private boolean dirty;
+
+        CachedDevice(DeviceAttributes attributes, Instant timeLastSeen, Instant lastReceived) {
+            this.attributes = attributes;
+            this.timeLastSeen = timeLastSeen;
+            this.lastReceived = lastReceived;
+        }
+
+        void see(Instant timeLastSeen, Instant lastReceived) {
+            if (timeLastSeen.isAfter(this.timeLastSeen)) {
+                this.timeLastSeen = timeLastSeen;
+                dirty = true;
+            }
+            this.lastReceived = lastReceived;
+        }
+    }
 }
@@ -45,6 +45,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -87,7 +88,7 @@ public class PacketServiceTest extends Neo4jBasedTest {
     private static FlowCookieRepository flowCookieRepository;
     private static FlowRepository flowRepository;
     private static TransitVlanRepository transitVlanRepository;
-    private static PacketService packetService;
+    private PacketService packetService;
 
     @BeforeClass
     public static void setUpOnce() {
@@ -97,11 +98,11 @@ public class PacketServiceTest extends Neo4jBasedTest {
         flowCookieRepository = persistenceManager.getRepositoryFactory().createFlowCookieRepository();
         flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
         transitVlanRepository = persistenceManager.getRepositoryFactory().createTransitVlanRepository();
-        packetService = new PacketService(persistenceManager);
     }
 
     @Before
     public void setUp() {
+        packetService = new PacketService(persistenceManager);
         switchRepository.createOrUpdate(Switch.builder().switchId(SWITCH_ID_1).build());
         switchRepository.createOrUpdate(Switch.builder().switchId(SWITCH_ID_2).build());
     }
@@ -125,12 +126,46 @@ public class PacketServiceTest extends Neo4jBasedTest {
         Thread.sleep(10);
         // update
         packetService.handleSwitchLldpData(createSwitchLldpInfoData());
+        packetService.flushLastSeenTime();
 
         Collection<SwitchConnectedDevice> devices = switchConnectedDeviceRepository.findAll();
         assertEquals(1, devices.size());
         assertNotEquals(devices.iterator().next().getTimeFirstSeen(), devices.iterator().next().getTimeLastSeen());
     }
 
+    @Test
+    public void testHandleLldpDataUnchangedDeviceStoredOnFlush() {
+        SwitchLldpInfoData data = createSwitchLldpInfoData();
+        packetService.handleSwitchLldpData(data);
+
+        SwitchLldpInfoData sameData = createSwitchLldpInfoData();
+        sameData.setTimestamp(data.getTimestamp() + 1000);
+        packetService.handleSwitchLldpData(sameData);
+        assertEquals(Instant.ofEpochMilli(data.getTimestamp()),
+                switchConnectedDeviceRepository.findAll().iterator().next().getTimeLastSeen());
+
+        packetService.flushLastSeenTime();
+        assertEquals(Instant.ofEpochMilli(sameData.getTimestamp()),
+                switchConnectedDeviceRepository.findAll().iterator().next().getTimeLastSeen());
+    }
+
+    @Test
+    public void testFlushLastSeenTimeDeviceRemovedFromDatabase() {
+        SwitchLldpInfoData data = createSwitchLldpInfoData();
+        packetService.handleSwitchLldpData(data);
+        switchConnectedDeviceRepository.findAll().forEach(switchConnectedDeviceRepository::delete);
+
+        SwitchLldpInfoData sameData = createSwitchLldpInfoData();
+        sameData.setTimestamp(data.getTimestamp() + 1000);
+        packetService.handleSwitchLldpData(sameData);
+        packetService.flushLastSeenTime();
+        assertTrue(switchConnectedDeviceRepository.findAll().isEmpty());
+
+        // the device is evicted from the cache, so the next packet stores it again
+        packetService.handleSwitchLldpData(sameData);
+        assertSwitchConnectedDeviceExistInDatabase(sameData);
+    }
+
     @Test
     public void testHandleSwitchLldpDataNonExistentSwitch() {
         SwitchLldpInfoData data = createSwitchLldpInfoData();
@@ -22,6 +22,7 @@ import static java.util.Objects.requireNonNull;
 import org.openkilda.floodlight.service.kafka.KafkaConsumerSetup;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
+import org.openkilda.messaging.WireCodec;
 
 import com.google.common.annotations.VisibleForTesting;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
@@ -76,7 +77,7 @@ public class Consumer implements Runnable {
              *  - max.poll.records = 500 (must be able to process about 2 records per second
              */
 
-            try (org.apache.kafka.clients.consumer.Consumer<String, String> consumer =
+            try (org.apache.kafka.clients.consumer.Consumer<String, byte[]> consumer =
                          kafkaUtilityService.makeConsumer(kafkaSetup)) {
                 logger.info("Kafka consumer: start. Topics: {}", kafkaSetup.getTopics());
 
@@ -84,14 +85,14 @@ public class Consumer implements Runnable {
 
                 while (true) {
                     try {
-                        ConsumerRecords<String, String> batch = consumer.poll(100);
+                        ConsumerRecords<String, byte[]> batch = consumer.poll(100);
                         if (batch.isEmpty()) {
                             continue;
                         }
 
                         logger.debug("Received records batch contain {} messages", batch.count());
 
-                        for (ConsumerRecord<String, String> record : batch) {
+                        for (ConsumerRecord<String, byte[]> record : batch) {
                             handle(record);
 
                             offsetRegistry.addAndCommit(record);
@@ -114,8 +115,11 @@ public class Consumer implements Runnable {
         }
     }
 
-    protected void handle(ConsumerRecord<String, String> record) {
-        logger.trace("received message: {} - key:{}, value:{}", record.offset(), record.key(), record.value());
+    protected void handle(ConsumerRecord<String, byte[]> record) {
+        if (logger.isTraceEnabled()) {
+            logger.trace("received message: {} - key:{}, value:{}", record.offset(), record.key(),
+                    WireCodec.toLogString(record.value()));
+        }
         handlersPool.execute(handlerFactory.produce(record));
     }
 
@@ -126,13 +130,13 @@ public class Consumer implements Runnable {
      */
     @VisibleForTesting
     static class KafkaOffsetRegistry {
-        private final org.apache.kafka.clients.consumer.Consumer<String, String> consumer;
+        private final org.apache.kafka.clients.consumer.Consumer<String, byte[]> consumer;
         private final long autoCommitInterval;
 
         private final Map<TopicPartition, Long> partitionToUncommittedOffset = new HashMap<>();
         private long lastCommitTime;
 
-        KafkaOffsetRegistry(org.apache.kafka.clients.consumer.Consumer<String, String> consumer,
+        KafkaOffsetRegistry(org.apache.kafka.clients.consumer.Consumer<String, byte[]> consumer,
                             long autoCommitInterval) {
             this.consumer = consumer;
             this.autoCommitInterval = autoCommitInterval;
@@ -144,7 +148,7 @@ public class Consumer implements Runnable {
          * Add the record's offset to the registry and perform a commit
          * if more than autoCommitInterval ms passed since the last commit.
          */
-        void addAndCommit(ConsumerRecord<String, String> record) {
+        void addAndCommit(ConsumerRecord<String, byte[]> record) {
             TopicPartition partition = new TopicPartition(record.topic(), record.partition());
 
             Long previousOffset = partitionToUncommittedOffset.get(partition);
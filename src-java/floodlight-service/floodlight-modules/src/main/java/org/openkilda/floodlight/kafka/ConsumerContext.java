@@ -21,21 +21,35 @@ import org.openkilda.floodlight.pathverification.IPathVerificationService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 public class ConsumerContext {
     private final FloodlightModuleContext moduleContext;
     private final IPathVerificationService pathVerificationService;
     private final ISwitchManager switchManager;
     private final KafkaChannel kafkaChannel;
     private final SpeakerCommandProcessor commandProcessor;
+    private final ExecutorService replyExecutor;
 
     public ConsumerContext(FloodlightModuleContext moduleContext) {
+        this(moduleContext, 1);
+    }
+
+    public ConsumerContext(FloodlightModuleContext moduleContext, int replyExecutorCount) {
         this.moduleContext = moduleContext;
         this.pathVerificationService = moduleContext.getServiceImpl(IPathVerificationService.class);
         this.switchManager = moduleContext.getServiceImpl(ISwitchManager.class);
         kafkaChannel = moduleContext.getServiceImpl(KafkaUtilityService.class).getKafkaChannel();
         commandProcessor = new SpeakerCommandProcessor(moduleContext);
+        // replies to asynchronous switch requests must not be sent from the OF I/O or timeout threads
+        replyExecutor = Executors.newFixedThreadPool(replyExecutorCount, new ThreadFactoryBuilder()
+                .setNameFormat("kafka-consumer-reply-%d")
+                .setDaemon(true)
+                .build());
     }
 
     public String getRegion() {
@@ -58,6 +72,10 @@ public class ConsumerContext {
         return commandProcessor;
     }
 
+    public ExecutorService getReplyExecutor() {
+        return replyExecutor;
+    }
+
     public String getKafkaFlowTopic() {
         return kafkaChannel.getFlowTopic();
     }
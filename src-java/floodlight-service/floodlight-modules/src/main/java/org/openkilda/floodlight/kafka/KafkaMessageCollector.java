@@ -125,7 +125,7 @@ public class KafkaMessageCollector implements IFloodlightModule {
             this.moduleContext = moduleContext;
             this.consumerConfig = consumerConfig;
 
-            ConsumerContext context = new ConsumerContext(moduleContext);
+            ConsumerContext context = new ConsumerContext(moduleContext, consumerConfig.getReplyExecutorCount());
             this.handlerFactory = new RecordHandler.Factory(context);
         }
 
@@ -36,6 +36,11 @@ public interface KafkaMessageCollectorConfig {
     @Min(1)
     int getDiscoExecutorCount();
 
+    @Key("consumer-reply-executors")
+    @Default("4")
+    @Min(1)
+    int getReplyExecutorCount();
+
     @Key("consumer-auto-commit-interval")
     @Default("1000")
     @Min(1)
@@ -21,7 +21,6 @@ import static org.openkilda.floodlight.kafka.ErrorMessageBuilder.anError;
 import static org.openkilda.floodlight.switchmanager.SwitchManager.INGRESS_TABLE_ID;
 import static org.openkilda.floodlight.switchmanager.SwitchManager.POST_INGRESS_TABLE_ID;
 import static org.openkilda.floodlight.switchmanager.SwitchManager.TRANSIT_TABLE_ID;
-import static org.openkilda.messaging.Utils.MAPPER;
 import static org.openkilda.model.Cookie.CATCH_BFD_RULE_COOKIE;
 import static org.openkilda.model.Cookie.DROP_RULE_COOKIE;
 import static org.openkilda.model.Cookie.DROP_VERIFICATION_LOOP_RULE_COOKIE;
@@ -68,8 +67,11 @@ import org.openkilda.messaging.AliveRequest;
 import org.openkilda.messaging.AliveResponse;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.MessageContext;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.WireCodec;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
@@ -141,8 +143,6 @@ import com.google.common.collect.ImmutableList;
 import net.floodlightcontroller.core.IOFSwitch;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.projectfloodlight.openflow.protocol.OFFlowMod;
-import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
-import org.projectfloodlight.openflow.protocol.OFMeterConfig;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
@@ -151,25 +151,30 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 class RecordHandler implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(RecordHandler.class);
 
+    private static final WireCodec CODEC = new WireCodec(Utils.MAPPER, Utils.BINARY_MAPPER, Collections.emptySet());
+
     private final ConsumerContext context;
     private final List<CommandDispatcher<?>> dispatchers;
-    private final ConsumerRecord<String, String> record;
+    private final ConsumerRecord<String, byte[]> record;
 
     private final CommandProcessorService commandProcessor;
 
     public RecordHandler(ConsumerContext context, List<CommandDispatcher<?>> dispatchers,
-                         ConsumerRecord<String, String> record) {
+                         ConsumerRecord<String, byte[]> record) {
         this.context = context;
         this.dispatchers = dispatchers;
         this.record = record;
@@ -205,6 +210,8 @@ class RecordHandler implements Runnable {
 
         if (data instanceof DiscoverIslCommandData) {
             doDiscoverIslCommand(message);
+        } else if (data instanceof DiscoverIslBatchCommandData) {
+            doDiscoverIslBatchCommand(message);
         } else if (data instanceof DiscoverPathCommandData) {
             doDiscoverPathCommand(data);
         } else if (data instanceof InstallIngressFlow) {
@@ -325,11 +332,28 @@ class RecordHandler implements Runnable {
         context.getPathVerificationService().sendDiscoveryMessage(
                 DatapathId.of(switchId.toLong()), OFPort.of(command.getPortNumber()), command.getPacketId());
 
+        sendDiscoveryConfirmation(command, message.getCorrelationId());
+    }
+
+    private void doDiscoverIslBatchCommand(CommandMessage message) {
+        DiscoverIslBatchCommandData command = (DiscoverIslBatchCommandData) message.getData();
+        Map<OFPort, Long> packetIds = new LinkedHashMap<>();
+        for (DiscoverIslCommandData request : command.getRequests()) {
+            packetIds.put(OFPort.of(request.getPortNumber()), request.getPacketId());
+        }
+        context.getPathVerificationService().sendDiscoveryMessages(
+                DatapathId.of(command.getSwitchId().toLong()), packetIds);
+
+        for (DiscoverIslCommandData request : command.getRequests()) {
+            sendDiscoveryConfirmation(request, message.getCorrelationId());
+        }
+    }
+
+    private void sendDiscoveryConfirmation(DiscoverIslCommandData command, String correlationId) {
         DiscoPacketSendingConfirmation confirmation = new DiscoPacketSendingConfirmation(
                 new NetworkEndpoint(command.getSwitchId(), command.getPortNumber()), command.getPacketId());
         getKafkaProducer().sendMessageAndTrack(context.getKafkaTopoDiscoTopic(), command.getSwitchId().toString(),
-                new InfoMessage(confirmation, System.currentTimeMillis(), message.getCorrelationId(),
-                        context.getRegion()));
+                new InfoMessage(confirmation, System.currentTimeMillis(), correlationId, context.getRegion()));
     }
 
     private void doDiscoverPathCommand(CommandData data) {
@@ -1154,29 +1178,41 @@ class RecordHandler implements Runnable {
         try {
             logger.debug("Loading installed rules for switch {}", switchId);
 
-            List<OFFlowStatsEntry> flowEntries =
-                    context.getSwitchManager().dumpFlowTable(DatapathId.of(switchId.toLong()));
-            List<FlowEntry> flows = flowEntries.stream()
-                    .map(OfFlowStatsMapper.INSTANCE::toFlowEntry)
-                    .collect(Collectors.toList());
-
-            SwitchFlowEntries response = SwitchFlowEntries.builder()
-                    .switchId(switchId)
-                    .flowEntries(flows)
-                    .build();
-            InfoMessage infoMessage = new InfoMessage(response, timestamp, correlationId);
-            producerService.sendMessageAndTrack(replyToTopic, correlationId, infoMessage);
+            context.getSwitchManager().dumpFlowTableAsync(DatapathId.of(switchId.toLong()))
+                    .whenCompleteAsync((flowEntries, error) -> {
+                        if (error != null) {
+                            Throwable cause = unwrapError(error);
+                            logger.error("Dumping of rules on switch '{}' was unsuccessful: {}",
+                                    switchId, cause.getMessage());
+                            sendDumpRulesError(cause.getMessage(), replyToTopic, correlationId);
+                            return;
+                        }
+
+                        List<FlowEntry> flows = flowEntries.stream()
+                                .map(OfFlowStatsMapper.INSTANCE::toFlowEntry)
+                                .collect(Collectors.toList());
+                        SwitchFlowEntries response = SwitchFlowEntries.builder()
+                                .switchId(switchId)
+                                .flowEntries(flows)
+                                .build();
+                        InfoMessage infoMessage = new InfoMessage(response, timestamp, correlationId);
+                        producerService.sendMessageAndTrack(replyToTopic, correlationId, infoMessage);
+                    }, context.getReplyExecutor());
         } catch (SwitchOperationException e) {
             logger.error("Dumping of rules on switch '{}' was unsuccessful: {}", switchId, e.getMessage());
-            anError(ErrorType.NOT_FOUND)
-                    .withMessage(e.getMessage())
-                    .withDescription("The switch was not found when requesting a rules dump.")
-                    .withCorrelationId(correlationId)
-                    .withTopic(replyToTopic)
-                    .sendVia(producerService);
+            sendDumpRulesError(e.getMessage(), replyToTopic, correlationId);
         }
     }
 
+    private void sendDumpRulesError(String message, String replyToTopic, String correlationId) {
+        anError(ErrorType.NOT_FOUND)
+                .withMessage(message)
+                .withDescription("The switch was not found when requesting a rules dump.")
+                .withCorrelationId(correlationId)
+                .withTopic(replyToTopic)
+                .sendVia(getKafkaProducer());
+    }
+
     /**
      * Install of flow on the switch from SwitchManager topology.
      *
@@ -1277,26 +1313,46 @@ class RecordHandler implements Runnable {
 
         try {
             DatapathId dpid = DatapathId.of(request.getSwitchId().toLong());
-            context.getSwitchManager().deleteMeter(dpid, request.getMeterId());
-
-            boolean deleted = context.getSwitchManager().dumpMeters(dpid)
-                    .stream()
-                    .noneMatch(config -> config.getMeterId() == request.getMeterId());
-            DeleteMeterResponse response = new DeleteMeterResponse(deleted);
-            InfoMessage infoMessage = new InfoMessage(response, System.currentTimeMillis(), message.getCorrelationId());
-            producerService.sendMessageAndTrack(replyToTopic, message.getCorrelationId(), infoMessage);
+            ISwitchManager switchManager = context.getSwitchManager();
+            switchManager.deleteMeterAsync(dpid, request.getMeterId())
+                    .thenCompose(barrierReply -> {
+                        try {
+                            return switchManager.dumpMetersAsync(dpid);
+                        } catch (SwitchOperationException e) {
+                            throw new CompletionException(e);
+                        }
+                    })
+                    .whenCompleteAsync((meterEntries, error) -> {
+                        if (error != null) {
+                            sendDeleteMeterError(request, unwrapError(error).getMessage(), message.getCorrelationId(),
+                                    replyToTopic);
+                            return;
+                        }
+
+                        boolean deleted = meterEntries.stream()
+                                .noneMatch(config -> config.getMeterId() == request.getMeterId());
+                        DeleteMeterResponse response = new DeleteMeterResponse(deleted);
+                        InfoMessage infoMessage = new InfoMessage(response, System.currentTimeMillis(),
+                                message.getCorrelationId());
+                        producerService.sendMessageAndTrack(replyToTopic, message.getCorrelationId(), infoMessage);
+                    }, context.getReplyExecutor());
         } catch (SwitchOperationException e) {
-            logger.error("Deleting meter '{}' from switch '{}' was unsuccessful: {}",
-                    request.getMeterId(), request.getSwitchId(), e.getMessage());
-            anError(ErrorType.DATA_INVALID)
-                    .withMessage(e.getMessage())
-                    .withDescription(request.getSwitchId().toString())
-                    .withCorrelationId(message.getCorrelationId())
-                    .withTopic(replyToTopic)
-                    .sendVia(producerService);
+            sendDeleteMeterError(request, e.getMessage(), message.getCorrelationId(), replyToTopic);
         }
     }
 
+    private void sendDeleteMeterError(DeleteMeterRequest request, String errorMessage, String correlationId,
+                                      String replyToTopic) {
+        logger.error("Deleting meter '{}' from switch '{}' was unsuccessful: {}",
+                request.getMeterId(), request.getSwitchId(), errorMessage);
+        anError(ErrorType.DATA_INVALID)
+                .withMessage(errorMessage)
+                .withDescription(request.getSwitchId().toString())
+                .withCorrelationId(correlationId)
+                .withTopic(replyToTopic)
+                .sendVia(getKafkaProducer());
+    }
+
     private void doConfigurePort(final CommandMessage message) {
         PortConfigurationRequest request = (PortConfigurationRequest) message.getData();
 
@@ -1424,17 +1480,25 @@ class RecordHandler implements Runnable {
         try {
             logger.debug("Get all meters for switch {}", switchId);
             ISwitchManager switchManager = context.getSwitchManager();
-            List<OFMeterConfig> meterEntries = switchManager.dumpMeters(DatapathId.of(switchId.toLong()));
-            List<MeterEntry> meters = meterEntries.stream()
-                    .map(OfMeterConverter::toMeterEntry)
-                    .collect(Collectors.toList());
-
-            SwitchMeterEntries response = SwitchMeterEntries.builder()
-                    .switchId(switchId)
-                    .meterEntries(meters)
-                    .build();
-            InfoMessage infoMessage = new InfoMessage(response, timestamp, correlationId);
-            producerService.sendMessageAndTrack(replyToTopic, correlationId, infoMessage);
+            switchManager.dumpMetersAsync(DatapathId.of(switchId.toLong()))
+                    .whenCompleteAsync((meterEntries, error) -> {
+                        if (error != null) {
+                            Throwable cause = unwrapError(error);
+                            logger.error("Unable to dump meters of switch {}", switchId, cause);
+                            sendDumpMetersError(cause.getMessage(), replyToTopic, correlationId);
+                            return;
+                        }
+
+                        List<MeterEntry> meters = meterEntries.stream()
+                                .map(OfMeterConverter::toMeterEntry)
+                                .collect(Collectors.toList());
+                        SwitchMeterEntries response = SwitchMeterEntries.builder()
+                                .switchId(switchId)
+                                .meterEntries(meters)
+                                .build();
+                        InfoMessage infoMessage = new InfoMessage(response, timestamp, correlationId);
+                        producerService.sendMessageAndTrack(replyToTopic, correlationId, infoMessage);
+                    }, context.getReplyExecutor());
         } catch (UnsupportedSwitchOperationException e) {
             logger.info("Meters not supported: {}", switchId);
             InfoMessage infoMessage = new InfoMessage(new SwitchMeterUnsupported(switchId), timestamp, correlationId);
@@ -1449,13 +1513,24 @@ class RecordHandler implements Runnable {
                     .sendVia(producerService);
         } catch (SwitchOperationException e) {
             logger.error("Unable to dump meters", e);
-            anError(ErrorType.NOT_FOUND)
-                    .withMessage(e.getMessage())
-                    .withDescription("Unable to dump meters")
-                    .withCorrelationId(correlationId)
-                    .withTopic(replyToTopic)
-                    .sendVia(producerService);
+            sendDumpMetersError(e.getMessage(), replyToTopic, correlationId);
+        }
+    }
+
+    private void sendDumpMetersError(String message, String replyToTopic, String correlationId) {
+        anError(ErrorType.NOT_FOUND)
+                .withMessage(message)
+                .withDescription("Unable to dump meters")
+                .withCorrelationId(correlationId)
+                .withTopic(replyToTopic)
+                .sendVia(getKafkaProducer());
+    }
+
+    private Throwable unwrapError(Throwable error) {
+        if (error instanceof CompletionException) {
+            return error.getCause();
         }
+        return error;
     }
 
     private void doModifyMeterRequest(CommandMessage message) {
@@ -1474,15 +1549,27 @@ class RecordHandler implements Runnable {
         try {
             switchManager.modifyMeterForFlow(datapathId, meterId, request.getBandwidth());
 
-            MeterEntry meterEntry = OfMeterConverter.toMeterEntry(switchManager.dumpMeterById(datapathId, meterId));
-
-            SwitchMeterEntries response = SwitchMeterEntries.builder()
-                    .switchId(switchId)
-                    .meterEntries(ImmutableList.of(meterEntry))
-                    .build();
-
-            InfoMessage infoMessage = new InfoMessage(response, message.getTimestamp(), message.getCorrelationId());
-            producerService.sendMessageAndTrack(replyToTopic, message.getCorrelationId(), infoMessage);
+            switchManager.dumpMeterByIdAsync(datapathId, meterId)
+                    .whenCompleteAsync((meterConfig, error) -> {
+                        if (error != null || meterConfig == null) {
+                            String errorMessage = error != null
+                                    ? unwrapError(error).getMessage()
+                                    : format("Meter %d was not found on switch %s", meterId, switchId);
+                            logger.error("Unable to update meter {} on switch {}: {}", meterId, switchId,
+                                    errorMessage);
+                            sendModifyMeterError(errorMessage, message.getCorrelationId(), replyToTopic);
+                            return;
+                        }
+
+                        SwitchMeterEntries response = SwitchMeterEntries.builder()
+                                .switchId(switchId)
+                                .meterEntries(ImmutableList.of(OfMeterConverter.toMeterEntry(meterConfig)))
+                                .build();
+
+                        InfoMessage infoMessage = new InfoMessage(response, message.getTimestamp(),
+                                message.getCorrelationId());
+                        producerService.sendMessageAndTrack(replyToTopic, message.getCorrelationId(), infoMessage);
+                    }, context.getReplyExecutor());
         } catch (UnsupportedSwitchOperationException e) {
             String messageString = String.format("Not supported: %s", new SwitchId(e.getDpId().getLong()));
             logger.error(messageString, e);
@@ -1502,17 +1589,20 @@ class RecordHandler implements Runnable {
                     .withTopic(replyToTopic)
                     .sendVia(producerService);
         } catch (SwitchOperationException e) {
-            String messageString = "Unable to update meter";
-            logger.error(messageString, e);
-            anError(ErrorType.NOT_FOUND)
-                    .withMessage(e.getMessage())
-                    .withDescription(messageString)
-                    .withCorrelationId(message.getCorrelationId())
-                    .withTopic(replyToTopic)
-                    .sendVia(producerService);
+            logger.error("Unable to update meter", e);
+            sendModifyMeterError(e.getMessage(), message.getCorrelationId(), replyToTopic);
         }
     }
 
+    private void sendModifyMeterError(String errorMessage, String correlationId, String replyToTopic) {
+        anError(ErrorType.NOT_FOUND)
+                .withMessage(errorMessage)
+                .withDescription("Unable to update meter")
+                .withCorrelationId(correlationId)
+                .withTopic(replyToTopic)
+                .sendVia(getKafkaProducer());
+    }
+
     private void installMeter(DatapathId dpid, long meterId, long bandwidth, String flowId) {
         try {
             context.getSwitchManager().installMeterForFlow(dpid, bandwidth, meterId);
@@ -1526,21 +1616,21 @@ class RecordHandler implements Runnable {
 
     }
 
-    private void parseRecord(ConsumerRecord<String, String> record) {
+    private void parseRecord(ConsumerRecord<String, byte[]> record) {
         if (handleSpeakerCommand()) {
             return;
         }
 
         CommandMessage message;
         try {
-            String value = record.value();
+            byte[] value = record.value();
             // TODO: Prior to Message changes, this MAPPER would read Message ..
             //          but, changed to BaseMessage and got an error wrt "timestamp" ..
             //          so, need to experiment with why CommandMessage can't be read as
             //          a BaseMessage
-            message = MAPPER.readValue(value, CommandMessage.class);
+            message = CODEC.decode(value, CommandMessage.class);
         } catch (Exception exception) {
-            logger.error("error parsing record '{}'", record.value(), exception);
+            logger.error("error parsing record '{}'", WireCodec.toLogString(record.value()), exception);
             return;
         }
 
@@ -1565,12 +1655,12 @@ class RecordHandler implements Runnable {
         try {
             TypeReference<SpeakerCommand<SpeakerCommandReport>> commandType
                     = new TypeReference<SpeakerCommand<SpeakerCommandReport>>() {};
-            speakerCommand = MAPPER.readValue(record.value(), commandType);
+            speakerCommand = CODEC.decode(record.value(), commandType);
         } catch (JsonMappingException e) {
             logger.trace("Received deprecated command message");
             return false;
         } catch (IOException e) {
-            logger.error("Error while parsing record {}", record.value(), e);
+            logger.error("Error while parsing record {}", WireCodec.toLogString(record.value()), e);
             return false;
         }
 
@@ -1620,7 +1710,7 @@ class RecordHandler implements Runnable {
             this.context = context;
         }
 
-        public RecordHandler produce(ConsumerRecord<String, String> record) {
+        public RecordHandler produce(ConsumerRecord<String, byte[]> record) {
             return new RecordHandler(context, dispatchers, record);
         }
     }
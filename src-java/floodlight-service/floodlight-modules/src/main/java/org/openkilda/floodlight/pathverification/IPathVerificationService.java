@@ -19,9 +19,13 @@ import net.floodlightcontroller.core.module.IFloodlightService;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 
+import java.util.Map;
+
 public interface IPathVerificationService extends IFloodlightService {
 
     boolean sendDiscoveryMessage(DatapathId srcSwId, OFPort port, Long packetId);
 
+    int sendDiscoveryMessages(DatapathId srcSwId, Map<OFPort, Long> packetIds);
+
     PathVerificationServiceConfig getConfig();
 }
@@ -72,6 +72,7 @@ import net.floodlightcontroller.restserver.IRestApiService;
 import net.floodlightcontroller.util.OFMessageUtils;
 import org.apache.commons.codec.binary.Hex;
 import org.bouncycastle.util.Arrays;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFPacketIn;
 import org.projectfloodlight.openflow.protocol.OFPacketOut;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
@@ -327,6 +328,49 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         return result;
     }
 
+    /**
+     * Sends discovery packets via several ports of the switch in one write.
+     *
+     * @return number of the sent packets.
+     */
+    @Override
+    public int sendDiscoveryMessages(DatapathId srcSwId, Map<OFPort, Long> packetIds) {
+        try {
+            IOFSwitch srcSwitch = switchService.getSwitch(srcSwId);
+            if (srcSwitch == null) {
+                logger.warn("Skip {} discovery packets via {} - switch is not connected", packetIds.size(), srcSwId);
+                return 0;
+            }
+
+            List<OFMessage> packets = new ArrayList<>(packetIds.size());
+            for (Map.Entry<OFPort, Long> entry : packetIds.entrySet()) {
+                OFPort port = entry.getKey();
+                if (srcSwitch.getPort(port) == null) {
+                    continue;
+                }
+                OFPacketOut ofPacketOut = generateDiscoveryPacket(srcSwitch, port, true, entry.getValue());
+                if (ofPacketOut != null) {
+                    packets.add(ofPacketOut);
+                } else {
+                    logger.error("<== Received null from generateDiscoveryPacket, inputs where: "
+                            + "srcSwitch: {}, port: {} id: {}", srcSwitch, port, entry.getValue());
+                }
+            }
+
+            Collection<OFMessage> failed = srcSwitch.write(packets);
+            int sent = packets.size() - failed.size();
+            logIsl.info("push {} discovery packages via: {} ports {}", sent, srcSwitch.getId(), packetIds.keySet());
+            if (!failed.isEmpty()) {
+                logger.error("Failed to send {} of {} PACKET_OUT(ISL discovery packet) via {}",
+                        failed.size(), packets.size(), srcSwitch.getId());
+            }
+            return sent;
+        } catch (Exception exception) {
+            logger.error(String.format("Unhandled exception in %s", getClass().getName()), exception);
+            return 0;
+        }
+    }
+
     private static LLDPTLV switchTimestampTlv(byte type) {
         byte[] timestampArray = ByteBuffer
                 .allocate(ROUND_TRIP_LATENCY_TIMESTAMP_SIZE / 8 + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)
@@ -17,12 +17,11 @@ package org.openkilda.floodlight.service.kafka;
 
 import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.WireCodec;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslInfoData;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
@@ -31,6 +30,8 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+
 public class KafkaProducerService implements IKafkaProducerService {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaProducerService.class);
@@ -38,12 +39,14 @@ public class KafkaProducerService implements IKafkaProducerService {
             String.format("%s.DISCO", KafkaProducerService.class.getName()));
 
     private int failedSendMessageCounter;
-    private Producer<String, String> producer;
-    private final ObjectMapper jsonObjectMapper = new ObjectMapper();
+    private Producer<String, byte[]> producer;
+    private WireCodec codec;
 
     @Override
     public void setup(FloodlightModuleContext moduleContext) {
-        producer = moduleContext.getServiceImpl(KafkaUtilityService.class).makeProducer();
+        KafkaUtilityService kafkaUtility = moduleContext.getServiceImpl(KafkaUtilityService.class);
+        producer = kafkaUtility.makeProducer();
+        codec = kafkaUtility.makeWireCodec();
     }
 
     public void sendMessageAndTrack(String topic, Message message) {
@@ -70,24 +73,27 @@ public class KafkaProducerService implements IKafkaProducerService {
         return sendStatus;
     }
 
-    protected SendStatus produce(ProducerRecord<String, String> record, Callback callback) {
-        logger.debug("Send kafka message: {} <== key:{} value:{}", record.topic(), record.key(), record.value());
+    protected SendStatus produce(ProducerRecord<String, byte[]> record, Callback callback) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Send kafka message: {} <== key:{} value:{}", record.topic(), record.key(),
+                    WireCodec.toLogString(record.value()));
+        }
         return new SendStatus(producer.send(record, callback));
     }
 
-    private ProducerRecord<String, String> encode(String topic, Message payload) {
+    private ProducerRecord<String, byte[]> encode(String topic, Message payload) {
         return encode(topic, null, payload);
     }
 
-    private ProducerRecord<String, String> encode(String topic, String key, Object payload) {
-        return new ProducerRecord<>(topic, key, encodeValue(payload));
+    private ProducerRecord<String, byte[]> encode(String topic, String key, Object payload) {
+        return new ProducerRecord<>(topic, key, encodeValue(topic, payload));
     }
 
-    private String encodeValue(Object message) {
-        String encoded;
+    private byte[] encodeValue(String topic, Object message) {
+        byte[] encoded;
         try {
-            encoded = jsonObjectMapper.writeValueAsString(message);
-        } catch (JsonProcessingException e) {
+            encoded = codec.encode(topic, message);
+        } catch (IOException e) {
             throw new IllegalArgumentException(String.format("Can not serialize message: %s", e.toString()), e);
         }
 
@@ -17,7 +17,11 @@ package org.openkilda.floodlight.service.kafka;
 
 import org.openkilda.floodlight.KafkaChannel;
 import org.openkilda.floodlight.service.IService;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.WireCodec;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import org.apache.kafka.clients.consumer.Consumer;
@@ -37,17 +41,26 @@ public class KafkaUtilityService implements IService {
     /**
      * Create new kafka-consumer and apply setting from {@link KafkaConsumerSetup} argument.
      */
-    public Consumer<String, String> makeConsumer(KafkaConsumerSetup setup) {
+    public Consumer<String, byte[]> makeConsumer(KafkaConsumerSetup setup) {
         Properties config = setup.applyConfig(owner.getConfig().consumerProperties());
-        KafkaConsumer<String, String> consumer = new KafkaConsumer<>(config);
+        KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(config);
         setup.applyInstance(consumer);
         return consumer;
     }
 
-    public Producer<String, String> makeProducer() {
+    public Producer<String, byte[]> makeProducer() {
         return new KafkaProducer<>(owner.getConfig().producerProperties());
     }
 
+    /**
+     * Create codec of kafka record values, which encodes the configured binary topics in the binary wire format.
+     */
+    public WireCodec makeWireCodec() {
+        ImmutableSet<String> binaryTopics = ImmutableSet.copyOf(Splitter.on(',').trimResults().omitEmptyStrings()
+                .split(owner.getConfig().getBinaryTopics()));
+        return new WireCodec(Utils.MAPPER, Utils.BINARY_MAPPER, binaryTopics);
+    }
+
     public KafkaChannel getKafkaChannel() {
         return owner;
     }
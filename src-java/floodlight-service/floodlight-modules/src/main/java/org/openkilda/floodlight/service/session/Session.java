@@ -33,6 +33,9 @@ import org.projectfloodlight.openflow.protocol.OFType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -90,6 +93,30 @@ public class Session implements AutoCloseable {
         return future;
     }
 
+    /**
+     * Send OF messages to the switch in one write and register them in session to trace possible responses.
+     *
+     * <p>Returned futures are in the order of the passed messages.
+     */
+    public List<CompletableFuture<Optional<OFMessage>>> write(List<OFMessage> messages) {
+        ensureOpen();
+
+        List<CompletableFuture<Optional<OFMessage>>> futures = new ArrayList<>(messages.size());
+        for (OFMessage message : messages) {
+            futures.add(prepareRequest(message));
+        }
+        try {
+            actualWrite(messages);
+        } catch (Exception e) {
+            error = true;
+            for (int i = 0; i < messages.size(); i++) {
+                futures.get(i).completeExceptionally(new SwitchWriteException(sw.getId(), messages.get(i), e));
+            }
+        }
+
+        return futures;
+    }
+
     public void resetError() {
         error = false;
     }
@@ -196,6 +223,15 @@ public class Session implements AutoCloseable {
         }
     }
 
+    private void actualWrite(List<OFMessage> messages) {
+        log.debug("push {} OF messages to {}", messages.size(), sw.getId());
+        Collection<OFMessage> rejected = sw.write(messages);
+        for (OFMessage message : rejected) {
+            error = true;
+            requestsByXid.get(message.getXid()).completeExceptionally(new SwitchWriteException(sw.getId(), message));
+        }
+    }
+
     private Stream<CompletableFuture<Optional<OFMessage>>> incompleteRequestsStream() {
         ImmutableList<CompletableFuture<Optional<OFMessage>>> requestsSafeCopy;
         requestsSafeCopy = ImmutableList.copyOf(requestsByXid.values());
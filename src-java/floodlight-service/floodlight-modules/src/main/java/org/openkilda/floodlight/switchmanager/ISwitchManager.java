@@ -25,8 +25,11 @@ import org.openkilda.model.OutputVlanType;
 
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.module.IFloodlightService;
+import org.projectfloodlight.openflow.protocol.OFBarrierReply;
 import org.projectfloodlight.openflow.protocol.OFFlowMod;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
+import org.projectfloodlight.openflow.protocol.OFGroupDescStatsEntry;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFMeterConfig;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.types.DatapathId;
@@ -36,6 +39,7 @@ import java.net.InetAddress;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public interface ISwitchManager extends IFloodlightService {
     /**
@@ -467,6 +471,68 @@ public interface ISwitchManager extends IFloodlightService {
      */
     OFMeterConfig dumpMeterById(final DatapathId dpid, final long meterId) throws SwitchOperationException;
 
+    /**
+     * Requests installed flows without blocking the calling thread.
+     *
+     * @param dpid switch id
+     * @return future of OF flow stats entries, completed exceptionally if the switch doesn't respond in time
+     * @throws SwitchNotFoundException Switch not found
+     */
+    CompletableFuture<List<OFFlowStatsEntry>> dumpFlowTableAsync(DatapathId dpid) throws SwitchNotFoundException;
+
+    /**
+     * Requests installed meters without blocking the calling thread.
+     *
+     * @param dpid switch id
+     * @return future of OF meter config stats entries, completed exceptionally if the switch doesn't respond in time
+     * @throws SwitchOperationException Switch not found or doesn't support meters
+     */
+    CompletableFuture<List<OFMeterConfig>> dumpMetersAsync(DatapathId dpid) throws SwitchOperationException;
+
+    /**
+     * Requests an installed meter by id without blocking the calling thread.
+     *
+     * @param dpid switch id
+     * @param meterId a meter id
+     * @return future of OF meter config stats entry or null if there is no such meter
+     * @throws SwitchOperationException Switch not found or doesn't support meters
+     */
+    CompletableFuture<OFMeterConfig> dumpMeterByIdAsync(DatapathId dpid, long meterId)
+            throws SwitchOperationException;
+
+    /**
+     * Requests installed groups without blocking the calling thread.
+     *
+     * @param dpid switch id
+     * @return future of OF group desc stats entries
+     * @throws SwitchNotFoundException Switch not found
+     */
+    CompletableFuture<List<OFGroupDescStatsEntry>> dumpGroupsAsync(DatapathId dpid) throws SwitchNotFoundException;
+
+    /**
+     * Sends a barrier request without blocking the calling thread.
+     *
+     * @param dpid switch id
+     * @return future of the barrier reply, completed once all the previous messages are processed by the switch
+     * @throws SwitchNotFoundException Switch not found
+     */
+    CompletableFuture<OFBarrierReply> sendBarrierRequestAsync(DatapathId dpid) throws SwitchNotFoundException;
+
+    /**
+     * Writes OF messages (flow, group or meter mods) into the switch in one batch closed by a single barrier. If the
+     * switch supports OF bundles, the batch is sent as an atomic bundle, i.e. it is either applied as a whole or not
+     * applied at all. If the switch rejects to open the bundle, the batch (and all the next ones) is written without
+     * bundles.
+     *
+     * @param dpid switch id
+     * @param messages OF messages to write, in the order they are applied
+     * @return future completed once the switch has processed the batch, it holds the errors of the failed messages,
+     *         so the empty map means the whole batch is applied
+     * @throws SwitchNotFoundException Switch not found
+     */
+    CompletableFuture<Map<OFMessage, SwitchOperationException>> writeBatch(DatapathId dpid, List<OFMessage> messages)
+            throws SwitchNotFoundException;
+
     /**
      * Installs a meter on ingress switch OF_13.
      * TODO: describe params meaning in accordance with OF
@@ -497,6 +563,16 @@ public interface ISwitchManager extends IFloodlightService {
      */
     void deleteMeter(final DatapathId dpid, final long meterId) throws SwitchOperationException;
 
+    /**
+     * Deletes the meter from the switch OF_13 without waiting for the switch to process the deletion.
+     *
+     * @param dpid datapath ID of the switch
+     * @param meterId meter identifier
+     * @return future of the barrier reply, completed once the switch has processed the deletion
+     * @throws SwitchOperationException Switch not found or doesn't support meters
+     */
+    CompletableFuture<OFBarrierReply> deleteMeterAsync(DatapathId dpid, long meterId) throws SwitchOperationException;
+
 
     Map<DatapathId, IOFSwitch> getAllSwitchMap(boolean visible);
 
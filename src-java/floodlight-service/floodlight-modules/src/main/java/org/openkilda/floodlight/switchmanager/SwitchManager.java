@@ -55,6 +55,7 @@ import static org.openkilda.model.SwitchFeature.NOVIFLOW_COPY_FIELD;
 import static org.openkilda.model.SwitchFeature.NOVIFLOW_PUSH_POP_VXLAN;
 import static org.projectfloodlight.openflow.protocol.OFVersion.OF_12;
 import static org.projectfloodlight.openflow.protocol.OFVersion.OF_13;
+import static org.projectfloodlight.openflow.protocol.OFVersion.OF_14;
 import static org.projectfloodlight.openflow.protocol.OFVersion.OF_15;
 
 import org.openkilda.floodlight.KildaCore;
@@ -62,6 +63,7 @@ import org.openkilda.floodlight.config.provider.FloodlightModuleConfigurationPro
 import org.openkilda.floodlight.converter.OfPortDescConverter;
 import org.openkilda.floodlight.error.InvalidMeterIdException;
 import org.openkilda.floodlight.error.OfInstallException;
+import org.openkilda.floodlight.error.SessionErrorResponseException;
 import org.openkilda.floodlight.error.SwitchNotFoundException;
 import org.openkilda.floodlight.error.SwitchOperationException;
 import org.openkilda.floodlight.error.UnsupportedSwitchOperationException;
@@ -69,10 +71,14 @@ import org.openkilda.floodlight.pathverification.IPathVerificationService;
 import org.openkilda.floodlight.service.FeatureDetectorService;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
+import org.openkilda.floodlight.service.session.Session;
+import org.openkilda.floodlight.service.session.SessionService;
 import org.openkilda.floodlight.switchmanager.web.SwitchManagerWebRoutable;
+import org.openkilda.floodlight.utils.CompletableFutureAdapter;
 import org.openkilda.floodlight.utils.CorrelationContext;
 import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.MessageContext;
 import org.openkilda.messaging.command.flow.RuleType;
 import org.openkilda.messaging.command.switches.ConnectModeRequest;
 import org.openkilda.messaging.command.switches.DeleteRulesCriteria;
@@ -93,6 +99,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.floodlightcontroller.core.FloodlightContext;
 import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.IOFMessageListener;
@@ -109,6 +116,8 @@ import org.projectfloodlight.openflow.protocol.OFActionType;
 import org.projectfloodlight.openflow.protocol.OFBarrierReply;
 import org.projectfloodlight.openflow.protocol.OFBarrierRequest;
 import org.projectfloodlight.openflow.protocol.OFBucket;
+import org.projectfloodlight.openflow.protocol.OFBundleCtrlType;
+import org.projectfloodlight.openflow.protocol.OFBundleFlags;
 import org.projectfloodlight.openflow.protocol.OFErrorMsg;
 import org.projectfloodlight.openflow.protocol.OFFactory;
 import org.projectfloodlight.openflow.protocol.OFFlowDelete;
@@ -133,6 +142,8 @@ import org.projectfloodlight.openflow.protocol.OFMeterModCommand;
 import org.projectfloodlight.openflow.protocol.OFPortConfig;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.protocol.OFPortMod;
+import org.projectfloodlight.openflow.protocol.OFStatsReply;
+import org.projectfloodlight.openflow.protocol.OFStatsRequest;
 import org.projectfloodlight.openflow.protocol.OFType;
 import org.projectfloodlight.openflow.protocol.action.OFAction;
 import org.projectfloodlight.openflow.protocol.action.OFActionOutput;
@@ -148,6 +159,7 @@ import org.projectfloodlight.openflow.protocol.match.Match.Builder;
 import org.projectfloodlight.openflow.protocol.match.MatchField;
 import org.projectfloodlight.openflow.protocol.meterband.OFMeterBandDrop;
 import org.projectfloodlight.openflow.protocol.oxm.OFOxms;
+import org.projectfloodlight.openflow.types.BundleId;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.EthType;
 import org.projectfloodlight.openflow.types.IPv4Address;
@@ -170,16 +182,25 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -244,6 +265,10 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     private IKafkaProducerService producerService;
     private SwitchTrackingService switchTracking;
     private FeatureDetectorService featureDetectorService;
+    private ScheduledExecutorService scheduledExecutor;
+    private SessionService sessionService;
+    private final AtomicInteger bundleIdSequence = new AtomicInteger();
+    private final Set<DatapathId> bundlelessSwitches = ConcurrentHashMap.newKeySet();
 
     private ConnectModeRequest.Mode connectMode;
     private SwitchManagerConfig config;
@@ -309,6 +334,14 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         producerService = context.getServiceImpl(IKafkaProducerService.class);
         switchTracking = context.getServiceImpl(SwitchTrackingService.class);
         featureDetectorService = context.getServiceImpl(FeatureDetectorService.class);
+        sessionService = context.getServiceImpl(SessionService.class);
+        // timeouts of the switch responses, so no request thread waits for them
+        ScheduledThreadPoolExecutor timeoutExecutor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                .setNameFormat("switch-manager-timeout-%d")
+                .setDaemon(true)
+                .build());
+        timeoutExecutor.setRemoveOnCancelPolicy(true);
+        scheduledExecutor = timeoutExecutor;
         FloodlightModuleConfigurationProvider provider = FloodlightModuleConfigurationProvider.of(context, this);
         config = provider.getConfiguration(SwitchManagerConfig.class);
         String connectModeProperty = config.getConnectMode();
@@ -422,13 +455,24 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
      */
     @Override
     public void installDefaultRules(final DatapathId dpid) throws SwitchOperationException {
-        installDropFlow(dpid);
-        installVerificationRule(dpid, true);
-        installVerificationRule(dpid, false);
-        installDropLoopRule(dpid);
-        installBfdCatchFlow(dpid);
-        installRoundTripLatencyFlow(dpid);
-        installUnicastVerificationRuleVxlan(dpid);
+        IOFSwitch sw = lookupSwitch(dpid);
+
+        // meters and the round trip latency group are installed while the rules are built
+        List<OFMessage> flowMods = Stream.of(
+                buildDropFlow(sw, INPUT_TABLE_ID, DROP_RULE_COOKIE),
+                prepareVerificationRule(dpid, sw, true),
+                prepareVerificationRule(dpid, sw, false),
+                buildDropLoopRule(sw),
+                buildBfdCatchFlow(sw),
+                buildRoundTripLatencyFlow(sw),
+                prepareUnicastVerificationRuleVxlan(dpid, sw))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        Map<OFMessage, SwitchOperationException> errors = writeBatchAndWait(dpid, flowMods);
+        if (!errors.isEmpty()) {
+            throw errors.values().iterator().next();
+        }
     }
 
     /**
@@ -926,6 +970,213 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return meterConfig;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<OFFlowStatsEntry>> dumpFlowTableAsync(DatapathId dpid)
+            throws SwitchNotFoundException {
+        IOFSwitch sw = lookupSwitch(dpid);
+
+        OFFlowStatsRequest flowRequest = sw.getOFFactory().buildFlowStatsRequest()
+                .setOutGroup(OFGroup.ANY)
+                .setCookieMask(U64.ZERO)
+                .build();
+        return writeStatsRequestAsync(sw, flowRequest)
+                .thenApply(values -> values.stream()
+                        .map(OFFlowStatsReply::getEntries)
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<OFMeterConfig>> dumpMetersAsync(DatapathId dpid) throws SwitchOperationException {
+        return dumpMeterConfigsAsync(dpid, 0xffffffff);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<OFMeterConfig> dumpMeterByIdAsync(DatapathId dpid, long meterId)
+            throws SwitchOperationException {
+        return dumpMeterConfigsAsync(dpid, meterId)
+                .thenApply(meters -> meters.isEmpty() ? null : meters.get(0));
+    }
+
+    private CompletableFuture<List<OFMeterConfig>> dumpMeterConfigsAsync(DatapathId dpid, long meterId)
+            throws SwitchOperationException {
+        IOFSwitch sw = lookupSwitch(dpid);
+        verifySwitchSupportsMeters(sw);
+
+        OFMeterConfigStatsRequest meterRequest = sw.getOFFactory().buildMeterConfigStatsRequest()
+                .setMeterId(meterId)
+                .build();
+        return writeStatsRequestAsync(sw, meterRequest)
+                .thenApply(values -> values.stream()
+                        .map(OFMeterConfigStatsReply::getEntries)
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<OFGroupDescStatsEntry>> dumpGroupsAsync(DatapathId dpid)
+            throws SwitchNotFoundException {
+        IOFSwitch sw = lookupSwitch(dpid);
+
+        OFGroupDescStatsRequest groupRequest = sw.getOFFactory().buildGroupDescStatsRequest().build();
+        return writeStatsRequestAsync(sw, groupRequest)
+                .thenApply(values -> values.stream()
+                        .map(OFGroupDescStatsReply::getEntries)
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<OFBarrierReply> sendBarrierRequestAsync(DatapathId dpid) throws SwitchNotFoundException {
+        return sendBarrierRequestAsync(lookupSwitch(dpid));
+    }
+
+    private CompletableFuture<OFBarrierReply> sendBarrierRequestAsync(IOFSwitch sw) {
+        OFBarrierRequest barrierRequest = sw.getOFFactory().buildBarrierRequest().build();
+        return withTimeout(sw, sw.writeRequest(barrierRequest));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Map<OFMessage, SwitchOperationException>> writeBatch(
+            DatapathId dpid, List<OFMessage> messages) throws SwitchNotFoundException {
+        IOFSwitch sw = lookupSwitch(dpid);
+        if (messages.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        MessageContext context = new MessageContext(CorrelationContext.getId());
+        // bundles are introduced by OF 1.4, but the switch is not obliged to support them (nor the atomic flag)
+        if (sw.getOFFactory().getVersion().compareTo(OF_14) < 0 || bundlelessSwitches.contains(dpid)) {
+            logger.info("Writing batch of {} OF messages into switch {}", messages.size(), dpid);
+            return collectBatchErrors(dpid, messages, writeInSession(context, sw, messages), Collections.emptyList());
+        }
+
+        logger.info("Writing bundle of {} OF messages into switch {}", messages.size(), dpid);
+        List<CompletableFuture<Optional<OFMessage>>> bundleResponses = writeInSession(
+                context, sw, makeBundle(sw.getOFFactory(), messages));
+        CompletableFuture<Optional<OFMessage>> openResponse = bundleResponses.get(0);
+        List<CompletableFuture<Optional<OFMessage>>> responses = bundleResponses.subList(1, bundleResponses.size() - 1);
+        List<CompletableFuture<Optional<OFMessage>>> controlResponses = ImmutableList.of(
+                openResponse, bundleResponses.get(bundleResponses.size() - 1));
+
+        return openResponse
+                .handle((reply, error) -> error)
+                .thenCompose(openError -> {
+                    if (!(openError instanceof SessionErrorResponseException)) {
+                        return collectBatchErrors(dpid, messages, responses, controlResponses);
+                    }
+
+                    // nothing is applied from the bundle which has not been opened
+                    logger.warn("Switch {} has rejected to open an atomic bundle ({}), "
+                            + "OF messages batches are written into it without bundles", dpid, openError.getMessage());
+                    bundlelessSwitches.add(dpid);
+                    return collectBatchErrors(dpid, messages,
+                            writeInSession(context, sw, renumber(sw.getOFFactory(), messages)),
+                            Collections.emptyList());
+                });
+    }
+
+    private List<CompletableFuture<Optional<OFMessage>>> writeInSession(
+            MessageContext context, IOFSwitch sw, List<OFMessage> messages) {
+        try (Session session = sessionService.open(context, sw)) {
+            return session.write(messages);
+        }
+    }
+
+    /**
+     * The bundled messages share the xids with their bundle add messages, so to be written once again (after
+     * the bundle is rejected) they need new ones.
+     */
+    private List<OFMessage> renumber(OFFactory ofFactory, List<OFMessage> messages) {
+        return messages.stream()
+                .map(message -> message.createBuilder()
+                        .setXid(ofFactory.nextXid())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private List<OFMessage> makeBundle(OFFactory ofFactory, List<OFMessage> messages) {
+        BundleId bundleId = BundleId.of(bundleIdSequence.incrementAndGet());
+        Set<OFBundleFlags> flags = EnumSet.of(OFBundleFlags.ATOMIC, OFBundleFlags.ORDERED);
+
+        List<OFMessage> bundle = new ArrayList<>(messages.size() + 2);
+        bundle.add(ofFactory.buildBundleCtrlMsg()
+                .setBundleId(bundleId)
+                .setBundleCtrlType(OFBundleCtrlType.OPEN_REQUEST)
+                .setFlags(flags)
+                .build());
+        for (OFMessage message : messages) {
+            // the switch reports errors of the bundled message with the xid of the message
+            bundle.add(ofFactory.buildBundleAddMsg()
+                    .setXid(message.getXid())
+                    .setBundleId(bundleId)
+                    .setFlags(flags)
+                    .setData(message)
+                    .build());
+        }
+        bundle.add(ofFactory.buildBundleCtrlMsg()
+                .setBundleId(bundleId)
+                .setBundleCtrlType(OFBundleCtrlType.COMMIT_REQUEST)
+                .setFlags(flags)
+                .build());
+        return bundle;
+    }
+
+    private CompletableFuture<Map<OFMessage, SwitchOperationException>> collectBatchErrors(
+            DatapathId dpid, List<OFMessage> messages, List<CompletableFuture<Optional<OFMessage>>> responses,
+            List<CompletableFuture<Optional<OFMessage>>> controlResponses) {
+        List<CompletableFuture<Throwable>> errors = responses.stream()
+                .map(response -> response.handle((reply, error) -> error))
+                .collect(Collectors.toList());
+        List<CompletableFuture<Throwable>> controlErrors = controlResponses.stream()
+                .map(response -> response.handle((reply, error) -> error))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(Stream.concat(errors.stream(), controlErrors.stream())
+                .toArray(CompletableFuture[]::new))
+                .thenApply(ignore -> {
+                    // the bundle is atomic, if it is not committed none of its messages is applied
+                    Throwable batchError = controlErrors.stream()
+                            .map(CompletableFuture::join)
+                            .filter(Objects::nonNull)
+                            .findFirst()
+                            .orElse(null);
+
+                    Map<OFMessage, SwitchOperationException> result = new LinkedHashMap<>();
+                    for (int i = 0; i < messages.size(); i++) {
+                        Throwable error = Optional.ofNullable(errors.get(i).join()).orElse(batchError);
+                        if (error != null) {
+                            result.put(messages.get(i), error instanceof SwitchOperationException
+                                    ? (SwitchOperationException) error
+                                    : new SwitchOperationException(dpid, error.getMessage(), error));
+                        }
+                    }
+                    if (!result.isEmpty()) {
+                        logger.error("{} of {} OF messages of the batch have failed on switch {}",
+                                result.size(), messages.size(), dpid);
+                    }
+                    return result;
+                });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1002,6 +1253,23 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<OFBarrierReply> deleteMeterAsync(DatapathId dpid, long meterId)
+            throws SwitchOperationException {
+        if (meterId <= 0L) {
+            throw new InvalidMeterIdException(dpid, "Meter id must be positive.");
+        }
+        IOFSwitch sw = lookupSwitch(dpid);
+        verifySwitchSupportsMeters(sw);
+        buildAndDeleteMeter(sw, dpid, meterId);
+
+        // to ensure that we have completed meter deletion, because we might have remove/create meter in a row
+        return sendBarrierRequestAsync(sw);
+    }
+
     @Override
     public List<Long> deleteAllNonDefaultRules(final DatapathId dpid) throws SwitchOperationException {
         List<OFFlowStatsEntry> flowStatsBefore = dumpFlowTable(dpid);
@@ -1009,16 +1277,16 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         OFFactory ofFactory = sw.getOFFactory();
 
         Set<Long> removedRules = new HashSet<>();
+        List<OFMessage> flowDeletes = new ArrayList<>();
 
         for (OFFlowStatsEntry flowStatsEntry : flowStatsBefore) {
             long flowCookie = flowStatsEntry.getCookie().getValue();
             if (!isDefaultRule(flowCookie)) {
-                OFFlowDelete flowDelete = ofFactory.buildFlowDelete()
+                flowDeletes.add(ofFactory.buildFlowDelete()
                         .setCookie(U64.of(flowCookie))
                         .setCookieMask(U64.NO_MASK)
                         .setTableId(TableId.ALL)
-                        .build();
-                pushFlow(sw, "--DeleteFlow--", flowDelete);
+                        .build());
 
                 logger.info("Rule with cookie {} is to be removed from switch {}.", flowCookie, dpid);
 
@@ -1027,7 +1295,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         }
 
         // Wait for OFFlowDelete to be processed.
-        sendBarrierRequest(sw);
+        writeBatchAndWait(dpid, flowDeletes).forEach((flowDelete, error) ->
+                logger.warn("Failed to remove rules {} from switch {}: {}", flowDelete, dpid, error.getMessage()));
 
         List<OFFlowStatsEntry> flowStatsAfter = dumpFlowTable(dpid);
         Set<Long> cookiesAfter = flowStatsAfter.stream()
@@ -1065,16 +1334,15 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         IOFSwitch sw = lookupSwitch(dpid);
         OFFactory ofFactory = sw.getOFFactory();
 
+        List<OFMessage> flowDeletes = new ArrayList<>(criteria.length);
         for (DeleteRulesCriteria criteriaEntry : criteria) {
-            OFFlowDelete dropFlowDelete = buildFlowDeleteByCriteria(ofFactory, criteriaEntry, multiTable,
-                    ruleType);
-            logger.info("Rules by criteria {} are to be removed from switch {}.", criteria, dpid);
-
-            pushFlow(sw, "--DeleteFlow--", dropFlowDelete);
+            flowDeletes.add(buildFlowDeleteByCriteria(ofFactory, criteriaEntry, multiTable, ruleType));
         }
+        logger.info("Rules by criteria {} are to be removed from switch {}.", criteria, dpid);
 
         // Wait for OFFlowDelete to be processed.
-        sendBarrierRequest(sw);
+        writeBatchAndWait(dpid, flowDeletes).forEach((flowDelete, error) ->
+                logger.warn("Failed to remove rules {} from switch {}: {}", flowDelete, dpid, error.getMessage()));
 
         List<OFFlowStatsEntry> flowStatsAfter = dumpFlowTable(dpid);
         Set<Long> cookiesAfter = flowStatsAfter.stream()
@@ -1146,6 +1414,17 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     public Long installUnicastVerificationRuleVxlan(final DatapathId dpid) throws SwitchOperationException {
         IOFSwitch sw = lookupSwitch(dpid);
 
+        OFFlowMod flowMod = prepareUnicastVerificationRuleVxlan(dpid, sw);
+        if (flowMod == null) {
+            return null;
+        }
+        String flowname = "Unicast Vxlan";
+        flowname += "--VerificationFlowVxlan--" + dpid.toString();
+        pushFlow(sw, flowname, flowMod);
+        return VERIFICATION_UNICAST_VXLAN_RULE_COOKIE;
+    }
+
+    private OFFlowMod prepareUnicastVerificationRuleVxlan(DatapathId dpid, IOFSwitch sw) {
         // NOTE(tdurakov): reusing copy field feature here, since only switches with it supports pop/push vxlan's
         // should be replaced with fair feature detection based on ActionId's during handshake
         if (!featureDetectorService.detectSwitch(sw).contains(NOVIFLOW_COPY_FIELD)) {
@@ -1159,11 +1438,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         long meterRate = config.getUnicastRateLimit();
         OFInstructionMeter meter = installMeterForDefaultRule(sw, meterId, meterRate, actionList);
 
-        OFFlowMod flowMod = buildUnicastVerificationRuleVxlan(sw, cookie, meter, actionList);
-        String flowname = "Unicast Vxlan";
-        flowname += "--VerificationFlowVxlan--" + dpid.toString();
-        pushFlow(sw, flowname, flowMod);
-        return cookie;
+        return buildUnicastVerificationRuleVxlan(sw, cookie, meter, actionList);
     }
 
     private OFFlowMod buildUnicastVerificationRuleVxlan(IOFSwitch sw, long cookie, OFInstructionMeter meter,
@@ -1199,6 +1474,25 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             throws SwitchOperationException {
         IOFSwitch sw = lookupSwitch(dpid);
 
+        OFFlowMod flowMod = prepareVerificationRule(dpid, sw, isBroadcast);
+        long cookie = isBroadcast ? VERIFICATION_BROADCAST_RULE_COOKIE : VERIFICATION_UNICAST_RULE_COOKIE;
+
+        if (flowMod == null) {
+            logger.debug("Not installing unicast verification match for {}", dpid);
+            return cookie;
+        } else {
+            if (!isBroadcast) {
+                logger.debug("Installing unicast verification match for {}", dpid);
+            }
+
+            String flowName = (isBroadcast) ? "Broadcast" : "Unicast";
+            flowName += "--VerificationFlow--" + dpid.toString();
+            pushFlow(sw, flowName, flowMod);
+            return cookie;
+        }
+    }
+
+    private OFFlowMod prepareVerificationRule(DatapathId dpid, IOFSwitch sw, boolean isBroadcast) {
         ArrayList<OFAction> actionList = new ArrayList<>();
         long cookie = isBroadcast ? VERIFICATION_BROADCAST_RULE_COOKIE : VERIFICATION_UNICAST_RULE_COOKIE;
         long meterId = createMeterIdForDefaultRule(cookie).getValue();
@@ -1228,21 +1522,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             addStandardDiscoveryActions(sw, actionList);
         }
 
-        OFFlowMod flowMod = buildVerificationRule(sw, isBroadcast, ofFactory, cookie, meter, actionList);
-
-        if (flowMod == null) {
-            logger.debug("Not installing unicast verification match for {}", dpid);
-            return cookie;
-        } else {
-            if (!isBroadcast) {
-                logger.debug("Installing unicast verification match for {}", dpid);
-            }
-
-            String flowName = (isBroadcast) ? "Broadcast" : "Unicast";
-            flowName += "--VerificationFlow--" + dpid.toString();
-            pushFlow(sw, flowName, flowMod);
-            return cookie;
-        }
+        return buildVerificationRule(sw, isBroadcast, ofFactory, cookie, meter, actionList);
     }
 
     private void addStandardDiscoveryActions(IOFSwitch sw, ArrayList<OFAction> actionList) {
@@ -2272,6 +2552,45 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     }
 
 
+    private Map<OFMessage, SwitchOperationException> writeBatchAndWait(DatapathId dpid, List<OFMessage> messages)
+            throws SwitchOperationException {
+        try {
+            return writeBatch(dpid, messages).get(config.getSwitchResponseTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new SwitchOperationException(dpid, format(
+                    "Could not get a confirmation of %d OF messages written into %s: %s",
+                    messages.size(), dpid, e.getMessage()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SwitchOperationException(dpid, format(
+                    "Interrupted while waiting for a confirmation of OF messages written into %s", dpid), e);
+        }
+    }
+
+    private <R extends OFStatsReply> CompletableFuture<List<R>> writeStatsRequestAsync(
+            IOFSwitch sw, OFStatsRequest<R> request) {
+        return withTimeout(sw, sw.writeStatsRequest(request))
+                .thenApply(values -> values != null ? values : Collections.emptyList());
+    }
+
+    /**
+     * Adapts the switch response future, the result is completed exceptionally with {@link TimeoutException} if the
+     * switch doesn't respond in {@link SwitchManagerConfig#getSwitchResponseTimeoutMillis()}.
+     */
+    private <T> CompletableFuture<T> withTimeout(IOFSwitch sw, ListenableFuture<T> response) {
+        CompletableFuture<T> result = new CompletableFutureAdapter<>(
+                new MessageContext(CorrelationContext.getId()), response);
+        long timeoutMillis = config.getSwitchResponseTimeoutMillis();
+        ScheduledFuture<?> timeout = scheduledExecutor.schedule(() -> {
+            if (result.completeExceptionally(new TimeoutException(format(
+                    "Switch %s didn't respond in %d ms", sw.getId(), timeoutMillis)))) {
+                response.cancel(false);
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        result.whenComplete((reply, error) -> timeout.cancel(false));
+        return result;
+    }
+
     private List<Long> deleteRulesWithCookie(final DatapathId dpid, Long... cookiesToRemove)
             throws SwitchOperationException {
         DeleteRulesCriteria[] criteria = Stream.of(cookiesToRemove)
@@ -82,4 +82,10 @@ public interface SwitchManagerConfig {
     @Key("tracking-enabled")
     @Default("true")
     boolean isTrackingEnabled();
+
+    @Key("switch-response-timeout-millis")
+    @Default("10000")
+    @Min(1)
+    @Description("How long asynchronous dump and barrier requests wait for the switch response.")
+    long getSwitchResponseTimeoutMillis();
 }
@@ -37,12 +37,12 @@ public class KafkaOffsetRegistryTest {
     public void shouldNotCommitRightOnAdd() {
         // given
         @SuppressWarnings("unchecked")
-        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
+        KafkaConsumer<String, byte[]> consumer = mock(KafkaConsumer.class);
         EasyMock.replay(consumer);
         Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
 
         // when
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("test", 1, 1, "key", new byte[0]);
         registry.addAndCommit(record);
 
         // then
@@ -53,7 +53,7 @@ public class KafkaOffsetRegistryTest {
     public void shouldCommitOnAddIfIntervalPassed() throws InterruptedException {
         // given
         @SuppressWarnings("unchecked")
-        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
+        KafkaConsumer<String, byte[]> consumer = mock(KafkaConsumer.class);
         consumer.commitSync(anyObject());
         EasyMock.expectLastCall();
         EasyMock.replay(consumer);
@@ -62,7 +62,7 @@ public class KafkaOffsetRegistryTest {
         // when
         TimeUnit.MILLISECONDS.sleep(10);
 
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("test", 1, 1, "key", new byte[0]);
         registry.addAndCommit(record);
 
         // then
@@ -73,14 +73,14 @@ public class KafkaOffsetRegistryTest {
     public void shouldCommitOffsetsIfRequested() {
         // given
         @SuppressWarnings("unchecked")
-        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
+        KafkaConsumer<String, byte[]> consumer = mock(KafkaConsumer.class);
         consumer.commitSync(anyObject());
         EasyMock.expectLastCall();
         EasyMock.replay(consumer);
         Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
 
         // when
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("test", 1, 1, "key", new byte[0]);
         registry.addAndCommit(record);
         registry.commitOffsets();
 
@@ -92,16 +92,16 @@ public class KafkaOffsetRegistryTest {
     public void failTryingToAddRecordWithOutdatedOffset() {
         // given
         @SuppressWarnings("unchecked")
-        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
+        KafkaConsumer<String, byte[]> consumer = mock(KafkaConsumer.class);
         Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
 
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 10, "key", "value");
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("test", 1, 10, "key", new byte[0]);
         registry.addAndCommit(record);
 
         expectedException.expect(IllegalArgumentException.class);
 
         // when
-        ConsumerRecord<String, String> outdated = new ConsumerRecord<>("test", 1, 1, "key2", "value2");
+        ConsumerRecord<String, byte[]> outdated = new ConsumerRecord<>("test", 1, 1, "key2", new byte[0]);
         registry.addAndCommit(outdated);
 
         // then an IllegalArgumentException is thrown
@@ -15,9 +15,13 @@
 
 package org.openkilda.floodlight.pathverification;
 
+import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.newCapture;
 import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 
 import org.openkilda.floodlight.FloodlightTestCase;
 import org.openkilda.floodlight.service.FeatureDetectorService;
@@ -27,17 +31,28 @@ import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.apache.commons.codec.binary.Hex;
+import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.junit.Before;
 import org.junit.Test;
 import org.projectfloodlight.openflow.protocol.OFDescStatsReply;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFPacketOut;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
+import org.projectfloodlight.openflow.protocol.action.OFAction;
+import org.projectfloodlight.openflow.protocol.action.OFActionOutput;
+import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.MacAddress;
 import org.projectfloodlight.openflow.types.OFPort;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class PathVerificationPacketOutTest extends FloodlightTestCase {
     private static final String VERIFICATION_BCAST_PACKET_DST = "00:26:E1:FF:FF:FF";
@@ -111,4 +126,75 @@ public class PathVerificationPacketOutTest extends FloodlightTestCase {
         byte[] dstIpActual = Arrays.copyOfRange(packet.getData(), 30, 34);
         assertArrayEquals(dstIpTarget.getAddress().getAddress(), dstIpActual);
     }
+
+    @Test
+    public void testBatchPacketOut() {
+        Capture<Collection<OFMessage>> written = newCapture();
+        IOFSwitch sw = buildMockBatchSwitch(written, false);
+
+        assertEquals(2, pvs.sendDiscoveryMessages(sw.getId(), makeBatchPacketIds()));
+
+        // the packets are written at once and the unknown port is skipped
+        verify(sw);
+        assertEquals(Arrays.asList(OFPort.of(1), OFPort.of(2)), getOutputPorts(written.getValue()));
+    }
+
+    @Test
+    public void testBatchPacketOutPartiallyFailed() {
+        Capture<Collection<OFMessage>> written = newCapture();
+        IOFSwitch sw = buildMockBatchSwitch(written, true);
+
+        assertEquals(1, pvs.sendDiscoveryMessages(sw.getId(), makeBatchPacketIds()));
+
+        verify(sw);
+        assertEquals(Arrays.asList(OFPort.of(1), OFPort.of(2)), getOutputPorts(written.getValue()));
+    }
+
+    @Test
+    public void testBatchPacketOutSwitchNotConnected() {
+        mockSwitchManager.setSwitches(Collections.emptyMap());
+
+        assertEquals(0, pvs.sendDiscoveryMessages(sw1.getId(), makeBatchPacketIds()));
+    }
+
+    private IOFSwitch buildMockBatchSwitch(Capture<Collection<OFMessage>> written, boolean failLastPacket) {
+        OFDescStatsReply swDescription = factory.buildDescStatsReply().build();
+        IOFSwitch sw = buildMockIoFSwitch(0x112233445577L, EasyMock.createMock(OFPortDesc.class), factory,
+                swDescription, srcIpTarget);
+        expect(sw.getPort(OFPort.of(2))).andReturn(EasyMock.createMock(OFPortDesc.class)).anyTimes();
+        expect(sw.getPort(OFPort.of(3))).andReturn(null).anyTimes();
+        expect(sw.write(capture(written))).andAnswer(() -> {
+            if (!failLastPacket) {
+                return Collections.emptyList();
+            }
+            List<OFMessage> packets = new ArrayList<>(written.getValue());
+            return Collections.singletonList(packets.get(packets.size() - 1));
+        });
+        replay(sw);
+
+        Map<DatapathId, IOFSwitch> switches = new LinkedHashMap<>();
+        switches.put(sw.getId(), sw);
+        mockSwitchManager.setSwitches(switches);
+        return sw;
+    }
+
+    private static Map<OFPort, Long> makeBatchPacketIds() {
+        Map<OFPort, Long> packetIds = new LinkedHashMap<>();
+        packetIds.put(OFPort.of(1), 1L);
+        packetIds.put(OFPort.of(2), 2L);
+        packetIds.put(OFPort.of(3), 3L);
+        return packetIds;
+    }
+
+    private static List<OFPort> getOutputPorts(Collection<OFMessage> packets) {
+        List<OFPort> ports = new ArrayList<>();
+        for (OFMessage packet : packets) {
+            for (OFAction action : ((OFPacketOut) packet).getActions()) {
+                if (action instanceof OFActionOutput) {
+                    ports.add(((OFActionOutput) action).getPort());
+                }
+            }
+        }
+        return ports;
+    }
 }
@@ -21,11 +21,16 @@ import static org.easymock.EasyMock.getCurrentArguments;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.WireCodec;
+import org.openkilda.messaging.WireFormat;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.model.SwitchId;
 
+import com.google.common.collect.ImmutableSet;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
@@ -34,6 +39,7 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
 import org.easymock.Capture;
+import org.easymock.CaptureType;
 import org.easymock.EasyMock;
 import org.easymock.EasyMockSupport;
 import org.easymock.IAnswer;
@@ -48,6 +54,7 @@ import java.util.concurrent.Future;
 
 public class KafkaProducerServiceTest extends EasyMockSupport {
     private static final String TOPIC = "A";
+    private static final String BINARY_TOPIC = "B";
     private static final TopicPartition[] partitions = new TopicPartition[]{
             new TopicPartition(TOPIC, 0),
             new TopicPartition(TOPIC, 1)
@@ -57,7 +64,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
     private KafkaProducerService subject;
 
     @SuppressWarnings("unchecked")
-    private Producer<String, String> kafkaProducer = (Producer<String, String>) strictMock(Producer.class);
+    private Producer<String, byte[]> kafkaProducer = (Producer<String, byte[]>) strictMock(Producer.class);
 
     @Before
     public void setUp() {
@@ -67,6 +74,8 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
 
         KafkaUtilityService kafkaUtility = createMock(KafkaUtilityService.class);
         expect(kafkaUtility.makeProducer()).andReturn(kafkaProducer);
+        expect(kafkaUtility.makeWireCodec()).andReturn(
+                new WireCodec(Utils.MAPPER, Utils.BINARY_MAPPER, ImmutableSet.of(BINARY_TOPIC)));
         moduleContext.addService(KafkaUtilityService.class, kafkaUtility);
 
         replay(kafkaUtility);
@@ -130,6 +139,26 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
                 "Exception was not thrown by %s object", status.getClass().getCanonicalName()), isThrown);
     }
 
+    @Test
+    public void encodeInFormatOfTopic() throws Exception {
+        Capture<ProducerRecord<String, byte[]>> trap = EasyMock.newCapture(CaptureType.ALL);
+        setupSendCapture(trap, new RecordMetadata[2]);
+
+        replay(kafkaProducer);
+        InfoMessage payload = makePayload();
+        subject.sendMessage(TOPIC, payload);
+        subject.sendMessage(BINARY_TOPIC, payload);
+        verify(kafkaProducer);
+
+        WireCodec decoder = new WireCodec(Utils.MAPPER, Utils.BINARY_MAPPER, ImmutableSet.of());
+        byte[] json = trap.getValues().get(0).value();
+        byte[] binary = trap.getValues().get(1).value();
+        Assert.assertEquals(WireFormat.JSON, WireFormat.detect(json));
+        Assert.assertEquals(WireFormat.SMILE, WireFormat.detect(binary));
+        Assert.assertEquals(payload, decoder.decode(json, Message.class));
+        Assert.assertEquals(payload, decoder.decode(binary, Message.class));
+    }
+
     private InfoMessage makePayload() {
         return new InfoMessage(
                 new PortInfoData(new SwitchId("ff:fe:00:00:00:00:00:01"), 8, PortChangeType.UP),
@@ -137,7 +166,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
     }
 
     @SuppressWarnings("unchecked")
-    private void setupSendCapture(Capture<ProducerRecord<String, String>> trap, RecordMetadata[] sendResults)
+    private void setupSendCapture(Capture<ProducerRecord<String, byte[]>> trap, RecordMetadata[] sendResults)
             throws Exception {
         for (RecordMetadata metadata : sendResults) {
             Future promise = mock(Future.class);
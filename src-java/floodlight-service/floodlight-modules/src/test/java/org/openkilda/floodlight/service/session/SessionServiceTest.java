@@ -21,11 +21,13 @@ import static org.easymock.EasyMock.expect;
 
 import org.openkilda.floodlight.error.SessionCloseException;
 import org.openkilda.floodlight.error.SessionErrorResponseException;
+import org.openkilda.floodlight.error.SessionRevertException;
 import org.openkilda.floodlight.error.SwitchOperationException;
 import org.openkilda.floodlight.error.SwitchWriteException;
 import org.openkilda.floodlight.service.of.InputService;
 import org.openkilda.messaging.MessageContext;
 
+import com.google.common.collect.ImmutableList;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
@@ -49,6 +51,7 @@ import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 import org.projectfloodlight.openflow.types.U64;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -226,6 +229,55 @@ public class SessionServiceTest extends EasyMockSupport {
         }
     }
 
+    @Test
+    public void batchWrite() throws Exception {
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        setupSwitchMock(sw, dpId);
+        swWriteAlwaysSuccess(sw);
+        Capture<Iterable<OFMessage>> swBatchWrite = EasyMock.newCapture();
+        expect(sw.write(capture(swBatchWrite))).andReturn(Collections.emptyList());
+        doneWithSetUp(sw);
+
+        OFFactory ofFactory = sw.getOFFactory();
+        List<OFMessage> batch = ImmutableList.of(makePacketOut(ofFactory, 1), makePacketOut(ofFactory, 2));
+        List<CompletableFuture<Optional<OFMessage>>> futures;
+        try (Session session = subject.open(context, sw)) {
+            futures = session.write(batch);
+        }
+
+        Assert.assertEquals(batch, swBatchWrite.getValue());
+        Assert.assertEquals(2, futures.size());
+        Assert.assertFalse(futures.get(0).isDone());
+        Assert.assertFalse(futures.get(1).isDone());
+
+        subject.handleResponse(sw.getId(), ofFactory.errorMsgs().buildBadActionErrorMsg()
+                .setXid(batch.get(1).getXid())
+                .setCode(OFBadActionCode.BAD_LEN)
+                .build());
+        completeSessions(sw);
+
+        Assert.assertFalse(futures.get(0).get().isPresent());
+        expectExceptionResponse(futures.get(1), SessionErrorResponseException.class);
+    }
+
+    @Test
+    public void batchWriteError() throws Exception {
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        setupSwitchMock(sw, dpId);
+        OFFactory ofFactory = OFFactoryVer13.INSTANCE;
+        List<OFMessage> batch = ImmutableList.of(makePacketOut(ofFactory, 1), makePacketOut(ofFactory, 2));
+        expect(sw.write(EasyMock.<Iterable<OFMessage>>anyObject())).andReturn(ImmutableList.of(batch.get(1)));
+        doneWithSetUp(sw);
+
+        List<CompletableFuture<Optional<OFMessage>>> futures;
+        try (Session session = subject.open(context, sw)) {
+            futures = session.write(batch);
+        }
+
+        expectExceptionResponse(futures.get(0), SessionRevertException.class);
+        expectExceptionResponse(futures.get(1), SwitchWriteException.class);
+    }
+
     private OFPacketOut makePacketOut(OFFactory ofFactory, int inPort) {
         return ofFactory.buildPacketOut()
                 .setInPort(OFPort.of(inPort))
@@ -22,6 +22,7 @@ import static org.easymock.EasyMock.anyLong;
 import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.isA;
@@ -29,6 +30,7 @@ import static org.easymock.EasyMock.mock;
 import static org.easymock.EasyMock.replay;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
@@ -36,8 +38,10 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.beans.HasPropertyWithValue.hasProperty;
 import static org.hamcrest.core.Every.everyItem;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.openkilda.floodlight.Constants.inputPort;
 import static org.openkilda.floodlight.Constants.inputVlanId;
 import static org.openkilda.floodlight.Constants.meterId;
@@ -83,13 +87,17 @@ import org.openkilda.floodlight.KildaCoreConfig;
 import org.openkilda.floodlight.OFFactoryVer12Mock;
 import org.openkilda.floodlight.config.provider.FloodlightModuleConfigurationProvider;
 import org.openkilda.floodlight.error.InvalidMeterIdException;
+import org.openkilda.floodlight.error.SessionErrorResponseException;
 import org.openkilda.floodlight.error.SwitchOperationException;
 import org.openkilda.floodlight.pathverification.IPathVerificationService;
 import org.openkilda.floodlight.pathverification.PathVerificationService;
 import org.openkilda.floodlight.pathverification.PathVerificationServiceConfig;
 import org.openkilda.floodlight.service.FeatureDetectorService;
+import org.openkilda.floodlight.service.session.Session;
+import org.openkilda.floodlight.service.session.SessionService;
 import org.openkilda.floodlight.test.standard.OutputCommands;
 import org.openkilda.floodlight.test.standard.ReplaceSchemeOutputCommands;
+import org.openkilda.messaging.MessageContext;
 import org.openkilda.messaging.command.switches.DeleteRulesCriteria;
 import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.OutputVlanType;
@@ -102,6 +110,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import com.sabre.oss.conf4j.factory.jdkproxy.JdkProxyStaticConfigurationFactory;
 import com.sabre.oss.conf4j.source.MapConfigurationSource;
 import net.floodlightcontroller.core.IFloodlightProviderService;
@@ -117,9 +126,15 @@ import org.easymock.CaptureType;
 import org.easymock.EasyMock;
 import org.junit.Before;
 import org.junit.Test;
+import org.projectfloodlight.openflow.protocol.OFBadRequestCode;
 import org.projectfloodlight.openflow.protocol.OFBarrierReply;
 import org.projectfloodlight.openflow.protocol.OFBarrierRequest;
 import org.projectfloodlight.openflow.protocol.OFBucket;
+import org.projectfloodlight.openflow.protocol.OFBundleAddMsg;
+import org.projectfloodlight.openflow.protocol.OFBundleCtrlMsg;
+import org.projectfloodlight.openflow.protocol.OFBundleCtrlType;
+import org.projectfloodlight.openflow.protocol.OFBundleFlags;
+import org.projectfloodlight.openflow.protocol.OFFactory;
 import org.projectfloodlight.openflow.protocol.OFFlowMod;
 import org.projectfloodlight.openflow.protocol.OFFlowModCommand;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
@@ -132,6 +147,7 @@ import org.projectfloodlight.openflow.protocol.OFGroupDescStatsReply;
 import org.projectfloodlight.openflow.protocol.OFGroupDescStatsRequest;
 import org.projectfloodlight.openflow.protocol.OFGroupModCommand;
 import org.projectfloodlight.openflow.protocol.OFGroupType;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFMeterConfig;
 import org.projectfloodlight.openflow.protocol.OFMeterConfigStatsReply;
 import org.projectfloodlight.openflow.protocol.OFMeterConfigStatsRequest;
@@ -143,6 +159,7 @@ import org.projectfloodlight.openflow.protocol.action.OFActionOutput;
 import org.projectfloodlight.openflow.protocol.action.OFActionSetField;
 import org.projectfloodlight.openflow.protocol.match.MatchField;
 import org.projectfloodlight.openflow.protocol.meterband.OFMeterBandDrop;
+import org.projectfloodlight.openflow.protocol.ver14.OFFactoryVer14;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFGroup;
 import org.projectfloodlight.openflow.types.OFPort;
@@ -153,8 +170,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
@@ -162,6 +183,7 @@ public class SwitchManagerTest {
     private static final OutputCommands scheme = new ReplaceSchemeOutputCommands();
     private static final FloodlightModuleContext context = new FloodlightModuleContext();
     private static final long cookie = 123L;
+    private static final long SWITCH_RESPONSE_TIMEOUT_MILLIS = 200L;
     private static final long bandwidth = 20000L;
     private static final String cookieHex = "7B";
     private static final SwitchId SWITCH_ID = new SwitchId(0x0000000000000001L);
@@ -189,6 +211,7 @@ public class SwitchManagerTest {
     private IOFSwitchService ofSwitchService;
     private IRestApiService restApiService;
     private FeatureDetectorService featureDetectorService;
+    private SessionService sessionService;
     private IOFSwitch iofSwitch;
     private SwitchDescription switchDescription;
     private DatapathId dpid;
@@ -202,6 +225,7 @@ public class SwitchManagerTest {
         ofSwitchService = createMock(IOFSwitchService.class);
         restApiService = createMock(IRestApiService.class);
         featureDetectorService = createMock(FeatureDetectorService.class);
+        sessionService = createMock(SessionService.class);
         iofSwitch = createMock(IOFSwitch.class);
 
         switchDescription = createMock(SwitchDescription.class);
@@ -235,9 +259,12 @@ public class SwitchManagerTest {
         context.addService(IRestApiService.class, restApiService);
         context.addService(IOFSwitchService.class, ofSwitchService);
         context.addService(FeatureDetectorService.class, featureDetectorService);
+        context.addService(SessionService.class, sessionService);
         context.addService(IPathVerificationService.class, pathVerificationService);
 
         switchManager = new SwitchManager();
+        context.addConfigParam(switchManager, "switch-response-timeout-millis",
+                String.valueOf(SWITCH_RESPONSE_TIMEOUT_MILLIS));
         switchManager.init(context);
         switchManager.startUp(context);
     }
@@ -755,6 +782,83 @@ public class SwitchManagerTest {
         // TODO
     }
 
+    @Test
+    public void dumpFlowTableAsync() throws Exception {
+        SettableFuture<List<OFFlowStatsReply>> response = SettableFuture.create();
+        expect(iofSwitch.writeStatsRequest(isA(OFFlowStatsRequest.class))).andReturn(response);
+        prepareForAsyncRequestTest();
+
+        CompletableFuture<List<OFFlowStatsEntry>> result = switchManager.dumpFlowTableAsync(dpid);
+        assertFalse(result.isDone());
+
+        OFFlowStatsEntry entry = mock(OFFlowStatsEntry.class);
+        OFFlowStatsReply reply = mock(OFFlowStatsReply.class);
+        expect(reply.getEntries()).andStubReturn(singletonList(entry));
+        replay(entry, reply);
+        response.set(singletonList(reply));
+
+        assertEquals(singletonList(entry), result.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void dumpMeterByIdAsyncWithoutMeter() throws Exception {
+        OFMeterConfigStatsReply reply = mock(OFMeterConfigStatsReply.class);
+        expect(reply.getEntries()).andStubReturn(Collections.emptyList());
+        replay(reply);
+        expect(iofSwitch.writeStatsRequest(isA(OFMeterConfigStatsRequest.class)))
+                .andReturn(Futures.immediateFuture(singletonList(reply)));
+        prepareForAsyncRequestTest();
+
+        assertNull(switchManager.dumpMeterByIdAsync(dpid, meterId).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void dumpGroupsAsync() throws Exception {
+        OFGroupDescStatsEntry entry = mock(OFGroupDescStatsEntry.class);
+        OFGroupDescStatsReply reply = mock(OFGroupDescStatsReply.class);
+        expect(reply.getEntries()).andStubReturn(singletonList(entry));
+        replay(entry, reply);
+        expect(iofSwitch.writeStatsRequest(isA(OFGroupDescStatsRequest.class)))
+                .andReturn(Futures.immediateFuture(singletonList(reply)));
+        prepareForAsyncRequestTest();
+
+        assertEquals(singletonList(entry), switchManager.dumpGroupsAsync(dpid).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void deleteMeterAsyncCompletesOnBarrierReply() throws Exception {
+        Capture<OFMeterMod> meterDelete = EasyMock.newCapture();
+        expect(iofSwitch.write(capture(meterDelete))).andReturn(true);
+        SettableFuture<OFBarrierReply> barrier = SettableFuture.create();
+        expect(iofSwitch.writeRequest(isA(OFBarrierRequest.class))).andReturn(barrier);
+        prepareForAsyncRequestTest();
+
+        CompletableFuture<OFBarrierReply> result = switchManager.deleteMeterAsync(dpid, meterId);
+        assertEquals(OFMeterModCommand.DELETE, meterDelete.getValue().getCommand());
+        assertFalse(result.isDone());
+
+        OFBarrierReply reply = createMock(OFBarrierReply.class);
+        barrier.set(reply);
+        assertEquals(reply, result.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void asyncRequestTimesOutIfSwitchDoesNotRespond() throws Exception {
+        SettableFuture<OFBarrierReply> barrier = SettableFuture.create();
+        expect(iofSwitch.writeRequest(isA(OFBarrierRequest.class))).andReturn(barrier);
+        prepareForAsyncRequestTest();
+
+        CompletableFuture<OFBarrierReply> result = switchManager.sendBarrierRequestAsync(dpid);
+        try {
+            result.get(SWITCH_RESPONSE_TIMEOUT_MILLIS * 10, TimeUnit.MILLISECONDS);
+            fail("The request must time out");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(TimeoutException.class));
+        }
+        // the switch response is not awaited anymore
+        assertTrue(barrier.isCancelled());
+    }
+
     @Test
     public void installBandwidthMeterForCentecSwitch() throws Exception {
         runInstallMeterTest(bandwidth, Math.round(bandwidth * config.getFlowMeterBurstCoefficient()), true, false);
@@ -839,10 +943,8 @@ public class SwitchManagerTest {
         mockFlowStatsRequest(cookie, DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE,
                 VERIFICATION_UNICAST_RULE_COOKIE);
 
-        Capture<OFFlowMod> capture = EasyMock.newCapture();
-        expect(iofSwitch.write(capture(capture))).andReturn(true);
+        Capture<List<OFMessage>> capture = mockBatchWrite();
 
-        mockBarrierRequest();
         mockFlowStatsRequest(DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE, VERIFICATION_UNICAST_RULE_COOKIE);
         expectLastCall();
 
@@ -852,7 +954,7 @@ public class SwitchManagerTest {
         List<Long> deletedRules = switchManager.deleteAllNonDefaultRules(dpid);
 
         // then
-        final OFFlowMod actual = capture.getValue();
+        final OFFlowMod actual = (OFFlowMod) capture.getValue().get(0);
         assertEquals(OFFlowModCommand.DELETE, actual.getCommand());
         assertNull(actual.getMatch().get(MatchField.IN_PORT));
         assertNull(actual.getMatch().get(MatchField.VLAN_VID));
@@ -881,8 +983,7 @@ public class SwitchManagerTest {
                 LLDP_INGRESS_COOKIE, LLDP_POST_INGRESS_COOKIE, LLDP_POST_INGRESS_VXLAN_COOKIE,
                 LLDP_POST_INGRESS_ONE_SWITCH_COOKIE);
 
-        Capture<OFFlowMod> capture = EasyMock.newCapture(CaptureType.ALL);
-        expect(iofSwitch.write(capture(capture))).andReturn(true).times(18);
+        Capture<List<OFMessage>> capture = mockBatchWrite();
         expect(iofSwitch.write(isA(OFGroupDelete.class))).andReturn(true).once();
 
         mockBarrierRequest();
@@ -896,7 +997,7 @@ public class SwitchManagerTest {
                 Collections.emptyList(), Collections.emptySet(), true, true);
 
         // then
-        final List<OFFlowMod> actual = capture.getValues();
+        final List<OFMessage> actual = capture.getValue();
         assertEquals(18, actual.size());
         assertThat(actual, everyItem(hasProperty("command", equalTo(OFFlowModCommand.DELETE))));
         assertThat(actual, hasItem(hasProperty("cookie", equalTo(U64.of(DROP_RULE_COOKIE)))));
@@ -945,8 +1046,9 @@ public class SwitchManagerTest {
                 MULTITABLE_TRANSIT_DROP_COOKIE, LLDP_INPUT_PRE_DROP_COOKIE, LLDP_TRANSIT_COOKIE, LLDP_INGRESS_COOKIE,
                 LLDP_POST_INGRESS_COOKIE, LLDP_POST_INGRESS_VXLAN_COOKIE, LLDP_POST_INGRESS_ONE_SWITCH_COOKIE);
 
+        Capture<List<OFMessage>> rulesCapture = mockBatchWrite();
         Capture<OFFlowMod> capture = EasyMock.newCapture(CaptureType.ALL);
-        expect(iofSwitch.write(capture(capture))).andReturn(true).times(28);
+        expect(iofSwitch.write(capture(capture))).andReturn(true).times(10);
         expect(iofSwitch.write(isA(OFGroupDelete.class))).andReturn(true).once();
 
         mockBarrierRequest();
@@ -969,10 +1071,11 @@ public class SwitchManagerTest {
                 LLDP_POST_INGRESS_ONE_SWITCH_COOKIE));
 
         final List<OFFlowMod> actual = capture.getValues();
-        assertEquals(28, actual.size());
+        assertEquals(10, actual.size());
 
         // check rules deletion
-        List<OFFlowMod> rulesMod = actual.subList(0, 18);
+        List<OFMessage> rulesMod = rulesCapture.getValue();
+        assertEquals(18, rulesMod.size());
         assertThat(rulesMod, everyItem(hasProperty("command", equalTo(OFFlowModCommand.DELETE))));
         assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(DROP_RULE_COOKIE)))));
         assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(VERIFICATION_BROADCAST_RULE_COOKIE)))));
@@ -981,21 +1084,22 @@ public class SwitchManagerTest {
         assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(CATCH_BFD_RULE_COOKIE)))));
         assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(ROUND_TRIP_LATENCY_RULE_COOKIE)))));
         assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(VERIFICATION_UNICAST_VXLAN_RULE_COOKIE)))));
-        assertThat(actual, hasItem(hasProperty("cookie", equalTo(U64.of(MULTITABLE_PRE_INGRESS_PASS_THROUGH_COOKIE)))));
-        assertThat(actual, hasItem(hasProperty("cookie", equalTo(U64.of(MULTITABLE_INGRESS_DROP_COOKIE)))));
-        assertThat(actual, hasItem(hasProperty("cookie", equalTo(U64.of(MULTITABLE_POST_INGRESS_DROP_COOKIE)))));
-        assertThat(actual, hasItem(hasProperty("cookie", equalTo(U64.of(MULTITABLE_EGRESS_PASS_THROUGH_COOKIE)))));
-        assertThat(actual, hasItem(hasProperty("cookie", equalTo(U64.of(MULTITABLE_TRANSIT_DROP_COOKIE)))));
-        assertThat(actual, hasItem(hasProperty("cookie", equalTo(U64.of(LLDP_INPUT_PRE_DROP_COOKIE)))));
-        assertThat(actual, hasItem(hasProperty("cookie", equalTo(U64.of(LLDP_TRANSIT_COOKIE)))));
-        assertThat(actual, hasItem(hasProperty("cookie", equalTo(U64.of(LLDP_INGRESS_COOKIE)))));
-        assertThat(actual, hasItem(hasProperty("cookie", equalTo(U64.of(LLDP_POST_INGRESS_COOKIE)))));
-        assertThat(actual, hasItem(hasProperty("cookie", equalTo(U64.of(LLDP_POST_INGRESS_VXLAN_COOKIE)))));
-        assertThat(actual, hasItem(hasProperty("cookie", equalTo(U64.of(LLDP_POST_INGRESS_ONE_SWITCH_COOKIE)))));
+        assertThat(rulesMod, hasItem(hasProperty("cookie",
+                equalTo(U64.of(MULTITABLE_PRE_INGRESS_PASS_THROUGH_COOKIE)))));
+        assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(MULTITABLE_INGRESS_DROP_COOKIE)))));
+        assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(MULTITABLE_POST_INGRESS_DROP_COOKIE)))));
+        assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(MULTITABLE_EGRESS_PASS_THROUGH_COOKIE)))));
+        assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(MULTITABLE_TRANSIT_DROP_COOKIE)))));
+        assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(LLDP_INPUT_PRE_DROP_COOKIE)))));
+        assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(LLDP_TRANSIT_COOKIE)))));
+        assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(LLDP_INGRESS_COOKIE)))));
+        assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(LLDP_POST_INGRESS_COOKIE)))));
+        assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(LLDP_POST_INGRESS_VXLAN_COOKIE)))));
+        assertThat(rulesMod, hasItem(hasProperty("cookie", equalTo(U64.of(LLDP_POST_INGRESS_ONE_SWITCH_COOKIE)))));
 
 
         // verify meters deletion
-        List<OFFlowMod> metersMod = actual.subList(rulesMod.size(), rulesMod.size() + 9);
+        List<OFFlowMod> metersMod = actual.subList(0, 9);
         assertThat(metersMod, everyItem(hasProperty("command", equalTo(OFMeterModCommand.DELETE))));
         assertThat(metersMod, hasItem(hasProperty("meterId", equalTo(broadcastMeterId))));
         assertThat(metersMod, hasItem(hasProperty("meterId", equalTo(unicastMeterId))));
@@ -1008,7 +1112,7 @@ public class SwitchManagerTest {
         assertThat(metersMod, hasItem(hasProperty("meterId", equalTo(lldpPostIngressOneSwitchMeterId))));
 
         // verify group deletion
-        List<OFFlowMod> groupMod = actual.subList(rulesMod.size() + metersMod.size(), actual.size());
+        List<OFFlowMod> groupMod = actual.subList(metersMod.size(), actual.size());
         assertThat(groupMod, everyItem(hasProperty("command", equalTo(OFGroupModCommand.DELETE))));
         assertThat(groupMod, hasItem(hasProperty("group", equalTo(OFGroup.of(ROUND_TRIP_LATENCY_GROUP_ID)))));
     }
@@ -1022,10 +1126,8 @@ public class SwitchManagerTest {
         mockFlowStatsRequest(cookie, DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE,
                 VERIFICATION_UNICAST_RULE_COOKIE);
 
-        Capture<OFFlowMod> capture = EasyMock.newCapture(CaptureType.ALL);
-        expect(iofSwitch.write(capture(capture))).andReturn(true).times(3);
+        Capture<List<OFMessage>> capture = mockBatchWrite();
 
-        mockBarrierRequest();
         mockFlowStatsRequest(DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE, VERIFICATION_UNICAST_RULE_COOKIE);
         expectLastCall();
 
@@ -1036,7 +1138,7 @@ public class SwitchManagerTest {
         List<Long> deletedRules = switchManager.deleteRulesByCriteria(dpid, false, null, criteria);
 
         // then
-        final OFFlowMod actual = capture.getValue();
+        final OFFlowMod actual = (OFFlowMod) capture.getValue().get(0);
         assertEquals(OFFlowModCommand.DELETE, actual.getCommand());
         assertNull(actual.getMatch().get(MatchField.IN_PORT));
         assertNull(actual.getMatch().get(MatchField.VLAN_VID));
@@ -1058,10 +1160,8 @@ public class SwitchManagerTest {
         mockFlowStatsRequest(cookie, DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE,
                 VERIFICATION_UNICAST_RULE_COOKIE);
 
-        Capture<OFFlowMod> capture = EasyMock.newCapture(CaptureType.ALL);
-        expect(iofSwitch.write(capture(capture))).andReturn(true).times(3);
+        Capture<List<OFMessage>> capture = mockBatchWrite();
 
-        mockBarrierRequest();
         mockFlowStatsRequest(DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE, VERIFICATION_UNICAST_RULE_COOKIE);
         expectLastCall();
 
@@ -1074,7 +1174,7 @@ public class SwitchManagerTest {
         List<Long> deletedRules = switchManager.deleteRulesByCriteria(dpid, false, null, criteria);
 
         // then
-        final OFFlowMod actual = capture.getValue();
+        final OFFlowMod actual = (OFFlowMod) capture.getValue().get(0);
         assertEquals(OFFlowModCommand.DELETE, actual.getCommand());
         assertEquals(testInPort, actual.getMatch().get(MatchField.IN_PORT).getPortNumber());
         assertNull(actual.getMatch().get(MatchField.VLAN_VID));
@@ -1096,10 +1196,8 @@ public class SwitchManagerTest {
         mockFlowStatsRequest(cookie, DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE,
                 VERIFICATION_UNICAST_RULE_COOKIE);
 
-        Capture<OFFlowMod> capture = EasyMock.newCapture(CaptureType.ALL);
-        expect(iofSwitch.write(capture(capture))).andReturn(true).times(3);
+        Capture<List<OFMessage>> capture = mockBatchWrite();
 
-        mockBarrierRequest();
         mockFlowStatsRequest(DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE, VERIFICATION_UNICAST_RULE_COOKIE);
         expectLastCall();
 
@@ -1111,7 +1209,7 @@ public class SwitchManagerTest {
         List<Long> deletedRules = switchManager.deleteRulesByCriteria(dpid, false, null, criteria);
 
         // then
-        final OFFlowMod actual = capture.getValue();
+        final OFFlowMod actual = (OFFlowMod) capture.getValue().get(0);
         assertEquals(OFFlowModCommand.DELETE, actual.getCommand());
         assertEquals(testInVlan, actual.getMatch().get(MatchField.VLAN_VID).getVlan());
         assertNull(actual.getMatch().get(MatchField.IN_PORT));
@@ -1134,10 +1232,8 @@ public class SwitchManagerTest {
         mockFlowStatsRequest(cookie, DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE,
                 VERIFICATION_UNICAST_RULE_COOKIE);
 
-        Capture<OFFlowMod> capture = EasyMock.newCapture(CaptureType.ALL);
-        expect(iofSwitch.write(capture(capture))).andReturn(true).times(3);
+        Capture<List<OFMessage>> capture = mockBatchWrite();
 
-        mockBarrierRequest();
         mockFlowStatsRequest(DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE, VERIFICATION_UNICAST_RULE_COOKIE);
         expectLastCall();
 
@@ -1153,7 +1249,7 @@ public class SwitchManagerTest {
         List<Long> deletedRules = switchManager.deleteRulesByCriteria(dpid, false, null, criteria);
 
         // then
-        final OFFlowMod actual = capture.getValue();
+        final OFFlowMod actual = (OFFlowMod) capture.getValue().get(0);
         assertEquals(OFFlowModCommand.DELETE, actual.getCommand());
         assertEquals(testInPort, actual.getMatch().get(MatchField.IN_PORT).getPortNumber());
         assertEquals(testInVlan, actual.getMatch().get(MatchField.VLAN_VID).getVlan());
@@ -1176,10 +1272,8 @@ public class SwitchManagerTest {
         mockFlowStatsRequest(cookie, DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE,
                 VERIFICATION_UNICAST_RULE_COOKIE);
 
-        Capture<OFFlowMod> capture = EasyMock.newCapture(CaptureType.ALL);
-        expect(iofSwitch.write(capture(capture))).andReturn(true).times(3);
+        Capture<List<OFMessage>> capture = mockBatchWrite();
 
-        mockBarrierRequest();
         mockFlowStatsRequest(DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE, VERIFICATION_UNICAST_RULE_COOKIE);
         expectLastCall();
 
@@ -1195,7 +1289,7 @@ public class SwitchManagerTest {
         List<Long> deletedRules = switchManager.deleteRulesByCriteria(dpid, false, null, criteria);
 
         // then
-        final OFFlowMod actual = capture.getValue();
+        final OFFlowMod actual = (OFFlowMod) capture.getValue().get(0);
         assertEquals(OFFlowModCommand.DELETE, actual.getCommand());
         assertEquals(testInPort, actual.getMatch().get(MatchField.IN_PORT).getPortNumber());
         assertEquals(testInVlan, actual.getMatch().get(MatchField.TUNNEL_ID).getValue());
@@ -1217,10 +1311,8 @@ public class SwitchManagerTest {
         mockFlowStatsRequest(cookie, DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE,
                 VERIFICATION_UNICAST_RULE_COOKIE);
 
-        Capture<OFFlowMod> capture = EasyMock.newCapture(CaptureType.ALL);
-        expect(iofSwitch.write(capture(capture))).andReturn(true).times(3);
+        Capture<List<OFMessage>> capture = mockBatchWrite();
 
-        mockBarrierRequest();
         mockFlowStatsRequest(DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE, VERIFICATION_UNICAST_RULE_COOKIE);
         expectLastCall();
 
@@ -1231,7 +1323,7 @@ public class SwitchManagerTest {
         List<Long> deletedRules = switchManager.deleteRulesByCriteria(dpid, false, null, criteria);
 
         // then
-        final OFFlowMod actual = capture.getValue();
+        final OFFlowMod actual = (OFFlowMod) capture.getValue().get(0);
         assertEquals(OFFlowModCommand.DELETE, actual.getCommand());
         assertNull(actual.getMatch().get(MatchField.IN_PORT));
         assertNull(actual.getMatch().get(MatchField.VLAN_VID));
@@ -1256,10 +1348,8 @@ public class SwitchManagerTest {
         mockFlowStatsRequest(cookie, DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE,
                 VERIFICATION_UNICAST_RULE_COOKIE);
 
-        Capture<OFFlowMod> capture = EasyMock.newCapture(CaptureType.ALL);
-        expect(iofSwitch.write(capture(capture))).andReturn(true).times(3);
+        Capture<List<OFMessage>> capture = mockBatchWrite();
 
-        mockBarrierRequest();
         mockFlowStatsRequest(DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE, VERIFICATION_UNICAST_RULE_COOKIE);
         expectLastCall();
 
@@ -1276,7 +1366,7 @@ public class SwitchManagerTest {
         List<Long> deletedRules = switchManager.deleteRulesByCriteria(dpid, false, null, criteria);
 
         // then
-        final OFFlowMod actual = capture.getValue();
+        final OFFlowMod actual = (OFFlowMod) capture.getValue().get(0);
         assertEquals(OFFlowModCommand.DELETE, actual.getCommand());
         assertEquals(testInPort, actual.getMatch().get(MatchField.IN_PORT).getPortNumber());
         assertEquals(testInVlan, actual.getMatch().get(MatchField.VLAN_VID).getVlan());
@@ -1299,10 +1389,8 @@ public class SwitchManagerTest {
         mockFlowStatsRequest(cookie, DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE,
                 VERIFICATION_UNICAST_RULE_COOKIE);
 
-        Capture<OFFlowMod> capture = EasyMock.newCapture(CaptureType.ALL);
-        expect(iofSwitch.write(capture(capture))).andReturn(true).times(3);
+        Capture<List<OFMessage>> capture = mockBatchWrite();
 
-        mockBarrierRequest();
         mockFlowStatsRequest(DROP_RULE_COOKIE, VERIFICATION_BROADCAST_RULE_COOKIE, VERIFICATION_UNICAST_RULE_COOKIE);
         expectLastCall();
 
@@ -1313,7 +1401,7 @@ public class SwitchManagerTest {
         List<Long> deletedRules = switchManager.deleteRulesByCriteria(dpid, false, null, criteria);
 
         // then
-        final OFFlowMod actual = capture.getValue();
+        final OFFlowMod actual = (OFFlowMod) capture.getValue().get(0);
         assertEquals(OFFlowModCommand.DELETE, actual.getCommand());
         assertNull(actual.getMatch().get(MatchField.IN_PORT));
         assertNull(actual.getMatch().get(MatchField.VLAN_VID));
@@ -1332,7 +1420,6 @@ public class SwitchManagerTest {
         expect(iofSwitch.getId()).andStubReturn(dpid);
         // define that switch is Centec
         expect(switchDescription.getManufacturerDescription()).andStubReturn("Centec Inc.");
-        expect(featureDetectorService.detectSwitch(iofSwitch)).andStubReturn(Sets.newHashSet(METERS));
         mockGetMetersRequest(Collections.emptyList(), true, 0);
         mockBarrierRequest();
 
@@ -1406,7 +1493,6 @@ public class SwitchManagerTest {
         expect(iofSwitch.getId()).andStubReturn(dpid);
         // define that switch is Centec
         expect(switchDescription.getManufacturerDescription()).andStubReturn("Centec Inc.");
-        expect(featureDetectorService.detectSwitch(iofSwitch)).andStubReturn(Sets.newHashSet(METERS));
         mockBarrierRequest();
         mockGetMetersRequest(Lists.newArrayList(unicastMeterId), false, expectedRate);
 
@@ -1485,9 +1571,122 @@ public class SwitchManagerTest {
         mockBarrierRequest();
         mockGetMetersRequest(Lists.newArrayList(unicastMeterId, broadcastMeterId), true, expectedRate);
         mockGetGroupsRequest(Lists.newArrayList(ROUND_TRIP_LATENCY_GROUP_ID));
+        Capture<List<OFMessage>> batch = mockBatchWrite();
         replay(ofSwitchService, iofSwitch, switchDescription, featureDetectorService);
 
         switchManager.installDefaultRules(iofSwitch.getId());
+
+        assertThat(batch.getValue(), hasItem(hasProperty("cookie", equalTo(U64.of(DROP_RULE_COOKIE)))));
+        assertThat(batch.getValue(), hasItem(hasProperty("cookie", equalTo(U64.of(VERIFICATION_UNICAST_RULE_COOKIE)))));
+    }
+
+    @Test
+    public void shouldWriteBatchAsAtomicBundle() throws Exception {
+        OFFactory ofFactory14 = new OFFactoryVer14();
+        List<OFMessage> messages = ImmutableList.of(
+                ofFactory14.buildFlowAdd().setCookie(U64.of(cookie)).build(),
+                ofFactory14.buildFlowDelete().setCookie(U64.of(cookie + 1)).build());
+        Capture<List<OFMessage>> bundle = mockBatchWrite();
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory14);
+        replay(ofSwitchService, iofSwitch);
+
+        Map<OFMessage, SwitchOperationException> errors = switchManager.writeBatch(dpid, messages)
+                .get(1, TimeUnit.SECONDS);
+
+        assertTrue(errors.isEmpty());
+        List<OFMessage> written = bundle.getValue();
+        assertEquals(messages.size() + 2, written.size());
+        OFBundleCtrlMsg open = (OFBundleCtrlMsg) written.get(0);
+        assertEquals(OFBundleCtrlType.OPEN_REQUEST, open.getBundleCtrlType());
+        assertThat(open.getFlags(), containsInAnyOrder(OFBundleFlags.ATOMIC, OFBundleFlags.ORDERED));
+        for (int i = 0; i < messages.size(); i++) {
+            OFBundleAddMsg add = (OFBundleAddMsg) written.get(i + 1);
+            assertEquals(open.getBundleId(), add.getBundleId());
+            assertEquals(messages.get(i), add.getData());
+            assertEquals(messages.get(i).getXid(), add.getXid());
+        }
+        OFBundleCtrlMsg commit = (OFBundleCtrlMsg) written.get(written.size() - 1);
+        assertEquals(OFBundleCtrlType.COMMIT_REQUEST, commit.getBundleCtrlType());
+        assertEquals(open.getBundleId(), commit.getBundleId());
+    }
+
+    @Test
+    public void shouldReportFailedBundleCommitForEveryMessage() throws Exception {
+        OFFactory ofFactory14 = new OFFactoryVer14();
+        List<OFMessage> messages = ImmutableList.of(
+                ofFactory14.buildFlowAdd().setCookie(U64.of(cookie)).build(),
+                ofFactory14.buildFlowAdd().setCookie(U64.of(cookie + 1)).build());
+        SessionErrorResponseException commitError = new SessionErrorResponseException(dpid,
+                ofFactory14.errorMsgs().buildBadRequestErrorMsg().setCode(OFBadRequestCode.EPERM).build());
+        Session session = mockSession();
+        expect(session.write(EasyMock.<List<OFMessage>>anyObject())).andAnswer(() -> {
+            List<OFMessage> bundle = getBatchArgument();
+            List<CompletableFuture<Optional<OFMessage>>> responses = completedResponses(bundle.size() - 1);
+            responses.add(failedResponse(commitError));
+            return responses;
+        });
+        replay(session, sessionService);
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory14);
+        replay(ofSwitchService, iofSwitch);
+
+        Map<OFMessage, SwitchOperationException> errors = switchManager.writeBatch(dpid, messages)
+                .get(1, TimeUnit.SECONDS);
+
+        assertEquals(messages.size(), errors.size());
+        for (OFMessage message : messages) {
+            assertEquals(commitError, errors.get(message));
+        }
+    }
+
+    @Test
+    public void shouldWriteBatchWithoutBundleIfSwitchRejectsToOpenIt() throws Exception {
+        OFFactory ofFactory14 = new OFFactoryVer14();
+        List<OFMessage> messages = ImmutableList.of(
+                ofFactory14.buildFlowAdd().setCookie(U64.of(cookie)).build(),
+                ofFactory14.buildFlowAdd().setCookie(U64.of(cookie + 1)).build());
+        SessionErrorResponseException openError = new SessionErrorResponseException(dpid,
+                ofFactory14.errorMsgs().buildBadRequestErrorMsg().setCode(OFBadRequestCode.BAD_TYPE).build());
+        Session session = createMock(Session.class);
+        expect(sessionService.open(anyObject(MessageContext.class), eq(iofSwitch))).andReturn(session).times(3);
+        session.close();
+        expectLastCall().times(3);
+        Capture<List<OFMessage>> written = EasyMock.newCapture(CaptureType.ALL);
+        // the bundle is rejected, nothing of it is applied
+        expect(session.write(capture(written))).andAnswer(() -> {
+            List<CompletableFuture<Optional<OFMessage>>> responses = new ArrayList<>();
+            for (int i = 0; i < getBatchArgument().size(); i++) {
+                responses.add(failedResponse(openError));
+            }
+            return responses;
+        });
+        expect(session.write(capture(written))).andAnswer(() -> completedResponses(getBatchArgument().size()))
+                .times(2);
+        replay(session, sessionService);
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory14);
+        replay(ofSwitchService, iofSwitch);
+
+        Map<OFMessage, SwitchOperationException> errors = switchManager.writeBatch(dpid, messages)
+                .get(1, TimeUnit.SECONDS);
+        assertTrue(errors.isEmpty());
+        // the next batch is not wrapped into a bundle anymore
+        assertTrue(switchManager.writeBatch(dpid, messages).get(1, TimeUnit.SECONDS).isEmpty());
+
+        assertEquals(3, written.getValues().size());
+        assertThat(written.getValues().get(0).get(0), instanceOf(OFBundleCtrlMsg.class));
+        for (List<OFMessage> batch : written.getValues().subList(1, 3)) {
+            assertEquals(messages.size(), batch.size());
+            for (int i = 0; i < messages.size(); i++) {
+                assertEquals(messages.get(i).createBuilder().setXid(0).build(),
+                        batch.get(i).createBuilder().setXid(0).build());
+            }
+        }
+        // xids of the bundled messages are not reused
+        for (OFMessage message : written.getValues().get(1)) {
+            assertFalse(messages.stream().anyMatch(origin -> origin.getXid() == message.getXid()));
+        }
     }
 
     @Test
@@ -1519,6 +1718,41 @@ public class SwitchManagerTest {
     }
 
 
+    private Session mockSession() {
+        Session session = createMock(Session.class);
+        expect(sessionService.open(anyObject(MessageContext.class), eq(iofSwitch))).andReturn(session);
+        session.close();
+        expectLastCall();
+        return session;
+    }
+
+    private Capture<List<OFMessage>> mockBatchWrite() {
+        Session session = mockSession();
+        Capture<List<OFMessage>> batch = EasyMock.newCapture();
+        expect(session.write(capture(batch))).andAnswer(() -> completedResponses(batch.getValue().size()));
+        replay(session, sessionService);
+        return batch;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<OFMessage> getBatchArgument() {
+        return (List<OFMessage>) EasyMock.getCurrentArguments()[0];
+    }
+
+    private static List<CompletableFuture<Optional<OFMessage>>> completedResponses(int count) {
+        List<CompletableFuture<Optional<OFMessage>>> responses = new ArrayList<>(count + 1);
+        for (int i = 0; i < count; i++) {
+            responses.add(CompletableFuture.completedFuture(Optional.empty()));
+        }
+        return responses;
+    }
+
+    private static CompletableFuture<Optional<OFMessage>> failedResponse(Throwable error) {
+        CompletableFuture<Optional<OFMessage>> response = new CompletableFuture<>();
+        response.completeExceptionally(error);
+        return response;
+    }
+
     private void mockBarrierRequest() throws InterruptedException, ExecutionException, TimeoutException {
         OFBarrierReply ofBarrierReply = mock(OFBarrierReply.class);
 
@@ -1558,6 +1792,15 @@ public class SwitchManagerTest {
     }
 
 
+    private void prepareForAsyncRequestTest() {
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
+        expect(iofSwitch.getSwitchDescription()).andStubReturn(switchDescription);
+        expect(iofSwitch.getId()).andStubReturn(dpid);
+        expect(switchDescription.getManufacturerDescription()).andStubReturn("");
+        replay(ofSwitchService, iofSwitch, switchDescription, featureDetectorService);
+    }
+
     private Capture<OFFlowMod> prepareForInstallTest() {
         return prepareForInstallTest(false);
     }
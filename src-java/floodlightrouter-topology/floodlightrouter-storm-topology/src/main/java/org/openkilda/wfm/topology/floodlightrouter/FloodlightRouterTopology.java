@@ -27,6 +27,7 @@ import org.openkilda.wfm.topology.floodlightrouter.bolts.ReplyBolt;
 import org.openkilda.wfm.topology.floodlightrouter.bolts.RequestBolt;
 import org.openkilda.wfm.topology.floodlightrouter.bolts.SpeakerRequestBolt;
 
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.kafka.spout.KafkaSpout;
@@ -34,6 +35,7 @@ import org.apache.storm.topology.TopologyBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -50,6 +52,18 @@ public class FloodlightRouterTopology extends AbstractTopology<FloodlightRouterT
         persistenceManager = PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
     }
 
+    /**
+     * The router relays requests of all the switches of a region to the same topic, so the producers coalesce them
+     * into batched Kafka records instead of sending them one by one.
+     */
+    @Override
+    protected Properties getKafkaProducerProperties() {
+        Properties properties = super.getKafkaProducerProperties();
+        properties.setProperty(ProducerConfig.LINGER_MS_CONFIG,
+                String.valueOf(topologyConfig.getFloodlightRequestsLingerMs()));
+        return properties;
+    }
+
     private void createKildaFlowSpout(TopologyBuilder builder, int parallelism, List<String> kildaFlowTopics) {
         KafkaSpout kildaFlowSpout = buildKafkaSpout(kildaFlowTopics,
                 ComponentType.KILDA_FLOW_KAFKA_SPOUT);
@@ -43,4 +43,11 @@ public interface FloodlightRouterTopologyConfig extends AbstractTopologyConfig {
     @Default("1")
     @Converter(StringToSetConverter.class)
     Set<String> getFloodlightRegions();
+
+    /**
+     * How long the Kafka producers wait for more requests to the same region topic before sending a batch.
+     */
+    @Key("floodlight.requests.linger.ms")
+    @Default("5")
+    int getFloodlightRequestsLingerMs();
 }
@@ -30,8 +30,9 @@ public class BroadcastRequestBolt extends RequestBolt {
 
     @Override
     public void handleInput(Tuple input) throws PipelineException {
+        Object request = pullRequest(input);
         for (String region : regions) {
-            proxyRequestToSpeaker(input, region);
+            proxyRequestToSpeaker(input, region, request);
         }
     }
 }
@@ -34,6 +34,8 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 @Slf4j
@@ -44,6 +46,9 @@ public class RequestBolt extends AbstractBolt {
 
     protected transient SwitchTracker switchTracker;
 
+    private transient Map<String, String> messageStreams;
+    private transient Map<String, String> abstractMessageStreams;
+
     public RequestBolt(String outputMessageStream, Set<String> regions) {
         this.outputMessageStream = outputMessageStream;
         this.outputAbstractMessageStream = null;
@@ -75,7 +80,7 @@ public class RequestBolt extends AbstractBolt {
         if (switchId != null) {
             String region = switchTracker.lookupRegion(switchId);
             if (region != null) {
-                proxyRequestToSpeaker(input, region);
+                proxyRequestToSpeaker(input, region, message);
             } else {
                 log.error("Unable to lookup region for message: {}", message);
             }
@@ -96,14 +101,16 @@ public class RequestBolt extends AbstractBolt {
         return switchId;
     }
 
-    protected void proxyRequestToSpeaker(Tuple input, String region) throws PipelineException {
-        String targetStream = Stream.formatWithRegion(outputMessageStream, region);
-        String key = pullRequestKey(input);
-        Object value = pullRequest(input);
-        if (value instanceof AbstractMessage) {
-            targetStream = Stream.formatWithRegion(outputAbstractMessageStream, region);
+    protected void proxyRequestToSpeaker(Tuple input, String region, Object request) {
+        String targetStream;
+        if (request instanceof AbstractMessage) {
+            targetStream = abstractMessageStreams.computeIfAbsent(
+                    region, r -> Stream.formatWithRegion(outputAbstractMessageStream, r));
+        } else {
+            targetStream = messageStreams.computeIfAbsent(
+                    region, r -> Stream.formatWithRegion(outputMessageStream, r));
         }
-        getOutput().emit(targetStream, input, makeSpeakerTuple(key, value));
+        getOutput().emit(targetStream, input, makeSpeakerTuple(pullRequestKey(input), request));
     }
 
     protected Object pullRequest(Tuple input) throws PipelineException {
@@ -120,6 +127,8 @@ public class RequestBolt extends AbstractBolt {
 
     protected void init() {
         switchTracker = new SwitchTracker();
+        messageStreams = new HashMap<>();
+        abstractMessageStreams = new HashMap<>();
     }
 
     protected void updateSwitchMapping(SwitchMapping mapping) {
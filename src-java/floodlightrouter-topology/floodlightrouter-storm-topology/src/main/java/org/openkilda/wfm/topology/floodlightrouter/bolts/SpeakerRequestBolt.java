@@ -65,14 +65,14 @@ public class SpeakerRequestBolt extends RequestBolt {
             Message message = (Message) pullRequest(input);
             if (RouterUtils.isBroadcast(message)) {
                 for (String region : regions) {
-                    proxyRequestToSpeaker(input, region);
+                    proxyRequestToSpeaker(input, region, message);
                 }
             } else {
                 SwitchId switchId = RouterUtils.lookupSwitchId(message);
                 if (switchId != null) {
                     String region = switchTracker.lookupRegion(switchId);
                     if (region != null) {
-                        proxyRequestToSpeaker(input, region);
+                        proxyRequestToSpeaker(input, region, message);
                     } else {
                         if (message instanceof CommandMessage) {
                             processNotFoundError((CommandMessage) message, switchId, input);
@@ -20,6 +20,7 @@ import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.discovery.PortsCommandData;
@@ -52,7 +53,62 @@ import org.openkilda.messaging.payload.switches.InstallIslDefaultRulesCommand;
 import org.openkilda.messaging.payload.switches.RemoveIslDefaultRulesCommand;
 import org.openkilda.model.SwitchId;
 
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.function.Function;
+
 public final class RouterUtils {
+    /**
+     * Switch id getters of the command data types, the first one matching the data type is used.
+     */
+    private static final List<SwitchIdExtractor<?>> SWITCH_ID_EXTRACTORS = ImmutableList.of(
+            extractor(BaseInstallFlow.class, BaseInstallFlow::getSwitchId),
+            extractor(RemoveFlow.class, RemoveFlow::getSwitchId),
+            extractor(DiscoverIslCommandData.class, DiscoverIslCommandData::getSwitchId),
+            extractor(DiscoverIslBatchCommandData.class, DiscoverIslBatchCommandData::getSwitchId),
+            extractor(PingRequest.class, data -> data.getPing().getSource().getDatapath()),
+            extractor(DiscoverPathCommandData.class, DiscoverPathCommandData::getSrcSwitchId),
+            extractor(SwitchRulesDeleteRequest.class, SwitchRulesDeleteRequest::getSwitchId),
+            extractor(SwitchRulesInstallRequest.class, SwitchRulesInstallRequest::getSwitchId),
+            extractor(DumpRulesRequest.class, DumpRulesRequest::getSwitchId),
+            extractor(DeleteMeterRequest.class, DeleteMeterRequest::getSwitchId),
+            extractor(PortConfigurationRequest.class, PortConfigurationRequest::getSwitchId),
+            extractor(DumpSwitchPortsDescriptionRequest.class, DumpSwitchPortsDescriptionRequest::getSwitchId),
+            extractor(DumpPortDescriptionRequest.class, DumpPortDescriptionRequest::getSwitchId),
+            extractor(DumpMetersRequest.class, DumpMetersRequest::getSwitchId),
+            extractor(DumpRulesForNbworkerRequest.class, DumpRulesForNbworkerRequest::getSwitchId),
+            extractor(MeterModifyCommandRequest.class, MeterModifyCommandRequest::getSwitchId),
+            extractor(DumpRulesForSwitchManagerRequest.class, DumpRulesForSwitchManagerRequest::getSwitchId),
+            extractor(GetExpectedDefaultRulesRequest.class, GetExpectedDefaultRulesRequest::getSwitchId),
+            extractor(InstallFlowForSwitchManagerRequest.class, InstallFlowForSwitchManagerRequest::getSwitchId),
+            extractor(RemoveFlowForSwitchManagerRequest.class, RemoveFlowForSwitchManagerRequest::getSwitchId),
+            extractor(ReinstallDefaultFlowForSwitchManagerRequest.class,
+                    ReinstallDefaultFlowForSwitchManagerRequest::getSwitchId),
+            extractor(DumpMetersForSwitchManagerRequest.class, DumpMetersForSwitchManagerRequest::getSwitchId),
+            extractor(DumpMetersForNbworkerRequest.class, DumpMetersForNbworkerRequest::getSwitchId),
+            extractor(DeleterMeterForSwitchManagerRequest.class, DeleterMeterForSwitchManagerRequest::getSwitchId),
+            extractor(SetupBfdSession.class, data -> data.getBfdSession().getTarget().getDatapath()),
+            extractor(RemoveBfdSession.class, data -> data.getBfdSession().getTarget().getDatapath()),
+            extractor(InstallIslDefaultRulesCommand.class, InstallIslDefaultRulesCommand::getSrcSwitch),
+            extractor(RemoveIslDefaultRulesCommand.class, RemoveIslDefaultRulesCommand::getSrcSwitch));
+
+    /**
+     * Switch id getter of each command data class, the list above is walked only on the first lookup of a class.
+     */
+    private static final ClassValue<Function<CommandData, SwitchId>> SWITCH_ID_LOOKUP =
+            new ClassValue<Function<CommandData, SwitchId>>() {
+                @Override
+                protected Function<CommandData, SwitchId> computeValue(Class<?> type) {
+                    for (SwitchIdExtractor<?> extractor : SWITCH_ID_EXTRACTORS) {
+                        if (extractor.type.isAssignableFrom(type)) {
+                            return extractor;
+                        }
+                    }
+                    return data -> null;
+                }
+            };
+
     private  RouterUtils(){}
 
     /**
@@ -80,60 +136,8 @@ public final class RouterUtils {
     public static SwitchId lookupSwitchId(Message message) {
         if (message instanceof CommandMessage) {
             CommandData commandData = ((CommandMessage) message).getData();
-            if (commandData instanceof BaseInstallFlow) {
-                return ((BaseInstallFlow) commandData).getSwitchId();
-            } else if (commandData instanceof RemoveFlow) {
-                return ((RemoveFlow) commandData).getSwitchId();
-            } else if (commandData instanceof DiscoverIslCommandData) {
-                return ((DiscoverIslCommandData) commandData).getSwitchId();
-            } else if (commandData instanceof PingRequest) {
-                return ((PingRequest) commandData).getPing().getSource().getDatapath();
-            } else if (commandData instanceof DiscoverPathCommandData) {
-                return ((DiscoverPathCommandData) commandData).getSrcSwitchId();
-            } else if (commandData instanceof SwitchRulesDeleteRequest) {
-                return ((SwitchRulesDeleteRequest) commandData).getSwitchId();
-            } else if (commandData instanceof SwitchRulesInstallRequest) {
-                return ((SwitchRulesInstallRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpRulesRequest) {
-                return ((DumpRulesRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DeleteMeterRequest) {
-                return ((DeleteMeterRequest) commandData).getSwitchId();
-            } else if (commandData instanceof PortConfigurationRequest) {
-                return ((PortConfigurationRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpSwitchPortsDescriptionRequest) {
-                return ((DumpSwitchPortsDescriptionRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpPortDescriptionRequest) {
-                return ((DumpPortDescriptionRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpMetersRequest) {
-                return ((DumpMetersRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpRulesForNbworkerRequest) {
-                return ((DumpRulesForNbworkerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof MeterModifyCommandRequest) {
-                return ((MeterModifyCommandRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpRulesForSwitchManagerRequest) {
-                return ((DumpRulesForSwitchManagerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof GetExpectedDefaultRulesRequest) {
-                return ((GetExpectedDefaultRulesRequest) commandData).getSwitchId();
-            } else if (commandData instanceof InstallFlowForSwitchManagerRequest) {
-                return ((InstallFlowForSwitchManagerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof RemoveFlowForSwitchManagerRequest) {
-                return ((RemoveFlowForSwitchManagerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof ReinstallDefaultFlowForSwitchManagerRequest) {
-                return ((ReinstallDefaultFlowForSwitchManagerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpMetersForSwitchManagerRequest) {
-                return ((DumpMetersForSwitchManagerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpMetersForNbworkerRequest) {
-                return ((DumpMetersForNbworkerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DeleterMeterForSwitchManagerRequest) {
-                return ((DeleterMeterForSwitchManagerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof SetupBfdSession) {
-                return ((SetupBfdSession) commandData).getBfdSession().getTarget().getDatapath();
-            } else if (commandData instanceof RemoveBfdSession) {
-                return ((RemoveBfdSession) commandData).getBfdSession().getTarget().getDatapath();
-            } else if (commandData instanceof InstallIslDefaultRulesCommand) {
-                return ((InstallIslDefaultRulesCommand) commandData).getSrcSwitch();
-            } else if (commandData instanceof RemoveIslDefaultRulesCommand) {
-                return ((RemoveIslDefaultRulesCommand) commandData).getSrcSwitch();
+            if (commandData != null) {
+                return SWITCH_ID_LOOKUP.get(commandData.getClass()).apply(commandData);
             }
         }
         return null;
@@ -150,4 +154,24 @@ public final class RouterUtils {
         }
         return null;
     }
+
+    private static <T extends CommandData> SwitchIdExtractor<T> extractor(
+            Class<T> type, Function<T, SwitchId> getter) {
+        return new SwitchIdExtractor<>(type, getter);
+    }
+
+    private static final class SwitchIdExtractor<T extends CommandData> implements Function<CommandData, SwitchId> {
+        private final Class<T> type;
+        private final Function<T, SwitchId> getter;
+
+        private SwitchIdExtractor(Class<T> type, Function<T, SwitchId> getter) {
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public SwitchId apply(CommandData data) {
+            return getter.apply(type.cast(data));
+        }
+    }
 }
@@ -17,14 +17,20 @@ package org.openkilda.wfm.topology.floodlightrouter.service;
 
 import org.openkilda.model.SwitchId;
 
-import lombok.Value;
-
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-@Value
+/**
+ * Switch to region mapping. Lookups, made for each speaker request, read the concurrent map without locking and
+ * updates, made when a switch connects to a region, change a single entry in place instead of copying the mapping.
+ */
 public class SwitchTracker {
-    private Map<SwitchId, String> mapping = new HashMap<>();
+    private final Map<SwitchId, String> mapping = new ConcurrentHashMap<>();
+
+    public Map<SwitchId, String> getMapping() {
+        return Collections.unmodifiableMap(mapping);
+    }
 
     /**
      * Looks for a region for switchId.
@@ -32,7 +38,7 @@ public class SwitchTracker {
      * @return region or null
      */
     public String lookupRegion(SwitchId switchId) {
-        return mapping.getOrDefault(switchId, null);
+        return mapping.get(switchId);
     }
 
     /**
@@ -42,5 +48,4 @@ public class SwitchTracker {
     public void updateRegion(SwitchMapping switchMapping) {
         mapping.put(switchMapping.getSwitchId(), switchMapping.getRegion());
     }
-
 }
@@ -0,0 +1,53 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.floodlightrouter.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.PortsCommandData;
+import org.openkilda.messaging.command.switches.DumpRulesRequest;
+import org.openkilda.messaging.payload.switches.InstallIslDefaultRulesCommand;
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+public class RouterUtilsTest {
+    private static final SwitchId SWITCH_ALPHA = new SwitchId(1);
+    private static final SwitchId SWITCH_BETA = new SwitchId(2);
+
+    @Test
+    public void shouldLookupSwitchIdOfCommandData() {
+        assertEquals(SWITCH_ALPHA, RouterUtils.lookupSwitchId(
+                new CommandMessage(new DiscoverIslCommandData(SWITCH_ALPHA, 1, 1L), 0, "discovery")));
+        assertEquals(SWITCH_BETA, RouterUtils.lookupSwitchId(
+                new CommandMessage(new DumpRulesRequest(SWITCH_BETA), 0, "dump")));
+        assertEquals(SWITCH_ALPHA, RouterUtils.lookupSwitchId(new CommandMessage(
+                new InstallIslDefaultRulesCommand(SWITCH_ALPHA, 1, SWITCH_BETA, 2), 0, "isl-rules")));
+
+        // the resolved getter is cached per class, so the repeated lookup must use the data of the given message
+        assertEquals(SWITCH_BETA, RouterUtils.lookupSwitchId(
+                new CommandMessage(new DiscoverIslCommandData(SWITCH_BETA, 1, 1L), 0, "discovery")));
+    }
+
+    @Test
+    public void shouldNotLookupSwitchIdOfUntargetedCommandData() {
+        assertNull(RouterUtils.lookupSwitchId(new CommandMessage(new PortsCommandData(), 0, "ports")));
+        assertNull(RouterUtils.lookupSwitchId(new CommandMessage(new PortsCommandData(), 0, "ports")));
+    }
+}
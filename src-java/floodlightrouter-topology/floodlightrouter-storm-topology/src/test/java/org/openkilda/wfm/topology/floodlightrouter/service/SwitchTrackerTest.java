@@ -0,0 +1,51 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.floodlightrouter.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+public class SwitchTrackerTest {
+    private static final SwitchId SWITCH_ALPHA = new SwitchId(1);
+    private static final SwitchId SWITCH_BETA = new SwitchId(2);
+    private static final String REGION_ONE = "1";
+    private static final String REGION_TWO = "2";
+
+    @Test
+    public void shouldUpdateMappingInPlace() {
+        SwitchTracker tracker = new SwitchTracker();
+        final Map<SwitchId, String> mapping = tracker.getMapping();
+        assertNull(tracker.lookupRegion(SWITCH_ALPHA));
+
+        tracker.updateRegion(new SwitchMapping(SWITCH_ALPHA, REGION_ONE));
+        tracker.updateRegion(new SwitchMapping(SWITCH_BETA, REGION_ONE));
+        assertEquals(REGION_ONE, tracker.lookupRegion(SWITCH_ALPHA));
+        assertEquals(REGION_ONE, tracker.lookupRegion(SWITCH_BETA));
+
+        tracker.updateRegion(new SwitchMapping(SWITCH_ALPHA, REGION_TWO));
+        assertEquals(REGION_TWO, tracker.lookupRegion(SWITCH_ALPHA));
+        assertEquals(REGION_ONE, tracker.lookupRegion(SWITCH_BETA));
+        // the mapping view reflects the updates without being replaced
+        assertEquals(REGION_TWO, mapping.get(SWITCH_ALPHA));
+        assertEquals(2, mapping.size());
+    }
+}
@@ -17,14 +17,39 @@ package org.openkilda.messaging.command.flow;
 
 import org.openkilda.messaging.command.CommandData;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Value;
 
 /**
- * Dump all flows northbound request.
+ * Dump all flows northbound request. The flows could be dumped by pages: flows are ordered by flow id, a page starts
+ * after the last flow of the previous one.
  */
 @Value
 public class FlowsDumpRequest extends CommandData {
 
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The last flow id of the previous page, null for the first page.
+     */
+    @JsonProperty("after_flow_id")
+    private String afterFlowId;
+
+    /**
+     * Max number of flows in the page, 0 to dump all flows at once.
+     */
+    @JsonProperty("limit")
+    private int limit;
+
     public FlowsDumpRequest() {
+        this(null, 0);
+    }
+
+    @JsonCreator
+    public FlowsDumpRequest(@JsonProperty("after_flow_id") String afterFlowId,
+                            @JsonProperty("limit") int limit) {
+        this.afterFlowId = afterFlowId;
+        this.limit = limit;
     }
 }
@@ -29,6 +29,7 @@ import org.openkilda.messaging.command.flow.FlowCreateRequest;
 import org.openkilda.messaging.command.flow.FlowPathSwapRequest;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
+import org.openkilda.messaging.command.flow.FlowsDumpRequest;
 import org.openkilda.messaging.command.flow.PeriodicPingCommand;
 import org.openkilda.messaging.command.flow.UpdateFlowPathStatusRequest;
 import org.openkilda.messaging.ctrl.AbstractDumpState;
@@ -187,7 +188,8 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
         pathComputerFactory = new PathComputerFactory(pathComputerConfig, availableNetworkFactory);
         commandFactory = new FlowCommandFactory();
 
-        flowResourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
+        flowResourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig,
+                context.getThisTaskId());
         flowService = new FlowService(persistenceManager, pathComputerFactory, flowResourcesManager,
                 flowValidator, commandFactory);
         featureTogglesService = new FeatureTogglesService(persistenceManager.getRepositoryFactory());
@@ -589,6 +591,11 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
         try {
             UnidirectionalFlow flow = flowService.pathSwap(flowId, request.getPathId(),
                     new FlowCommandSenderImpl(message.getCorrelationId(), tuple, StreamType.UPDATE));
+            if (flow.isPeriodicPings()) {
+                // ping targets are built from the primary paths, so the swapped ones must be reloaded
+                new FlowCommandSenderImpl(message.getCorrelationId(), tuple, StreamType.PING)
+                        .sendPeriodicPingNotification(flowId, true);
+            }
 
             Values values = new Values(new InfoMessage(buildFlowResponse(flow),
                     message.getTimestamp(), message.getCorrelationId(), Destination.NORTHBOUND, null));
@@ -661,7 +668,10 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
     }
 
     private void handleDumpRequest(CommandMessage message, Tuple tuple) {
-        List<FlowData> flows = flowService.getAllFlows();
+        FlowsDumpRequest request = (FlowsDumpRequest) message.getData();
+        List<FlowData> flows = request.getLimit() > 0
+                ? flowService.getFlowsPage(request.getAfterFlowId(), request.getLimit())
+                : flowService.getAllFlows();
         logger.debug("Dump flows: found {} items", flows.size());
 
         String requestId = message.getCorrelationId();
@@ -119,7 +119,8 @@ public class FlowOperationsBolt extends BaseRichBolt {
                 new AvailableNetworkFactory(pathComputerConfig, repositoryFactory);
         pathComputerFactory = new PathComputerFactory(pathComputerConfig, availableNetworkFactory);
         flowValidator = new FlowValidator(repositoryFactory);
-        flowResourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
+        flowResourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig,
+                context.getThisTaskId());
         flowService = new FlowService(persistenceManager, pathComputerFactory, flowResourcesManager,
                 flowValidator, commandFactory);
         featureTogglesService = new FeatureTogglesService(persistenceManager.getRepositoryFactory());
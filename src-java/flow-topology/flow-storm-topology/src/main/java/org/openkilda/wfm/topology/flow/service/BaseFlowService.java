@@ -90,6 +90,17 @@ public class BaseFlowService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Fetches flows ordered by the flow id starting after the given one.
+     */
+    public List<FlowData> getFlows(String afterFlowId, int limit) {
+        dashboardLogger.onFlowDump();
+        return flowRepository.findAll(afterFlowId, limit).stream()
+                .map(FlowMapper.INSTANCE::map)
+                .map(FlowData::new)
+                .collect(Collectors.toList());
+    }
+
     protected Optional<FlowPathsWithEncapsulation> getFlowPathPairWithEncapsulation(String flowId) {
         Optional<Flow> foundFlow = flowRepository.findById(flowId);
         if (foundFlow.isPresent()) {
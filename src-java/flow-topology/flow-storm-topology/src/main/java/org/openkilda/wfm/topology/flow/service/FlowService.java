@@ -946,6 +946,19 @@ public class FlowService extends BaseFlowService {
         );
     }
 
+    /**
+     * Loads a page of flows ordered by the flow id.
+     *
+     * @param afterFlowId the last flow id of the previous page or null to start from the first flow.
+     * @param limit the maximum number of flows in the page.
+     */
+    public List<FlowData> getFlowsPage(String afterFlowId, int limit) {
+        // NB: workaround for an issue with OGM/neo4j, when ClientException 'Unable to load NODE with id' is thrown
+        return (List<FlowData>) getReadOperationFailsafe().get(() ->
+                transactionManager.doInTransaction(() -> getFlows(afterFlowId, limit))
+        );
+    }
+
     private FlowPathPair buildFlowPathPair(FlowPair flowPair, FlowResources flowResources, Instant timeCreate) {
         FlowPathStatus pathStatus = flowPair.getForward().getStatus() == FlowStatus.IN_PROGRESS
                 ? FlowPathStatus.IN_PROGRESS : FlowPathStatus.ACTIVE;
@@ -1109,6 +1122,10 @@ public class FlowService extends BaseFlowService {
 
             updateIslAvailableBandwidth(pathSegment.getSrcSwitch().getSwitchId(), pathSegment.getSrcPort(),
                     pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort());
+
+            // the transaction may still be rolled back, so the ISL is reloaded rather than updated
+            pathComputerFactory.getPathComputer().invalidateIsl(pathSegment.getSrcSwitch().getSwitchId(),
+                    pathSegment.getSrcPort(), pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort());
         });
     }
 
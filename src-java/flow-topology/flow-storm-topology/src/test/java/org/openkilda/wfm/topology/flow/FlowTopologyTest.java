@@ -27,10 +27,12 @@ import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.BaseFlow;
 import org.openkilda.messaging.command.flow.FlowCreateRequest;
 import org.openkilda.messaging.command.flow.FlowDeleteRequest;
+import org.openkilda.messaging.command.flow.FlowPathSwapRequest;
 import org.openkilda.messaging.command.flow.FlowReadRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
 import org.openkilda.messaging.command.flow.FlowsDumpRequest;
 import org.openkilda.messaging.command.flow.InstallOneSwitchFlow;
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
 import org.openkilda.messaging.command.flow.RemoveFlow;
 import org.openkilda.messaging.command.switches.DeleteRulesCriteria;
 import org.openkilda.messaging.ctrl.CtrlRequest;
@@ -97,6 +99,7 @@ import java.util.concurrent.TimeUnit;
 
 public class FlowTopologyTest extends AbstractStormTest {
     private static final long FLOW_STATUS_UPDATE_TIMEOUT_MS = 5000;
+    private static final long SPEAKER_COMMANDS_TIMEOUT_MS = 5000;
 
     private static final long COOKIE = 0x1FFFFFFFFL;
     private static final UUID TRANSACTION_ID = UUID.randomUUID();
@@ -104,6 +107,7 @@ public class FlowTopologyTest extends AbstractStormTest {
     private static TestKafkaConsumer nbConsumer;
     private static TestKafkaConsumer ofsConsumer;
     private static TestKafkaConsumer ctrlConsumer;
+    private static TestKafkaConsumer pingConsumer;
     private static FlowTopology flowTopology;
     private static FlowTopologyConfig topologyConfig;
 
@@ -148,6 +152,10 @@ public class FlowTopologyTest extends AbstractStormTest {
                 kafkaProperties(UUID.nameUUIDFromBytes(Destination.CTRL_CLIENT.toString().getBytes()).toString()));
         ctrlConsumer.start();
 
+        pingConsumer = new TestKafkaConsumer(topologyConfig.getKafkaPingTopic(),
+                kafkaProperties(UUID.nameUUIDFromBytes("ping".getBytes()).toString()));
+        pingConsumer.start();
+
         Utils.sleep(TOPOLOGY_START_TIMEOUT);
     }
 
@@ -157,6 +165,8 @@ public class FlowTopologyTest extends AbstractStormTest {
         nbConsumer.join();
         ofsConsumer.wakeup();
         ofsConsumer.join();
+        pingConsumer.wakeup();
+        pingConsumer.join();
 
         embeddedNeo4jDb.stop();
 
@@ -167,6 +177,7 @@ public class FlowTopologyTest extends AbstractStormTest {
     public void setup() throws IOException, InterruptedException {
         nbConsumer.clear();
         ofsConsumer.clear();
+        pingConsumer.clear();
 
 
         // Clean the CrudBolt's state.
@@ -363,6 +374,51 @@ public class FlowTopologyTest extends AbstractStormTest {
         assertNotNull(payload);
     }
 
+    @Test
+    public void shouldNotifyPingTopologyOnPathSwap() throws Exception {
+        createSwitchIfNotExist("ff:00");
+        createSwitchIfNotExist("ff:01");
+        createIslIfNotExist("ff:00", "ff:01");
+        createIslIfNotExist("ff:00", "ff:01", 2);
+
+        String flowId = UUID.randomUUID().toString();
+        FlowDto flowPayload = FlowDto.builder()
+                .flowId(flowId)
+                .bandwidth(1000)
+                .periodicPings(true)
+                .allocateProtectedPath(true)
+                .sourceSwitch(new SwitchId("ff:00"))
+                .sourcePort(10)
+                .sourceVlan(20)
+                .destinationSwitch(new SwitchId("ff:01"))
+                .destinationPort(10)
+                .destinationVlan(20)
+                .detectConnectedDevices(new DetectConnectedDevicesDto(false, false, false, false, false, false))
+                .build();
+        sendFlowMessage(new CommandMessage(new FlowCreateRequest(flowPayload), 0, "create-flow", Destination.WFM));
+        confirmSpeakerCommands();
+
+        ConsumerRecord<String, String> record = nbConsumer.pollMessage();
+        assertNotNull(record);
+        pingConsumer.clear();
+
+        sendFlowMessage(new CommandMessage(new FlowPathSwapRequest(flowId, null), 0, "swap-flow", Destination.WFM));
+
+        record = nbConsumer.pollMessage();
+        assertNotNull(record);
+        InfoMessage infoMessage = objectMapper.readValue(record.value(), InfoMessage.class);
+        assertNotNull(infoMessage.getData());
+
+        record = pingConsumer.pollMessage();
+        assertNotNull(record);
+        CommandMessage pingMessage = objectMapper.readValue(record.value(), CommandMessage.class);
+        PeriodicPingCommand pingCommand = (PeriodicPingCommand) pingMessage.getData();
+        assertEquals(flowId, pingCommand.getFlowId());
+        assertTrue(pingCommand.isEnable());
+
+        confirmSpeakerCommands();
+    }
+
     @Test
     public void updateUnknownFlowCommandBoltTest() throws Exception {
         String flowId = UUID.randomUUID().toString();
@@ -778,7 +834,20 @@ public class FlowTopologyTest extends AbstractStormTest {
         }
     }
 
+    private void confirmSpeakerCommands() throws IOException, InterruptedException {
+        ConsumerRecord<String, String> record;
+        while ((record = ofsConsumer.pollMessage(SPEAKER_COMMANDS_TIMEOUT_MS)) != null) {
+            CommandMessage commandMessage = objectMapper.readValue(record.value(), CommandMessage.class);
+            commandMessage.setDestination(Destination.WFM_TRANSACTION);
+            sendFlowMessage(commandMessage);
+        }
+    }
+
     private void createIslIfNotExist(String sourceSwitchId, String destinationSwitchId) {
+        createIslIfNotExist(sourceSwitchId, destinationSwitchId, 1);
+    }
+
+    private void createIslIfNotExist(String sourceSwitchId, String destinationSwitchId, int port) {
         SwitchRepository switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         SwitchId sourceSwitchIdObj = new SwitchId(sourceSwitchId);
         Switch source = switchRepository.findById(sourceSwitchIdObj).get();
@@ -788,9 +857,9 @@ public class FlowTopologyTest extends AbstractStormTest {
 
         Isl forward = new Isl();
         forward.setSrcSwitch(source);
-        forward.setSrcPort(1);
+        forward.setSrcPort(port);
         forward.setDestSwitch(destination);
-        forward.setDestPort(1);
+        forward.setDestPort(port);
         forward.setMaxBandwidth(10000);
         forward.setAvailableBandwidth(10000);
         forward.setStatus(IslStatus.ACTIVE);
@@ -798,9 +867,9 @@ public class FlowTopologyTest extends AbstractStormTest {
 
         Isl backward = new Isl();
         backward.setSrcSwitch(destination);
-        backward.setSrcPort(1);
+        backward.setSrcPort(port);
         backward.setDestSwitch(source);
-        backward.setDestPort(1);
+        backward.setDestPort(port);
         backward.setMaxBandwidth(10000);
         backward.setAvailableBandwidth(10000);
         backward.setStatus(IslStatus.ACTIVE);
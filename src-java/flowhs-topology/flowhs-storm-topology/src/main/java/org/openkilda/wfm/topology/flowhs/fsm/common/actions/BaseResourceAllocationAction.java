@@ -45,6 +45,7 @@ import org.openkilda.wfm.share.mappers.HistoryMapper;
 import org.openkilda.wfm.topology.flow.model.FlowPathPair;
 import org.openkilda.wfm.topology.flowhs.fsm.common.FlowPathSwappingFsm;
 import org.openkilda.wfm.topology.flowhs.service.FlowPathBuilder;
+import org.openkilda.wfm.topology.flowhs.utils.PendingIslUpdates;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -70,6 +71,7 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
     protected final FlowResourcesManager resourcesManager;
     protected final FlowPathBuilder flowPathBuilder;
     protected final FlowOperationsDashboardLogger dashboardLogger;
+    private final PendingIslUpdates pendingIslUpdates;
 
     public BaseResourceAllocationAction(PersistenceManager persistenceManager, int transactionRetriesLimit,
                                         int pathAllocationRetriesLimit, int pathAllocationRetryDelay,
@@ -89,6 +91,7 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
         this.pathComputer = pathComputer;
         this.resourcesManager = resourcesManager;
         this.dashboardLogger = dashboardLogger;
+        this.pendingIslUpdates = new PendingIslUpdates(pathComputer);
     }
 
     @Override
@@ -177,10 +180,26 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
                 .retryOn(RecoverablePersistenceException.class)
                 .withMaxRetries(transactionRetriesLimit);
         try {
-            persistenceManager.getTransactionManager().doInTransaction(txRetryPolicy, () -> allocate(stateMachine));
-        } catch (FailsafeException ex) {
-            throw ex.getCause();
+            persistenceManager.getTransactionManager().doInTransaction(txRetryPolicy, () -> {
+                try {
+                    allocate(stateMachine);
+                } catch (RecoverablePersistenceException e) {
+                    // the transaction is retried, so the network must not keep the rolled back changes
+                    pendingIslUpdates.rollback();
+                    throw e;
+                }
+            });
+        } catch (Exception ex) {
+            // the network must not keep the rolled back changes
+            pendingIslUpdates.rollback();
+
+            if (ex instanceof FailsafeException) {
+                throw ex.getCause();
+            } else {
+                throw ex;
+            }
         }
+        pendingIslUpdates.commit();
     }
 
     protected boolean isNotSamePath(PathPair pathPair, FlowPathPair flowPathPair) {
@@ -245,6 +264,7 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
                 usedBandwidth);
         long islAvailableBandwidth =
                 islRepository.updateAvailableBandwidth(srcSwitch, srcPort, dstSwitch, dstPort, usedBandwidth);
+        pendingIslUpdates.add(srcSwitch, srcPort, dstSwitch, dstPort, islAvailableBandwidth);
         if ((islAvailableBandwidth + allowedOverprovisionedBandwidth) < 0) {
             throw new ResourceAllocationException(format("ISL %s_%d-%s_%d was overprovisioned",
                     srcSwitch, srcPort, dstSwitch, dstPort));
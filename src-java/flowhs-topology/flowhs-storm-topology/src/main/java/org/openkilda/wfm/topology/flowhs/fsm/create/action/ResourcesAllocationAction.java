@@ -60,6 +60,7 @@ import org.openkilda.wfm.topology.flowhs.model.RequestedFlow;
 import org.openkilda.wfm.topology.flowhs.service.FlowCommandBuilder;
 import org.openkilda.wfm.topology.flowhs.service.FlowCommandBuilderFactory;
 import org.openkilda.wfm.topology.flowhs.service.FlowPathBuilder;
+import org.openkilda.wfm.topology.flowhs.utils.PendingIslUpdates;
 
 import lombok.extern.slf4j.Slf4j;
 import net.jodah.failsafe.Failsafe;
@@ -82,6 +83,7 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
 
     private final FlowPathBuilder flowPathBuilder;
     private final FlowCommandBuilderFactory commandBuilderFactory;
+    private final PendingIslUpdates pendingIslUpdates;
 
     public ResourcesAllocationAction(PathComputer pathComputer, PersistenceManager persistenceManager,
                                      int transactionRetriesLimit, FlowResourcesManager resourcesManager) {
@@ -96,6 +98,7 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
 
         this.flowPathBuilder = new FlowPathBuilder(switchRepository, switchPropertiesRepository);
         this.commandBuilderFactory = new FlowCommandBuilderFactory(resourcesManager);
+        this.pendingIslUpdates = new PendingIslUpdates(pathComputer);
     }
 
     @Override
@@ -182,7 +185,11 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
                     .retryOn(ResourceAllocationException.class)
                     .retryOn(TransientException.class)
                     .withMaxRetries(transactionRetriesLimit))
-                    .onRetry(e -> log.warn("Retrying transaction for resource allocation finished with exception", e))
+                    .onRetry(e -> {
+                        log.warn("Retrying transaction for resource allocation finished with exception", e);
+                        // the failed transaction may leave the network with rolled back changes
+                        pendingIslUpdates.rollback();
+                    })
                     .onRetriesExceeded(e -> log.warn("TX retry attempts exceed with error", e))
                     .run(() -> persistenceManager.getTransactionManager().doInTransaction(() -> {
                         allocateMainPath(fsm, flow);
@@ -191,6 +198,7 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
                         }
                     }));
         } catch (FailsafeException ex) {
+            pendingIslUpdates.rollback();
             Throwable cause = ex.getCause();
             if (cause instanceof UnroutableFlowException) {
                 throw (UnroutableFlowException) cause;
@@ -202,8 +210,10 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
                 throw ex;
             }
         } catch (ConstraintViolationException e) {
+            pendingIslUpdates.rollback();
             throw new FlowAlreadyExistException(format("Failed to save flow with id %s", flow.getFlowId()), e);
         }
+        pendingIslUpdates.commit();
         log.debug("Resources allocated successfully for the flow {}", flow.getFlowId());
     }
 
@@ -312,6 +322,7 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
         matchedIsl.ifPresent(isl -> {
             isl.setAvailableBandwidth(isl.getMaxBandwidth() - usedBandwidth);
             islRepository.createOrUpdate(isl);
+            pendingIslUpdates.add(srcSwitch, srcPort, dstSwitch, dstPort, isl.getAvailableBandwidth());
         });
     }
 
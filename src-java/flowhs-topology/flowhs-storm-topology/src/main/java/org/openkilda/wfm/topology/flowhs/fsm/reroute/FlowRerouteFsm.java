@@ -83,6 +83,7 @@ public final class FlowRerouteFsm extends FlowPathSwappingFsm<FlowRerouteFsm, St
     private boolean reroutePrimary;
     private boolean rerouteProtected;
     private boolean effectivelyDown;
+    private boolean periodicPings;
 
     private FlowStatus originalFlowStatus;
     private FlowEncapsulationType originalEncapsulationType;
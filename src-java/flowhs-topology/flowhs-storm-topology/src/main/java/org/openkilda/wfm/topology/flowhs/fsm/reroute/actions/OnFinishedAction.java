@@ -38,6 +38,10 @@ public class OnFinishedAction extends HistoryRecordingAction<FlowRerouteFsm, Sta
     @Override
     public void perform(State from, State to, Event event, FlowRerouteContext context, FlowRerouteFsm stateMachine) {
         if (stateMachine.getNewFlowStatus() == FlowStatus.UP) {
+            if (stateMachine.isPeriodicPings()) {
+                // paths are replaced, so the ping target must be reloaded
+                stateMachine.getCarrier().sendPeriodicPingNotification(stateMachine.getFlowId(), true);
+            }
             dashboardLogger.onSuccessfulFlowReroute(stateMachine.getFlowId());
             stateMachine.saveActionToHistory("Flow was rerouted successfully");
         } else {
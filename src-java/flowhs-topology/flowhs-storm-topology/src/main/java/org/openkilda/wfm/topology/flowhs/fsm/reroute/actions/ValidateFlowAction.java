@@ -79,6 +79,7 @@ public class ValidateFlowAction extends NbTrackableAction<FlowRerouteFsm, State,
             stateMachine.setOriginalFlowStatus(foundFlow.getStatus());
             stateMachine.setOriginalEncapsulationType(foundFlow.getEncapsulationType());
             stateMachine.setRecreateIfSamePath(!foundFlow.isActive() || context.isForceReroute());
+            stateMachine.setPeriodicPings(foundFlow.isPeriodicPings());
 
             flowRepository.updateStatus(foundFlow.getFlowId(), FlowStatus.IN_PROGRESS);
             return foundFlow;
@@ -24,6 +24,7 @@ import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.history.FlowEventRepository;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
+import org.openkilda.wfm.share.history.service.PendingFlowEvents;
 import org.openkilda.wfm.topology.flowhs.fsm.create.FlowCreateContext;
 import org.openkilda.wfm.topology.flowhs.fsm.create.FlowCreateFsm;
 import org.openkilda.wfm.topology.flowhs.fsm.create.FlowCreateFsm.Config;
@@ -77,7 +78,7 @@ public class FlowCreateService {
         }
 
         String eventKey = commandContext.getCorrelationId();
-        if (flowEventRepository.existsByTaskId(eventKey)) {
+        if (PendingFlowEvents.contains(eventKey) || flowEventRepository.existsByTaskId(eventKey)) {
             log.error("Attempt to reuse key {}, but there's a history record(s) for it.", eventKey);
             return;
         }
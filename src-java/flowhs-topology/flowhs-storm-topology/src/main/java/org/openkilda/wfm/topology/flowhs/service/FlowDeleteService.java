@@ -21,6 +21,7 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.history.FlowEventRepository;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
+import org.openkilda.wfm.share.history.service.PendingFlowEvents;
 import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.flowhs.fsm.delete.FlowDeleteContext;
 import org.openkilda.wfm.topology.flowhs.fsm.delete.FlowDeleteFsm;
@@ -77,7 +78,7 @@ public class FlowDeleteService {
         }
 
         String eventKey = commandContext.getCorrelationId();
-        if (flowEventRepository.existsByTaskId(eventKey)) {
+        if (PendingFlowEvents.contains(eventKey) || flowEventRepository.existsByTaskId(eventKey)) {
             log.error("Attempt to reuse key %s, but there's a history record(s) for it.", eventKey);
             return;
         }
@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.flowhs.service;
 import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
 import org.openkilda.floodlight.flow.response.FlowErrorResponse;
 import org.openkilda.model.FlowStatus;
+import org.openkilda.model.IslEndpoint;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowRepository;
@@ -25,6 +26,7 @@ import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.history.FlowEventRepository;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
+import org.openkilda.wfm.share.history.service.PendingFlowEvents;
 import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteContext;
 import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteFsm;
@@ -87,6 +89,7 @@ public class FlowRerouteService {
         final String flowId = reroute.getFlowId();
         log.debug("Handling flow reroute request with key {} and flow ID: {}", key, flowId);
 
+        updateNetwork(reroute);
         if (retryManager.record(reroute)) {
             initReroute(reroute);
         } else {
@@ -179,6 +182,16 @@ public class FlowRerouteService {
         removeIfFinished(fsm, key);
     }
 
+    /**
+     * Apply the network change which caused the reroute to the network kept by the path computer. An ISL which became
+     * active is picked up by the path computer itself once no path is found in the kept network.
+     */
+    private void updateNetwork(FlowRerouteFact reroute) {
+        for (IslEndpoint endpoint : reroute.getAffectedIsl()) {
+            pathComputer.updateIslEndpointDown(endpoint.getSwitchId(), endpoint.getPortNumber());
+        }
+    }
+
     private void checkRequestsCollision(FlowRerouteFact reroute) {
         if (fsms.containsKey(reroute.getKey())) {
             throw new IllegalStateException(String.format(
@@ -187,7 +200,7 @@ public class FlowRerouteService {
         }
 
         String eventKey = reroute.getCommandContext().getCorrelationId();
-        if (flowEventRepository.existsByTaskId(eventKey)) {
+        if (PendingFlowEvents.contains(eventKey) || flowEventRepository.existsByTaskId(eventKey)) {
             throw new IllegalStateException(String.format(
                     "Attempt to reuse history key %s, but there's a history record(s) for it (flowId=\"%s\")",
                     eventKey, reroute.getFlowId()));
@@ -24,6 +24,7 @@ import org.openkilda.persistence.repositories.KildaConfigurationRepository;
 import org.openkilda.persistence.repositories.history.FlowEventRepository;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
+import org.openkilda.wfm.share.history.service.PendingFlowEvents;
 import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.flowhs.fsm.update.FlowUpdateContext;
 import org.openkilda.wfm.topology.flowhs.fsm.update.FlowUpdateFsm;
@@ -88,7 +89,7 @@ public class FlowUpdateService {
         }
 
         String eventKey = commandContext.getCorrelationId();
-        if (flowEventRepository.existsByTaskId(eventKey)) {
+        if (PendingFlowEvents.contains(eventKey) || flowEventRepository.existsByTaskId(eventKey)) {
             log.error("Attempt to reuse key %s, but there's a history record(s) for it.", eventKey);
             return;
         }
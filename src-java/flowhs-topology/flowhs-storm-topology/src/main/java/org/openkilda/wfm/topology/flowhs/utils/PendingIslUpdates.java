@@ -0,0 +1,74 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flowhs.utils;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputer;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects ISL available bandwidth changes made in a transaction. Once the transaction is committed, the changes are
+ * applied to the network kept by the path computer, once it's rolled back, the changed ISLs are invalidated there.
+ */
+public class PendingIslUpdates {
+    private final PathComputer pathComputer;
+    private final List<IslUpdate> updates = new ArrayList<>();
+
+    public PendingIslUpdates(PathComputer pathComputer) {
+        this.pathComputer = pathComputer;
+    }
+
+    /**
+     * Records the available bandwidth written to the ISL.
+     */
+    public void add(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort, long availableBandwidth) {
+        updates.add(new IslUpdate(srcSwitchId, srcPort, dstSwitchId, dstPort, availableBandwidth));
+    }
+
+    /**
+     * Applies the recorded changes of the committed transaction.
+     */
+    public void commit() {
+        for (IslUpdate update : updates) {
+            pathComputer.updateIslAvailableBandwidth(update.srcSwitchId, update.srcPort, update.dstSwitchId,
+                    update.dstPort, update.availableBandwidth);
+        }
+        updates.clear();
+    }
+
+    /**
+     * Invalidates the ISLs changed by the rolled back transaction.
+     */
+    public void rollback() {
+        for (IslUpdate update : updates) {
+            pathComputer.invalidateIsl(update.srcSwitchId, update.srcPort, update.dstSwitchId, update.dstPort);
+        }
+        updates.clear();
+    }
+
+    @Value
+    private static class IslUpdate {
+        SwitchId srcSwitchId;
+        int srcPort;
+        SwitchId dstSwitchId;
+        int dstPort;
+        long availableBandwidth;
+    }
+}
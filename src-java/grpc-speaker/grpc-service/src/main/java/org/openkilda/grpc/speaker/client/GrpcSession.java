@@ -60,15 +60,28 @@ public class GrpcSession {
     private NoviFlowGrpcGrpc.NoviFlowGrpcStub stub;
     private String address;
 
+    private CompletableFuture<List<CliReply>> loginResult;
+
     public GrpcSession(String address) {
+        this(makeChannel(address), address);
+    }
+
+    /**
+     * Creates the session on top of the given channel, i.e. an in-process one.
+     */
+    public GrpcSession(ManagedChannel channel, String address) {
+        this.address = address;
+        this.channel = channel;
+        this.stub = NoviFlowGrpcGrpc.newStub(channel);
+    }
+
+    private static ManagedChannel makeChannel(String address) {
         if (!InetAddresses.isInetAddress(address) && !InetAddresses.isUriInetAddress(address)) {
             throw new GrpcRequestFailureException(ErrorCode.ERRNO_23.getCode(), ErrorCode.ERRNO_23.getMessage());
         }
-        this.address = address;
-        this.channel = ManagedChannelBuilder.forAddress(address, PORT)
+        return ManagedChannelBuilder.forAddress(address, PORT)
                 .usePlaintext()
                 .build();
-        this.stub = NoviFlowGrpcGrpc.newStub(channel);
     }
 
     /**
@@ -103,6 +116,28 @@ public class GrpcSession {
         return observer.future;
     }
 
+    /**
+     * Performs switch login request once per session. The following calls share the result of the first login, a
+     * failed login is retried by the next call.
+     *
+     * @param user the user.
+     * @param pass the password.
+     * @return {@link CompletableFuture} with operation result.
+     */
+    public synchronized CompletableFuture<List<CliReply>> ensureLoggedIn(String user, String pass) {
+        if (loginResult == null || loginResult.isCompletedExceptionally()) {
+            loginResult = login(user, pass);
+        }
+        return loginResult;
+    }
+
+    /**
+     * Checks whether the last login made by {@link #ensureLoggedIn(String, String)} has failed.
+     */
+    public synchronized boolean isLoginFailed() {
+        return loginResult != null && loginResult.isCompletedExceptionally();
+    }
+
     /**
      * Performs switch status request.
      *
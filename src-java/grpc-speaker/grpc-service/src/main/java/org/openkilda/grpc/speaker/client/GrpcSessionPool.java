@@ -0,0 +1,196 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.client;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.Status;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
+
+/**
+ * Keeps one long-lived {@link GrpcSession} per switch, so the channel (and the login made over it) is shared by the
+ * requests to the switch. gRPC multiplexes the concurrent calls over the channel, so there is no need in more than
+ * one channel per switch.
+ *
+ * <p>Sessions unused for the idle timeout are shut down. A session is also dropped once a request over it fails
+ * because of the transport (the switch is unavailable), the authentication or the login, the next request to the
+ * switch opens a new channel and logs in again. Error replies of the switch keep the session.
+ */
+@Slf4j
+@Component
+public class GrpcSessionPool {
+    private final Map<String, PooledSession> sessions = new ConcurrentHashMap<>();
+
+    private final Function<String, GrpcSession> sessionFactory;
+    private final long idleTimeout;
+    private final Clock clock;
+    private final ScheduledExecutorService evictionExecutor;
+
+    @Autowired
+    public GrpcSessionPool(@Value("${grpc.session.idle.timeout.seconds:300}") long idleTimeoutSeconds) {
+        this(GrpcSession::new, TimeUnit.SECONDS.toMillis(idleTimeoutSeconds), Clock.systemUTC());
+    }
+
+    /**
+     * Creates the pool with the custom session factory, i.e. the one making in-process sessions.
+     *
+     * @param sessionFactory makes a session by the switch address.
+     * @param idleTimeout idle timeout of the sessions in milliseconds.
+     * @param clock the clock to track the idle time.
+     */
+    public GrpcSessionPool(Function<String, GrpcSession> sessionFactory, long idleTimeout, Clock clock) {
+        this.sessionFactory = sessionFactory;
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+
+        evictionExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("grpc-session-eviction-%d")
+                .setDaemon(true)
+                .build());
+        long period = Math.max(1, idleTimeout / 2);
+        evictionExecutor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Performs the operation over the session to the switch. The session is kept in use until the operation is
+     * completed, so it can't be evicted in the middle of the operation.
+     *
+     * @param address the switch address.
+     * @param operation makes the requests over the session.
+     * @return {@link CompletableFuture} with the operation result.
+     */
+    public <T> CompletableFuture<T> execute(String address, Function<GrpcSession, CompletableFuture<T>> operation) {
+        PooledSession entry = acquire(address);
+        CompletableFuture<T> result;
+        try {
+            result = operation.apply(entry.session);
+        } catch (RuntimeException e) {
+            release(address, entry, isSessionBroken(entry, e));
+            throw e;
+        }
+        return result.whenComplete((value, error) -> release(address, entry, isSessionBroken(entry, error)));
+    }
+
+    /**
+     * Removes the sessions which are not used for the idle timeout.
+     */
+    void evictIdle() {
+        long now = clock.millis();
+        for (Map.Entry<String, PooledSession> item : sessions.entrySet()) {
+            PooledSession entry = item.getValue();
+            synchronized (entry) {
+                if (entry.leases > 0 || now - entry.lastUsed < idleTimeout) {
+                    continue;
+                }
+                entry.closed = true;
+            }
+            sessions.remove(item.getKey(), entry);
+            log.debug("Session to switch {} is idle for {} ms, closing it", item.getKey(), now - entry.lastUsed);
+            entry.session.shutdown();
+        }
+    }
+
+    int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Shuts down all the sessions.
+     */
+    @PreDestroy
+    public void shutdown() {
+        evictionExecutor.shutdownNow();
+        for (PooledSession entry : sessions.values()) {
+            entry.session.shutdown();
+        }
+        sessions.clear();
+    }
+
+    private PooledSession acquire(String address) {
+        while (true) {
+            PooledSession entry = sessions.computeIfAbsent(address, key -> {
+                log.debug("Opening session to switch {}", key);
+                return new PooledSession(sessionFactory.apply(key));
+            });
+            synchronized (entry) {
+                if (!entry.closed) {
+                    entry.leases++;
+                    entry.lastUsed = clock.millis();
+                    return entry;
+                }
+            }
+            // the session is being closed, drop it and open a new one
+            sessions.remove(address, entry);
+        }
+    }
+
+    private static boolean isSessionBroken(PooledSession entry, Throwable error) {
+        if (error == null) {
+            return false;
+        }
+        if (entry.session.isLoginFailed()) {
+            return true;
+        }
+        // looks through the causes, so the status is found in the wrapping completion exceptions as well
+        Status.Code code = Status.fromThrowable(error).getCode();
+        return code == Status.Code.UNAVAILABLE || code == Status.Code.UNAUTHENTICATED;
+    }
+
+    private void release(String address, PooledSession entry, boolean broken) {
+        boolean shutdown;
+        synchronized (entry) {
+            entry.leases--;
+            entry.lastUsed = clock.millis();
+            if (broken) {
+                entry.closed = true;
+            }
+            shutdown = entry.closed && entry.leases == 0;
+        }
+
+        if (broken) {
+            if (sessions.remove(address, entry)) {
+                log.info("Session to switch {} is broken, it will be reopened by the next request", address);
+            }
+        }
+        if (shutdown) {
+            entry.session.shutdown();
+        }
+    }
+
+    private static class PooledSession {
+        private final GrpcSession session;
+
+        private int leases;
+        private long lastUsed;
+        private boolean closed;
+
+        PooledSession(GrpcSession session) {
+            this.session = session;
+        }
+    }
+}
@@ -15,6 +15,7 @@
 
 package org.openkilda.grpc.speaker.config;
 
+import org.openkilda.grpc.speaker.messaging.WireCodecDeserializer;
 import org.openkilda.messaging.command.CommandMessage;
 
 import com.google.common.collect.ImmutableMap;
@@ -28,7 +29,6 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.Map;
 
@@ -79,7 +79,6 @@ public class MessageConsumerConfig {
         return ImmutableMap.<String, Object>builder()
                 .put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaHosts)
                 .put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class)
-                .put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class)
                 .put(ConsumerConfig.GROUP_ID_CONFIG, groupId)
                 .put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true)
                 .put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, kafkaSessionTimeout)
@@ -97,7 +96,7 @@ public class MessageConsumerConfig {
     @Bean
     public ConsumerFactory<String, CommandMessage> consumerFactory() {
         return new DefaultKafkaConsumerFactory<>(consumerConfigs(),
-                new StringDeserializer(), new JsonDeserializer<>(CommandMessage.class));
+                new StringDeserializer(), new WireCodecDeserializer<>(CommandMessage.class));
     }
 
     /**
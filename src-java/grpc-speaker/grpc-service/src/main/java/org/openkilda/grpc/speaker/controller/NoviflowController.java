@@ -93,6 +93,15 @@ public class NoviflowController {
         return grpcService.createLogicalPort(switchAddress, logicalPortDto);
     }
 
+    @ApiOperation(value = "Create several logical ports", response = LogicalPort.class, responseContainer = "List")
+    @PutMapping(path = "/{switch_address}/logicalports/bulk")
+    @ResponseStatus(HttpStatus.OK)
+    public CompletableFuture<List<LogicalPort>> createLogicalPorts(
+            @PathVariable("switch_address") String switchAddress,
+            @RequestBody List<LogicalPortDto> logicalPorts) {
+        return grpcService.createLogicalPorts(switchAddress, logicalPorts);
+    }
+
     @ApiOperation(value = "Get switch logical port configuration", response = LogicalPort.class)
     @GetMapping(path = "/{switch_address}/logicalports/{logical_port_number}")
     @ResponseStatus(HttpStatus.OK)
@@ -17,7 +17,7 @@ package org.openkilda.grpc.speaker.service;
 
 import static java.lang.String.format;
 
-import org.openkilda.grpc.speaker.client.GrpcSession;
+import org.openkilda.grpc.speaker.client.GrpcSessionPool;
 import org.openkilda.grpc.speaker.exception.GrpcException;
 import org.openkilda.grpc.speaker.mapper.NoviflowResponseMapper;
 import org.openkilda.grpc.speaker.model.EnableLogMessagesResponse;
@@ -40,6 +40,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
@@ -58,8 +59,11 @@ public class GrpcSenderService {
 
     private NoviflowResponseMapper mapper;
 
-    public GrpcSenderService(@Autowired NoviflowResponseMapper mapper) {
+    private GrpcSessionPool sessionPool;
+
+    public GrpcSenderService(@Autowired NoviflowResponseMapper mapper, @Autowired GrpcSessionPool sessionPool) {
         this.mapper = mapper;
+        this.sessionPool = sessionPool;
     }
 
     /**
@@ -69,14 +73,42 @@ public class GrpcSenderService {
      * @return {@link CompletableFuture} with the execution result.
      */
     public CompletableFuture<LogicalPort> createLogicalPort(String switchAddress, LogicalPortDto port) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
                 .thenCompose(e -> sender.setLogicalPort(port))
                 .thenCompose(e -> sender.showConfigLogicalPort(port.getLogicalPortNumber()))
                 .thenApply(portOptional -> portOptional
                         .map(mapper::toLogicalPort)
-                        .orElseThrow(() -> new GrpcException(format("Port %s was not created ", port))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                        .orElseThrow(() -> new GrpcException(format("Port %s was not created ", port)))));
+    }
+
+    /**
+     * Creates several logical ports. The requests are pipelined over the single session to the switch, the created
+     * ports are read back by one dump.
+     *
+     * @param switchAddress the switch address.
+     * @param ports the ports data.
+     * @return {@link CompletableFuture} with the created ports.
+     */
+    public CompletableFuture<List<LogicalPort>> createLogicalPorts(String switchAddress, List<LogicalPortDto> ports) {
+        Set<Integer> portNumbers = ports.stream()
+                .map(LogicalPortDto::getLogicalPortNumber)
+                .collect(Collectors.toSet());
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
+                .thenCompose(e -> CompletableFuture.allOf(ports.stream()
+                        .map(sender::setLogicalPort)
+                        .toArray(CompletableFuture[]::new)))
+                .thenCompose(e -> sender.dumpLogicalPorts())
+                .thenApply(created -> created.stream()
+                        .filter(port -> portNumbers.contains(port.getLogicalportno()))
+                        .map(mapper::toLogicalPort)
+                        .collect(Collectors.toList()))
+                .thenApply(created -> {
+                    if (created.size() != portNumbers.size()) {
+                        throw new GrpcException(format("Only %d of %d logical ports were created on switch %s",
+                                created.size(), portNumbers.size(), switchAddress));
+                    }
+                    return created;
+                }));
     }
 
     /**
@@ -86,11 +118,9 @@ public class GrpcSenderService {
      * @return list of logical ports wrapped into {@link CompletableFuture}.
      */
     public CompletableFuture<List<LogicalPort>> dumpLogicalPorts(String switchAddress) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
                 .thenCompose(e -> sender.dumpLogicalPorts())
-                .thenApply(ports -> ports.stream().map(mapper::toLogicalPort).collect(Collectors.toList()))
-                .whenComplete((e, ex) -> sender.shutdown());
+                .thenApply(ports -> ports.stream().map(mapper::toLogicalPort).collect(Collectors.toList())));
     }
 
     /**
@@ -100,14 +130,12 @@ public class GrpcSenderService {
      * @return {@link CompletableFuture} with the execution result.
      */
     public CompletableFuture<SwitchInfoStatus> getSwitchStatus(String switchAddress) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
                 .thenCompose(e -> sender.showSwitchStatus())
                 .thenApply(statusOptional -> statusOptional
                         .map(mapper::toSwitchInfo)
                         .orElseThrow(() ->
-                                new GrpcException(format("Couldn't get status for switch %s", switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                new GrpcException(format("Couldn't get status for switch %s", switchAddress)))));
     }
 
     /**
@@ -118,14 +146,12 @@ public class GrpcSenderService {
      * @return {@link CompletableFuture} with the execution result.
      */
     public CompletableFuture<LogicalPort> showConfigLogicalPort(String switchAddress, Integer port) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
                 .thenCompose(e -> sender.showConfigLogicalPort(port))
                 .thenApply(statusOptional -> statusOptional
                         .map(mapper::toLogicalPort)
                         .orElseThrow(() -> new GrpcException(format("Couldn't get logical port %d for switch %s",
-                                port, switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                port, switchAddress)))));
     }
 
     /**
@@ -136,14 +162,12 @@ public class GrpcSenderService {
      * @return {@link CompletableFuture} with the execution result.
      */
     public CompletableFuture<GrpcDeleteOperationResponse> deleteConfigLogicalPort(String switchAddress, Integer port) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
                 .thenCompose(e -> sender.deleteLogicalPort(port))
                 .thenApply(optional -> optional
                         .map(value -> new GrpcDeleteOperationResponse(value.getReplyStatus() == 0))
                         .orElseThrow(() -> new GrpcException(format("Could not delete logical port %d for switch %s",
-                                port, switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                port, switchAddress)))));
     }
 
     /**
@@ -155,14 +179,12 @@ public class GrpcSenderService {
      */
     public CompletableFuture<EnableLogMessagesResponse> enableLogMessages(String switchAddress,
                                                                           LogMessagesDto logMessagesDto) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
                 .thenCompose(e -> sender.enableLogMessages(logMessagesDto))
                 .thenApply(optional -> optional
                         .map(value -> new EnableLogMessagesResponse(logMessagesDto.getState()))
                         .orElseThrow(() -> new GrpcException(format("Could not set log messages to status: %s",
-                                logMessagesDto.getState().toString()))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                logMessagesDto.getState().toString())))));
     }
 
     /**
@@ -174,14 +196,12 @@ public class GrpcSenderService {
      */
     public CompletableFuture<EnableLogMessagesResponse> enableLogOferror(String switchAddress,
                                                                          LogOferrorsDto logOferrorsDto) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
                 .thenCompose(e -> sender.enableLogOferrors(logOferrorsDto))
                 .thenApply(optional -> optional
                         .map(value -> new EnableLogMessagesResponse(logOferrorsDto.getState()))
                         .orElseThrow(() -> new GrpcException(format("Could not set log OF errors to status: %s",
-                                logOferrorsDto.getState().toString()))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                logOferrorsDto.getState().toString())))));
 
     }
 
@@ -192,14 +212,12 @@ public class GrpcSenderService {
      * @return {@link CompletableFuture} with the execution result.
      */
     public CompletableFuture<RemoteLogServer> showConfigRemoteLogServer(String switchAddress) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
                 .thenCompose(e -> sender.showConfigRemoteLogServer())
                 .thenApply(optional -> optional
                         .map(mapper::toRemoteLogServer)
                         .orElseThrow(() -> new GrpcException(format("Could not to get remote log server for switch: %s",
-                                switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                switchAddress)))));
     }
 
     /**
@@ -211,15 +229,13 @@ public class GrpcSenderService {
      */
     public CompletableFuture<RemoteLogServer> setConfigRemoteLogServer(
             String switchAddress, RemoteLogServerDto remoteLogServerDto) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
                 .thenCompose(e -> sender.setConfigRemoteLogServer(remoteLogServerDto))
                 .thenCompose(e -> sender.showConfigRemoteLogServer())
                 .thenApply(optional -> optional
                         .map(mapper::toRemoteLogServer)
                         .orElseThrow(() -> new GrpcException(format("Could not set remote log server for switch %s",
-                                switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                switchAddress)))));
     }
 
     /**
@@ -230,14 +246,12 @@ public class GrpcSenderService {
      */
     public CompletableFuture<GrpcDeleteOperationResponse> deleteConfigRemoteLogServer(
             String switchAddress) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
                 .thenCompose(e -> sender.deleteConfigRemoteLogServer())
                 .thenApply(optional -> optional
                         .map(value -> new GrpcDeleteOperationResponse(value.getReplyStatus() == 0))
                         .orElseThrow(() -> new GrpcException(format("Could not delete remote log server for switch %s",
-                                switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                switchAddress)))));
     }
 
     /**
@@ -250,15 +264,13 @@ public class GrpcSenderService {
      */
     public CompletableFuture<PortConfigSetupResponse> setPortConfig(
             String switchAddress, Integer portNumber, PortConfigDto portConfigDto) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
                 .thenCompose(e -> sender.setPortConfig(portNumber, portConfigDto))
                 .thenApply(optional -> optional
                         .map(value -> new PortConfigSetupResponse(value.getReplyStatus() == 0))
                         .orElseThrow(() ->
                                 new GrpcException(format("Could not setup port №%d configuration for switch %s",
-                                        portNumber, switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                        portNumber, switchAddress)))));
     }
 
     /**
@@ -269,13 +281,11 @@ public class GrpcSenderService {
      * @return {@link CompletableFuture} with the execution result.
      */
     public CompletableFuture<LicenseResponse> setConfigLicense(String switchAddress, LicenseDto licenseDto) {
-        GrpcSession sender = new GrpcSession(switchAddress);
-        return sender.login(name, password)
+        return sessionPool.execute(switchAddress, sender -> sender.ensureLoggedIn(name, password)
                 .thenCompose(e -> sender.setConfigLicense(licenseDto))
                 .thenApply(optional -> optional
                         .map(value -> new LicenseResponse(value.getReplyStatus() == 0))
                         .orElseThrow(() ->
-                                new GrpcException(format("Could not setup license for switch %s", switchAddress))))
-                .whenComplete((e, ex) -> sender.shutdown());
+                                new GrpcException(format("Could not setup license for switch %s", switchAddress)))));
     }
 }
@@ -0,0 +1,209 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.openkilda.grpc.speaker.exception.GrpcException;
+import org.openkilda.grpc.speaker.exception.GrpcRequestFailureException;
+import org.openkilda.grpc.speaker.model.ErrorCode;
+import org.openkilda.grpc.speaker.model.LogicalPortDto;
+
+import com.google.common.collect.Lists;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.noviflow.CliReply;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+public class GrpcSessionPoolTest {
+    private static final String SWITCH_ADDRESS = "127.0.0.1";
+    private static final long IDLE_TIMEOUT = 60_000;
+
+    private final ManualClock clock = new ManualClock();
+    private NoviflowStubServer stubServer;
+    private GrpcSessionPool pool;
+
+    @Before
+    public void setUp() throws Exception {
+        stubServer = new NoviflowStubServer("noviflow-stub");
+        stubServer.start();
+        pool = new GrpcSessionPool(stubServer::makeSession, IDLE_TIMEOUT, clock);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+        stubServer.stop();
+    }
+
+    @Test
+    public void shouldReuseSessionAndLogin() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            LogicalPortDto port = new LogicalPortDto(Lists.newArrayList(i), 1000 + i);
+            pool.execute(SWITCH_ADDRESS, session -> session.ensureLoggedIn("user", "pass")
+                    .thenCompose(e -> session.setLogicalPort(port)))
+                    .get();
+        }
+
+        assertEquals(1, stubServer.getChannelsCount());
+        assertEquals(1, stubServer.getLoginsCount());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void shouldKeepSessionAfterRequestFailure() throws Exception {
+        CompletableFuture<Object> failed = pool.execute(SWITCH_ADDRESS, session -> session
+                .ensureLoggedIn("user", "pass")
+                .thenApply(e -> {
+                    throw new GrpcException("Logical port not found");
+                }));
+        assertFailed(failed, GrpcException.class);
+        assertEquals(1, pool.size());
+
+        pool.execute(SWITCH_ADDRESS, session -> session.ensureLoggedIn("user", "pass")).get();
+
+        assertEquals(1, stubServer.getChannelsCount());
+        assertEquals(1, stubServer.getLoginsCount());
+    }
+
+    @Test
+    public void shouldKeepSessionAfterErrorReply() throws Exception {
+        stubServer.setLogicalPortReplyStatus(ErrorCode.ERRNO_1.getCode());
+        assertFailed(setLogicalPort(1), GrpcRequestFailureException.class);
+        assertEquals(1, pool.size());
+
+        stubServer.setLogicalPortReplyStatus(0);
+        setLogicalPort(2).get();
+
+        assertEquals(1, stubServer.getChannelsCount());
+        assertEquals(1, stubServer.getLoginsCount());
+    }
+
+    @Test
+    public void shouldReopenSessionAfterTransportFailure() throws Exception {
+        stubServer.setLogicalPortStatus(Status.UNAVAILABLE);
+        assertFailed(setLogicalPort(1), StatusRuntimeException.class);
+        assertEquals(0, pool.size());
+
+        stubServer.setLogicalPortStatus(Status.OK);
+        setLogicalPort(2).get();
+
+        assertEquals(2, stubServer.getChannelsCount());
+        assertEquals(2, stubServer.getLoginsCount());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void shouldReopenSessionAfterLoginFailure() throws Exception {
+        stubServer.setLoginReplyStatus(ErrorCode.ERRNO_1.getCode());
+        assertFailed(setLogicalPort(1), GrpcRequestFailureException.class);
+        assertEquals(0, pool.size());
+
+        stubServer.setLoginReplyStatus(0);
+        setLogicalPort(2).get();
+
+        assertEquals(2, stubServer.getChannelsCount());
+        assertEquals(2, stubServer.getLoginsCount());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void shouldEvictIdleSessions() throws Exception {
+        pool.execute(SWITCH_ADDRESS, session -> session.ensureLoggedIn("user", "pass")).get();
+
+        clock.advance(IDLE_TIMEOUT - 1);
+        pool.evictIdle();
+        assertEquals(1, pool.size());
+
+        clock.advance(1);
+        pool.evictIdle();
+        assertEquals(0, pool.size());
+
+        pool.execute(SWITCH_ADDRESS, session -> session.ensureLoggedIn("user", "pass")).get();
+        assertEquals(2, stubServer.getChannelsCount());
+    }
+
+    @Test
+    public void shouldNotEvictSessionInUse() {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        pool.execute(SWITCH_ADDRESS, session -> pending);
+
+        clock.advance(IDLE_TIMEOUT * 2);
+        pool.evictIdle();
+        assertEquals(1, pool.size());
+
+        pending.complete(null);
+        clock.advance(IDLE_TIMEOUT);
+        pool.evictIdle();
+        assertEquals(0, pool.size());
+    }
+
+    private CompletableFuture<List<CliReply>> setLogicalPort(int port) {
+        LogicalPortDto request = new LogicalPortDto(Lists.newArrayList(port), 1000 + port);
+        return pool.execute(SWITCH_ADDRESS, session -> session.ensureLoggedIn("user", "pass")
+                .thenCompose(e -> session.setLogicalPort(request)));
+    }
+
+    private static void assertFailed(CompletableFuture<?> future, Class<? extends Throwable> expected)
+            throws InterruptedException {
+        try {
+            future.get();
+            fail("Expect the operation to fail");
+        } catch (ExecutionException e) {
+            assertTrue(expected.isInstance(e.getCause()));
+        }
+    }
+
+    private static class ManualClock extends Clock {
+        private long millis = 1_000_000;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+}
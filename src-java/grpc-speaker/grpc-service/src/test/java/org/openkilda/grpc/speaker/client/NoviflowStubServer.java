@@ -0,0 +1,138 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.client;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.noviflow.AuthenticateUser;
+import io.grpc.noviflow.CliReply;
+import io.grpc.noviflow.LogicalPort;
+import io.grpc.noviflow.NoviFlowGrpcGrpc;
+import io.grpc.noviflow.StatusSwitch;
+import io.grpc.stub.StreamObserver;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stub of the Noviflow switch gRPC server. Serves logins, logical ports and the switch status, so the
+ * speaker client side can be tested and benchmarked without a real switch.
+ */
+public class NoviflowStubServer extends NoviFlowGrpcGrpc.NoviFlowGrpcImplBase {
+    private final String name;
+    private final Map<Integer, LogicalPort> logicalPorts = new ConcurrentHashMap<>();
+    private final AtomicInteger loginsCount = new AtomicInteger();
+    private final AtomicInteger channelsCount = new AtomicInteger();
+
+    private volatile int loginReplyStatus;
+    private volatile int logicalPortReplyStatus;
+    private volatile Status logicalPortStatus = Status.OK;
+
+    private Server server;
+
+    public NoviflowStubServer(String name) {
+        this.name = name;
+    }
+
+    public void start() throws IOException {
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(this).build().start();
+    }
+
+    public void stop() {
+        server.shutdownNow();
+    }
+
+    /**
+     * Makes a session to the stub server, the session factory for {@link GrpcSessionPool}.
+     */
+    public GrpcSession makeSession(String address) {
+        channelsCount.incrementAndGet();
+        ManagedChannel channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        return new GrpcSession(channel, address);
+    }
+
+    public int getLoginsCount() {
+        return loginsCount.get();
+    }
+
+    public int getChannelsCount() {
+        return channelsCount.get();
+    }
+
+    /**
+     * Makes the logins to be replied with the given error status, 0 means a successful login.
+     */
+    public void setLoginReplyStatus(int replyStatus) {
+        loginReplyStatus = replyStatus;
+    }
+
+    /**
+     * Makes the logical port set requests to be replied with the given error status, 0 means a successful reply.
+     */
+    public void setLogicalPortReplyStatus(int replyStatus) {
+        logicalPortReplyStatus = replyStatus;
+    }
+
+    /**
+     * Makes the logical port set requests to fail on the gRPC level with the given status, i.e. UNAVAILABLE.
+     */
+    public void setLogicalPortStatus(Status status) {
+        logicalPortStatus = status;
+    }
+
+    @Override
+    public void setLoginDetails(AuthenticateUser request, StreamObserver<CliReply> responseObserver) {
+        loginsCount.incrementAndGet();
+        reply(responseObserver, CliReply.newBuilder().setReplyStatus(loginReplyStatus).build());
+    }
+
+    @Override
+    public void setConfigLogicalPort(LogicalPort request, StreamObserver<CliReply> responseObserver) {
+        if (!logicalPortStatus.isOk()) {
+            responseObserver.onError(logicalPortStatus.asRuntimeException());
+            return;
+        }
+        if (logicalPortReplyStatus == 0) {
+            logicalPorts.put(request.getLogicalportno(), request);
+        }
+        reply(responseObserver, CliReply.newBuilder().setReplyStatus(logicalPortReplyStatus).build());
+    }
+
+    @Override
+    public void showConfigLogicalPort(LogicalPort request, StreamObserver<LogicalPort> responseObserver) {
+        if (request.getLogicalportno() == 0) {
+            logicalPorts.values().forEach(responseObserver::onNext);
+        } else if (logicalPorts.containsKey(request.getLogicalportno())) {
+            responseObserver.onNext(logicalPorts.get(request.getLogicalportno()));
+        }
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void showStatusSwitch(StatusSwitch request, StreamObserver<StatusSwitch> responseObserver) {
+        reply(responseObserver, StatusSwitch.newBuilder().build());
+    }
+
+    private static <T> void reply(StreamObserver<T> responseObserver, T response) {
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+}
@@ -52,6 +52,11 @@ public interface IslLatencyTopologyConfig extends AbstractTopologyConfig {
     @Min(1)
     int getLatencyUpdateTimeRange();
 
+    @Key("latency.persist.interval") // how often scheduled latency updates are stored in neo4j in seconds
+    @Default("10")
+    @Min(1)
+    int getLatencyPersistInterval();
+
     @Key("latency.discovery.interval.multiplier")
     @Default("3")
     @Min(1)
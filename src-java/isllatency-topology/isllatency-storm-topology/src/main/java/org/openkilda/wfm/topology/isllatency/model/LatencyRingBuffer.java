@@ -0,0 +1,206 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+import java.util.Arrays;
+
+/**
+ * Latency records of a time range, aggregated into a fixed number of time buckets. Each bucket keeps the sum, the
+ * count and the max of its records along with a log-linear histogram, so the average is calculated in O(1) and
+ * percentiles in O(buckets) without keeping the records.
+ * <p/>
+ * Records are expired by whole buckets, i.e. the range of the kept records is rounded up to the bucket duration.
+ * Percentiles are approximate: the histogram splits each power of two into {@value #SUB_BINS} bins, so the relative
+ * error is at most 12.5%.
+ */
+public class LatencyRingBuffer {
+    private static final int SUB_BINS_BITS = 2;
+    private static final int SUB_BINS = 1 << SUB_BINS_BITS;
+    // latencies below 2^10 ns (about 1 us) fall into the first bin, above 2^36 ns (about 68 sec) into the last one
+    private static final int MIN_POWER = 10;
+    private static final int MAX_POWER = 36;
+    private static final int BINS = (MAX_POWER - MIN_POWER) * SUB_BINS + 2;
+
+    private final long bucketDuration;
+    private final long[] bucketIds;
+    private final long[] sums;
+    private final int[] counts;
+    private final long[] maxes;
+    private final int[][] histograms;
+
+    private long totalSum;
+    private int totalCount;
+    private long lastBucketId;
+
+    /**
+     * Creates the buffer.
+     *
+     * @param timeRange time range of the kept records in milliseconds.
+     * @param bucketsCount number of the time buckets the range is split into.
+     */
+    public LatencyRingBuffer(long timeRange, int bucketsCount) {
+        if (timeRange <= 0 || bucketsCount <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid latency buffer time range %d or buckets count %d", timeRange, bucketsCount));
+        }
+        bucketDuration = Math.max(1, (timeRange + bucketsCount - 1) / bucketsCount);
+        bucketIds = new long[bucketsCount];
+        Arrays.fill(bucketIds, Long.MIN_VALUE);
+        sums = new long[bucketsCount];
+        counts = new int[bucketsCount];
+        maxes = new long[bucketsCount];
+        histograms = new int[bucketsCount][];
+    }
+
+    /**
+     * Adds the latency record. Records older than the kept time range are ignored.
+     */
+    public void add(long latency, long timestamp) {
+        long bucketId = Math.floorDiv(timestamp, bucketDuration);
+        if (isEmpty() || bucketId > lastBucketId) {
+            lastBucketId = bucketId;
+        } else if (bucketId <= lastBucketId - bucketIds.length) {
+            return;
+        }
+
+        int index = (int) Math.floorMod(bucketId, (long) bucketIds.length);
+        if (bucketIds[index] != bucketId) {
+            clearBucket(index);
+            bucketIds[index] = bucketId;
+        }
+
+        sums[index] += latency;
+        counts[index]++;
+        maxes[index] = Math.max(maxes[index], latency);
+        if (histograms[index] == null) {
+            histograms[index] = new int[BINS];
+        }
+        histograms[index][toBin(latency)]++;
+
+        totalSum += latency;
+        totalCount++;
+    }
+
+    /**
+     * Removes the records which are out of the time range ending at the given time.
+     */
+    public void expire(long now) {
+        long oldestBucketId = Math.floorDiv(now, bucketDuration) - bucketIds.length;
+        for (int i = 0; i < bucketIds.length; i++) {
+            if (bucketIds[i] != Long.MIN_VALUE && bucketIds[i] <= oldestBucketId) {
+                clearBucket(i);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return totalCount == 0;
+    }
+
+    public int size() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the average latency of the kept records or -1 if there are no records.
+     */
+    public long getAverage() {
+        return totalCount == 0 ? -1 : totalSum / totalCount;
+    }
+
+    /**
+     * Returns the max latency of the kept records or -1 if there are no records.
+     */
+    public long getMax() {
+        long max = -1;
+        for (int i = 0; i < bucketIds.length; i++) {
+            if (counts[i] > 0) {
+                max = Math.max(max, maxes[i]);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the approximate latency percentile of the kept records or -1 if there are no records.
+     *
+     * @param percentile the percentile within (0, 100].
+     */
+    public long getPercentile(double percentile) {
+        if (totalCount == 0) {
+            return -1;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(totalCount * percentile / 100));
+        if (rank >= totalCount) {
+            return getMax();
+        }
+        long seen = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            for (int i = 0; i < bucketIds.length; i++) {
+                if (counts[i] > 0) {
+                    seen += histograms[i][bin];
+                }
+            }
+            if (seen >= rank) {
+                return Math.min(fromBin(bin), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    private void clearBucket(int index) {
+        totalSum -= sums[index];
+        totalCount -= counts[index];
+
+        bucketIds[index] = Long.MIN_VALUE;
+        sums[index] = 0;
+        counts[index] = 0;
+        maxes[index] = 0;
+        if (histograms[index] != null) {
+            Arrays.fill(histograms[index], 0);
+        }
+    }
+
+    private static int toBin(long latency) {
+        if (latency < (1L << MIN_POWER)) {
+            return 0;
+        }
+        int power = 63 - Long.numberOfLeadingZeros(latency);
+        if (power >= MAX_POWER) {
+            return BINS - 1;
+        }
+        int subBin = (int) (latency >>> (power - SUB_BINS_BITS)) & (SUB_BINS - 1);
+        return 1 + (power - MIN_POWER) * SUB_BINS + subBin;
+    }
+
+    /**
+     * Returns the middle of the bin range.
+     */
+    private static long fromBin(int bin) {
+        if (bin == 0) {
+            return (1L << MIN_POWER) / 2;
+        }
+        if (bin == BINS - 1) {
+            return 1L << MAX_POWER;
+        }
+        int power = (bin - 1) / SUB_BINS + MIN_POWER;
+        long subBin = (bin - 1) % SUB_BINS;
+        long lower = (SUB_BINS + subBin) << (power - SUB_BINS_BITS);
+        long width = 1L << (power - SUB_BINS_BITS);
+        return lower + width / 2;
+    }
+}
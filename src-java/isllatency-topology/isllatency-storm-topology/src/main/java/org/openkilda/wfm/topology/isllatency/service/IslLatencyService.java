@@ -24,37 +24,44 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchRepository;
-import org.openkilda.wfm.error.IslNotFoundException;
-import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.LatencyRingBuffer;
 
 import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 @Slf4j
 public class IslLatencyService {
     public static final String ONE_WAY_LATENCY = "one way";
     public static final String ROUND_TRIP_LATENCY = "round trip";
+    @VisibleForTesting
+    static final int LATENCY_BUCKETS_COUNT = 16;
+
     private TransactionManager transactionManager;
     private IslRepository islRepository;
     private SwitchRepository switchRepository;
     private final long latencyUpdateInterval; // emit data in DB interval
     private final long latencyUpdateTimeRange; // average latency will be calculated in this time range
 
-    private Map<IslKey, Queue<LatencyRecord>> roundTripLatencyStorage;
-    private Map<IslKey, Queue<LatencyRecord>> oneWayLatencyStorage;
+    private Map<IslKey, LatencyRingBuffer> roundTripLatencyStorage;
+    private Map<IslKey, LatencyRingBuffer> oneWayLatencyStorage;
     private Map<IslKey, Instant> nextUpdateTimeMap;
     private Set<IslKey> roundTripLatencyIsSet; // Contains ISLs for which round trip latency were stored in DB
+    private Map<IslKey, LatencyUpdate> pendingUpdates; // Latencies to be stored in DB on next flush
 
     public IslLatencyService(TransactionManager transactionManager,
                              RepositoryFactory repositoryFactory, long latencyUpdateInterval,
@@ -68,6 +75,7 @@ public class IslLatencyService {
         roundTripLatencyStorage = new HashMap<>();
         roundTripLatencyIsSet = new HashSet<>();
         nextUpdateTimeMap = new HashMap<>();
+        pendingUpdates = new LinkedHashMap<>();
     }
 
     /**
@@ -91,8 +99,8 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data, destination);
 
-        roundTripLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        roundTripLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        roundTripLatencyStorage.computeIfAbsent(islKey, key -> createLatencyBuffer())
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey) || !roundTripLatencyIsSet.contains(islKey)) {
             updateRoundTripLatency(data, destination, islKey);
@@ -112,8 +120,8 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data);
 
-        oneWayLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        oneWayLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        oneWayLatencyStorage.computeIfAbsent(islKey, key -> createLatencyBuffer())
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey)) {
             updateOneWayLatencyIfNeeded(data, islKey);
@@ -121,7 +129,7 @@ public class IslLatencyService {
     }
 
     private void updateRoundTripLatency(IslRoundTripLatency data, Endpoint destination, IslKey islKey) {
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
+        LatencyRingBuffer roundTripRecords = roundTripLatencyStorage.get(islKey);
 
         pollExpiredRecords(roundTripRecords);
         pollExpiredRecords(oneWayLatencyStorage.get(islKey));
@@ -135,7 +143,8 @@ public class IslLatencyService {
 
         long averageLatency = calculateAverageLatency(roundTripRecords);
 
-        boolean updated = updateLatencyInDataBase(data, destination, averageLatency);
+        boolean updated = scheduleLatencyUpdate(
+                islKey, roundTripRecords, averageLatency, data.getPacketId(), ROUND_TRIP_LATENCY);
 
         if (updated) {
             nextUpdateTimeMap.put(islKey, getNextUpdateTime());
@@ -144,10 +153,10 @@ public class IslLatencyService {
     }
 
     private void updateOneWayLatencyIfNeeded(IslOneWayLatency data, IslKey islKey) {
-        Queue<LatencyRecord> oneWayRecords = oneWayLatencyStorage.get(islKey);
+        LatencyRingBuffer oneWayRecords = oneWayLatencyStorage.get(islKey);
         pollExpiredRecords(oneWayRecords);
 
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
+        LatencyRingBuffer roundTripRecords = roundTripLatencyStorage.get(islKey);
         pollExpiredRecords(roundTripRecords);
         if (roundTripRecords != null && !roundTripRecords.isEmpty()) {
             // next round trip latency packet will update ISL latency
@@ -155,14 +164,15 @@ public class IslLatencyService {
         }
 
         IslKey reverseIslKey = islKey.getReverse();
-        Queue<LatencyRecord> reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
+        LatencyRingBuffer reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
         pollExpiredRecords(reverseRoundTripRecords);
 
         boolean updated;
         if (reverseRoundTripRecords != null && !reverseRoundTripRecords.isEmpty()) {
             // reverse ISL has round trip latency records. We can use them for forward ISL
             long averageReverseLatency = calculateAverageLatency(reverseRoundTripRecords);
-            updated = updateLatencyInDataBase(data, averageReverseLatency);
+            updated = scheduleLatencyUpdate(
+                    islKey, reverseRoundTripRecords, averageReverseLatency, data.getPacketId(), ONE_WAY_LATENCY);
         } else {
             // There are no round trip latency records for both ISL direction. We have to use one way latency records
             if (oneWayRecords.isEmpty()) {
@@ -174,7 +184,8 @@ public class IslLatencyService {
             }
 
             long averageOneWayLatency = calculateAverageLatency(oneWayRecords);
-            updated = updateLatencyInDataBase(data, averageOneWayLatency);
+            updated = scheduleLatencyUpdate(
+                    islKey, oneWayRecords, averageOneWayLatency, data.getPacketId(), ONE_WAY_LATENCY);
         }
 
         if (updated) {
@@ -183,61 +194,79 @@ public class IslLatencyService {
         }
     }
 
-    private boolean updateLatencyInDataBase(IslOneWayLatency data, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
-                data.getDstSwitchId(), data.getDstPortNo(), latency, data.getPacketId(), ONE_WAY_LATENCY);
-    }
-
-    private boolean updateLatencyInDataBase(IslRoundTripLatency data, Endpoint destination, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
-                destination.getDatapath(), destination.getPortNumber(), latency, data.getPacketId(),
-                ROUND_TRIP_LATENCY);
-    }
-
-    private boolean updateLatencyInDataBase(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
-                                         long latency, long packetId, String latencyType) {
+    private boolean scheduleLatencyUpdate(IslKey islKey, LatencyRingBuffer records, long latency, long packetId,
+                                          String latencyType) {
         if (latency < 0) {
             log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. Latency must be positive.",
-                    latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId);
+                    latencyType, islKey.getSrcSwitchId(), islKey.getSrcPort(), islKey.getDstSwitchId(),
+                    islKey.getDstPort(), packetId);
             return false;
         }
 
-        try {
-            updateIslLatency(srcSwitch, srcPort, dstSwitch, dstPort, latency);
-            log.debug("Updated {} latency for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}",
-                    latencyType, srcSwitch, srcPort, latency, dstSwitch, dstPort, packetId);
-        } catch (SwitchNotFoundException | IslNotFoundException e) {
-            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. {}",
-                    latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId, e.getMessage());
-            return false;
+        if (log.isDebugEnabled()) {
+            log.debug("Scheduled {} latency update for ISL {}_{} ===( {} ns, p50 {} ns, p99 {} ns, max {} ns )===> "
+                            + "{}_{}. Packet id:{}", latencyType, islKey.getSrcSwitchId(), islKey.getSrcPort(), latency,
+                    records.getPercentile(50), records.getPercentile(99), records.getMax(), islKey.getDstSwitchId(),
+                    islKey.getDstPort(), packetId);
         }
+        pendingUpdates.put(islKey, new LatencyUpdate(latency, packetId, latencyType));
         return true;
     }
 
-    @VisibleForTesting
-    void pollExpiredRecords(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue == null) {
+    /**
+     * Stores the scheduled latency updates in DB within one transaction. ISLs which are not found in DB are
+     * rescheduled to be updated on the next latency record. If the transaction fails, the whole batch is kept to be
+     * stored on the next flush, unless newer latency of the same ISL is scheduled meanwhile.
+     */
+    public void flushLatencyUpdates() {
+        if (pendingUpdates.isEmpty()) {
             return;
         }
-        Instant oldestTimeInRange = Instant.now().minusSeconds(latencyUpdateTimeRange);
-        while (!recordsQueue.isEmpty()
-                && Instant.ofEpochMilli(recordsQueue.peek().getTimestamp()).isBefore(oldestTimeInRange)) {
-            recordsQueue.poll();
+
+        Map<IslKey, LatencyUpdate> updates = pendingUpdates;
+        pendingUpdates = new LinkedHashMap<>();
+
+        List<IslKey> failed;
+        try {
+            failed = updateIslLatencies(updates);
+        } catch (RuntimeException e) {
+            log.error("Couldn't update latency of {} ISLs. The updates will be retried on next flush.",
+                    updates.size(), e);
+            updates.putAll(pendingUpdates);
+            pendingUpdates = updates;
+            return;
         }
+        for (IslKey islKey : failed) {
+            LatencyUpdate update = updates.get(islKey);
+            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. ISL or switch is not found.",
+                    update.getLatencyType(), islKey.getSrcSwitchId(), islKey.getSrcPort(), islKey.getDstSwitchId(),
+                    islKey.getDstPort(), update.getPacketId());
+            nextUpdateTimeMap.remove(islKey);
+            roundTripLatencyIsSet.remove(islKey);
+        }
+        log.debug("Updated latency of {} ISLs", updates.size() - failed.size());
     }
 
     @VisibleForTesting
-    long calculateAverageLatency(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue.isEmpty()) {
-            log.error("Couldn't calculate average latency. Records queue is empty");
-            return -1;
+    void pollExpiredRecords(LatencyRingBuffer records) {
+        if (records == null) {
+            return;
         }
+        records.expire(System.currentTimeMillis());
+    }
 
-        long sum = 0;
-        for (LatencyRecord record : recordsQueue) {
-            sum += record.getLatency();
+    @VisibleForTesting
+    long calculateAverageLatency(LatencyRingBuffer records) {
+        if (records.isEmpty()) {
+            log.error("Couldn't calculate average latency. Records buffer is empty");
+            return -1;
         }
-        return sum / recordsQueue.size();
+        return records.getAverage();
+    }
+
+    @VisibleForTesting
+    LatencyRingBuffer createLatencyBuffer() {
+        return new LatencyRingBuffer(TimeUnit.SECONDS.toMillis(latencyUpdateTimeRange), LATENCY_BUCKETS_COUNT);
     }
 
     @VisibleForTesting
@@ -251,32 +280,47 @@ public class IslLatencyService {
     }
 
     /**
-     * Update latency of isl by source and destination endpoint.
-     *
-     * @param srcSwitchId ID of source switch.
-     * @param srcPort source port.
-     * @param dstSwitchId ID of destination switch.
-     * @param dstPort destination port.
-     * @param latency latency to update
+     * Update latency of ISLs within one transaction.
      *
-     * @throws SwitchNotFoundException if src or dst switch is not found
-     * @throws IslNotFoundException if isl is not found
+     * @return ISLs which are not found.
      */
     @VisibleForTesting
-    void updateIslLatency(
-            SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort, long latency)
-            throws SwitchNotFoundException, IslNotFoundException {
-        transactionManager.doInTransaction(() -> {
-            Switch srcSwitch = switchRepository.findById(srcSwitchId)
-                    .orElseThrow(() -> new SwitchNotFoundException(srcSwitchId));
-            Switch dstSwitch = switchRepository.findById(dstSwitchId)
-                    .orElseThrow(() -> new SwitchNotFoundException(dstSwitchId));
-
-            switchRepository.lockSwitches(srcSwitch, dstSwitch);
-            Isl isl = islRepository.findByEndpoints(srcSwitchId, srcPort, dstSwitchId, dstPort)
-                    .orElseThrow(() -> new IslNotFoundException(srcSwitchId, srcPort, dstSwitchId, dstPort));
-            isl.setLatency(latency);
-            islRepository.createOrUpdate(isl);
+    List<IslKey> updateIslLatencies(Map<IslKey, LatencyUpdate> updates) {
+        return transactionManager.doInTransaction(() -> {
+            Map<SwitchId, Optional<Switch>> switches = new HashMap<>();
+            for (IslKey islKey : updates.keySet()) {
+                switches.computeIfAbsent(islKey.getSrcSwitchId(), switchRepository::findById);
+                switches.computeIfAbsent(islKey.getDstSwitchId(), switchRepository::findById);
+            }
+            switchRepository.lockSwitches(switches.values().stream()
+                    .flatMap(sw -> sw.map(Stream::of).orElseGet(Stream::empty))
+                    .toArray(Switch[]::new));
+
+            List<IslKey> failed = new ArrayList<>();
+            for (Map.Entry<IslKey, LatencyUpdate> entry : updates.entrySet()) {
+                IslKey islKey = entry.getKey();
+                Optional<Isl> isl = Optional.empty();
+                if (switches.get(islKey.getSrcSwitchId()).isPresent()
+                        && switches.get(islKey.getDstSwitchId()).isPresent()) {
+                    isl = islRepository.findByEndpoints(islKey.getSrcSwitchId(), islKey.getSrcPort(),
+                            islKey.getDstSwitchId(), islKey.getDstPort());
+                }
+                if (isl.isPresent()) {
+                    isl.get().setLatency(entry.getValue().getLatency());
+                    islRepository.createOrUpdate(isl.get());
+                } else {
+                    failed.add(islKey);
+                }
+            }
+            return failed;
         });
     }
+
+    @Value
+    @VisibleForTesting
+    static class LatencyUpdate {
+        long latency;
+        long packetId;
+        String latencyType;
+    }
 }
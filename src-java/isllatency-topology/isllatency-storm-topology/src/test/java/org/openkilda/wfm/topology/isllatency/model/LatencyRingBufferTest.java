@@ -0,0 +1,70 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyRingBufferTest {
+    private static final long TIME_RANGE = 10_000;
+    private static final int BUCKETS_COUNT = 10;
+
+    @Test
+    public void shouldCalculateAverageOfRecordsInRange() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(TIME_RANGE, BUCKETS_COUNT);
+        assertEquals(-1, buffer.getAverage());
+
+        for (int i = 0; i < 20; i++) {
+            buffer.add(i * 100, i * 1000);
+        }
+        // records of the last 10 buckets are kept
+        assertEquals(10, buffer.size());
+        assertEquals(1450, buffer.getAverage());
+
+        buffer.expire(25_000);
+        assertEquals(4, buffer.size());
+        assertEquals(1750, buffer.getAverage());
+
+        buffer.expire(30_000);
+        assertTrue(buffer.isEmpty());
+        assertEquals(-1, buffer.getAverage());
+    }
+
+    @Test
+    public void shouldIgnoreRecordsOutOfRange() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(TIME_RANGE, BUCKETS_COUNT);
+        buffer.add(100, 20_000);
+        buffer.add(200, 5_000);
+
+        assertEquals(1, buffer.size());
+        assertEquals(100, buffer.getAverage());
+    }
+
+    @Test
+    public void shouldCalculatePercentiles() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(TIME_RANGE, BUCKETS_COUNT);
+        for (int i = 1; i <= 1000; i++) {
+            buffer.add(i * 1000L, i);
+        }
+
+        assertEquals(1_000_000, buffer.getMax());
+        assertEquals(500_000, buffer.getPercentile(50), 500_000 * 0.125);
+        assertEquals(990_000, buffer.getPercentile(99), 990_000 * 0.125);
+        assertEquals(1_000_000, buffer.getPercentile(100));
+    }
+}
@@ -15,9 +15,15 @@
 
 package org.openkilda.wfm.topology.isllatency.service;
 
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import org.openkilda.messaging.info.event.IslOneWayLatency;
 import org.openkilda.messaging.info.event.IslRoundTripLatency;
@@ -26,21 +32,24 @@ import org.openkilda.model.IslStatus;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.Neo4jBasedTest;
+import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
-import org.openkilda.wfm.error.IslNotFoundException;
-import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.LatencyRingBuffer;
+import org.openkilda.wfm.topology.isllatency.service.IslLatencyService.LatencyUpdate;
+
+import com.google.common.collect.ImmutableMap;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class IslLatencyServiceTest extends Neo4jBasedTest {
     private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
@@ -82,36 +91,80 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         switchRepository.forceDelete(SWITCH_ID_2);
     }
 
-    @Test(expected = SwitchNotFoundException.class)
-    public void updateIslLatencyNonExistentSrcEndpointTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(NON_EXISTENT_SWITCH_ID, PORT_1, SWITCH_ID_2, PORT_2, 0);
+    @Test
+    public void updateIslLatencyNonExistentSrcEndpointTest() {
+        IslKey islKey = new IslKey(NON_EXISTENT_SWITCH_ID, PORT_1, SWITCH_ID_2, PORT_2);
+        assertEquals(singletonList(islKey), islLatencyService.updateIslLatencies(createUpdate(islKey, 0)));
+    }
+
+    @Test
+    public void updateIslLatencyNonExistentDstEndpointTest() {
+        IslKey islKey = new IslKey(SWITCH_ID_1, PORT_1, NON_EXISTENT_SWITCH_ID, PORT_2);
+        assertEquals(singletonList(islKey), islLatencyService.updateIslLatencies(createUpdate(islKey, 0)));
     }
 
-    @Test(expected = SwitchNotFoundException.class)
-    public void updateIslLatencyNonExistentDstEndpointTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, PORT_1, NON_EXISTENT_SWITCH_ID, PORT_2, 0);
+    @Test
+    public void updateIslLatencyNonExistentIslTest() {
+        IslKey islKey = new IslKey(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT);
+        assertEquals(singletonList(islKey), islLatencyService.updateIslLatencies(createUpdate(islKey, 0)));
     }
 
-    @Test(expected = IslNotFoundException.class)
-    public void updateIslLatencyNonExistentIslTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT, 0);
+    @Test
+    public void updateIslLatencyTest() {
+        assertEquals(Collections.emptyList(),
+                islLatencyService.updateIslLatencies(createUpdate(FORWARD_ISL_KEY, 1000)));
+        assertForwardLatency(1000);
     }
 
     @Test
-    public void updateIslLatencyTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2, 1000);
+    public void updateIslLatenciesWithNonExistentIslTest() {
+        IslKey nonExistent = new IslKey(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT);
+        Map<IslKey, LatencyUpdate> updates = new LinkedHashMap<>();
+        updates.putAll(createUpdate(nonExistent, 500));
+        updates.putAll(createUpdate(FORWARD_ISL_KEY, 1000));
+
+        // the existing ISL is updated in spite of the missing one
+        assertEquals(singletonList(nonExistent), islLatencyService.updateIslLatencies(updates));
         assertForwardLatency(1000);
     }
 
+    @Test
+    public void flushLatencyUpdatesTest() {
+        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(1), System.currentTimeMillis());
+        assertForwardLatency(INITIAL_LATENCY);
+
+        islLatencyService.flushLatencyUpdates();
+        assertForwardLatency(1);
+    }
+
+    @Test
+    public void flushLatencyUpdatesAfterFailedTransactionTest() {
+        IslLatencyService service = spy(islLatencyService);
+        doThrow(new PersistenceException("Transaction failed")).doCallRealMethod()
+                .when(service).updateIslLatencies(anyMap());
+
+        service.handleOneWayIslLatency(createForwardOneWayLatency(1), System.currentTimeMillis());
+        service.flushLatencyUpdates();
+        assertForwardLatency(INITIAL_LATENCY);
+        assertFalse(service.isUpdateRequired(FORWARD_ISL_KEY));
+
+        // the failed batch is stored on the next flush in spite of the postponed update time
+        service.flushLatencyUpdates();
+        assertForwardLatency(1);
+        verify(service, times(2)).updateIslLatencies(anyMap());
+    }
+
     @Test
     public void handleOneWayIslLatencyTest() {
         assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(1), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(1);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(10000), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(1);
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -121,12 +174,14 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(5), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(5);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(50000), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(5);
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -135,23 +190,27 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     public void handleRoundTripIslLatencyAfterOneWayIslLatencyTest() {
         assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(7), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(7);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(70000), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(7);
 
         // round trip latency will rewrite one way latency
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(8), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(8);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(80000), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(8);
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -176,6 +235,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
 
         IslOneWayLatency nonExistent = new IslOneWayLatency(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort, 3, PACKET_ID);
         islLatencyService.handleOneWayIslLatency(nonExistent, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
 
         assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
@@ -190,6 +250,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         IslRoundTripLatency nonExistent = new IslRoundTripLatency(SWITCH_ID_1, fakePort, 4, PACKET_ID);
         islLatencyService.handleRoundTripIslLatency(
                 nonExistent, Endpoint.of(SWITCH_ID_2, fakePort), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
 
         assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
@@ -203,42 +264,38 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
 
     @Test
     public void calculateAverageLatencyTest() {
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+        LatencyRingBuffer latencyRecords = islLatencyService.createLatencyBuffer();
 
         for (int i = 1; i <= 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, 1));
+            latencyRecords.add(i, 1);
         }
         assertEquals(3, islLatencyService.calculateAverageLatency(latencyRecords));
     }
 
     @Test
     public void calculateAverageLatencyEmptyTest() {
-        assertEquals(-1, islLatencyService.calculateAverageLatency(new LinkedList<>()));
+        assertEquals(-1, islLatencyService.calculateAverageLatency(islLatencyService.createLatencyBuffer()));
     }
 
     @Test
     public void pollExpiredRecordsTest() {
         Instant time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE * 2);
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+        LatencyRingBuffer latencyRecords = islLatencyService.createLatencyBuffer();
 
         for (int i = 0; i < 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
+            latencyRecords.add(i, time.toEpochMilli());
             time = time.plusSeconds(1);
         }
 
         time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE - 7);
         for (int i = 5; i < 10; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
+            latencyRecords.add(i, time.toEpochMilli());
             time = time.plusSeconds(1);
         }
 
-        assertEquals(10, latencyRecords.size());
         islLatencyService.pollExpiredRecords(latencyRecords);
         assertEquals(5, latencyRecords.size());
-
-        for (int i = 5; i < 10; i++) {
-            assertEquals(i, latencyRecords.poll().getLatency());
-        }
+        assertEquals(7, latencyRecords.getAverage());
     }
 
     private Switch createSwitch(SwitchId switchId) {
@@ -267,6 +324,10 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         return new IslRoundTripLatency(SWITCH_ID_1, PORT_1, latency, PACKET_ID);
     }
 
+    private Map<IslKey, LatencyUpdate> createUpdate(IslKey islKey, long latency) {
+        return ImmutableMap.of(islKey, new LatencyUpdate(latency, PACKET_ID, IslLatencyService.ONE_WAY_LATENCY));
+    }
+
     private void assertForwardLatency(long expectedLatency) {
         long actualLatency = islRepository.findByEndpoints(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2).get().getLatency();
         assertEquals(expectedLatency, actualLatency);
@@ -16,6 +16,7 @@
 package org.openkilda.config;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.Key;
 
 import javax.validation.constraints.NotBlank;
@@ -26,4 +27,12 @@ public interface KafkaConfig {
     @Key("hosts")
     @NotBlank
     String getHosts();
+
+    /**
+     * Comma separated topics which messages are produced in the binary wire format. Consumers accept both formats,
+     * so a topic can be switched once all its consumers are upgraded.
+     */
+    @Key("binary.topics")
+    @Default("")
+    String getBinaryTopics();
 }
@@ -0,0 +1,134 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmarks;
+
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.Isl;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link RepositoryFactory} over in-memory ISLs and flow paths, providing only the queries used by the path
+ * computation engine. Other repositories and queries throw {@link UnsupportedOperationException}.
+ */
+final class InMemoryRepositoryFactory {
+    private final List<Isl> isls;
+    private final Map<String, Isl> islsByEndpoints = new HashMap<>();
+    private final Map<PathId, FlowPath> flowPaths = new HashMap<>();
+    private final Map<String, List<PathId>> flowGroups = new HashMap<>();
+
+    InMemoryRepositoryFactory(List<Isl> isls) {
+        this.isls = isls;
+        for (Isl isl : isls) {
+            islsByEndpoints.put(getEndpoints(isl, false), isl);
+        }
+    }
+
+    /**
+     * Adds the flow path to the diversity group.
+     */
+    void addFlowPath(String groupId, FlowPath flowPath) {
+        flowPaths.put(flowPath.getPathId(), flowPath);
+        flowGroups.computeIfAbsent(groupId, key -> new ArrayList<>()).add(flowPath.getPathId());
+    }
+
+    RepositoryFactory create() {
+        IslRepository islRepository = proxy(IslRepository.class, this::invokeIslRepository);
+        FlowPathRepository flowPathRepository = proxy(FlowPathRepository.class, this::invokeFlowPathRepository);
+        return proxy(RepositoryFactory.class, (method, args) -> {
+            switch (method.getName()) {
+                case "createIslRepository":
+                    return islRepository;
+                case "createFlowPathRepository":
+                    return flowPathRepository;
+                default:
+                    throw new UnsupportedOperationException(method.toString());
+            }
+        });
+    }
+
+    private Object invokeIslRepository(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "findAllActive":
+            case "findAllActiveByEncapsulationType":
+                return isls;
+            case "findActiveWithAvailableBandwidth":
+                return isls.stream()
+                        .filter(isl -> isl.getAvailableBandwidth() >= (long) args[0])
+                        .collect(Collectors.toList());
+            case "findSymmetricActiveWithAvailableBandwidth":
+                return isls.stream()
+                        .filter(isl -> isl.getAvailableBandwidth() >= (long) args[0])
+                        .filter(isl -> {
+                            Isl reverse = islsByEndpoints.get(getEndpoints(isl, true));
+                            return reverse != null && reverse.getAvailableBandwidth() >= (long) args[0];
+                        })
+                        .collect(Collectors.toList());
+            case "findActiveAndOccupiedByFlowPathWithAvailableBandwidth":
+                return Collections.emptyList();
+            default:
+                throw new UnsupportedOperationException(method.toString());
+        }
+    }
+
+    private Object invokeFlowPathRepository(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "findSegmentsByFlowGroupId":
+                Map<PathId, List<PathSegment>> segments = new LinkedHashMap<>();
+                for (PathId pathId : flowGroups.getOrDefault((String) args[0], Collections.emptyList())) {
+                    segments.put(pathId, flowPaths.get(pathId).getSegments());
+                }
+                return segments;
+            default:
+                throw new UnsupportedOperationException(method.toString());
+        }
+    }
+
+    private static String getEndpoints(Isl isl, boolean reverse) {
+        String src = isl.getSrcSwitch().getSwitchId() + "_" + isl.getSrcPort();
+        String dst = isl.getDestSwitch().getSwitchId() + "_" + isl.getDestPort();
+        return reverse ? dst + " - " + src : src + " - " + dst;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(handler, args);
+            }
+            return handler.invoke(method, args);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    private interface Handler {
+        Object invoke(Method method, Object[] args);
+    }
+}
@@ -0,0 +1,208 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmarks;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.Path;
+import org.openkilda.pce.PathComputer;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.PathPair;
+import org.openkilda.pce.exception.RecoverableException;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path computations over a generated topology. Every invocation computes a path for the next of pre-generated flows
+ * between random switches which are reachable within the allowed depth.
+ * <p/>
+ * Throughput and sampled latency (with percentiles) are measured, allocation rate is reported by the {@code gc}
+ * profiler enabled by the {@code jmh} Gradle task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PathComputationBenchmark {
+    private static final long SEED = 42;
+    private static final int FLOW_COUNT = 64;
+    private static final long FLOW_BANDWIDTH = 100_000;
+    private static final int MAX_ALLOWED_DEPTH = 35;
+    private static final int N_PATHS_COUNT = 10;
+
+    @Param({"FAT_TREE", "RING_OF_RINGS", "RANDOM_MESH"})
+    private TopologyShape shape;
+
+    @Param({"100", "1000", "5000", "20000"})
+    private int switchCount;
+
+    @Param({"BFS", "DIJKSTRA"})
+    private String pathFinder;
+
+    @Param({"0", "60"})
+    private int networkSnapshotTtlSeconds;
+
+    private AvailableNetworkFactory availableNetworkFactory;
+    private PathComputer pathComputer;
+    private List<Flow> flows;
+    private List<Flow> protectedFlows;
+    private int cursor;
+
+    /**
+     * Generates the topology and the flows. The primary path of each flow is computed and stored to the diversity
+     * group of its protected counterpart.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws RecoverableException, UnroutableFlowException {
+        Topology topology = Topology.generate(shape, switchCount, SEED);
+        final InMemoryRepositoryFactory repositories = new InMemoryRepositoryFactory(topology.getIsls());
+
+        Properties properties = new Properties();
+        properties.setProperty("pce.max.allowed.depth", String.valueOf(MAX_ALLOWED_DEPTH));
+        properties.setProperty("pce.path.finder", pathFinder);
+        properties.setProperty("pce.network.snapshot.ttl.seconds", String.valueOf(networkSnapshotTtlSeconds));
+        PathComputerConfig config = new PropertiesBasedConfigurationProvider(properties)
+                .getConfiguration(PathComputerConfig.class);
+        availableNetworkFactory = new AvailableNetworkFactory(config, repositories.create());
+        pathComputer = new PathComputerFactory(config, availableNetworkFactory).getPathComputer();
+
+        Map<SwitchId, Switch> switches = new HashMap<>();
+        for (int i = 0; i < topology.getSwitchCount(); i++) {
+            switches.put(topology.getSwitch(i).getSwitchId(), topology.getSwitch(i));
+        }
+
+        Random random = new Random(SEED);
+        flows = new ArrayList<>(FLOW_COUNT);
+        protectedFlows = new ArrayList<>(FLOW_COUNT);
+        while (flows.size() < FLOW_COUNT) {
+            int src = random.nextInt(topology.getSwitchCount());
+            int dst = topology.pickReachableSwitch(src, MAX_ALLOWED_DEPTH);
+            if (dst < 0) {
+                continue;
+            }
+            String flowId = "flow-" + flows.size();
+            Flow flow = buildFlow(flowId, topology.getSwitch(src), topology.getSwitch(dst), null);
+            flows.add(flow);
+
+            String groupId = "group-" + flowId;
+            PathPair primary = pathComputer.getPath(flow);
+            repositories.addFlowPath(groupId, buildFlowPath(flowId + "-forward", primary.getForward(), switches));
+            repositories.addFlowPath(groupId, buildFlowPath(flowId + "-reverse", primary.getReverse(), switches));
+            protectedFlows.add(buildFlow(flowId, topology.getSwitch(src), topology.getSwitch(dst), groupId));
+        }
+    }
+
+    @Benchmark
+    public PathPair singlePath() throws RecoverableException, UnroutableFlowException {
+        return pathComputer.getPath(nextFlow(flows));
+    }
+
+    @Benchmark
+    public PathPair protectedPath() throws RecoverableException, UnroutableFlowException {
+        return pathComputer.getPath(nextFlow(protectedFlows));
+    }
+
+    /**
+     * Benchmarks N best paths computation.
+     */
+    @Benchmark
+    public List<Path> bestNPaths() throws RecoverableException, UnroutableFlowException {
+        Flow flow = nextFlow(flows);
+        return pathComputer.getNPaths(flow.getSrcSwitch().getSwitchId(), flow.getDestSwitch().getSwitchId(),
+                N_PATHS_COUNT, flow.getEncapsulationType(), PathComputationStrategy.COST);
+    }
+
+    /**
+     * Benchmarks building of {@link AvailableNetwork} with diversity weights and its reduction.
+     */
+    @Benchmark
+    public AvailableNetwork availableNetwork() throws RecoverableException {
+        AvailableNetwork network = availableNetworkFactory.getAvailableNetwork(nextFlow(protectedFlows),
+                Collections.emptyList());
+        network.reduceByWeight(edge -> (long) edge.getCost());
+        return network;
+    }
+
+    private Flow nextFlow(List<Flow> source) {
+        cursor = (cursor + 1) % source.size();
+        return source.get(cursor);
+    }
+
+    private static Flow buildFlow(String flowId, Switch src, Switch dst, String groupId) {
+        return Flow.builder()
+                .flowId(flowId)
+                .srcSwitch(src)
+                .destSwitch(dst)
+                .bandwidth(FLOW_BANDWIDTH)
+                .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                .pathComputationStrategy(PathComputationStrategy.COST)
+                .groupId(groupId)
+                .build();
+    }
+
+    private static FlowPath buildFlowPath(String pathId, Path path, Map<SwitchId, Switch> switches) {
+        FlowPath flowPath = FlowPath.builder()
+                .flow(new Flow())
+                .pathId(new PathId(pathId))
+                .srcSwitch(switches.get(path.getSrcSwitchId()))
+                .destSwitch(switches.get(path.getDestSwitchId()))
+                .build();
+        List<PathSegment> segments = new ArrayList<>();
+        for (Path.Segment segment : path.getSegments()) {
+            segments.add(PathSegment.builder()
+                    .srcSwitch(switches.get(segment.getSrcSwitchId()))
+                    .srcPort(segment.getSrcPort())
+                    .destSwitch(switches.get(segment.getDestSwitchId()))
+                    .destPort(segment.getDestPort())
+                    .build());
+        }
+        flowPath.setSegments(segments);
+        return flowPath;
+    }
+}
@@ -0,0 +1,155 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmarks;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * A generated network: switches and bidirectional ISLs between them with random cost, latency and available
+ * bandwidth.
+ */
+public final class Topology {
+    private static final long MAX_BANDWIDTH = 10_000_000;
+
+    private final Random random;
+    private final List<Switch> switches = new ArrayList<>();
+    private final List<Isl> isls = new ArrayList<>();
+    private final List<List<Integer>> neighbours = new ArrayList<>();
+    private final List<Integer> lastPorts = new ArrayList<>();
+
+    Topology(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Generates a topology of the shape.
+     */
+    public static Topology generate(TopologyShape shape, int switchCount, long seed) {
+        Topology topology = new Topology(new Random(seed));
+        shape.build(topology, switchCount);
+        return topology;
+    }
+
+    /**
+     * Adds a switch located in the PoP.
+     *
+     * @return the index of the switch.
+     */
+    int addSwitch(String pop) {
+        int index = switches.size();
+        switches.add(Switch.builder()
+                .switchId(new SwitchId(index + 1))
+                .pop(pop)
+                .build());
+        neighbours.add(new ArrayList<>());
+        lastPorts.add(0);
+        return index;
+    }
+
+    /**
+     * Connects two switches with a pair of ISLs.
+     */
+    void connect(int first, int second) {
+        int firstPort = nextPort(first);
+        int secondPort = nextPort(second);
+        int cost = 100 + random.nextInt(900);
+        long latency = (1 + random.nextInt(100)) * 1_000_000L;
+        isls.add(buildIsl(switches.get(first), firstPort, switches.get(second), secondPort, cost, latency));
+        isls.add(buildIsl(switches.get(second), secondPort, switches.get(first), firstPort, cost, latency));
+        neighbours.get(first).add(second);
+        neighbours.get(second).add(first);
+    }
+
+    private int nextPort(int sw) {
+        int port = lastPorts.get(sw) + 1;
+        lastPorts.set(sw, port);
+        return port;
+    }
+
+    private Isl buildIsl(Switch src, int srcPort, Switch dst, int dstPort, int cost, long latency) {
+        Isl isl = Isl.builder()
+                .srcSwitch(src)
+                .srcPort(srcPort)
+                .destSwitch(dst)
+                .destPort(dstPort)
+                .status(IslStatus.ACTIVE)
+                .cost(cost)
+                .latency(latency)
+                .maxBandwidth(MAX_BANDWIDTH)
+                .availableBandwidth(MAX_BANDWIDTH / 10 + (long) (random.nextDouble() * MAX_BANDWIDTH * 9 / 10))
+                .build();
+        isl.setIslConfig(IslConfig.builder().unstableIslTimeout(Duration.ofMinutes(1)).build());
+        return isl;
+    }
+
+    /**
+     * Picks a random switch which is at most {@code maxHops} hops away from the switch, so a path between them can
+     * be found within the allowed depth.
+     *
+     * @return the index of the picked switch or {@code -1} if the switch has no neighbours.
+     */
+    int pickReachableSwitch(int from, int maxHops) {
+        int[] hops = new int[switches.size()];
+        Arrays.fill(hops, -1);
+        hops[from] = 0;
+        List<Integer> reachable = new ArrayList<>();
+        Queue<Integer> queue = new ArrayDeque<>();
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            int current = queue.remove();
+            if (hops[current] == maxHops) {
+                continue;
+            }
+            for (int neighbour : neighbours.get(current)) {
+                if (hops[neighbour] < 0) {
+                    hops[neighbour] = hops[current] + 1;
+                    reachable.add(neighbour);
+                    queue.add(neighbour);
+                }
+            }
+        }
+        return reachable.isEmpty() ? -1 : reachable.get(random.nextInt(reachable.size()));
+    }
+
+    Random getRandom() {
+        return random;
+    }
+
+    public int getSwitchCount() {
+        return switches.size();
+    }
+
+    public Switch getSwitch(int index) {
+        return switches.get(index);
+    }
+
+    public List<Isl> getIsls() {
+        return Collections.unmodifiableList(isls);
+    }
+}
@@ -0,0 +1,114 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmarks;
+
+public enum TopologyShape {
+    /**
+     * Three tier fat-tree: pods of k/2 edge and k/2 aggregation switches connected to each other, aggregation
+     * switches are connected to (k/2)^2 core switches. The radix k is limited to 16, so bigger networks are built
+     * of more pods with an oversubscribed core. The switch count is rounded down to whole pods.
+     */
+    FAT_TREE {
+        @Override
+        void build(Topology topology, int switchCount) {
+            int radix = 4;
+            while (radix < 16 && 5 * (radix + 2) * (radix + 2) / 4 <= switchCount) {
+                radix += 2;
+            }
+            int half = radix / 2;
+
+            int[] core = new int[half * half];
+            for (int i = 0; i < core.length; i++) {
+                core[i] = topology.addSwitch("core");
+            }
+            int pods = Math.max(1, (switchCount - core.length) / radix);
+            for (int pod = 0; pod < pods; pod++) {
+                String pop = "pod" + pod;
+                int[] aggregation = new int[half];
+                for (int i = 0; i < half; i++) {
+                    aggregation[i] = topology.addSwitch(pop);
+                    for (int j = 0; j < half; j++) {
+                        topology.connect(aggregation[i], core[i * half + j]);
+                    }
+                }
+                for (int i = 0; i < half; i++) {
+                    int edge = topology.addSwitch(pop);
+                    for (int agg : aggregation) {
+                        topology.connect(edge, agg);
+                    }
+                }
+            }
+        }
+    },
+
+    /**
+     * Access rings of about sqrt(N) switches, each attached by two switches to a core ring.
+     */
+    RING_OF_RINGS {
+        @Override
+        void build(Topology topology, int switchCount) {
+            int ringSize = Math.max(3, (int) Math.round(Math.sqrt(switchCount)));
+            int rings = Math.max(1, switchCount / ringSize);
+
+            int[] gateways = new int[rings * 2];
+            for (int ring = 0; ring < rings; ring++) {
+                String pop = "ring" + ring;
+                int first = topology.addSwitch(pop);
+                int previous = first;
+                for (int i = 1; i < ringSize; i++) {
+                    int current = topology.addSwitch(pop);
+                    topology.connect(previous, current);
+                    previous = current;
+                    if (i == ringSize / 2) {
+                        gateways[ring * 2 + 1] = current;
+                    }
+                }
+                topology.connect(previous, first);
+                gateways[ring * 2] = first;
+            }
+            if (rings > 1) {
+                for (int i = 0; i < gateways.length; i++) {
+                    topology.connect(gateways[i], gateways[(i + 1) % gateways.length]);
+                }
+            }
+        }
+    },
+
+    /**
+     * Random spanning tree with the same number of random links added, so the average degree is about 4.
+     */
+    RANDOM_MESH {
+        @Override
+        void build(Topology topology, int switchCount) {
+            int pops = Math.max(1, switchCount / 50);
+            for (int i = 0; i < switchCount; i++) {
+                int sw = topology.addSwitch("pop" + topology.getRandom().nextInt(pops));
+                if (i > 0) {
+                    topology.connect(sw, topology.getRandom().nextInt(i));
+                }
+            }
+            for (int i = 0; i < switchCount; i++) {
+                int first = topology.getRandom().nextInt(switchCount);
+                int second = topology.getRandom().nextInt(switchCount);
+                if (first != second) {
+                    topology.connect(first, second);
+                }
+            }
+        }
+    };
+
+    abstract void build(Topology topology, int switchCount);
+}
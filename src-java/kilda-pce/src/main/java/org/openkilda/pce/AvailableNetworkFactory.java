@@ -16,24 +16,44 @@
 package org.openkilda.pce;
 
 import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.Isl;
 import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.SwitchId;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.CompactGraph;
+import org.openkilda.pce.impl.CompactNetwork;
+import org.openkilda.pce.impl.TopologySnapshot;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 
+import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * A factory for {@link AvailableNetwork} instances.
+ * A factory for {@link AvailableNetwork} and {@link CompactNetwork} instances.
+ * <p/>
+ * If {@link PathComputerConfig#getNetworkSnapshotTtlSeconds()} is set, active ISLs are kept in per encapsulation
+ * type {@link TopologySnapshot}s, which are updated by committed ISL bandwidth changes and failures reported by the
+ * caller and reloaded from the repository once they become stale. ISLs invalidated by the caller are reloaded one by
+ * one. {@link CompactNetwork}s are views over the {@link CompactGraph} of such a snapshot, so they are available only
+ * if the snapshot is enabled.
+ * <p/>
+ * The snapshots are shared by all factories in the JVM, so the workers of a topology see the changes reported by each
+ * other. Changes made in other JVMs are seen once the snapshot is reloaded or the changed ISL is invalidated.
  */
 @Slf4j
 public class AvailableNetworkFactory {
@@ -41,10 +61,39 @@ public class AvailableNetworkFactory {
     private IslRepository islRepository;
     private FlowPathRepository flowPathRepository;
 
+    /**
+     * Topology snapshots shared by all factories in the JVM. Factories are created by each bolt, so snapshots per
+     * factory would see the changes made by the bolt only.
+     */
+    private static final Map<FlowEncapsulationType, TopologySnapshot> SHARED_SNAPSHOTS = new ConcurrentHashMap<>();
+
+    /**
+     * A snapshot which has no path is reloaded, as it may miss ISLs which became active, but not more often.
+     */
+    private static final Duration MIN_RELOAD_INTERVAL = Duration.ofSeconds(1);
+
+    private final Clock clock;
+    private final Map<FlowEncapsulationType, TopologySnapshot> snapshots;
+
     public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory) {
+        this(config, repositoryFactory, Clock.systemUTC(), SHARED_SNAPSHOTS);
+    }
+
+    /**
+     * Creates the factory with its own topology snapshots, which are not shared with other factories.
+     */
+    @VisibleForTesting
+    public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory, Clock clock) {
+        this(config, repositoryFactory, clock, new ConcurrentHashMap<>());
+    }
+
+    private AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory, Clock clock,
+                                    Map<FlowEncapsulationType, TopologySnapshot> snapshots) {
         this.config = config;
         this.islRepository = repositoryFactory.createIslRepository();
         this.flowPathRepository = repositoryFactory.createFlowPathRepository();
+        this.clock = clock;
+        this.snapshots = snapshots;
     }
 
     /**
@@ -76,25 +125,138 @@ public class AvailableNetworkFactory {
         if (flow.getGroupId() != null) {
             log.info("Filling AvailableNetwork diverse weighs for group with id {}", flow.getGroupId());
 
-            Collection<PathId> flowPaths = flowPathRepository.findPathIdsByFlowGroupId(flow.getGroupId());
-            if (!reusePathsResources.isEmpty()) {
-                flowPaths = flowPaths.stream()
-                        .filter(s -> !reusePathsResources.contains(s))
-                        .collect(Collectors.toList());
-            }
+            findDiversityGroupSegments(flow, reusePathsResources).forEach(segments -> {
+                network.processDiversitySegments(segments);
+                network.processDiversitySegmentsWithPop(segments);
+            });
+        }
+
+        return network;
+    }
+
+    /**
+     * Gets a {@link CompactNetwork} over the {@link CompactGraph} of the current topology snapshot. Requires the
+     * topology snapshot to be enabled, see {@link #isTopologySnapshotEnabled()}.
+     *
+     * @param flow                      the flow, for which {@link CompactNetwork} is constructing.
+     * @param reusePathsResources       reuse resources already allocated by {@param reusePathsResources} paths.
+     * @return {@link CompactNetwork} instance.
+     */
+    public CompactNetwork getCompactNetwork(Flow flow, List<PathId> reusePathsResources)
+            throws RecoverableException {
+        if (!isTopologySnapshotEnabled()) {
+            throw new IllegalStateException("CompactNetwork requires the topology snapshot to be enabled");
+        }
+
+        CompactNetwork network;
+        try {
+            network = createCompactNetwork(getTopologySnapshot(flow.getEncapsulationType()).getCompactGraph(), flow);
 
-            flowPaths.forEach(pathId ->
-                    flowPathRepository.findById(pathId)
-                            .ifPresent(flowPath -> {
-                                network.processDiversitySegments(flowPath.getSegments());
-                                network.processDiversitySegmentsWithPop(flowPath.getSegments());
-                            }));
+            if (!reusePathsResources.isEmpty() && !flow.isIgnoreBandwidth()) {
+                // ISLs occupied by the flow (take the bandwidth already occupied by the flow into account).
+                Collection<Isl> flowLinks = islRepository.findActiveAndOccupiedByFlowPathWithAvailableBandwidth(
+                        reusePathsResources, flow.getBandwidth(), flow.getEncapsulationType());
+                flowLinks.forEach(isl -> network.addLink(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                        isl.getDestSwitch().getSwitchId(), isl.getDestPort()));
+            }
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from neo4j", e);
         }
 
+        processDiversityGroupPaths(network, flow, reusePathsResources);
         return network;
     }
 
+    private CompactNetwork createCompactNetwork(CompactGraph graph, Flow flow) {
+        BuildStrategy buildStrategy = BuildStrategy.from(config.getNetworkStrategy());
+        CompactNetwork network = new CompactNetwork(graph, clock.instant());
+        if (flow.isIgnoreBandwidth()) {
+            network.addAllLinks();
+        } else if (buildStrategy == BuildStrategy.COST || buildStrategy == BuildStrategy.SYMMETRIC_COST) {
+            network.addLinksWithAvailableBandwidth(flow.getBandwidth(), buildStrategy == BuildStrategy.SYMMETRIC_COST);
+        } else {
+            throw new UnsupportedOperationException(String.format("Unsupported buildStrategy type %s", buildStrategy));
+        }
+        return network;
+    }
+
+    private void processDiversityGroupPaths(CompactNetwork network, Flow flow, List<PathId> excludedPaths) {
+        if (flow.getGroupId() != null) {
+            log.info("Filling CompactNetwork diverse weighs for group with id {}", flow.getGroupId());
+
+            findDiversityGroupSegments(flow, excludedPaths).forEach(segments -> {
+                network.processDiversitySegments(segments);
+                network.processDiversitySegmentsWithPop(segments);
+            });
+        }
+    }
+
+    /**
+     * Loads segments of all paths of the flow group at once, except the paths to be ignored.
+     */
+    private Collection<List<PathSegment>> findDiversityGroupSegments(Flow flow, List<PathId> excludedPaths) {
+        Map<PathId, List<PathSegment>> segments = flowPathRepository.findSegmentsByFlowGroupId(flow.getGroupId());
+        excludedPaths.forEach(segments.keySet()::remove);
+        return segments.values();
+    }
+
+    /**
+     * Applies the committed ISL available bandwidth change to the topology snapshots.
+     */
+    public void updateIslAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                            long availableBandwidth) {
+        for (TopologySnapshot snapshot : snapshots.values()) {
+            snapshot.updateAvailableBandwidth(srcSwitchId, srcPort, dstSwitchId, dstPort, availableBandwidth);
+        }
+    }
+
+    /**
+     * Removes the ISLs of the failed endpoint from the topology snapshots.
+     */
+    public void updateIslEndpointDown(SwitchId switchId, int port) {
+        for (TopologySnapshot snapshot : snapshots.values()) {
+            snapshot.removeIslsAt(switchId, port);
+        }
+    }
+
+    /**
+     * Marks the ISL in the topology snapshots as outdated, so it will be reloaded from the repository on next use.
+     */
+    public void invalidateIsl(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        for (TopologySnapshot snapshot : snapshots.values()) {
+            snapshot.invalidateIsl(srcSwitchId, srcPort, dstSwitchId, dstPort);
+        }
+    }
+
+    /**
+     * Reloads the topology snapshot after a path computation over it has found no path, as the snapshot may miss
+     * ISLs which became active. The snapshot is not reloaded if it was loaded less than {@link #MIN_RELOAD_INTERVAL}
+     * ago, so unroutable flows don't cause a reload each.
+     *
+     * @return true if the snapshot has been reloaded, so the computation may be repeated.
+     */
+    public boolean reloadTopologySnapshot(FlowEncapsulationType encapsulationType) {
+        if (!isTopologySnapshotEnabled()) {
+            return false;
+        }
+
+        Instant now = clock.instant();
+        boolean[] reloaded = new boolean[1];
+        snapshots.computeIfPresent(encapsulationType, (key, snapshot) -> {
+            if (snapshot.isStale(now, MIN_RELOAD_INTERVAL)) {
+                reloaded[0] = true;
+                return loadTopologySnapshot(encapsulationType, snapshot, now);
+            }
+            return snapshot;
+        });
+        return reloaded[0];
+    }
+
     private Collection<Isl> getAvailableIsls(BuildStrategy buildStrategy, Flow flow) {
+        if (isTopologySnapshotEnabled()) {
+            return getAvailableIslsFromSnapshot(buildStrategy, flow);
+        }
+
         if (buildStrategy == BuildStrategy.COST) {
             Collection<Isl> isls = flow.isIgnoreBandwidth()
                     ? islRepository.findAllActiveByEncapsulationType(flow.getEncapsulationType())
@@ -113,6 +275,53 @@ public class AvailableNetworkFactory {
         }
     }
 
+    private Collection<Isl> getAvailableIslsFromSnapshot(BuildStrategy buildStrategy, Flow flow) {
+        TopologySnapshot snapshot = getTopologySnapshot(flow.getEncapsulationType());
+        if (flow.isIgnoreBandwidth()) {
+            return snapshot.getIsls();
+        } else if (buildStrategy == BuildStrategy.COST) {
+            return snapshot.getIslsWithAvailableBandwidth(flow.getBandwidth());
+        } else if (buildStrategy == BuildStrategy.SYMMETRIC_COST) {
+            return snapshot.getSymmetricIslsWithAvailableBandwidth(flow.getBandwidth());
+        } else {
+            throw new UnsupportedOperationException(String.format("Unsupported buildStrategy type %s", buildStrategy));
+        }
+    }
+
+    private TopologySnapshot getTopologySnapshot(FlowEncapsulationType encapsulationType) {
+        Instant now = clock.instant();
+        Duration ttl = Duration.ofSeconds(config.getNetworkSnapshotTtlSeconds());
+
+        TopologySnapshot snapshot = snapshots.get(encapsulationType);
+        if (snapshot == null || snapshot.isStale(now, ttl)) {
+            // concurrent callers wait for a single reload
+            snapshot = snapshots.compute(encapsulationType, (key, current) ->
+                    current == null || current.isStale(now, ttl)
+                            ? loadTopologySnapshot(encapsulationType, current, now) : current);
+        }
+        snapshot.refreshInvalidatedIsls(islRepository);
+        return snapshot;
+    }
+
+    private TopologySnapshot loadTopologySnapshot(FlowEncapsulationType encapsulationType, TopologySnapshot current,
+                                                  Instant now) {
+        Collection<Isl> isls = islRepository.findAllActiveByEncapsulationType(encapsulationType);
+        validateIslsCost(isls);
+
+        long version = current == null ? 1 : current.getVersion() + 1;
+        TopologySnapshot snapshot = TopologySnapshot.create(version, now, isls);
+        log.debug("Topology snapshot for {} has been loaded: version {}, {} ISLs",
+                encapsulationType, snapshot.getVersion(), snapshot.size());
+        return snapshot;
+    }
+
+    /**
+     * Checks whether ISLs are kept in {@link TopologySnapshot}s, so {@link CompactNetwork} can be used.
+     */
+    public boolean isTopologySnapshotEnabled() {
+        return config.getNetworkSnapshotTtlSeconds() > 0;
+    }
+
     private void validateIslsCost(Collection<Isl> isls) {
         List<String> messages = new ArrayList<>();
 
@@ -65,4 +65,22 @@ public interface PathComputer {
     List<Path> getNPaths(SwitchId srcSwitch, SwitchId dstSwitch, int count,
                          FlowEncapsulationType flowEncapsulationType, PathComputationStrategy pathComputationStrategy)
             throws RecoverableException, UnroutableFlowException;
+
+    /**
+     * Applies the ISL available bandwidth change made by the caller to the network kept in memory, if any. Must be
+     * called once the change is committed.
+     */
+    void updateIslAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                     long availableBandwidth);
+
+    /**
+     * Excludes the ISLs of the failed endpoint from the network kept in memory, if any.
+     */
+    void updateIslEndpointDown(SwitchId switchId, int port);
+
+    /**
+     * Marks the ISL in the network kept in memory, if any, as outdated, e.g. because its change is rolled back, so
+     * the next computation reloads it from the repository.
+     */
+    void invalidateIsl(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort);
 }
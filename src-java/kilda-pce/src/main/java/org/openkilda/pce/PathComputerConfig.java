@@ -44,10 +44,33 @@ public interface PathComputerConfig extends Serializable {
     @Default("100")
     int getDiversitySwitchCost();
 
+    /**
+     * Path finding algorithm, see {@link PathComputerFactory.PathFinderType}.
+     */
+    @Key("path.finder")
+    @Default("BFS")
+    String getPathFinder();
+
     @Key("network.strategy")
     @Default("COST")
     String getNetworkStrategy();
 
+    /**
+     * Number of threads to run spur searches of N best paths computation in. One means the calling thread.
+     */
+    @Key("n.paths.parallelism")
+    @Default("1")
+    int getNPathsParallelism();
+
+    /**
+     * How long the in-memory topology snapshot may be used before it's reloaded from the repository.
+     * Zero disables the snapshot, so every path computation reads ISLs from the repository. With the snapshot
+     * enabled, single paths are computed over its shared array-backed graph.
+     */
+    @Key("network.snapshot.ttl.seconds")
+    @Default("0")
+    int getNetworkSnapshotTtlSeconds();
+
     @Key("isl.cost.when.unstable")
     @Default("10000")
     int getUnstableCostRaise();
@@ -16,14 +16,28 @@
 package org.openkilda.pce;
 
 import org.openkilda.pce.finder.BestWeightAndShortestPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
 import org.openkilda.pce.impl.InMemoryPathComputer;
 
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * A factory for {@link PathComputer} instances. It provides a specific {@link PathComputer} depending on configuration
  * ({@link PathComputerConfig}).
  */
 public class PathComputerFactory {
 
+    /**
+     * Spur search pools by parallelism, shared by all factories in the JVM. Factories are created by each bolt
+     * without a lifecycle to shut a pool down, so a pool per factory would leak its threads.
+     */
+    private static final Map<Integer, ForkJoinPool> SPUR_SEARCH_POOLS = new ConcurrentHashMap<>();
+
     private PathComputerConfig config;
     private AvailableNetworkFactory availableNetworkFactory;
 
@@ -38,8 +52,52 @@ public class PathComputerFactory {
      * @return {@link PathComputer} instance
      */
     public PathComputer getPathComputer() {
-        return new InMemoryPathComputer(availableNetworkFactory,
-                new BestWeightAndShortestPathFinder(config.getMaxAllowedDepth()),
-                config);
+        return new InMemoryPathComputer(availableNetworkFactory, getPathFinder(), config, getSpurSearchPool());
+    }
+
+    /**
+     * Returns the pool shared by all path computers with the same parallelism to run spur searches of N best paths
+     * computation in, or null if they should run in the calling thread. The pool threads are daemons and are
+     * released once idle, so the pool is never shut down.
+     */
+    @VisibleForTesting
+    ForkJoinPool getSpurSearchPool() {
+        int parallelism = config.getNPathsParallelism();
+        if (parallelism <= 1) {
+            return null;
+        }
+        return SPUR_SEARCH_POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+
+    private PathFinder getPathFinder() {
+        PathFinderType type = PathFinderType.from(config.getPathFinder());
+        switch (type) {
+            case BFS:
+                return new BestWeightAndShortestPathFinder(config.getMaxAllowedDepth());
+            case DIJKSTRA:
+                return new DijkstraPathFinder(config.getMaxAllowedDepth(), getSpurSearchPool());
+            default:
+                throw new UnsupportedOperationException(String.format("Unsupported path finder type %s", type));
+        }
+    }
+
+    public enum PathFinderType {
+        /**
+         * Breadth first search, see {@link BestWeightAndShortestPathFinder}.
+         */
+        BFS,
+
+        /**
+         * Heap based search with the same results as BFS, see {@link DijkstraPathFinder}.
+         */
+        DIJKSTRA;
+
+        private static PathFinderType from(String type) {
+            try {
+                return valueOf(type.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("PathFinderType %s is not supported", type));
+            }
+        }
     }
 }
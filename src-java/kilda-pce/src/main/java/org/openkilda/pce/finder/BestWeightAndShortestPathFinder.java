@@ -61,7 +61,16 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class BestWeightAndShortestPathFinder implements PathFinder {
-    private final int allowedDepth;
+    /**
+     * The order outgoing links are visited in: by destination switch and then by ports, so the choice between
+     * parallel links of the same weight doesn't depend on the hash order of the links.
+     */
+    protected static final Comparator<Edge> LINK_ORDER = Comparator
+            .<Edge, SwitchId>comparing(edge -> edge.getDestSwitch().getSwitchId())
+            .thenComparingInt(Edge::getSrcPort)
+            .thenComparingInt(Edge::getDestPort);
+
+    protected final int allowedDepth;
 
     /**
      * Constructs the finder with the specified limit on path depth.
@@ -72,6 +81,15 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
         this.allowedDepth = allowedDepth;
     }
 
+    /**
+     * The search over {@link org.openkilda.pce.impl.CompactNetwork} follows this finder, but not its subclasses,
+     * which may change the search.
+     */
+    @Override
+    public boolean isCompactNetworkSupported() {
+        return getClass() == BestWeightAndShortestPathFinder.class;
+    }
+
     @Override
     public Pair<List<Edge>, List<Edge>> findPathInNetwork(AvailableNetwork network,
                                                           SwitchId startSwitchId, SwitchId endSwitchId,
@@ -235,7 +253,7 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
      *
      * @return An ordered list that represents the path from start to end, or an empty list
      */
-    private List<Edge> getPath(Node start, Node end, WeightFunction weightFunction) {
+    protected List<Edge> getPath(Node start, Node end, WeightFunction weightFunction) {
         long bestWeight = Long.MAX_VALUE; // Need to be long because it stores sum of ints.
         SearchNode bestPath = null;
 
@@ -279,7 +297,7 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
             // At this stage .. haven't found END, haven't gone too deep, and we are not over weight.
             // So, add the outbound isls.
             current.dstSw.getOutgoingLinks().stream()
-                    .sorted(Comparator.comparing(edge -> edge.getDestSwitch().getSwitchId()))
+                    .sorted(LINK_ORDER)
                     .forEach(edge -> toVisit.add(current.addNode(edge)));
         }
 
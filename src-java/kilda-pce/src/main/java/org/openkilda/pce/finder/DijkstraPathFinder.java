@@ -0,0 +1,254 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.WeightFunction;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Heap based implementation of {@link BestWeightAndShortestPathFinder}.
+ * <p/>
+ * The search is Dijkstra's algorithm over (switch, hops) labels, so the depth limit is respected, see
+ * {@link ShortestPathSearch}. The order of labels is (weight, hops, switch ids of the path), which is the order the
+ * breadth first search of {@link BestWeightAndShortestPathFinder} selects the path in. Parallel links are taken in
+ * the same {@link #LINK_ORDER} by both, so both finders return the same paths.
+ * <p/>
+ * N best paths are found by {@link KShortestPathsSearch}, which masks links and switches instead of removing them
+ * from the network, so spur searches may run in parallel if a {@link ForkJoinPool} is provided.
+ * <p/>
+ * Negative weights are not supported by Dijkstra's algorithm, for such networks the search falls back to
+ * {@link BestWeightAndShortestPathFinder}.
+ */
+@Slf4j
+public class DijkstraPathFinder extends BestWeightAndShortestPathFinder {
+    private final ForkJoinPool spurSearchPool;
+
+    /**
+     * Constructs the finder with the specified limit on path depth.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     */
+    public DijkstraPathFinder(int allowedDepth) {
+        this(allowedDepth, null);
+    }
+
+    /**
+     * Constructs the finder with the specified limit on path depth.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param spurSearchPool the pool to run spur searches of N best paths in, null means the calling thread.
+     */
+    public DijkstraPathFinder(int allowedDepth, ForkJoinPool spurSearchPool) {
+        super(allowedDepth);
+        this.spurSearchPool = spurSearchPool;
+    }
+
+    @Override
+    public boolean isCompactNetworkSupported() {
+        return getClass() == DijkstraPathFinder.class;
+    }
+
+    @Override
+    protected List<Edge> getPath(Node start, Node end, WeightFunction weightFunction) {
+        IndexedNetwork network = IndexedNetwork.index(start, weightFunction);
+        if (network == null) {
+            log.debug("Network has edges with negative weight, falling back to breadth first search");
+            return super.getPath(start, end, weightFunction);
+        }
+
+        Integer endIndex = network.nodeIndex.get(end);
+        if (endIndex == null) {
+            return new LinkedList<>();
+        }
+        int[] path = new ShortestPathSearch(network.offsets, network.targets, network.weights, network.ranks,
+                allowedDepth).find(0, endIndex);
+        return network.toEdges(path);
+    }
+
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(
+            AvailableNetwork availableNetwork, SwitchId startSwitchId, SwitchId endSwitchId, int count,
+            WeightFunction weightFunction) throws UnroutableFlowException {
+        Node start = availableNetwork.getSwitch(startSwitchId);
+        Node end = availableNetwork.getSwitch(endSwitchId);
+        if (start == null || end == null) {
+            throw new UnroutableFlowException(String.format("Switch %s doesn't have links with enough bandwidth",
+                    start == null ? startSwitchId : endSwitchId));
+        }
+
+        IndexedNetwork network = IndexedNetwork.index(start, weightFunction);
+        if (network == null) {
+            log.debug("Network has edges with negative weight, falling back to breadth first search");
+            return super.findNPathsBetweenSwitches(availableNetwork, startSwitchId, endSwitchId, count,
+                    weightFunction);
+        }
+
+        List<List<Edge>> result = new ArrayList<>();
+        Integer endIndex = network.nodeIndex.get(end);
+        if (endIndex == null) {
+            result.add(new ArrayList<>());
+            return result;
+        }
+        List<int[]> paths = new KShortestPathsSearch(network.offsets, network.sources, network.targets,
+                network.getReverseEdges(), network.weights, network.getAvailableBandwidth(), network.ranks, null,
+                allowedDepth, spurSearchPool).find(0, endIndex, count);
+        for (int[] path : paths) {
+            result.add(network.toEdges(path));
+        }
+        return result;
+    }
+
+    /**
+     * The part of the network reachable from the start switch in compressed sparse row form: outgoing links of a
+     * switch are sorted by destination switch id and weighted once.
+     */
+    private static final class IndexedNetwork {
+        private final Map<Node, Integer> nodeIndex = new HashMap<>();
+        private final List<Node> nodes = new ArrayList<>();
+        private final List<Edge> edges = new ArrayList<>();
+
+        private int[] offsets;
+        private int[] sources;
+        private int[] targets;
+        private long[] weights;
+        private int[] ranks;
+
+        /**
+         * Indexes the network.
+         *
+         * @return the indexed network or null if a negative weight has been met.
+         */
+        static IndexedNetwork index(Node start, WeightFunction weightFunction) {
+            IndexedNetwork network = new IndexedNetwork();
+            network.getNodeIndex(start);
+
+            IntArrayBuilder sources = new IntArrayBuilder();
+            IntArrayBuilder targets = new IntArrayBuilder();
+            IntArrayBuilder offsets = new IntArrayBuilder();
+            for (int node = 0; node < network.nodes.size(); node++) {
+                offsets.add(network.edges.size());
+                Edge[] outgoing = network.nodes.get(node).getOutgoingLinks().toArray(new Edge[0]);
+                Arrays.sort(outgoing, LINK_ORDER);
+                for (Edge edge : outgoing) {
+                    network.edges.add(edge);
+                    sources.add(node);
+                    targets.add(network.getNodeIndex(edge.getDestSwitch()));
+                }
+            }
+            offsets.add(network.edges.size());
+
+            long[] weights = new long[network.edges.size()];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = weightFunction.apply(network.edges.get(i));
+                if (weights[i] < 0) {
+                    return null;
+                }
+            }
+
+            network.offsets = offsets.toArray();
+            network.sources = sources.toArray();
+            network.targets = targets.toArray();
+            network.weights = weights;
+            network.ranks = network.getNodeRanks();
+            return network;
+        }
+
+        List<Edge> toEdges(int[] path) {
+            List<Edge> result = new LinkedList<>();
+            for (int edge : path) {
+                result.add(edges.get(edge));
+            }
+            return result;
+        }
+
+        int[] getReverseEdges() {
+            int[] result = new int[edges.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = -1;
+                Edge reverse = edges.get(i).swap();
+                for (int j = offsets[targets[i]]; j < offsets[targets[i] + 1]; j++) {
+                    if (reverse.equals(edges.get(j))) {
+                        result[i] = j;
+                        break;
+                    }
+                }
+            }
+            return result;
+        }
+
+        long[] getAvailableBandwidth() {
+            long[] result = new long[edges.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = edges.get(i).getAvailableBandwidth();
+            }
+            return result;
+        }
+
+        private int[] getNodeRanks() {
+            Integer[] order = new Integer[nodes.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(index -> nodes.get(index).getSwitchId()));
+            int[] result = new int[order.length];
+            for (int rank = 0; rank < order.length; rank++) {
+                result[order[rank]] = rank;
+            }
+            return result;
+        }
+
+        private int getNodeIndex(Node node) {
+            Integer index = nodeIndex.get(node);
+            if (index == null) {
+                index = nodes.size();
+                nodeIndex.put(node, index);
+                nodes.add(node);
+            }
+            return index;
+        }
+    }
+
+    private static final class IntArrayBuilder {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Yen's k shortest paths over a graph in compressed sparse row form (see {@link ShortestPathSearch}).
+ * <p/>
+ * The graph is never modified: links and switches removed for a spur search are masked in per-search copies of the
+ * masks, so spur searches of one iteration are independent and may run in parallel on a {@link ForkJoinPool}.
+ * The shortest path tree to the end node is computed once per query and its distances are used as lower bounds
+ * of all spur searches, which limits every spur search to the part of the graph that can still reach the end.
+ * <p/>
+ * As in {@link BestWeightAndShortestPathFinder#findNPathsBetweenSwitches}, a link is removed for a spur search
+ * together with its reverse link, and the next best path is the candidate with the most available bandwidth, then
+ * the least weight. Remaining ties are resolved by the number of hops and then by the order the candidates have
+ * been found in, so the result doesn't depend on hashing.
+ */
+public final class KShortestPathsSearch {
+    private static final int NO_EDGE = -1;
+
+    private final int[] edgeOffsets;
+    private final int[] edgeSources;
+    private final int[] edgeTargets;
+    private final int[] edgeReverse;
+    private final long[] edgeWeights;
+    private final long[] edgeBandwidth;
+    private final int[] nodeRanks;
+    private final boolean[] edgeMask;
+    private final int allowedDepth;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a search over the graph.
+     *
+     * @param edgeOffsets offsets of outgoing edges of each node, has one element more than there are nodes.
+     * @param edgeSources source node of each edge.
+     * @param edgeTargets target node of each edge.
+     * @param edgeReverse reverse edge of each edge or {@code -1}.
+     * @param edgeWeights weight of each edge.
+     * @param edgeBandwidth available bandwidth of each edge.
+     * @param nodeRanks tie-break order of nodes, null means the order of node indexes.
+     * @param edgeMask edges which may be used, null means all edges.
+     * @param allowedDepth the allowed depth for a path.
+     * @param pool the pool to run spur searches in, null means the calling thread.
+     */
+    public KShortestPathsSearch(int[] edgeOffsets, int[] edgeSources, int[] edgeTargets, int[] edgeReverse,
+                                long[] edgeWeights, long[] edgeBandwidth, int[] nodeRanks, boolean[] edgeMask,
+                                int allowedDepth, ForkJoinPool pool) {
+        this.edgeOffsets = edgeOffsets;
+        this.edgeSources = edgeSources;
+        this.edgeTargets = edgeTargets;
+        this.edgeReverse = edgeReverse;
+        this.edgeWeights = edgeWeights;
+        this.edgeBandwidth = edgeBandwidth;
+        this.nodeRanks = nodeRanks;
+        this.edgeMask = edgeMask;
+        this.allowedDepth = allowedDepth;
+        this.pool = pool;
+    }
+
+    /**
+     * Finds N (or less) best paths.
+     *
+     * @return edges of the paths, the first one is the shortest path and is empty if there is no path at all.
+     */
+    public List<int[]> find(int start, int end, int count) {
+        long[] distances = getDistancesTo(end);
+
+        ShortestPathSearch search = newSearch(distances);
+        List<int[]> bestPaths = new ArrayList<>();
+        bestPaths.add(search.find(start, end));
+
+        Set<PathKey> knownPaths = new HashSet<>();
+        knownPaths.add(new PathKey(bestPaths.get(0)));
+        Map<PathKey, int[]> candidates = new LinkedHashMap<>();
+
+        for (int k = 1; k < count; k++) {
+            int[] previous = bestPaths.get(k - 1);
+            for (int[] path : findSpurPaths(previous, bestPaths, distances)) {
+                PathKey key = new PathKey(path);
+                if (!knownPaths.contains(key)) {
+                    candidates.putIfAbsent(key, path);
+                }
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+
+            PathKey best = getBestCandidate(candidates);
+            bestPaths.add(candidates.remove(best));
+            knownPaths.add(best);
+        }
+        return bestPaths;
+    }
+
+    private List<int[]> findSpurPaths(int[] previous, List<int[]> bestPaths, long[] distances) {
+        List<int[]> result = new ArrayList<>(previous.length);
+        if (pool == null || previous.length < 2) {
+            ShortestPathSearch search = newSearch(distances);
+            for (int i = 0; i < previous.length; i++) {
+                addIfFound(result, findSpurPath(search, previous, i, bestPaths));
+            }
+        } else {
+            List<ForkJoinTask<int[]>> tasks = new ArrayList<>(previous.length);
+            for (int i = 0; i < previous.length; i++) {
+                int spurIndex = i;
+                tasks.add(pool.submit(() ->
+                        findSpurPath(newSearch(distances), previous, spurIndex, bestPaths)));
+            }
+            for (ForkJoinTask<int[]> task : tasks) {
+                addIfFound(result, task.join());
+            }
+        }
+        return result;
+    }
+
+    private static void addIfFound(List<int[]> result, int[] path) {
+        if (path != null) {
+            result.add(path);
+        }
+    }
+
+    /**
+     * Finds the path which deviates from {@code previous} at its {@code spurIndex} edge.
+     *
+     * @return the whole path or null if there is no such path.
+     */
+    private int[] findSpurPath(ShortestPathSearch search, int[] previous, int spurIndex, List<int[]> bestPaths) {
+        final int spurNode = edgeSources[previous[spurIndex]];
+
+        // Remove the links that are part of the previous shortest paths which share the same root path.
+        boolean[] edges = edgeMask != null ? edgeMask.clone() : newMask(edgeTargets.length);
+        for (int[] path : bestPaths) {
+            if (path.length > spurIndex && isSameRoot(path, previous, spurIndex)) {
+                edges[path[spurIndex]] = false;
+                int reverse = edgeReverse[path[spurIndex]];
+                if (reverse != NO_EDGE) {
+                    edges[reverse] = false;
+                }
+            }
+        }
+        // Remove the switches of the root path, so the path stays simple.
+        boolean[] nodes = newMask(edgeOffsets.length - 1);
+        for (int i = 0; i < spurIndex; i++) {
+            nodes[edgeSources[previous[i]]] = false;
+        }
+
+        search.setEdgeMask(edges);
+        search.setNodeMask(nodes);
+        int[] spurPath = search.find(spurNode, edgeTargets[previous[previous.length - 1]]);
+        if (spurPath.length == 0) {
+            return null;
+        }
+
+        int[] path = Arrays.copyOf(previous, spurIndex + spurPath.length);
+        System.arraycopy(spurPath, 0, path, spurIndex, spurPath.length);
+        return path;
+    }
+
+    private static boolean isSameRoot(int[] path, int[] other, int length) {
+        for (int i = 0; i < length; i++) {
+            if (path[i] != other[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private PathKey getBestCandidate(Map<PathKey, int[]> candidates) {
+        PathKey best = null;
+        long bestBandwidth = Long.MIN_VALUE;
+        long bestWeight = Long.MAX_VALUE;
+        int bestHops = Integer.MAX_VALUE;
+        for (Map.Entry<PathKey, int[]> entry : candidates.entrySet()) {
+            long bandwidth = Long.MAX_VALUE;
+            long weight = 0;
+            for (int edge : entry.getValue()) {
+                bandwidth = Math.min(bandwidth, edgeBandwidth[edge]);
+                weight += edgeWeights[edge];
+            }
+            int hops = entry.getValue().length;
+            if (best == null || bandwidth > bestBandwidth
+                    || (bandwidth == bestBandwidth && (weight < bestWeight
+                    || (weight == bestWeight && hops < bestHops)))) {
+                best = entry.getKey();
+                bestBandwidth = bandwidth;
+                bestWeight = weight;
+                bestHops = hops;
+            }
+        }
+        return best;
+    }
+
+    private ShortestPathSearch newSearch(long[] distances) {
+        ShortestPathSearch search = new ShortestPathSearch(edgeOffsets, edgeTargets, edgeWeights, nodeRanks,
+                allowedDepth);
+        search.setEdgeMask(edgeMask);
+        search.setLowerBounds(distances);
+        return search;
+    }
+
+    /**
+     * Computes the shortest path tree to the end node over reversed edges. Masked spur searches can only be
+     * longer, so the distances are consistent lower bounds for all of them.
+     */
+    private long[] getDistancesTo(int end) {
+        int nodeCount = edgeOffsets.length - 1;
+        int[] incomingOffsets = new int[nodeCount + 1];
+        for (int edge = 0; edge < edgeTargets.length; edge++) {
+            incomingOffsets[edgeTargets[edge] + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            incomingOffsets[node + 1] += incomingOffsets[node];
+        }
+        int[] incoming = new int[edgeTargets.length];
+        int[] position = Arrays.copyOf(incomingOffsets, nodeCount);
+        for (int edge = 0; edge < edgeTargets.length; edge++) {
+            incoming[position[edgeTargets[edge]]++] = edge;
+        }
+
+        long[] distances = new long[nodeCount];
+        Arrays.fill(distances, Long.MAX_VALUE);
+        boolean[] settled = new boolean[nodeCount];
+        NodeHeap heap = new NodeHeap(nodeCount);
+        distances[end] = 0;
+        heap.push(end, 0);
+        while (!heap.isEmpty()) {
+            int node = heap.pop();
+            if (settled[node]) {
+                continue;
+            }
+            settled[node] = true;
+            for (int i = incomingOffsets[node]; i < incomingOffsets[node + 1]; i++) {
+                int edge = incoming[i];
+                if (edgeMask != null && !edgeMask[edge]) {
+                    continue;
+                }
+                int source = edgeSources[edge];
+                long distance = distances[node] + edgeWeights[edge];
+                if (distance < distances[source]) {
+                    distances[source] = distance;
+                    heap.push(source, distance);
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static boolean[] newMask(int size) {
+        boolean[] mask = new boolean[size];
+        Arrays.fill(mask, true);
+        return mask;
+    }
+
+    /**
+     * Binary heap of nodes by distance with lazy deletion of outdated entries.
+     */
+    private static final class NodeHeap {
+        private int size;
+        private int[] nodes;
+        private long[] keys;
+
+        NodeHeap(int capacity) {
+            nodes = new int[Math.max(capacity, 1)];
+            keys = new long[nodes.length];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int node, long key) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            int position = size++;
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                nodes[position] = nodes[parent];
+                keys[position] = keys[parent];
+                position = parent;
+            }
+            nodes[position] = node;
+            keys[position] = key;
+        }
+
+        int pop() {
+            final int result = nodes[0];
+            int node = nodes[--size];
+            long key = keys[size];
+            int position = 0;
+            int half = size >>> 1;
+            while (position < half) {
+                int child = 2 * position + 1;
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= key) {
+                    break;
+                }
+                nodes[position] = nodes[child];
+                keys[position] = keys[child];
+                position = child;
+            }
+            nodes[position] = node;
+            keys[position] = key;
+            return result;
+        }
+    }
+
+    private static final class PathKey {
+        private final int[] edges;
+        private final int hash;
+
+        PathKey(int[] edges) {
+            this.edges = edges;
+            this.hash = Arrays.hashCode(edges);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof PathKey && Arrays.equals(edges, ((PathKey) o).edges);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
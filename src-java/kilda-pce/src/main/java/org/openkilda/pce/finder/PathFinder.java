@@ -46,4 +46,12 @@ public interface PathFinder {
      */
     List<List<Edge>> findNPathsBetweenSwitches(AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId,
                                                int count, WeightFunction weightFunction) throws UnroutableFlowException;
+
+    /**
+     * Whether the search over {@link org.openkilda.pce.impl.CompactNetwork} returns the same paths as the finder, so
+     * the finder may be replaced with it once the topology snapshot is enabled.
+     */
+    default boolean isCompactNetworkSupported() {
+        return false;
+    }
 }
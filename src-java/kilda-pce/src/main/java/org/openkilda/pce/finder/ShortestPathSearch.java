@@ -0,0 +1,311 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import java.util.Arrays;
+
+/**
+ * Depth limited shortest path search over a graph in compressed sparse row form: outgoing edges of node {@code n}
+ * are {@code edgeOffsets[n]} (inclusive) to {@code edgeOffsets[n + 1]} (exclusive).
+ * <p/>
+ * The search is Dijkstra's algorithm over (node, hops) labels kept in primitive arrays, every label refers to its
+ * parent label instead of copying the path. Labels are ordered by (weight, hops, ranks of the path nodes), so the
+ * result is the same as the one of the breadth first search in {@link BestWeightAndShortestPathFinder} if edges of
+ * a node are ordered by rank of their target nodes. Weights must not be negative.
+ * <p/>
+ * If lower bounds of the remaining weight to the end node are known (e.g. distances in a shortest path tree of a
+ * less restricted graph), labels are ordered by weight plus the bound, which is A* search with the same result.
+ * <p/>
+ * An instance is not thread-safe, but may be reused for several searches over the same graph.
+ */
+public final class ShortestPathSearch {
+    private static final int NO_LABEL = -1;
+    private static final int[] EMPTY_PATH = new int[0];
+
+    private final int[] edgeOffsets;
+    private final int[] edgeTargets;
+    private final long[] edgeWeights;
+    private final int[] nodeRanks;
+    private final int allowedDepth;
+
+    private boolean[] edgeMask;
+    private boolean[] nodeMask;
+    private long[] lowerBounds;
+
+    private final int[] nodeLabels;
+    private final int[] nodeSettledHops;
+
+    private int labelCount;
+    private int[] labelNode = new int[64];
+    private int[] labelHops = new int[64];
+    private long[] labelWeight = new long[64];
+    private int[] labelParent = new int[64];
+    private int[] labelEdge = new int[64];
+    private int[] labelNext = new int[64];
+    private boolean[] labelSettled = new boolean[64];
+
+    private int heapSize;
+    private int[] heapLabel = new int[64];
+    private long[] heapKey = new long[64];
+
+    /**
+     * Creates a search over the graph.
+     *
+     * @param edgeOffsets offsets of outgoing edges of each node, has one element more than there are nodes.
+     * @param edgeTargets target node of each edge.
+     * @param edgeWeights weight of each edge.
+     * @param nodeRanks tie-break order of nodes, null means the order of node indexes.
+     * @param allowedDepth the allowed depth for a path.
+     */
+    public ShortestPathSearch(int[] edgeOffsets, int[] edgeTargets, long[] edgeWeights, int[] nodeRanks,
+                              int allowedDepth) {
+        this.edgeOffsets = edgeOffsets;
+        this.edgeTargets = edgeTargets;
+        this.edgeWeights = edgeWeights;
+        this.nodeRanks = nodeRanks;
+        this.allowedDepth = allowedDepth;
+
+        int nodeCount = edgeOffsets.length - 1;
+        nodeLabels = new int[nodeCount];
+        nodeSettledHops = new int[nodeCount];
+    }
+
+    /**
+     * Restricts following searches to edges with {@code true} in the mask. Null means all edges are allowed.
+     */
+    public void setEdgeMask(boolean[] edgeMask) {
+        this.edgeMask = edgeMask;
+    }
+
+    /**
+     * Restricts following searches to nodes with {@code true} in the mask. Null means all nodes are allowed.
+     */
+    public void setNodeMask(boolean[] nodeMask) {
+        this.nodeMask = nodeMask;
+    }
+
+    /**
+     * Sets lower bounds of the weight from each node to the end node of following searches, {@code Long.MAX_VALUE}
+     * means the end node is not reachable. The bounds must be consistent: a bound of a node can't exceed the weight
+     * of an edge plus the bound of the edge target. Null means no bounds.
+     */
+    public void setLowerBounds(long[] lowerBounds) {
+        this.lowerBounds = lowerBounds;
+    }
+
+    /**
+     * Finds the path.
+     *
+     * @return edges of the path or an empty array if there is no path.
+     */
+    public int[] find(int start, int end) {
+        reset();
+        if (nodeMask != null && (!nodeMask[start] || !nodeMask[end])) {
+            return EMPTY_PATH;
+        }
+
+        if (getLowerBound(start) == Long.MAX_VALUE) {
+            return EMPTY_PATH;
+        }
+
+        addLabel(start, 0, 0L, NO_LABEL, NO_LABEL);
+        heapPush(0, getLowerBound(start));
+
+        while (heapSize > 0) {
+            long key = heapKey[0];
+            int label = heapPop();
+            int node = labelNode[label];
+            long weight = labelWeight[label];
+            if (labelSettled[label] || weight + getLowerBound(node) != key) {
+                continue; // stale heap entry
+            }
+            int hops = labelHops[label];
+            if (hops >= nodeSettledHops[node]) {
+                continue; // dominated by a label which is not heavier and not longer
+            }
+            labelSettled[label] = true;
+            nodeSettledHops[node] = hops;
+
+            if (node == end) {
+                return buildPath(label);
+            }
+            if (hops < allowedDepth) {
+                expand(label, node, hops, weight);
+            }
+        }
+        return EMPTY_PATH;
+    }
+
+    private void reset() {
+        Arrays.fill(nodeLabels, NO_LABEL);
+        Arrays.fill(nodeSettledHops, Integer.MAX_VALUE);
+        labelCount = 0;
+        heapSize = 0;
+    }
+
+    private void expand(int label, int node, int hops, long weight) {
+        for (int edge = edgeOffsets[node]; edge < edgeOffsets[node + 1]; edge++) {
+            if (edgeMask != null && !edgeMask[edge]) {
+                continue;
+            }
+            int target = edgeTargets[edge];
+            if (nodeMask != null && !nodeMask[target]) {
+                continue;
+            }
+            relax(label, edge, target, hops + 1, weight + edgeWeights[edge]);
+        }
+    }
+
+    private void relax(int parent, int edge, int target, int hops, long weight) {
+        if (hops >= nodeSettledHops[target]) {
+            return;
+        }
+        long bound = getLowerBound(target);
+        if (bound == Long.MAX_VALUE) {
+            return;
+        }
+        for (int label = nodeLabels[target]; label != NO_LABEL; label = labelNext[label]) {
+            if (labelSettled[label] || labelHops[label] != hops) {
+                continue;
+            }
+            if (labelWeight[label] < weight
+                    || (labelWeight[label] == weight && comparePaths(labelParent[label], parent) <= 0)) {
+                return;
+            }
+            // Either cheaper or the same weight with a preferable path: the label is still in the heap and
+            // has no children, so update it in place.
+            labelParent[label] = parent;
+            labelEdge[label] = edge;
+            if (labelWeight[label] != weight) {
+                labelWeight[label] = weight;
+                heapPush(label, weight + bound);
+            }
+            return;
+        }
+        int label = addLabel(target, hops, weight, parent, edge);
+        heapPush(label, weight + bound);
+    }
+
+    private long getLowerBound(int node) {
+        return lowerBounds == null ? 0L : lowerBounds[node];
+    }
+
+    /**
+     * Compares node sequences of two paths with the same number of hops.
+     */
+    private int comparePaths(int first, int second) {
+        int hops = labelHops[first];
+        int[] firstNodes = new int[hops + 1];
+        int[] secondNodes = new int[hops + 1];
+        for (int i = hops; i >= 0; i--) {
+            firstNodes[i] = labelNode[first];
+            secondNodes[i] = labelNode[second];
+            first = labelParent[first];
+            second = labelParent[second];
+        }
+        for (int i = 0; i <= hops; i++) {
+            if (firstNodes[i] != secondNodes[i]) {
+                return Integer.compare(getRank(firstNodes[i]), getRank(secondNodes[i]));
+            }
+        }
+        return 0;
+    }
+
+    private int getRank(int node) {
+        return nodeRanks == null ? node : nodeRanks[node];
+    }
+
+    private int[] buildPath(int label) {
+        int[] path = new int[labelHops[label]];
+        for (int current = label, i = path.length - 1; i >= 0; current = labelParent[current], i--) {
+            path[i] = labelEdge[current];
+        }
+        return path;
+    }
+
+    private int addLabel(int node, int hops, long weight, int parent, int edge) {
+        if (labelCount == labelNode.length) {
+            int size = labelCount * 2;
+            labelNode = Arrays.copyOf(labelNode, size);
+            labelHops = Arrays.copyOf(labelHops, size);
+            labelWeight = Arrays.copyOf(labelWeight, size);
+            labelParent = Arrays.copyOf(labelParent, size);
+            labelEdge = Arrays.copyOf(labelEdge, size);
+            labelNext = Arrays.copyOf(labelNext, size);
+            labelSettled = Arrays.copyOf(labelSettled, size);
+        }
+        int label = labelCount++;
+        labelNode[label] = node;
+        labelHops[label] = hops;
+        labelWeight[label] = weight;
+        labelParent[label] = parent;
+        labelEdge[label] = edge;
+        labelNext[label] = nodeLabels[node];
+        labelSettled[label] = false;
+        nodeLabels[node] = label;
+        return label;
+    }
+
+    private void heapPush(int label, long key) {
+        if (heapSize == heapLabel.length) {
+            heapLabel = Arrays.copyOf(heapLabel, heapSize * 2);
+            heapKey = Arrays.copyOf(heapKey, heapSize * 2);
+        }
+        int position = heapSize++;
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!isLess(label, key, heapLabel[parent], heapKey[parent])) {
+                break;
+            }
+            heapLabel[position] = heapLabel[parent];
+            heapKey[position] = heapKey[parent];
+            position = parent;
+        }
+        heapLabel[position] = label;
+        heapKey[position] = key;
+    }
+
+    private int heapPop() {
+        final int result = heapLabel[0];
+        int label = heapLabel[--heapSize];
+        long key = heapKey[heapSize];
+        int position = 0;
+        int half = heapSize >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < heapSize && isLess(heapLabel[right], heapKey[right], heapLabel[child], heapKey[child])) {
+                child = right;
+            }
+            if (!isLess(heapLabel[child], heapKey[child], label, key)) {
+                break;
+            }
+            heapLabel[position] = heapLabel[child];
+            heapKey[position] = heapKey[child];
+            position = child;
+        }
+        heapLabel[position] = label;
+        heapKey[position] = key;
+        return result;
+    }
+
+    private boolean isLess(int label, long key, int otherLabel, long otherKey) {
+        if (key != otherKey) {
+            return key < otherKey;
+        }
+        return labelHops[label] < labelHops[otherLabel];
+    }
+}
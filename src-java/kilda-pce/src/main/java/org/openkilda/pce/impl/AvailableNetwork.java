@@ -27,6 +27,8 @@ import com.google.common.annotations.VisibleForTesting;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -39,7 +41,7 @@ import java.util.Set;
  * allocation.
  */
 @Slf4j
-@ToString
+@ToString(exclude = "edgesByPop")
 public class AvailableNetwork {
     @VisibleForTesting
     final Map<SwitchId, Node> switches = new HashMap<>();
@@ -47,6 +49,12 @@ public class AvailableNetwork {
     @VisibleForTesting
     final Set<Edge> edges = new HashSet<>();
 
+    /**
+     * Edges by the PoP of their source and destination switches, so per PoP diversity weights are given without
+     * scanning the whole network.
+     */
+    private final Map<String, List<Edge>> edgesByPop = new HashMap<>();
+
     public Node getSwitch(SwitchId dpid) {
         return switches.get(dpid);
     }
@@ -72,7 +80,9 @@ public class AvailableNetwork {
                 .srcSwitch(srcSwitch)
                 .destSwitch(dstSwitch)
                 .build();
-        edges.add(edge);
+        if (edges.add(edge)) {
+            indexByPop(edge);
+        }
         boolean srcAdded = srcSwitch.getOutgoingLinks().add(edge);
         boolean dstAdded = dstSwitch.getIncomingLinks().add(edge);
         if (errorOnDuplicates && !(srcAdded && dstAdded)) {
@@ -81,6 +91,17 @@ public class AvailableNetwork {
         }
     }
 
+    private void indexByPop(Edge edge) {
+        String srcPop = edge.getSrcSwitch().getPop();
+        String dstPop = edge.getDestSwitch().getPop();
+        if (srcPop != null) {
+            edgesByPop.computeIfAbsent(srcPop, pop -> new ArrayList<>()).add(edge);
+        }
+        if (dstPop != null && !dstPop.equals(srcPop)) {
+            edgesByPop.computeIfAbsent(dstPop, pop -> new ArrayList<>()).add(edge);
+        }
+    }
+
     private Node getOrInitSwitch(final Switch sw) {
         return switches.computeIfAbsent(sw.getSwitchId(), switchId ->  Node.fromSwitch(sw));
     }
@@ -140,20 +161,15 @@ public class AvailableNetwork {
         allocatedPopSet.remove(outPop);
 
 
-        for (Edge edge : edges) {
-            String srcPop = edge.getSrcSwitch().getPop();
-            if (srcPop != null && allocatedPopSet.contains(srcPop)) {
-                edge.increaseDiversityGroupPerPopUseCounter();
-                continue;
-            }
-            String dstPop = edge.getDestSwitch().getPop();
-            if (dstPop != null && allocatedPopSet.contains(dstPop)) {
-                edge.increaseDiversityGroupPerPopUseCounter();
-                continue;
+        for (String pop : allocatedPopSet) {
+            for (Edge edge : edgesByPop.getOrDefault(pop, Collections.emptyList())) {
+                // An edge between two allocated PoPs is indexed by both, count it for its source PoP only.
+                String srcPop = edge.getSrcSwitch().getPop();
+                if (pop.equals(srcPop) || srcPop == null || !allocatedPopSet.contains(srcPop)) {
+                    edge.increaseDiversityGroupPerPopUseCounter();
+                }
             }
         }
-
-
     }
 
     /**
@@ -0,0 +1,243 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.SwitchId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compressed sparse row (CSR) representation of ISLs of a {@link TopologySnapshot}.
+ * <p/>
+ * Switches are interned to indexes in order of their switch ids, so comparison of indexes is the same as comparison
+ * of switch ids. ISLs are indexed by source switch, outgoing ISLs of switch {@code n} are {@code edgeOffsets[n]}
+ * (inclusive) to {@code edgeOffsets[n + 1]} (exclusive), ordered by destination switch and ports. ISL properties are
+ * kept in parallel primitive arrays indexed by ISL index.
+ * <p/>
+ * The graph is shared by concurrent path computations, so the structure of the graph is never modified after
+ * construction. The only changes are made in place by the owning {@link TopologySnapshot}: available bandwidth of an
+ * ISL is updated, an ISL is marked as removed. Per computation state is kept in {@link CompactNetwork}.
+ */
+public final class CompactGraph {
+    static final int NO_SWITCH = -1;
+    static final int NO_EDGE = -1;
+    static final long NOT_UNSTABLE = Long.MIN_VALUE;
+
+    private final Map<SwitchId, Integer> switchIndexes;
+    final SwitchId[] switchIds;
+    final String[] switchPops;
+
+    final int[] edgeOffsets;
+    final int[] edgeSrc;
+    final int[] edgeDst;
+    final int[] edgeSrcPort;
+    final int[] edgeDstPort;
+    final int[] edgeCost;
+    final long[] edgeLatency;
+    final long[] edgeAvailableBandwidth;
+    final boolean[] edgeRemoved;
+    final boolean[] edgeUnderMaintenance;
+    final long[] edgeUnstableUntil;
+    final int[] edgeReverse;
+    /**
+     * ISLs by the PoP of their source and destination switches.
+     */
+    final Map<String, int[]> popEdges;
+
+    private CompactGraph(Map<SwitchId, Integer> switchIndexes, SwitchId[] switchIds, String[] switchPops,
+                         int[] edgeOffsets, int[] edgeSrc, int[] edgeDst, int[] edgeSrcPort, int[] edgeDstPort,
+                         int[] edgeCost, long[] edgeLatency, long[] edgeAvailableBandwidth, boolean[] edgeRemoved,
+                         boolean[] edgeUnderMaintenance, long[] edgeUnstableUntil, int[] edgeReverse,
+                         Map<String, int[]> popEdges) {
+        this.switchIndexes = switchIndexes;
+        this.switchIds = switchIds;
+        this.switchPops = switchPops;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeSrc = edgeSrc;
+        this.edgeDst = edgeDst;
+        this.edgeSrcPort = edgeSrcPort;
+        this.edgeDstPort = edgeDstPort;
+        this.edgeCost = edgeCost;
+        this.edgeLatency = edgeLatency;
+        this.edgeAvailableBandwidth = edgeAvailableBandwidth;
+        this.edgeRemoved = edgeRemoved;
+        this.edgeUnderMaintenance = edgeUnderMaintenance;
+        this.edgeUnstableUntil = edgeUnstableUntil;
+        this.edgeReverse = edgeReverse;
+        this.popEdges = popEdges;
+    }
+
+    /**
+     * Builds the graph from the ISLs. Each ISL must have {@link org.openkilda.model.IslConfig} set.
+     */
+    public static CompactGraph build(Collection<Isl> isls) {
+        TreeMap<SwitchId, String> pops = new TreeMap<>();
+        for (Isl isl : isls) {
+            pops.put(isl.getSrcSwitch().getSwitchId(), isl.getSrcSwitch().getPop());
+            pops.put(isl.getDestSwitch().getSwitchId(), isl.getDestSwitch().getPop());
+        }
+
+        int switchCount = pops.size();
+        Map<SwitchId, Integer> switchIndexes = new HashMap<>(switchCount * 2);
+        SwitchId[] switchIds = new SwitchId[switchCount];
+        String[] switchPops = new String[switchCount];
+        int index = 0;
+        for (Map.Entry<SwitchId, String> entry : pops.entrySet()) {
+            switchIndexes.put(entry.getKey(), index);
+            switchIds[index] = entry.getKey();
+            switchPops[index] = entry.getValue();
+            index++;
+        }
+
+        Isl[] sorted = isls.toArray(new Isl[0]);
+        Arrays.sort(sorted, Comparator.<Isl>comparingInt(isl -> switchIndexes.get(isl.getSrcSwitch().getSwitchId()))
+                .thenComparingInt(isl -> switchIndexes.get(isl.getDestSwitch().getSwitchId()))
+                .thenComparingInt(Isl::getSrcPort)
+                .thenComparingInt(Isl::getDestPort));
+
+        int edgeCount = sorted.length;
+        int[] edgeOffsets = new int[switchCount + 1];
+        int[] edgeSrc = new int[edgeCount];
+        int[] edgeDst = new int[edgeCount];
+        int[] edgeSrcPort = new int[edgeCount];
+        int[] edgeDstPort = new int[edgeCount];
+        int[] edgeCost = new int[edgeCount];
+        long[] edgeLatency = new long[edgeCount];
+        long[] edgeAvailableBandwidth = new long[edgeCount];
+        boolean[] edgeUnderMaintenance = new boolean[edgeCount];
+        long[] edgeUnstableUntil = new long[edgeCount];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            Isl isl = sorted[edge];
+            edgeSrc[edge] = switchIndexes.get(isl.getSrcSwitch().getSwitchId());
+            edgeDst[edge] = switchIndexes.get(isl.getDestSwitch().getSwitchId());
+            edgeSrcPort[edge] = isl.getSrcPort();
+            edgeDstPort[edge] = isl.getDestPort();
+            edgeCost[edge] = isl.getCost();
+            edgeLatency[edge] = isl.getLatency();
+            edgeAvailableBandwidth[edge] = isl.getAvailableBandwidth();
+            edgeUnderMaintenance[edge] = isl.isUnderMaintenance();
+            edgeUnstableUntil[edge] = getUnstableUntil(isl);
+            edgeOffsets[edgeSrc[edge] + 1]++;
+        }
+        for (int sw = 0; sw < switchCount; sw++) {
+            edgeOffsets[sw + 1] += edgeOffsets[sw];
+        }
+
+        CompactGraph graph = new CompactGraph(switchIndexes, switchIds, switchPops, edgeOffsets, edgeSrc, edgeDst,
+                edgeSrcPort, edgeDstPort, edgeCost, edgeLatency, edgeAvailableBandwidth, new boolean[edgeCount],
+                edgeUnderMaintenance, edgeUnstableUntil, new int[edgeCount], indexByPop(switchPops, edgeSrc, edgeDst));
+        for (int edge = 0; edge < edgeCount; edge++) {
+            graph.edgeReverse[edge] = graph.findEdge(edgeDst[edge], edgeDstPort[edge], edgeSrc[edge],
+                    edgeSrcPort[edge]);
+        }
+        return graph;
+    }
+
+    private static Map<String, int[]> indexByPop(String[] switchPops, int[] edgeSrc, int[] edgeDst) {
+        Map<String, List<Integer>> edges = new HashMap<>();
+        for (int edge = 0; edge < edgeSrc.length; edge++) {
+            String srcPop = switchPops[edgeSrc[edge]];
+            String dstPop = switchPops[edgeDst[edge]];
+            if (srcPop != null) {
+                edges.computeIfAbsent(srcPop, pop -> new ArrayList<>()).add(edge);
+            }
+            if (dstPop != null && !dstPop.equals(srcPop)) {
+                edges.computeIfAbsent(dstPop, pop -> new ArrayList<>()).add(edge);
+            }
+        }
+
+        Map<String, int[]> result = new HashMap<>(edges.size() * 2);
+        edges.forEach((pop, list) -> result.put(pop, list.stream().mapToInt(Integer::intValue).toArray()));
+        return result;
+    }
+
+    private static long getUnstableUntil(Isl isl) {
+        if (isl.getIslConfig() == null) {
+            throw new IllegalStateException("IslConfig has not initialized.");
+        }
+        if (isl.getTimeUnstable() == null) {
+            return NOT_UNSTABLE;
+        }
+        return isl.getTimeUnstable().plus(isl.getIslConfig().getUnstableIslTimeout()).toEpochMilli();
+    }
+
+    /**
+     * Updates available bandwidth of the ISL in place, if it is in the graph.
+     */
+    void setAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                               long availableBandwidth) {
+        int edge = findEdge(srcSwitchId, srcPort, dstSwitchId, dstPort);
+        if (edge != NO_EDGE) {
+            edgeAvailableBandwidth[edge] = availableBandwidth;
+        }
+    }
+
+    /**
+     * Marks the ISL as removed, if it is in the graph. A removed ISL is never made available by
+     * {@link CompactNetwork}.
+     */
+    void removeEdge(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        int edge = findEdge(srcSwitchId, srcPort, dstSwitchId, dstPort);
+        if (edge != NO_EDGE) {
+            edgeRemoved[edge] = true;
+        }
+    }
+
+    public int getSwitchCount() {
+        return switchIds.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeSrc.length;
+    }
+
+    /**
+     * Returns the index of the switch or {@link #NO_SWITCH} if the switch has no ISLs.
+     */
+    public int getSwitchIndex(SwitchId switchId) {
+        Integer index = switchIndexes.get(switchId);
+        return index == null ? NO_SWITCH : index;
+    }
+
+    /**
+     * Returns the index of the ISL or {@link #NO_EDGE} if there is no such ISL.
+     */
+    public int findEdge(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        int src = getSwitchIndex(srcSwitchId);
+        int dst = getSwitchIndex(dstSwitchId);
+        if (src == NO_SWITCH || dst == NO_SWITCH) {
+            return NO_EDGE;
+        }
+        return findEdge(src, srcPort, dst, dstPort);
+    }
+
+    int findEdge(int src, int srcPort, int dst, int dstPort) {
+        for (int edge = edgeOffsets[src]; edge < edgeOffsets[src + 1]; edge++) {
+            if (edgeDst[edge] == dst && edgeSrcPort[edge] == srcPort && edgeDstPort[edge] == dstPort) {
+                return edge;
+            }
+        }
+        return NO_EDGE;
+    }
+}
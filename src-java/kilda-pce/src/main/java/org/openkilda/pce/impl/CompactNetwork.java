@@ -0,0 +1,301 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import static org.openkilda.pce.impl.CompactGraph.NO_EDGE;
+import static org.openkilda.pce.impl.CompactGraph.NO_SWITCH;
+
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.finder.KShortestPathsSearch;
+import org.openkilda.pce.finder.ShortestPathSearch;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The counterpart of {@link AvailableNetwork} over a shared {@link CompactGraph}: everything that is available for
+ * path allocation is marked in a mask, diversity weights are kept in primitive counters. Unlike the graph, an
+ * instance belongs to a single path computation.
+ */
+@Slf4j
+public class CompactNetwork {
+    @Getter
+    private final CompactGraph graph;
+    private final long now;
+
+    private final boolean[] edgeAvailable;
+    private final boolean[] switchAvailable;
+    private final int[] edgeDiversityCounter;
+    private final int[] edgePerPopDiversityCounter;
+    private final int[] switchDiversityCounter;
+
+    public CompactNetwork(CompactGraph graph, Instant now) {
+        this.graph = graph;
+        this.now = now.toEpochMilli();
+
+        edgeAvailable = new boolean[graph.getEdgeCount()];
+        switchAvailable = new boolean[graph.getSwitchCount()];
+        edgeDiversityCounter = new int[graph.getEdgeCount()];
+        edgePerPopDiversityCounter = new int[graph.getEdgeCount()];
+        switchDiversityCounter = new int[graph.getSwitchCount()];
+    }
+
+    /**
+     * Makes all ISLs available.
+     */
+    public void addAllLinks() {
+        for (int edge = 0; edge < edgeAvailable.length; edge++) {
+            addLink(edge);
+        }
+    }
+
+    /**
+     * Makes available ISLs with at least {@code requiredBandwidth} available, and if {@code symmetric} is set, with
+     * the reverse ISL having enough bandwidth as well.
+     */
+    public void addLinksWithAvailableBandwidth(long requiredBandwidth, boolean symmetric) {
+        long[] bandwidth = graph.edgeAvailableBandwidth;
+        for (int edge = 0; edge < edgeAvailable.length; edge++) {
+            if (bandwidth[edge] < requiredBandwidth) {
+                continue;
+            }
+            if (symmetric) {
+                int reverse = graph.edgeReverse[edge];
+                if (reverse == NO_EDGE || bandwidth[reverse] < requiredBandwidth) {
+                    continue;
+                }
+            }
+            addLink(edge);
+        }
+    }
+
+    /**
+     * Makes the ISL available, if it is in the graph.
+     */
+    public void addLink(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        int edge = graph.findEdge(srcSwitchId, srcPort, dstSwitchId, dstPort);
+        if (edge == NO_EDGE) {
+            log.debug("ISL {}_{} - {}_{} is not in the topology snapshot", srcSwitchId, srcPort, dstSwitchId, dstPort);
+            return;
+        }
+        addLink(edge);
+    }
+
+    private void addLink(int edge) {
+        if (graph.edgeRemoved[edge]) {
+            return;
+        }
+        edgeAvailable[edge] = true;
+        switchAvailable[graph.edgeSrc[edge]] = true;
+        switchAvailable[graph.edgeDst[edge]] = true;
+    }
+
+    /**
+     * Adds diversity weights based on passed path segments, see {@link AvailableNetwork#processDiversitySegments}.
+     */
+    public void processDiversitySegments(List<PathSegment> segments) {
+        for (PathSegment segment : segments) {
+            int src = getSwitchIndex(segment.getSrcSwitch().getSwitchId());
+            int dst = getSwitchIndex(segment.getDestSwitch().getSwitchId());
+            if (src == NO_SWITCH || dst == NO_SWITCH) {
+                log.debug("Diversity segment {} don't present in CompactNetwork", segment);
+                continue;
+            }
+
+            int edge = graph.findEdge(src, segment.getSrcPort(), dst, segment.getDestPort());
+            if (edge != NO_EDGE && edgeAvailable[edge]) {
+                edgeDiversityCounter[edge]++;
+                switchDiversityCounter[dst]++;
+                if (segment.getSeqId() == 0) {
+                    switchDiversityCounter[src]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds per PoP diversity weights based on passed path segments, see
+     * {@link AvailableNetwork#processDiversitySegmentsWithPop}.
+     */
+    public void processDiversitySegmentsWithPop(List<PathSegment> segments) {
+        if (segments.size() <= 1) {
+            return;
+        }
+
+        Set<String> allocatedPopSet = new HashSet<>();
+        for (PathSegment ps : segments) {
+            allocatedPopSet.add(ps.getSrcSwitch().getPop());
+            allocatedPopSet.add(ps.getDestSwitch().getPop());
+        }
+        allocatedPopSet.remove(segments.get(0).getSrcSwitch().getPop());
+        allocatedPopSet.remove(segments.get(segments.size() - 1).getDestSwitch().getPop());
+
+        for (String pop : allocatedPopSet) {
+            int[] edges = pop != null ? graph.popEdges.get(pop) : null;
+            if (edges == null) {
+                continue;
+            }
+            for (int edge : edges) {
+                // An ISL between two allocated PoPs is indexed by both, count it for its source PoP only.
+                String srcPop = graph.switchPops[graph.edgeSrc[edge]];
+                if (edgeAvailable[edge]
+                        && (pop.equals(srcPop) || srcPop == null || !allocatedPopSet.contains(srcPop))) {
+                    edgePerPopDiversityCounter[edge]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reduces the network to single (directed) links between src and dst switches: of parallel links the one with
+     * the least weight, then the least destination port, then the least source port is kept.
+     */
+    public void reduceByWeight(long[] weights) {
+        int[] offsets = graph.edgeOffsets;
+        int[] dst = graph.edgeDst;
+        for (int sw = 0; sw < switchAvailable.length; sw++) {
+            // outgoing links are ordered by destination switch, so parallel links are adjacent
+            int best = NO_EDGE;
+            for (int edge = offsets[sw]; edge < offsets[sw + 1]; edge++) {
+                if (!edgeAvailable[edge]) {
+                    continue;
+                }
+                if (best != NO_EDGE && dst[best] == dst[edge]) {
+                    if (isLess(edge, best, weights)) {
+                        edgeAvailable[best] = false;
+                        best = edge;
+                    } else {
+                        edgeAvailable[edge] = false;
+                    }
+                } else {
+                    best = edge;
+                }
+            }
+        }
+    }
+
+    private boolean isLess(int edge, int other, long[] weights) {
+        if (weights[edge] != weights[other]) {
+            return weights[edge] < weights[other];
+        }
+        if (graph.edgeDstPort[edge] != graph.edgeDstPort[other]) {
+            return graph.edgeDstPort[edge] < graph.edgeDstPort[other];
+        }
+        return graph.edgeSrcPort[edge] < graph.edgeSrcPort[other];
+    }
+
+    /**
+     * Finds the path over available ISLs.
+     *
+     * @return ISL indexes of the path or an empty array if there is no path.
+     */
+    public int[] findPath(int src, int dst, long[] weights, int allowedDepth) {
+        ShortestPathSearch search = new ShortestPathSearch(graph.edgeOffsets, graph.edgeDst, weights, null,
+                allowedDepth);
+        search.setEdgeMask(edgeAvailable);
+        return search.find(src, dst);
+    }
+
+    /**
+     * Finds N (or less) best paths over available ISLs, see {@link KShortestPathsSearch}.
+     *
+     * @param pool the pool to run spur searches in, null means the calling thread.
+     * @return ISL indexes of the paths, the first one is empty if there is no path.
+     */
+    public List<int[]> findPaths(int src, int dst, int count, long[] weights, int allowedDepth, ForkJoinPool pool) {
+        return new KShortestPathsSearch(graph.edgeOffsets, graph.edgeSrc, graph.edgeDst, graph.edgeReverse, weights,
+                graph.edgeAvailableBandwidth, null, edgeAvailable, allowedDepth, pool).find(src, dst, count);
+    }
+
+    /**
+     * Returns the index of the switch or {@code -1} if the switch has no available ISLs.
+     */
+    public int getSwitchIndex(SwitchId switchId) {
+        int index = graph.getSwitchIndex(switchId);
+        return index != NO_SWITCH && switchAvailable[index] ? index : NO_SWITCH;
+    }
+
+    /**
+     * Returns the index of the available reverse ISL or {@code -1} if there is no such ISL.
+     */
+    public int getAvailableReverseEdge(int edge) {
+        int reverse = graph.edgeReverse[edge];
+        return reverse != NO_EDGE && edgeAvailable[reverse] ? reverse : NO_EDGE;
+    }
+
+    public int getEdgeCount() {
+        return edgeAvailable.length;
+    }
+
+    public boolean isAvailable(int edge) {
+        return edgeAvailable[edge];
+    }
+
+    public SwitchId getSrcSwitchId(int edge) {
+        return graph.switchIds[graph.edgeSrc[edge]];
+    }
+
+    public int getSrcPort(int edge) {
+        return graph.edgeSrcPort[edge];
+    }
+
+    public SwitchId getDestSwitchId(int edge) {
+        return graph.switchIds[graph.edgeDst[edge]];
+    }
+
+    public int getDestPort(int edge) {
+        return graph.edgeDstPort[edge];
+    }
+
+    public int getCost(int edge) {
+        return graph.edgeCost[edge];
+    }
+
+    public long getLatency(int edge) {
+        return graph.edgeLatency[edge];
+    }
+
+    public long getAvailableBandwidth(int edge) {
+        return graph.edgeAvailableBandwidth[edge];
+    }
+
+    public boolean isUnderMaintenance(int edge) {
+        return graph.edgeUnderMaintenance[edge];
+    }
+
+    public boolean isUnstable(int edge) {
+        return graph.edgeUnstableUntil[edge] > now;
+    }
+
+    public int getDiversityGroupUseCounter(int edge) {
+        return edgeDiversityCounter[edge];
+    }
+
+    public int getDiversityGroupPerPopUseCounter(int edge) {
+        return edgePerPopDiversityCounter[edge];
+    }
+
+    public int getDestSwitchDiversityGroupUseCounter(int edge) {
+        return switchDiversityCounter[graph.edgeDst[edge]];
+    }
+}
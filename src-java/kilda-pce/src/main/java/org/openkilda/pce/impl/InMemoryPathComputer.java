@@ -38,46 +38,70 @@ import org.openkilda.pce.model.WeightFunction;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of {@link PathComputer} that operates over in-memory {@link AvailableNetwork}.
  * <p/>
- * The path finding algorithm is defined by provided {@link PathFinder}.
+ * The path finding algorithm is defined by provided {@link PathFinder}. If the topology snapshot is enabled and the
+ * finder is supported by {@link CompactNetwork}, paths are computed over it instead, which shares the
+ * {@link CompactGraph} of the snapshot with concurrent computations. Other finders search over
+ * {@link AvailableNetwork} built from the snapshot.
  */
 @Slf4j
 public class InMemoryPathComputer implements PathComputer {
     private final AvailableNetworkFactory availableNetworkFactory;
     private final PathFinder pathFinder;
     private final PathComputerConfig config;
+    private final ForkJoinPool spurSearchPool;
+    private final boolean compactNetworkEnabled;
 
     public InMemoryPathComputer(AvailableNetworkFactory availableNetworkFactory, PathFinder pathFinder,
                                 PathComputerConfig config) {
+        this(availableNetworkFactory, pathFinder, config, null);
+    }
+
+    public InMemoryPathComputer(AvailableNetworkFactory availableNetworkFactory, PathFinder pathFinder,
+                                PathComputerConfig config, ForkJoinPool spurSearchPool) {
         this.availableNetworkFactory = availableNetworkFactory;
         this.pathFinder = pathFinder;
         this.config = config;
+        this.spurSearchPool = spurSearchPool;
+
+        boolean snapshotEnabled = availableNetworkFactory.isTopologySnapshotEnabled();
+        compactNetworkEnabled = snapshotEnabled && pathFinder.isCompactNetworkSupported();
+        if (snapshotEnabled && !compactNetworkEnabled) {
+            log.warn("Path finder {} is not supported by CompactNetwork, paths are computed over AvailableNetwork",
+                    pathFinder.getClass().getName());
+        }
     }
 
     @Override
     public PathPair getPath(Flow flow, List<PathId> reusePathsResources)
             throws UnroutableFlowException, RecoverableException {
-        return getPath(availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources), flow);
-    }
-
-    private PathPair getPath(AvailableNetwork network, Flow flow) throws UnroutableFlowException {
         if (flow.isOneSwitchFlow()) {
             log.info("No path computation for one-switch flow");
-            SwitchId singleSwitchId = flow.getSrcSwitch().getSwitchId();
-            return PathPair.builder()
-                    .forward(convertToPath(singleSwitchId, singleSwitchId, emptyList()))
-                    .reverse(convertToPath(singleSwitchId, singleSwitchId, emptyList()))
-                    .build();
+            return getOneSwitchPath(flow);
+        }
+
+        try {
+            return findPath(flow, reusePathsResources);
+        } catch (UnroutableFlowException e) {
+            if (!availableNetworkFactory.reloadTopologySnapshot(flow.getEncapsulationType())) {
+                throw e;
+            }
+            log.debug("Retrying path computation for flow {} over reloaded topology snapshot", flow.getFlowId());
+            return findPath(flow, reusePathsResources);
         }
+    }
 
+    private PathPair getPath(AvailableNetwork network, Flow flow) throws UnroutableFlowException {
         WeightFunction weightFunction = getWeightFunctionByStrategy(flow.getPathComputationStrategy());
         Pair<List<Edge>, List<Edge>> biPath;
         try {
@@ -94,6 +118,80 @@ public class InMemoryPathComputer implements PathComputer {
         return convertToPathPair(flow.getSrcSwitch().getSwitchId(), flow.getDestSwitch().getSwitchId(), biPath);
     }
 
+    /**
+     * Finds the path over the {@link CompactNetwork}, with the same result as {@link PathFinder} would produce over
+     * {@link AvailableNetwork} built from the same ISLs. The reverse path is the forward one with swapped ends.
+     */
+    private PathPair getPath(CompactNetwork network, Flow flow) throws UnroutableFlowException {
+        return convertToPathPair(network, flow, findForwardPath(network, flow));
+    }
+
+    private PathPair findPath(Flow flow, List<PathId> reusePathsResources)
+            throws UnroutableFlowException, RecoverableException {
+        if (compactNetworkEnabled) {
+            return getPath(availableNetworkFactory.getCompactNetwork(flow, reusePathsResources), flow);
+        }
+        return getPath(availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources), flow);
+    }
+
+    private PathPair getOneSwitchPath(Flow flow) {
+        SwitchId singleSwitchId = flow.getSrcSwitch().getSwitchId();
+        return PathPair.builder()
+                .forward(convertToPath(singleSwitchId, singleSwitchId, emptyList()))
+                .reverse(convertToPath(singleSwitchId, singleSwitchId, emptyList()))
+                .build();
+    }
+
+    private int[] findForwardPath(CompactNetwork network, Flow flow) throws UnroutableFlowException {
+        SwitchId srcSwitchId = flow.getSrcSwitch().getSwitchId();
+        SwitchId dstSwitchId = flow.getDestSwitch().getSwitchId();
+        try {
+            int src = network.getSwitchIndex(srcSwitchId);
+            int dst = network.getSwitchIndex(dstSwitchId);
+            if (src < 0 || dst < 0) {
+                throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                        src < 0 ? srcSwitchId : dstSwitchId));
+            }
+
+            long[] weights = getWeightsByStrategy(network, flow.getPathComputationStrategy());
+            network.reduceByWeight(weights);
+
+            int[] forwardPath = network.findPath(src, dst, weights, config.getMaxAllowedDepth());
+            if (forwardPath.length == 0) {
+                throw new UnroutableFlowException(format("Can't find a path from %s to %s", srcSwitchId,
+                        dstSwitchId));
+            }
+            for (int edge : forwardPath) {
+                if (network.getAvailableReverseEdge(edge) < 0) {
+                    log.warn(format("Failed to find symmetric reverse path from %s to %s", dstSwitchId, srcSwitchId));
+                    break;
+                }
+            }
+            return forwardPath;
+        } catch (UnroutableFlowException e) {
+            String message = format("Failed to find path with requested bandwidth=%s: %s",
+                    flow.isIgnoreBandwidth() ? " ignored" : flow.getBandwidth(), e.getMessage());
+            throw new UnroutableFlowException(message, e, flow.getFlowId());
+        }
+    }
+
+    @Override
+    public void updateIslAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                            long availableBandwidth) {
+        availableNetworkFactory.updateIslAvailableBandwidth(srcSwitchId, srcPort, dstSwitchId, dstPort,
+                availableBandwidth);
+    }
+
+    @Override
+    public void updateIslEndpointDown(SwitchId switchId, int port) {
+        availableNetworkFactory.updateIslEndpointDown(switchId, port);
+    }
+
+    @Override
+    public void invalidateIsl(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        availableNetworkFactory.invalidateIsl(srcSwitchId, srcPort, dstSwitchId, dstPort);
+    }
+
     @Override
     public List<Path> getNPaths(SwitchId srcSwitchId, SwitchId dstSwitchId, int count,
                                 FlowEncapsulationType flowEncapsulationType,
@@ -108,13 +206,19 @@ public class InMemoryPathComputer implements PathComputer {
                 .bandwidth(1) // to get ISLs with non zero available bandwidth
                 .build();
 
-        AvailableNetwork availableNetwork = availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
-
-        List<List<Edge>> paths =
-                pathFinder.findNPathsBetweenSwitches(availableNetwork, srcSwitchId, dstSwitchId, count,
-                        getWeightFunctionByStrategy(pathComputationStrategy));
+        List<Path> paths;
+        if (compactNetworkEnabled) {
+            CompactNetwork network = availableNetworkFactory.getCompactNetwork(flow, Collections.emptyList());
+            paths = getNPaths(network, srcSwitchId, dstSwitchId, count, pathComputationStrategy);
+        } else {
+            AvailableNetwork availableNetwork =
+                    availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+            paths = pathFinder.findNPathsBetweenSwitches(availableNetwork, srcSwitchId, dstSwitchId, count,
+                    getWeightFunctionByStrategy(pathComputationStrategy)).stream()
+                    .map(edges -> convertToPath(srcSwitchId, dstSwitchId, edges))
+                    .collect(Collectors.toList());
+        }
         return paths.stream()
-                .map(edges -> convertToPath(srcSwitchId, dstSwitchId, edges))
                 .sorted(Comparator.comparing(Path::getMinAvailableBandwidth)
                         .reversed()
                         .thenComparing(Path::getLatency))
@@ -122,6 +226,23 @@ public class InMemoryPathComputer implements PathComputer {
                 .collect(Collectors.toList());
     }
 
+    private List<Path> getNPaths(CompactNetwork network, SwitchId srcSwitchId, SwitchId dstSwitchId, int count,
+                                 PathComputationStrategy strategy) throws UnroutableFlowException {
+        int src = network.getSwitchIndex(srcSwitchId);
+        int dst = network.getSwitchIndex(dstSwitchId);
+        if (src < 0 || dst < 0) {
+            throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                    src < 0 ? srcSwitchId : dstSwitchId));
+        }
+
+        long[] weights = getWeightsByStrategy(network, strategy);
+        List<Path> result = new ArrayList<>();
+        for (int[] path : network.findPaths(src, dst, count, weights, config.getMaxAllowedDepth(), spurSearchPool)) {
+            result.add(convertToPath(network, srcSwitchId, dstSwitchId, path, false));
+        }
+        return result;
+    }
+
     private WeightFunction getWeightFunctionByStrategy(PathComputationStrategy strategy) {
         switch (strategy) {
             case COST:
@@ -133,31 +254,72 @@ public class InMemoryPathComputer implements PathComputer {
         }
     }
 
+    private long[] getWeightsByStrategy(CompactNetwork network, PathComputationStrategy strategy) {
+        long[] weights = new long[network.getEdgeCount()];
+        for (int edge = 0; edge < weights.length; edge++) {
+            if (!network.isAvailable(edge)) {
+                continue;
+            }
+            switch (strategy) {
+                case COST:
+                    weights[edge] = weightByCost(network.getCost(edge), network.isUnderMaintenance(edge),
+                            network.isUnstable(edge), network.getDiversityGroupUseCounter(edge),
+                            network.getDiversityGroupPerPopUseCounter(edge),
+                            network.getDestSwitchDiversityGroupUseCounter(edge));
+                    break;
+                case LATENCY:
+                    weights[edge] = weightByLatency(network.getLatency(edge), network.isUnderMaintenance(edge),
+                            network.isUnstable(edge), network.getDiversityGroupUseCounter(edge),
+                            network.getDiversityGroupPerPopUseCounter(edge),
+                            network.getDestSwitchDiversityGroupUseCounter(edge));
+                    break;
+                default:
+                    throw new UnsupportedOperationException(String.format("Unsupported strategy type %s", strategy));
+            }
+        }
+        return weights;
+    }
+
     private Long weightByCost(Edge edge) {
-        long total = edge.getCost() == 0 ? config.getDefaultIslCost() : edge.getCost();
-        if (edge.isUnderMaintenance()) {
+        return weightByCost(edge.getCost(), edge.isUnderMaintenance(), edge.isUnstable(),
+                edge.getDiversityGroupUseCounter(), edge.getDiversityGroupPerPopUseCounter(),
+                edge.getDestSwitch().getDiversityGroupUseCounter());
+    }
+
+    private long weightByCost(int cost, boolean underMaintenance, boolean unstable, int diversityGroupUseCounter,
+                              int diversityGroupPerPopUseCounter, int destSwitchDiversityGroupUseCounter) {
+        long total = cost == 0 ? config.getDefaultIslCost() : cost;
+        if (underMaintenance) {
             total += config.getUnderMaintenanceCostRaise();
         }
-        if (edge.isUnstable()) {
+        if (unstable) {
             total += config.getUnstableCostRaise();
         }
-        total += edge.getDiversityGroupUseCounter() * config.getDiversityIslCost()
-                + edge.getDiversityGroupPerPopUseCounter() * config.getDiversityPopIslCost()
-                + edge.getDestSwitch().getDiversityGroupUseCounter() * config.getDiversitySwitchCost();
+        total += diversityGroupUseCounter * config.getDiversityIslCost()
+                + diversityGroupPerPopUseCounter * config.getDiversityPopIslCost()
+                + destSwitchDiversityGroupUseCounter * config.getDiversitySwitchCost();
         return total;
     }
 
     private Long weightByLatency(Edge edge) {
-        long total = edge.getLatency() <= 0 ? config.getDefaultIslLatency() : edge.getLatency();
-        if (edge.isUnderMaintenance()) {
+        return weightByLatency(edge.getLatency(), edge.isUnderMaintenance(), edge.isUnstable(),
+                edge.getDiversityGroupUseCounter(), edge.getDiversityGroupPerPopUseCounter(),
+                edge.getDestSwitch().getDiversityGroupUseCounter());
+    }
+
+    private long weightByLatency(long latency, boolean underMaintenance, boolean unstable,
+                                 int diversityGroupUseCounter, int diversityGroupPerPopUseCounter,
+                                 int destSwitchDiversityGroupUseCounter) {
+        long total = latency <= 0 ? config.getDefaultIslLatency() : latency;
+        if (underMaintenance) {
             total += config.getUnderMaintenanceLatencyRaise();
         }
-        if (edge.isUnstable()) {
+        if (unstable) {
             total += config.getUnstableLatencyRaise();
         }
-        total += edge.getDiversityGroupUseCounter() * config.getDiversityIslLatency()
-                + edge.getDiversityGroupPerPopUseCounter() * config.getDiversityPopIslCost()
-                + edge.getDestSwitch().getDiversityGroupUseCounter() * config.getDiversitySwitchLatency();
+        total += diversityGroupUseCounter * config.getDiversityIslLatency()
+                + diversityGroupPerPopUseCounter * config.getDiversityPopIslCost()
+                + destSwitchDiversityGroupUseCounter * config.getDiversitySwitchLatency();
         return total;
     }
 
@@ -169,6 +331,15 @@ public class InMemoryPathComputer implements PathComputer {
                 .build();
     }
 
+    private PathPair convertToPathPair(CompactNetwork network, Flow flow, int[] forwardPath) {
+        SwitchId srcSwitchId = flow.getSrcSwitch().getSwitchId();
+        SwitchId dstSwitchId = flow.getDestSwitch().getSwitchId();
+        return PathPair.builder()
+                .forward(convertToPath(network, srcSwitchId, dstSwitchId, forwardPath, false))
+                .reverse(convertToPath(network, dstSwitchId, srcSwitchId, forwardPath, true))
+                .build();
+    }
+
     private Path convertToPath(SwitchId srcSwitchId, SwitchId dstSwitchId, List<Edge> edges) {
         List<Path.Segment> segments = new LinkedList<>();
 
@@ -189,6 +360,41 @@ public class InMemoryPathComputer implements PathComputer {
                 .build();
     }
 
+    private Path convertToPath(CompactNetwork network, SwitchId srcSwitchId, SwitchId dstSwitchId, int[] edges,
+                               boolean reverse) {
+        List<Path.Segment> segments = new LinkedList<>();
+
+        long latency = 0L;
+        long minAvailableBandwidth = Long.MAX_VALUE;
+        for (int i = 0; i < edges.length; i++) {
+            int edge = reverse ? edges[edges.length - 1 - i] : edges[i];
+            latency += network.getLatency(edge);
+            minAvailableBandwidth = Math.min(minAvailableBandwidth, network.getAvailableBandwidth(edge));
+
+            Path.Segment.SegmentBuilder segment = Path.Segment.builder().latency(network.getLatency(edge));
+            if (reverse) {
+                segment.srcSwitchId(network.getDestSwitchId(edge))
+                        .srcPort(network.getDestPort(edge))
+                        .destSwitchId(network.getSrcSwitchId(edge))
+                        .destPort(network.getSrcPort(edge));
+            } else {
+                segment.srcSwitchId(network.getSrcSwitchId(edge))
+                        .srcPort(network.getSrcPort(edge))
+                        .destSwitchId(network.getDestSwitchId(edge))
+                        .destPort(network.getDestPort(edge));
+            }
+            segments.add(segment.build());
+        }
+
+        return Path.builder()
+                .srcSwitchId(srcSwitchId)
+                .destSwitchId(dstSwitchId)
+                .segments(segments)
+                .latency(latency)
+                .minAvailableBandwidth(minAvailableBandwidth)
+                .build();
+    }
+
     private Path.Segment convertToSegment(Edge edge) {
         return Path.Segment.builder()
                 .srcSwitchId(edge.getSrcSwitch().getSwitchId())
@@ -0,0 +1,261 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslEndpoint;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.repositories.IslRepository;
+
+import lombok.Getter;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versioned view of active ISLs that support a particular transit encapsulation type.
+ * <p/>
+ * The set of ISLs is fixed on load, ISL changes are applied in place: available bandwidth is updated, ISLs of failed
+ * endpoints are removed, and each change increases the version. Changes cost O(1) per ISL, so a snapshot is shared
+ * by concurrent path computations, each of them observes the changes made before it has taken the
+ * {@link CompactGraph}. ISLs which may be outdated, e.g. because of a rolled back change, are invalidated and
+ * reloaded from the repository one by one on next use.
+ */
+public final class TopologySnapshot {
+    @Getter
+    private final Instant loadTime;
+    private final AtomicLong version;
+    private final Map<IslKey, Isl> isls;
+    private final Map<IslEndpoint, List<IslKey>> endpointIsls;
+    private final Set<IslKey> invalidatedIsls = ConcurrentHashMap.newKeySet();
+    private CompactGraph compactGraph;
+
+    private TopologySnapshot(long version, Instant loadTime, Map<IslKey, Isl> isls,
+                             Map<IslEndpoint, List<IslKey>> endpointIsls) {
+        this.version = new AtomicLong(version);
+        this.loadTime = loadTime;
+        this.isls = isls;
+        this.endpointIsls = endpointIsls;
+    }
+
+    /**
+     * Creates a snapshot from ISLs loaded from the repository. The ISLs (and their switches) are copied, so the
+     * snapshot doesn't hold references to persistence-managed entities.
+     */
+    public static TopologySnapshot create(long version, Instant loadTime, Collection<Isl> activeIsls) {
+        Map<SwitchId, Switch> switches = new HashMap<>();
+        Map<IslKey, Isl> isls = new ConcurrentHashMap<>(activeIsls.size() * 2);
+        Map<IslEndpoint, List<IslKey>> endpointIsls = new HashMap<>(activeIsls.size() * 4);
+        for (Isl isl : activeIsls) {
+            Isl copy = isl.toBuilder()
+                    .srcSwitch(switches.computeIfAbsent(isl.getSrcSwitch().getSwitchId(),
+                            switchId -> copySwitch(isl.getSrcSwitch())))
+                    .destSwitch(switches.computeIfAbsent(isl.getDestSwitch().getSwitchId(),
+                            switchId -> copySwitch(isl.getDestSwitch())))
+                    .build();
+            copy.setIslConfig(isl.getIslConfig());
+
+            IslKey key = IslKey.of(copy);
+            isls.put(key, copy);
+            endpointIsls.computeIfAbsent(new IslEndpoint(key.srcSwitchId, key.srcPort), e -> new ArrayList<>(1))
+                    .add(key);
+            endpointIsls.computeIfAbsent(new IslEndpoint(key.dstSwitchId, key.dstPort), e -> new ArrayList<>(1))
+                    .add(key);
+        }
+        return new TopologySnapshot(version, loadTime, isls, endpointIsls);
+    }
+
+    private static Switch copySwitch(Switch sw) {
+        return Switch.builder()
+                .switchId(sw.getSwitchId())
+                .status(sw.getStatus())
+                .pop(sw.getPop())
+                .build();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public int size() {
+        return isls.size();
+    }
+
+    /**
+     * Checks whether the snapshot was loaded from the repository longer than {@code ttl} ago.
+     */
+    public boolean isStale(Instant now, Duration ttl) {
+        return !loadTime.plus(ttl).isAfter(now);
+    }
+
+    /**
+     * Returns all ISLs of the snapshot.
+     */
+    public Collection<Isl> getIsls() {
+        return Collections.unmodifiableCollection(isls.values());
+    }
+
+    /**
+     * Returns the {@link CompactGraph} of the snapshot ISLs, it is built on first use and then updated in place along
+     * with the snapshot.
+     */
+    public CompactGraph getCompactGraph() {
+        synchronized (this) {
+            if (compactGraph == null) {
+                compactGraph = CompactGraph.build(isls.values());
+            }
+            return compactGraph;
+        }
+    }
+
+    /**
+     * Returns ISLs with at least {@code requiredBandwidth} available.
+     */
+    public Collection<Isl> getIslsWithAvailableBandwidth(long requiredBandwidth) {
+        List<Isl> result = new ArrayList<>(isls.size());
+        for (Isl isl : isls.values()) {
+            if (isl.getAvailableBandwidth() >= requiredBandwidth) {
+                result.add(isl);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns ISLs with at least {@code requiredBandwidth} available in both directions.
+     */
+    public Collection<Isl> getSymmetricIslsWithAvailableBandwidth(long requiredBandwidth) {
+        List<Isl> result = new ArrayList<>(isls.size());
+        for (Map.Entry<IslKey, Isl> entry : isls.entrySet()) {
+            Isl isl = entry.getValue();
+            if (isl.getAvailableBandwidth() < requiredBandwidth) {
+                continue;
+            }
+            Isl reverse = isls.get(entry.getKey().reverse());
+            if (reverse != null && reverse.getAvailableBandwidth() >= requiredBandwidth) {
+                result.add(isl);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Updates available bandwidth of the ISL. Does nothing if the ISL is not in the snapshot.
+     */
+    public void updateAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                         long availableBandwidth) {
+        updateAvailableBandwidth(new IslKey(srcSwitchId, srcPort, dstSwitchId, dstPort), availableBandwidth);
+    }
+
+    private synchronized void updateAvailableBandwidth(IslKey key, long availableBandwidth) {
+        Isl current = isls.get(key);
+        if (current == null || current.getAvailableBandwidth() == availableBandwidth) {
+            return;
+        }
+
+        // ISLs are handed out to path computations, so the ISL is replaced rather than modified
+        Isl updated = current.toBuilder()
+                .availableBandwidth(availableBandwidth)
+                .build();
+        updated.setIslConfig(current.getIslConfig());
+        isls.put(key, updated);
+        if (compactGraph != null) {
+            compactGraph.setAvailableBandwidth(key.srcSwitchId, key.srcPort, key.dstSwitchId, key.dstPort,
+                    availableBandwidth);
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Removes the ISLs which start or end at the endpoint.
+     */
+    public void removeIslsAt(SwitchId switchId, int port) {
+        for (IslKey key : endpointIsls.getOrDefault(new IslEndpoint(switchId, port), Collections.emptyList())) {
+            removeIsl(key);
+        }
+    }
+
+    private synchronized void removeIsl(IslKey key) {
+        if (isls.remove(key) == null) {
+            return;
+        }
+        if (compactGraph != null) {
+            compactGraph.removeEdge(key.srcSwitchId, key.srcPort, key.dstSwitchId, key.dstPort);
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Marks the ISL as outdated, so it is reloaded by {@link #refreshInvalidatedIsls(IslRepository)}. Does nothing if
+     * the ISL is not in the snapshot.
+     */
+    public void invalidateIsl(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        IslKey key = new IslKey(srcSwitchId, srcPort, dstSwitchId, dstPort);
+        if (isls.containsKey(key)) {
+            invalidatedIsls.add(key);
+        }
+    }
+
+    /**
+     * Reloads the invalidated ISLs from the repository: available bandwidth of active ones is updated, others are
+     * removed.
+     */
+    public void refreshInvalidatedIsls(IslRepository islRepository) {
+        if (invalidatedIsls.isEmpty()) {
+            return;
+        }
+        for (IslKey key : new ArrayList<>(invalidatedIsls)) {
+            invalidatedIsls.remove(key);
+            Optional<Isl> isl = islRepository.findByEndpoints(key.srcSwitchId, key.srcPort, key.dstSwitchId,
+                    key.dstPort);
+            if (isl.isPresent() && isl.get().getStatus() == IslStatus.ACTIVE) {
+                updateAvailableBandwidth(key, isl.get().getAvailableBandwidth());
+            } else {
+                removeIsl(key);
+            }
+        }
+    }
+
+    @Value
+    private static class IslKey {
+        SwitchId srcSwitchId;
+        int srcPort;
+        SwitchId dstSwitchId;
+        int dstPort;
+
+        static IslKey of(Isl isl) {
+            return new IslKey(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                    isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+        }
+
+        IslKey reverse() {
+            return new IslKey(dstSwitchId, dstPort, srcSwitchId, srcPort);
+        }
+    }
+}
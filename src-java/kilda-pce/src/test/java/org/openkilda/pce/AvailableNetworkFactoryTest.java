@@ -16,17 +16,28 @@
 package org.openkilda.pce;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.CompactGraph;
+import org.openkilda.pce.impl.CompactNetwork;
 import org.openkilda.pce.model.Edge;
 import org.openkilda.pce.model.Node;
 import org.openkilda.persistence.repositories.FlowPathRepository;
@@ -38,7 +49,11 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Optional;
 
 public class AvailableNetworkFactoryTest {
 
@@ -60,7 +75,7 @@ public class AvailableNetworkFactoryTest {
         when(repositoryFactory.createIslRepository()).thenReturn(islRepository);
         when(repositoryFactory.createFlowPathRepository()).thenReturn(flowPathRepository);
 
-        availableNetworkFactory = new AvailableNetworkFactory(config, repositoryFactory);
+        availableNetworkFactory = new AvailableNetworkFactory(config, repositoryFactory, Clock.systemUTC());
     }
 
     @Test
@@ -123,6 +138,168 @@ public class AvailableNetworkFactoryTest {
         assertAvailableNetworkIsCorrect(isl, availableNetwork);
     }
 
+    @Test
+    public void shouldBuildAvailableNetworkFromTopologySnapshot() throws RecoverableException {
+        Flow flow = getFlow(false);
+        Isl isl = getIsl(flow);
+        isl.setAvailableBandwidth(1000);
+        Isl reverseIsl = getReverseIsl(isl);
+
+        when(config.getNetworkStrategy()).thenReturn("SYMMETRIC_COST");
+        when(config.getNetworkSnapshotTtlSeconds()).thenReturn(60);
+        when(islRepository.findAllActiveByEncapsulationType(flow.getEncapsulationType()))
+                .thenReturn(Arrays.asList(isl, reverseIsl));
+
+        AvailableNetwork availableNetwork = availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+        assertAvailableNetworkIsCorrect(isl, availableNetwork);
+
+        availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(flow.getEncapsulationType());
+        verify(islRepository, never()).findSymmetricActiveWithAvailableBandwidth(
+                flow.getBandwidth(), flow.getEncapsulationType());
+    }
+
+    @Test
+    public void shouldApplyIslEventsToTopologySnapshot() throws RecoverableException {
+        Flow flow = getFlow(false);
+        Isl isl = getIsl(flow);
+        isl.setAvailableBandwidth(1000);
+        Isl reverseIsl = getReverseIsl(isl);
+
+        when(config.getNetworkStrategy()).thenReturn("COST");
+        when(config.getNetworkSnapshotTtlSeconds()).thenReturn(60);
+        when(islRepository.findAllActiveByEncapsulationType(flow.getEncapsulationType()))
+                .thenReturn(Arrays.asList(isl, reverseIsl));
+
+        availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+
+        availableNetworkFactory.updateIslAvailableBandwidth(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                isl.getDestSwitch().getSwitchId(), isl.getDestPort(), flow.getBandwidth() - 1);
+        AvailableNetwork availableNetwork = availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+        assertEquals(0, availableNetwork.getSwitch(isl.getSrcSwitch().getSwitchId()).getOutgoingLinks().size());
+        assertEquals(1, availableNetwork.getSwitch(isl.getDestSwitch().getSwitchId()).getOutgoingLinks().size());
+
+        availableNetworkFactory.updateIslEndpointDown(reverseIsl.getSrcSwitch().getSwitchId(),
+                reverseIsl.getSrcPort());
+        availableNetwork = availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+        assertNull(availableNetwork.getSwitch(isl.getSrcSwitch().getSwitchId()));
+        assertNull(availableNetwork.getSwitch(isl.getDestSwitch().getSwitchId()));
+
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(flow.getEncapsulationType());
+        // the original entities must not be touched by the events
+        assertEquals(1000, isl.getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldUpdateCompactGraphInPlace() throws RecoverableException {
+        Flow flow = getFlow(false);
+        Isl isl = getIsl(flow);
+        isl.setAvailableBandwidth(1000);
+        Isl reverseIsl = getReverseIsl(isl);
+
+        when(config.getNetworkStrategy()).thenReturn("COST");
+        when(config.getNetworkSnapshotTtlSeconds()).thenReturn(60);
+        when(islRepository.findAllActiveByEncapsulationType(flow.getEncapsulationType()))
+                .thenReturn(Arrays.asList(isl, reverseIsl));
+
+        CompactGraph graph = availableNetworkFactory.getCompactNetwork(flow, Collections.emptyList()).getGraph();
+        availableNetworkFactory.updateIslAvailableBandwidth(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                isl.getDestSwitch().getSwitchId(), isl.getDestPort(), flow.getBandwidth() - 1);
+
+        CompactNetwork network = availableNetworkFactory.getCompactNetwork(flow, Collections.emptyList());
+        assertSame(graph, network.getGraph());
+        int edge = graph.findEdge(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+        assertEquals(flow.getBandwidth() - 1, network.getAvailableBandwidth(edge));
+        assertFalse(network.isAvailable(edge));
+
+        availableNetworkFactory.updateIslEndpointDown(reverseIsl.getSrcSwitch().getSwitchId(),
+                reverseIsl.getSrcPort());
+        network = availableNetworkFactory.getCompactNetwork(flow, Collections.emptyList());
+        assertSame(graph, network.getGraph());
+        assertEquals(-1, network.getSwitchIndex(isl.getSrcSwitch().getSwitchId()));
+
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(flow.getEncapsulationType());
+    }
+
+    @Test
+    public void shouldReloadInvalidatedIslOnly() throws RecoverableException {
+        Flow flow = getFlow(false);
+        Isl isl = getIsl(flow);
+        isl.setAvailableBandwidth(1000);
+        isl.setStatus(IslStatus.ACTIVE);
+        Isl reverseIsl = getReverseIsl(isl);
+
+        when(config.getNetworkStrategy()).thenReturn("COST");
+        when(config.getNetworkSnapshotTtlSeconds()).thenReturn(60);
+        when(islRepository.findAllActiveByEncapsulationType(flow.getEncapsulationType()))
+                .thenReturn(Arrays.asList(isl, reverseIsl));
+
+        availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+
+        Isl changedIsl = getIsl(flow);
+        changedIsl.setAvailableBandwidth(flow.getBandwidth() - 1);
+        changedIsl.setStatus(IslStatus.ACTIVE);
+        when(islRepository.findByEndpoints(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                isl.getDestSwitch().getSwitchId(), isl.getDestPort())).thenReturn(Optional.of(changedIsl));
+        availableNetworkFactory.invalidateIsl(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+
+        AvailableNetwork availableNetwork = availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+        assertEquals(0, availableNetwork.getSwitch(isl.getSrcSwitch().getSwitchId()).getOutgoingLinks().size());
+        assertEquals(1, availableNetwork.getSwitch(isl.getDestSwitch().getSwitchId()).getOutgoingLinks().size());
+
+        availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+        verify(islRepository, times(1)).findByEndpoints(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(flow.getEncapsulationType());
+    }
+
+    @Test
+    public void shouldReloadTopologySnapshotOnMissNotMoreOftenThanAllowed() throws RecoverableException {
+        Clock clock = mock(Clock.class);
+        Instant now = Instant.now();
+        when(clock.instant()).thenReturn(now, now, now.plusSeconds(5));
+        availableNetworkFactory = new AvailableNetworkFactory(config, repositoryFactory, clock);
+
+        when(config.getNetworkStrategy()).thenReturn("COST");
+        when(config.getNetworkSnapshotTtlSeconds()).thenReturn(60);
+        Flow flow = getFlow(false);
+        Isl isl = getIsl(flow);
+        when(islRepository.findAllActiveByEncapsulationType(flow.getEncapsulationType()))
+                .thenReturn(Collections.singletonList(isl));
+
+        availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+        assertFalse(availableNetworkFactory.reloadTopologySnapshot(flow.getEncapsulationType()));
+        assertTrue(availableNetworkFactory.reloadTopologySnapshot(flow.getEncapsulationType()));
+        verify(islRepository, times(2)).findAllActiveByEncapsulationType(flow.getEncapsulationType());
+    }
+
+    @Test
+    public void shouldReloadStaleTopologySnapshot() throws RecoverableException {
+        Flow flow = getFlow(false);
+        Isl isl = getIsl(flow);
+        isl.setAvailableBandwidth(1000);
+
+        Clock clock = mock(Clock.class);
+        Instant now = Instant.now();
+        when(clock.instant()).thenReturn(now, now.plusSeconds(30), now.plusSeconds(60));
+        availableNetworkFactory = new AvailableNetworkFactory(config, repositoryFactory, clock);
+
+        when(config.getNetworkStrategy()).thenReturn("COST");
+        when(config.getNetworkSnapshotTtlSeconds()).thenReturn(60);
+        when(islRepository.findAllActiveByEncapsulationType(flow.getEncapsulationType()))
+                .thenReturn(Collections.singletonList(isl));
+
+        availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+        availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(flow.getEncapsulationType());
+
+        availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+        verify(islRepository, times(2)).findAllActiveByEncapsulationType(flow.getEncapsulationType());
+    }
+
     private static Flow getFlow(boolean ignoreBandwidth) {
         return Flow.builder()
                 .flowId("test-id")
@@ -148,6 +325,18 @@ public class AvailableNetworkFactoryTest {
         return isl;
     }
 
+    private static Isl getReverseIsl(Isl isl) {
+        Isl reverseIsl = isl.toBuilder()
+                .srcSwitch(isl.getDestSwitch())
+                .srcPort(isl.getDestPort())
+                .destSwitch(isl.getSrcSwitch())
+                .destPort(isl.getSrcPort())
+                .availableBandwidth(1000)
+                .build();
+        reverseIsl.setIslConfig(isl.getIslConfig());
+        return reverseIsl;
+    }
+
     private static void assertAvailableNetworkIsCorrect(Isl isl, AvailableNetwork availableNetwork) {
         Node src = availableNetwork.getSwitch(isl.getSrcSwitch().getSwitchId());
         assertNotNull(src);
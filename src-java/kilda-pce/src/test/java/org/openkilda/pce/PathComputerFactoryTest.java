@@ -15,19 +15,54 @@
 
 package org.openkilda.pce;
 
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import org.openkilda.pce.impl.InMemoryPathComputer;
 
 import org.junit.Test;
 
+import java.util.concurrent.ForkJoinPool;
+
 public class PathComputerFactoryTest {
     @Test
     public void shouldCreateAnInstance() {
-        PathComputerFactory factory = new PathComputerFactory(
-                mock(PathComputerConfig.class), mock(AvailableNetworkFactory.class));
+        PathComputerConfig config = mock(PathComputerConfig.class);
+        when(config.getPathFinder()).thenReturn("BFS");
+        PathComputerFactory factory = new PathComputerFactory(config, mock(AvailableNetworkFactory.class));
+        PathComputer pathComputer = factory.getPathComputer();
+        assertTrue(pathComputer instanceof InMemoryPathComputer);
+    }
+
+    @Test
+    public void shouldCreateAnInstanceWithDijkstraPathFinder() {
+        PathComputerConfig config = mock(PathComputerConfig.class);
+        when(config.getPathFinder()).thenReturn("dijkstra");
+        PathComputerFactory factory = new PathComputerFactory(config, mock(AvailableNetworkFactory.class));
         PathComputer pathComputer = factory.getPathComputer();
         assertTrue(pathComputer instanceof InMemoryPathComputer);
     }
+
+    @Test
+    public void shouldShareSpurSearchPoolBetweenFactories() {
+        PathComputerConfig config = mock(PathComputerConfig.class);
+        when(config.getNPathsParallelism()).thenReturn(2);
+        ForkJoinPool pool = new PathComputerFactory(config, mock(AvailableNetworkFactory.class)).getSpurSearchPool();
+        assertNotNull(pool);
+        assertSame(pool, new PathComputerFactory(config, mock(AvailableNetworkFactory.class)).getSpurSearchPool());
+
+        when(config.getNPathsParallelism()).thenReturn(1);
+        assertNull(new PathComputerFactory(config, mock(AvailableNetworkFactory.class)).getSpurSearchPool());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailOnUnknownPathFinder() {
+        PathComputerConfig config = mock(PathComputerConfig.class);
+        when(config.getPathFinder()).thenReturn("unknown");
+        new PathComputerFactory(config, mock(AvailableNetworkFactory.class)).getPathComputer();
+    }
 }
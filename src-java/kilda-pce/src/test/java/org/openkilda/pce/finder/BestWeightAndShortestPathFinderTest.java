@@ -45,7 +45,7 @@ import java.util.stream.IntStream;
 public class BestWeightAndShortestPathFinderTest {
 
     private static final int ALLOWED_DEPTH = 35;
-    private static final WeightFunction WEIGHT_FUNCTION = edge -> {
+    static final WeightFunction WEIGHT_FUNCTION = edge -> {
         long total = edge.getCost();
         if (edge.isUnderMaintenance()) {
             total += 10_000;
@@ -57,12 +57,12 @@ public class BestWeightAndShortestPathFinderTest {
         return total;
     };
 
-    private static final SwitchId SWITCH_ID_A = new SwitchId("00:00:00:22:3d:5a:04:87");
-    private static final SwitchId SWITCH_ID_B = new SwitchId("00:00:70:72:cf:d2:48:6c");
-    private static final SwitchId SWITCH_ID_C = new SwitchId("00:00:00:22:3d:6c:00:b8");
-    private static final SwitchId SWITCH_ID_D = new SwitchId("00:00:00:22:3d:6b:00:04");
-    private static final SwitchId SWITCH_ID_E = new SwitchId("00:00:70:72:cf:d2:47:a6");
-    private static final SwitchId SWITCH_ID_F = new SwitchId("00:00:b0:d2:f5:00:5a:b8");
+    static final SwitchId SWITCH_ID_A = new SwitchId("00:00:00:22:3d:5a:04:87");
+    static final SwitchId SWITCH_ID_B = new SwitchId("00:00:70:72:cf:d2:48:6c");
+    static final SwitchId SWITCH_ID_C = new SwitchId("00:00:00:22:3d:6c:00:b8");
+    static final SwitchId SWITCH_ID_D = new SwitchId("00:00:00:22:3d:6b:00:04");
+    static final SwitchId SWITCH_ID_E = new SwitchId("00:00:70:72:cf:d2:47:a6");
+    static final SwitchId SWITCH_ID_F = new SwitchId("00:00:b0:d2:f5:00:5a:b8");
 
     private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
     private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
@@ -70,11 +70,15 @@ public class BestWeightAndShortestPathFinderTest {
     private static final SwitchId SWITCH_ID_4 = new SwitchId("00:00:00:00:00:00:00:04");
     private static final SwitchId SWITCH_ID_5 = new SwitchId("00:00:00:00:00:00:00:05");
 
+    BestWeightAndShortestPathFinder newPathFinder(int allowedDepth) {
+        return new BestWeightAndShortestPathFinder(allowedDepth);
+    }
+
     @Test
     public void shouldChooseExpensiveOverTooDeep() throws  UnroutableFlowException {
         AvailableNetwork network = buildLongAndExpensivePathsNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(2);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(2);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
         List<Edge> fpath = pairPath.getLeft();
@@ -91,7 +95,7 @@ public class BestWeightAndShortestPathFinderTest {
             throws  UnroutableFlowException {
         AvailableNetwork network = buildLongAndExpensivePathsNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(2);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(2);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_4, SWITCH_ID_1, WEIGHT_FUNCTION);
         List<Edge> fpath = pairPath.getLeft();
@@ -107,7 +111,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldChooseDeeperOverExpensive() throws  UnroutableFlowException {
         AvailableNetwork network = buildLongAndExpensivePathsNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(4);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(4);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
         List<Edge> fpath = pairPath.getLeft();
@@ -123,7 +127,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldChooseCheaperWithSameDepth() throws  UnroutableFlowException {
         AvailableNetwork network = buildLongAndExpensivePathsNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(3);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(3);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION);
         List<Edge> fpath = pairPath.getLeft();
@@ -135,6 +139,24 @@ public class BestWeightAndShortestPathFinderTest {
         assertEquals(SWITCH_ID_3, rpath.get(0).getDestSwitch().getSwitchId());
     }
 
+    @Test
+    public void shouldChooseParallelLinkWithLowestPorts() throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        // added in reverse order, so the choice doesn't follow the order the links are added in
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 9, 9, 100);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 5, 5, 100);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 7, 100);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 3, 100);
+
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(ALLOWED_DEPTH);
+        Pair<List<Edge>, List<Edge>> pairPath =
+                pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_2, WEIGHT_FUNCTION);
+        List<Edge> fpath = pairPath.getLeft();
+        assertThat(fpath, Matchers.hasSize(1));
+        assertEquals(1, fpath.get(0).getSrcPort());
+        assertEquals(3, fpath.get(0).getDestPort());
+    }
+
     private AvailableNetwork buildLongAndExpensivePathsNetwork() {
         /*
          *   Topology:
@@ -160,7 +182,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldFailWhenPathIsLongerThenAllowedDepth() throws UnroutableFlowException {
         AvailableNetwork network = buildTestNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(1);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(1);
         pathFinder.findPathInNetwork(network, SWITCH_ID_D, SWITCH_ID_F, WEIGHT_FUNCTION);
     }
 
@@ -168,7 +190,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldReturnTheShortestPath() throws  UnroutableFlowException {
         AvailableNetwork network = buildTestNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(ALLOWED_DEPTH);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_E, SWITCH_ID_F, WEIGHT_FUNCTION);
         List<Edge> fpath = pairPath.getLeft();
@@ -188,14 +210,14 @@ public class BestWeightAndShortestPathFinderTest {
 
         SwitchId srcDpid = new SwitchId("00:00:00:00:00:00:00:ff");
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(ALLOWED_DEPTH);
         pathFinder.findPathInNetwork(network, srcDpid, SWITCH_ID_F, WEIGHT_FUNCTION);
     }
 
     @Test
     public void testForwardAndBackwardPathsEquality() throws UnroutableFlowException {
         AvailableNetwork network = buildEqualCostsNetwork();
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(ALLOWED_DEPTH);
         Pair<List<Edge>, List<Edge>> paths =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION);
 
@@ -210,7 +232,7 @@ public class BestWeightAndShortestPathFinderTest {
         // shouldn't affect path if added once
         network.getSwitch(SWITCH_ID_A).increaseDiversityGroupUseCounter();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(ALLOWED_DEPTH);
         Pair<List<Edge>, List<Edge>> paths =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_D, SWITCH_ID_F, WEIGHT_FUNCTION);
 
@@ -220,7 +242,7 @@ public class BestWeightAndShortestPathFinderTest {
     @Test
     public void shouldFindSymmetricPath() throws UnroutableFlowException {
         AvailableNetwork network = buildLinearNetworkWithPairLinks();
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(2);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(2);
 
         Pair<List<Edge>, List<Edge>> pathPair =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_3, WEIGHT_FUNCTION);
@@ -277,7 +299,7 @@ public class BestWeightAndShortestPathFinderTest {
         // taken into account during searching of reverse path.
         AvailableNetwork network = buildNetworkWithCostInReversePathBiggerThanForward();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(ALLOWED_DEPTH);
         Pair<List<Edge>, List<Edge>> paths =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION);
 
@@ -314,7 +336,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldHandleVeryExpensiveLinks() throws  UnroutableFlowException {
         AvailableNetwork network = buildExpensiveNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(ALLOWED_DEPTH);
         Pair<List<Edge>, List<Edge>> paths =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_3, WEIGHT_FUNCTION);
 
@@ -416,7 +438,7 @@ public class BestWeightAndShortestPathFinderTest {
         // Network without unstable and under maintenance links.
         AvailableNetwork network = buildTestNetworkForVerifyIslConfig(false, false);
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(ALLOWED_DEPTH);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_A, SWITCH_ID_B, WEIGHT_FUNCTION);
         List<Edge> forwardPath = pairPath.getLeft();
@@ -503,7 +525,7 @@ public class BestWeightAndShortestPathFinderTest {
     @Test
     public void shouldFindNPath() throws  UnroutableFlowException {
         AvailableNetwork network = buildTestNetworkForTestYensAlgorithm();
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        BestWeightAndShortestPathFinder pathFinder = newPathFinder(ALLOWED_DEPTH);
         List<List<SwitchId>> expectedPaths = new ArrayList<>();
 
         expectedPaths.add(Lists.newArrayList(SWITCH_ID_A, SWITCH_ID_D, SWITCH_ID_C, SWITCH_ID_F));
@@ -567,7 +589,7 @@ public class BestWeightAndShortestPathFinderTest {
         assertEquals(expectedPaths, convertPaths(paths));
     }
 
-    private AvailableNetwork buildTestNetworkForTestYensAlgorithm() {
+    AvailableNetwork buildTestNetworkForTestYensAlgorithm() {
         /*
          *   Topology:
          *
@@ -591,7 +613,7 @@ public class BestWeightAndShortestPathFinderTest {
         return network;
     }
 
-    private List<List<SwitchId>> convertPaths(List<List<Edge>> paths) {
+    List<List<SwitchId>> convertPaths(List<List<Edge>> paths) {
         List<List<SwitchId>> convertedPaths = new ArrayList<>();
         for (List<Edge> path : paths) {
             List<SwitchId> convertedPath = new ArrayList<>();
@@ -604,7 +626,7 @@ public class BestWeightAndShortestPathFinderTest {
         return convertedPaths;
     }
 
-    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+    void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
                          int cost, int latency, Instant timeUnstable, boolean isUnderMaintenance) {
         Switch srcSwitch = Switch.builder().switchId(srcDpid).build();
         Switch dstSwitch = Switch.builder().switchId(dstDpid).build();
@@ -0,0 +1,219 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+public class DijkstraPathFinderTest extends BestWeightAndShortestPathFinderTest {
+
+    @Override
+    BestWeightAndShortestPathFinder newPathFinder(int allowedDepth) {
+        return new DijkstraPathFinder(allowedDepth);
+    }
+
+    @Test
+    public void shouldFindSamePathsAsBreadthFirstSearch() {
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            long seed = random.nextLong();
+            int switchCount = 4 + random.nextInt(20);
+            int allowedDepth = 1 + random.nextInt(8);
+            SwitchId src = new SwitchId(1 + random.nextInt(switchCount));
+            SwitchId dst = new SwitchId(1 + random.nextInt(switchCount));
+
+            AvailableNetwork expectedNetwork = buildRandomNetwork(seed, switchCount);
+            AvailableNetwork actualNetwork = buildRandomNetwork(seed, switchCount);
+
+            String message = String.format("seed %d, %d switches, depth %d, %s -> %s",
+                    seed, switchCount, allowedDepth, src, dst);
+            assertEquals(message,
+                    findPath(new BestWeightAndShortestPathFinder(allowedDepth), expectedNetwork, src, dst),
+                    findPath(new DijkstraPathFinder(allowedDepth), actualNetwork, src, dst));
+        }
+    }
+
+    @Test
+    @Override
+    public void shouldFindNPath() throws UnroutableFlowException {
+        // Candidates of the same weight are ordered by number of hops, then by the order they are found in.
+        List<List<SwitchId>> expectedPaths = Arrays.asList(
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_D, SWITCH_ID_C, SWITCH_ID_F),
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_D, SWITCH_ID_E, SWITCH_ID_F),
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_B, SWITCH_ID_D, SWITCH_ID_C, SWITCH_ID_F),
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_B, SWITCH_ID_C, SWITCH_ID_F),
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_D, SWITCH_ID_C, SWITCH_ID_E, SWITCH_ID_F),
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_D, SWITCH_ID_B, SWITCH_ID_C, SWITCH_ID_F),
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_D, SWITCH_ID_E, SWITCH_ID_C, SWITCH_ID_F),
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_B, SWITCH_ID_D, SWITCH_ID_E, SWITCH_ID_F),
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_B, SWITCH_ID_D, SWITCH_ID_C, SWITCH_ID_E, SWITCH_ID_F),
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_B, SWITCH_ID_D, SWITCH_ID_E, SWITCH_ID_C, SWITCH_ID_F),
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_B, SWITCH_ID_C, SWITCH_ID_E, SWITCH_ID_F),
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_D, SWITCH_ID_B, SWITCH_ID_C, SWITCH_ID_E, SWITCH_ID_F),
+                Arrays.asList(SWITCH_ID_A, SWITCH_ID_B, SWITCH_ID_C, SWITCH_ID_D, SWITCH_ID_E, SWITCH_ID_F));
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(35);
+        for (int count = 1; count <= expectedPaths.size(); count++) {
+            List<List<Edge>> paths = pathFinder.findNPathsBetweenSwitches(buildTestNetworkForTestYensAlgorithm(),
+                    SWITCH_ID_A, SWITCH_ID_F, count, WEIGHT_FUNCTION);
+            assertEquals(expectedPaths.subList(0, count), convertPaths(paths));
+        }
+        List<List<Edge>> paths = pathFinder.findNPathsBetweenSwitches(buildTestNetworkForTestYensAlgorithm(),
+                SWITCH_ID_A, SWITCH_ID_F, 500, WEIGHT_FUNCTION);
+        assertEquals(expectedPaths, convertPaths(paths));
+    }
+
+    @Test
+    public void shouldFindValidNPaths() throws UnroutableFlowException {
+        Random random = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            long seed = random.nextLong();
+            int switchCount = 4 + random.nextInt(10);
+            SwitchId src = new SwitchId(1);
+            SwitchId dst = new SwitchId(switchCount);
+
+            AvailableNetwork network = buildRandomNetwork(seed, switchCount);
+            if (network.getSwitch(src) == null || network.getSwitch(dst) == null) {
+                continue;
+            }
+
+            String message = String.format("seed %d, %d switches", seed, switchCount);
+            List<List<Edge>> paths = new DijkstraPathFinder(10).findNPathsBetweenSwitches(
+                    network, src, dst, 10, WEIGHT_FUNCTION);
+            assertEquals(message, findPath(new BestWeightAndShortestPathFinder(10), network, src, dst),
+                    paths.get(0).isEmpty() ? null : toStrings(paths.get(0)));
+
+            Set<List<String>> uniquePaths = new HashSet<>();
+            for (List<Edge> path : paths.subList(1, paths.size())) {
+                assertTrue(message, uniquePaths.add(toStrings(path)));
+                Set<SwitchId> visited = new HashSet<>();
+                visited.add(src);
+                SwitchId current = src;
+                for (Edge edge : path) {
+                    assertEquals(message, current, edge.getSrcSwitch().getSwitchId());
+                    current = edge.getDestSwitch().getSwitchId();
+                    assertTrue(message, visited.add(current));
+                }
+                assertEquals(message, dst, current);
+            }
+        }
+    }
+
+    @Test
+    public void shouldFindSameNPathsInParallel() throws UnroutableFlowException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(11);
+            for (int i = 0; i < 50; i++) {
+                long seed = random.nextLong();
+                int switchCount = 4 + random.nextInt(20);
+                SwitchId src = new SwitchId(1);
+                SwitchId dst = new SwitchId(switchCount);
+
+                AvailableNetwork network = buildRandomNetwork(seed, switchCount);
+                if (network.getSwitch(src) == null || network.getSwitch(dst) == null) {
+                    continue;
+                }
+
+                assertEquals(String.format("seed %d, %d switches", seed, switchCount),
+                        pathsToStrings(new DijkstraPathFinder(10).findNPathsBetweenSwitches(
+                                network, src, dst, 20, WEIGHT_FUNCTION)),
+                        pathsToStrings(new DijkstraPathFinder(10, pool).findNPathsBetweenSwitches(
+                                network, src, dst, 20, WEIGHT_FUNCTION)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldFallBackToBreadthFirstSearchOnNegativeWeights() throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        addLink(network, new SwitchId(1), new SwitchId(2), 1, 1, 10, 1, null, false);
+        addLink(network, new SwitchId(2), new SwitchId(3), 2, 1, 10, 1, null, false);
+        addLink(network, new SwitchId(1), new SwitchId(4), 2, 1, 30, 1, null, false);
+        addLink(network, new SwitchId(4), new SwitchId(3), 2, 2, -15, 1, null, false);
+
+        List<Edge> path = new DijkstraPathFinder(5).getPath(
+                network.getSwitch(new SwitchId(1)), network.getSwitch(new SwitchId(3)), WEIGHT_FUNCTION);
+
+        assertEquals(2, path.size());
+        assertEquals(new SwitchId(4), path.get(0).getDestSwitch().getSwitchId());
+    }
+
+    private List<String> findPath(BestWeightAndShortestPathFinder finder, AvailableNetwork network,
+                                  SwitchId src, SwitchId dst) {
+        try {
+            Pair<List<Edge>, List<Edge>> path = finder.findPathInNetwork(network, src, dst, WEIGHT_FUNCTION);
+            return toStrings(path.getLeft());
+        } catch (UnroutableFlowException e) {
+            return null;
+        }
+    }
+
+    private List<List<String>> pathsToStrings(List<List<Edge>> paths) {
+        List<List<String>> result = new ArrayList<>();
+        for (List<Edge> path : paths) {
+            result.add(toStrings(path));
+        }
+        return result;
+    }
+
+    private List<String> toStrings(List<Edge> path) {
+        List<String> result = new ArrayList<>();
+        for (Edge edge : path) {
+            result.add(String.format("%s_%d-%s_%d", edge.getSrcSwitch().getSwitchId(), edge.getSrcPort(),
+                    edge.getDestSwitch().getSwitchId(), edge.getDestPort()));
+        }
+        return result;
+    }
+
+    private AvailableNetwork buildRandomNetwork(long seed, int switchCount) {
+        Random random = new Random(seed);
+        AvailableNetwork network = new AvailableNetwork();
+        int linkCount = switchCount + random.nextInt(switchCount * 3);
+        for (int i = 0; i < linkCount; i++) {
+            int src = 1 + random.nextInt(switchCount);
+            int dst = 1 + random.nextInt(switchCount);
+            if (src == dst) {
+                continue;
+            }
+            // a small set of costs makes a lot of paths with equal weight
+            int cost = 1 + random.nextInt(3);
+            int port = 1 + i;
+            addLink(network, new SwitchId(src), new SwitchId(dst), port, port, cost, 1, null, false);
+            addLink(network, new SwitchId(dst), new SwitchId(src), port, port, cost, 1, null, false);
+        }
+        network.reduceByWeight(WEIGHT_FUNCTION);
+        return network;
+    }
+}
@@ -0,0 +1,430 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.PathPair;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.finder.BestWeightAndShortestPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class CompactNetworkTest {
+    private static final SwitchId SWITCH_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_2 = new SwitchId(2);
+    private static final SwitchId SWITCH_3 = new SwitchId(3);
+    private static final SwitchId SWITCH_4 = new SwitchId(4);
+    private static final String GROUP_ID = "group";
+
+    @Test
+    public void shouldInternSwitchesInSwitchIdOrder() {
+        CompactGraph graph = CompactGraph.build(Arrays.asList(
+                buildIsl(SWITCH_3, 1, SWITCH_1, 1, 10, 1000),
+                buildIsl(SWITCH_1, 1, SWITCH_3, 1, 10, 1000),
+                buildIsl(SWITCH_2, 2, SWITCH_1, 2, 10, 1000)));
+
+        assertEquals(3, graph.getSwitchCount());
+        assertEquals(3, graph.getEdgeCount());
+        assertEquals(0, graph.getSwitchIndex(SWITCH_1));
+        assertEquals(1, graph.getSwitchIndex(SWITCH_2));
+        assertEquals(2, graph.getSwitchIndex(SWITCH_3));
+        assertEquals(CompactGraph.NO_SWITCH, graph.getSwitchIndex(new SwitchId(4)));
+
+        int forward = graph.findEdge(SWITCH_1, 1, SWITCH_3, 1);
+        int reverse = graph.findEdge(SWITCH_3, 1, SWITCH_1, 1);
+        assertEquals(0, forward);
+        assertEquals(reverse, graph.edgeReverse[forward]);
+        assertEquals(forward, graph.edgeReverse[reverse]);
+        assertEquals(CompactGraph.NO_EDGE, graph.edgeReverse[graph.findEdge(SWITCH_2, 2, SWITCH_1, 2)]);
+    }
+
+    @Test
+    public void shouldUpdateGraphInPlace() {
+        CompactGraph graph = CompactGraph.build(Arrays.asList(
+                buildIsl(SWITCH_1, 1, SWITCH_2, 1, 10, 1000),
+                buildIsl(SWITCH_2, 2, SWITCH_3, 2, 10, 1000)));
+
+        graph.setAvailableBandwidth(SWITCH_1, 1, SWITCH_2, 1, 10);
+        graph.removeEdge(SWITCH_2, 2, SWITCH_3, 2);
+
+        assertEquals(10, graph.edgeAvailableBandwidth[0]);
+        CompactNetwork network = new CompactNetwork(graph, Instant.now());
+        network.addAllLinks();
+        assertTrue(network.isAvailable(0));
+        assertFalse(network.isAvailable(1));
+        assertEquals(CompactGraph.NO_SWITCH, network.getSwitchIndex(SWITCH_3));
+    }
+
+    @Test
+    public void shouldAddLinksWithAvailableBandwidth() {
+        CompactGraph graph = CompactGraph.build(Arrays.asList(
+                buildIsl(SWITCH_1, 1, SWITCH_2, 1, 10, 1000),
+                buildIsl(SWITCH_2, 1, SWITCH_1, 1, 10, 10),
+                buildIsl(SWITCH_2, 2, SWITCH_3, 2, 10, 1000)));
+
+        CompactNetwork network = new CompactNetwork(graph, Instant.now());
+        network.addLinksWithAvailableBandwidth(100, true);
+        assertEquals(CompactGraph.NO_SWITCH, network.getSwitchIndex(SWITCH_1));
+        assertEquals(CompactGraph.NO_SWITCH, network.getSwitchIndex(SWITCH_3));
+
+        network = new CompactNetwork(graph, Instant.now());
+        network.addLinksWithAvailableBandwidth(100, false);
+        assertTrue(network.isAvailable(graph.findEdge(SWITCH_1, 1, SWITCH_2, 1)));
+        assertFalse(network.isAvailable(graph.findEdge(SWITCH_2, 1, SWITCH_1, 1)));
+        assertTrue(network.isAvailable(graph.findEdge(SWITCH_2, 2, SWITCH_3, 2)));
+    }
+
+    @Test
+    public void shouldReduceByWeight() {
+        CompactGraph graph = CompactGraph.build(Arrays.asList(
+                buildIsl(SWITCH_1, 1, SWITCH_2, 1, 20, 1000),
+                buildIsl(SWITCH_1, 5, SWITCH_2, 5, 1, 1000),
+                buildIsl(SWITCH_1, 3, SWITCH_2, 2, 1, 1000),
+                buildIsl(SWITCH_1, 4, SWITCH_3, 4, 20, 1000)));
+        CompactNetwork network = new CompactNetwork(graph, Instant.now());
+        network.addAllLinks();
+
+        network.reduceByWeight(Arrays.stream(graph.edgeCost).asLongStream().toArray());
+
+        assertFalse(network.isAvailable(graph.findEdge(SWITCH_1, 1, SWITCH_2, 1)));
+        assertFalse(network.isAvailable(graph.findEdge(SWITCH_1, 5, SWITCH_2, 5)));
+        assertTrue(network.isAvailable(graph.findEdge(SWITCH_1, 3, SWITCH_2, 2)));
+        assertTrue(network.isAvailable(graph.findEdge(SWITCH_1, 4, SWITCH_3, 4)));
+    }
+
+    @Test
+    public void shouldMarkUnstableLinks() {
+        Instant now = Instant.now();
+        Isl isl = buildIsl(SWITCH_1, 1, SWITCH_2, 1, 10, 1000);
+        isl.setIslConfig(IslConfig.builder().unstableIslTimeout(Duration.ofMinutes(1)).build());
+        isl.setTimeUnstable(now.minusSeconds(30));
+        CompactGraph graph = CompactGraph.build(Collections.singletonList(isl));
+
+        assertTrue(new CompactNetwork(graph, now).isUnstable(0));
+        assertFalse(new CompactNetwork(graph, now.plusSeconds(60)).isUnstable(0));
+    }
+
+    @Test
+    public void shouldFillDiversityCounters() {
+        CompactGraph graph = CompactGraph.build(Arrays.asList(
+                buildIsl(SWITCH_1, 1, SWITCH_2, 1, 10, 1000),
+                buildIsl(SWITCH_2, 1, SWITCH_1, 1, 10, 1000),
+                buildIsl(SWITCH_2, 2, SWITCH_3, 2, 10, 1000)));
+        CompactNetwork network = new CompactNetwork(graph, Instant.now());
+        network.addAllLinks();
+
+        FlowPath flowPath = buildFlowPath(Arrays.asList(
+                buildIsl(SWITCH_1, 1, SWITCH_2, 1, 10, 1000),
+                buildIsl(SWITCH_2, 2, SWITCH_3, 2, 10, 1000)));
+        network.processDiversitySegments(flowPath.getSegments());
+
+        int first = graph.findEdge(SWITCH_1, 1, SWITCH_2, 1);
+        int second = graph.findEdge(SWITCH_2, 2, SWITCH_3, 2);
+        assertEquals(1, network.getDiversityGroupUseCounter(first));
+        assertEquals(1, network.getDiversityGroupUseCounter(second));
+        assertEquals(1, network.getDestSwitchDiversityGroupUseCounter(first));
+        assertEquals(1, network.getDestSwitchDiversityGroupUseCounter(second));
+        // the source switch of the path is counted as well
+        assertEquals(1, network.getDestSwitchDiversityGroupUseCounter(graph.findEdge(SWITCH_2, 1, SWITCH_1, 1)));
+        assertEquals(0, network.getDiversityGroupUseCounter(graph.findEdge(SWITCH_2, 1, SWITCH_1, 1)));
+    }
+
+    @Test
+    public void shouldComputeSamePathsAsAvailableNetwork() throws Exception {
+        Random random = new Random(13);
+        for (int i = 0; i < 200; i++) {
+            long seed = random.nextLong();
+            int switchCount = 3 + random.nextInt(15);
+            List<Isl> isls = buildRandomIsls(seed, switchCount);
+            if (isls.isEmpty()) {
+                continue;
+            }
+
+            Flow flow = Flow.builder()
+                    .flowId("test-flow")
+                    .srcSwitch(Switch.builder().switchId(new SwitchId(1 + random.nextInt(switchCount))).build())
+                    .destSwitch(Switch.builder().switchId(new SwitchId(1 + random.nextInt(switchCount))).build())
+                    .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                    .bandwidth(random.nextInt(1000))
+                    .ignoreBandwidth(random.nextInt(5) == 0)
+                    .pathComputationStrategy(random.nextBoolean()
+                            ? PathComputationStrategy.COST : PathComputationStrategy.LATENCY)
+                    .groupId(random.nextBoolean() ? GROUP_ID : null)
+                    .build();
+            FlowPath diversePath = buildFlowPath(isls.subList(0, Math.min(isls.size(), 3)));
+            String strategy = random.nextBoolean() ? "COST" : "SYMMETRIC_COST";
+
+            String message = String.format("seed %d, %d switches, %s", seed, switchCount, flow);
+            assertEquals(message,
+                    computePath(isls, diversePath, flow, strategy, 0),
+                    computePath(isls, diversePath, flow, strategy, 60));
+        }
+    }
+
+    @Test
+    public void shouldComputeSameNPathsAsAvailableNetwork() throws Exception {
+        Random random = new Random(17);
+        for (int i = 0; i < 200; i++) {
+            long seed = random.nextLong();
+            int switchCount = 3 + random.nextInt(15);
+            List<Isl> isls = buildRandomIsls(seed, switchCount);
+            if (isls.isEmpty()) {
+                continue;
+            }
+
+            SwitchId src = new SwitchId(1 + random.nextInt(switchCount));
+            SwitchId dst = new SwitchId(1 + random.nextInt(switchCount));
+            if (src.equals(dst)) {
+                continue;
+            }
+            Flow flow = Flow.builder()
+                    .flowId("test-flow")
+                    .srcSwitch(Switch.builder().switchId(src).build())
+                    .destSwitch(Switch.builder().switchId(dst).build())
+                    .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                    .build();
+            FlowPath diversePath = buildFlowPath(isls.subList(0, Math.min(isls.size(), 3)));
+            PathComputationStrategy strategy = random.nextBoolean()
+                    ? PathComputationStrategy.COST : PathComputationStrategy.LATENCY;
+            int count = 1 + random.nextInt(10);
+
+            String message = String.format("seed %d, %d switches, %s - %s", seed, switchCount, src, dst);
+            assertEquals(message,
+                    computeNPaths(isls, diversePath, flow, strategy, count, 0),
+                    computeNPaths(isls, diversePath, flow, strategy, count, 60));
+        }
+    }
+
+    @Test
+    public void shouldComputePathByConfiguredFinderWithTopologySnapshot() throws Exception {
+        List<Isl> isls = buildSquareIsls(100);
+        Flow flow = buildFlow("flow", 80);
+        PathFinder pathFinder = mock(PathFinder.class);
+        when(pathFinder.findPathInNetwork(any(AvailableNetwork.class), eq(SWITCH_1), eq(SWITCH_3), any()))
+                .thenReturn(Pair.of(Collections.emptyList(), Collections.emptyList()));
+
+        InMemoryPathComputer pathComputer = createPathComputer(isls, buildFlowPath(isls.subList(0, 1)), flow,
+                "COST", 60, pathFinder);
+        pathComputer.getPath(flow, Collections.emptyList());
+
+        verify(pathFinder).findPathInNetwork(any(AvailableNetwork.class), eq(SWITCH_1), eq(SWITCH_3), any());
+    }
+
+    private String computePath(List<Isl> isls, FlowPath diversePath, Flow flow, String strategy, int snapshotTtl)
+            throws Exception {
+        InMemoryPathComputer pathComputer = createPathComputer(isls, diversePath, flow, strategy, snapshotTtl,
+                new BestWeightAndShortestPathFinder(5));
+        try {
+            PathPair path = pathComputer.getPath(flow, Collections.emptyList());
+            return path.toString();
+        } catch (UnroutableFlowException e) {
+            return "unroutable";
+        }
+    }
+
+    private String computeNPaths(List<Isl> isls, FlowPath diversePath, Flow flow, PathComputationStrategy strategy,
+                                 int count, int snapshotTtl) throws Exception {
+        InMemoryPathComputer pathComputer = createPathComputer(isls, diversePath, flow, "COST", snapshotTtl,
+                new DijkstraPathFinder(5));
+        try {
+            return pathComputer.getNPaths(flow.getSrcSwitch().getSwitchId(), flow.getDestSwitch().getSwitchId(), count,
+                    flow.getEncapsulationType(), strategy).toString();
+        } catch (UnroutableFlowException e) {
+            return "unroutable";
+        }
+    }
+
+    private InMemoryPathComputer createPathComputer(List<Isl> isls, FlowPath diversePath, Flow flow, String strategy,
+                                                    int snapshotTtl, PathFinder pathFinder) {
+        PathComputerConfig config = mock(PathComputerConfig.class);
+        when(config.getNetworkStrategy()).thenReturn(strategy);
+        when(config.getNetworkSnapshotTtlSeconds()).thenReturn(snapshotTtl);
+        when(config.getMaxAllowedDepth()).thenReturn(5);
+        when(config.getDefaultIslCost()).thenReturn(700);
+        when(config.getDefaultIslLatency()).thenReturn(500_000_000L);
+        when(config.getUnderMaintenanceCostRaise()).thenReturn(10_000);
+        when(config.getUnderMaintenanceLatencyRaise()).thenReturn(10_000_000_000L);
+        when(config.getDiversityIslCost()).thenReturn(10_000);
+        when(config.getDiversityIslLatency()).thenReturn(1_000_000_000L);
+        when(config.getDiversitySwitchCost()).thenReturn(100);
+        when(config.getDiversitySwitchLatency()).thenReturn(300_000_000L);
+        when(config.getDiversityPopIslCost()).thenReturn(1000);
+
+        IslRepository islRepository = mock(IslRepository.class);
+        when(islRepository.findAllActiveByEncapsulationType(flow.getEncapsulationType())).thenReturn(isls);
+        when(islRepository.findActiveWithAvailableBandwidth(anyLong(), eq(flow.getEncapsulationType())))
+                .thenAnswer(invocation -> isls.stream()
+                        .filter(isl -> isl.getAvailableBandwidth() >= (long) invocation.getArgument(0))
+                        .collect(Collectors.toList()));
+        when(islRepository.findSymmetricActiveWithAvailableBandwidth(anyLong(), eq(flow.getEncapsulationType())))
+                .thenAnswer(invocation -> isls.stream()
+                        .filter(isl -> isl.getAvailableBandwidth() >= (long) invocation.getArgument(0)
+                                && isls.stream().anyMatch(reverse -> isReverse(isl, reverse)
+                                && reverse.getAvailableBandwidth() >= (long) invocation.getArgument(0)))
+                        .collect(Collectors.toList()));
+        FlowPathRepository flowPathRepository = mock(FlowPathRepository.class);
+        when(flowPathRepository.findSegmentsByFlowGroupId(GROUP_ID))
+                .thenAnswer(invocation -> new HashMap<>(Collections.singletonMap(diversePath.getPathId(),
+                        diversePath.getSegments())));
+        RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
+        when(repositoryFactory.createIslRepository()).thenReturn(islRepository);
+        when(repositoryFactory.createFlowPathRepository()).thenReturn(flowPathRepository);
+
+        return new InMemoryPathComputer(new AvailableNetworkFactory(config, repositoryFactory, Clock.systemUTC()),
+                pathFinder, config);
+    }
+
+    private static boolean isReverse(Isl isl, Isl reverse) {
+        return isl.getSrcSwitch().getSwitchId().equals(reverse.getDestSwitch().getSwitchId())
+                && isl.getSrcPort() == reverse.getDestPort()
+                && isl.getDestSwitch().getSwitchId().equals(reverse.getSrcSwitch().getSwitchId())
+                && isl.getDestPort() == reverse.getSrcPort();
+    }
+
+    private static List<Isl> buildRandomIsls(long seed, int switchCount) {
+        Random random = new Random(seed);
+        Map<Integer, Switch> switches = new HashMap<>();
+        for (int i = 1; i <= switchCount; i++) {
+            switches.put(i, Switch.builder().switchId(new SwitchId(i)).pop("pop" + random.nextInt(3)).build());
+        }
+
+        List<Isl> result = new ArrayList<>();
+        int linkCount = switchCount + random.nextInt(switchCount * 3);
+        for (int i = 0; i < linkCount; i++) {
+            int src = 1 + random.nextInt(switchCount);
+            int dst = 1 + random.nextInt(switchCount);
+            if (src == dst) {
+                continue;
+            }
+            int port = 1 + i;
+            int cost = random.nextInt(4);
+            long latency = random.nextInt(3) * 100_000_000L;
+            boolean underMaintenance = random.nextInt(10) == 0;
+            result.add(buildIsl(switches.get(src), port, switches.get(dst), port, cost, latency,
+                    random.nextInt(1000), underMaintenance));
+            result.add(buildIsl(switches.get(dst), port, switches.get(src), port, cost, latency,
+                    random.nextInt(1000), underMaintenance));
+        }
+        return result;
+    }
+
+    /**
+     * Builds the 1-2-3 route with the available bandwidth and the more expensive 1-4-3 route with 100 available.
+     */
+    private static List<Isl> buildSquareIsls(long shortRouteBandwidth) {
+        return Arrays.asList(
+                buildIsl(SWITCH_1, 1, SWITCH_2, 1, 10, shortRouteBandwidth),
+                buildIsl(SWITCH_2, 1, SWITCH_1, 1, 10, shortRouteBandwidth),
+                buildIsl(SWITCH_2, 2, SWITCH_3, 2, 10, shortRouteBandwidth),
+                buildIsl(SWITCH_3, 2, SWITCH_2, 2, 10, shortRouteBandwidth),
+                buildIsl(SWITCH_1, 3, SWITCH_4, 3, 20, 100),
+                buildIsl(SWITCH_4, 3, SWITCH_1, 3, 20, 100),
+                buildIsl(SWITCH_4, 4, SWITCH_3, 4, 20, 100),
+                buildIsl(SWITCH_3, 4, SWITCH_4, 4, 20, 100));
+    }
+
+    private static Flow buildFlow(String flowId, long bandwidth) {
+        return Flow.builder()
+                .flowId(flowId)
+                .srcSwitch(Switch.builder().switchId(SWITCH_1).build())
+                .destSwitch(Switch.builder().switchId(SWITCH_3).build())
+                .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                .bandwidth(bandwidth)
+                .pathComputationStrategy(PathComputationStrategy.COST)
+                .build();
+    }
+
+    private static Isl buildIsl(SwitchId src, int srcPort, SwitchId dst, int dstPort, int cost,
+                                long availableBandwidth) {
+        return buildIsl(Switch.builder().switchId(src).build(), srcPort, Switch.builder().switchId(dst).build(),
+                dstPort, cost, 0, availableBandwidth, false);
+    }
+
+    private static Isl buildIsl(Switch src, int srcPort, Switch dst, int dstPort, int cost, long latency,
+                                long availableBandwidth, boolean underMaintenance) {
+        Isl isl = Isl.builder()
+                .srcSwitch(src)
+                .srcPort(srcPort)
+                .destSwitch(dst)
+                .destPort(dstPort)
+                .cost(cost)
+                .latency(latency)
+                .availableBandwidth(availableBandwidth)
+                .underMaintenance(underMaintenance)
+                .build();
+        isl.setIslConfig(IslConfig.builder().unstableIslTimeout(Duration.ofMinutes(1)).build());
+        return isl;
+    }
+
+    private static FlowPath buildFlowPath(List<Isl> isls) {
+        Isl first = isls.get(0);
+        Isl last = isls.get(isls.size() - 1);
+        FlowPath flowPath = FlowPath.builder()
+                .flow(new Flow())
+                .pathId(new PathId("diverse-path"))
+                .srcSwitch(first.getSrcSwitch())
+                .destSwitch(last.getDestSwitch())
+                .build();
+        flowPath.setSegments(isls.stream()
+                .map(isl -> PathSegment.builder()
+                        .srcSwitch(isl.getSrcSwitch())
+                        .srcPort(isl.getSrcPort())
+                        .destSwitch(isl.getDestSwitch())
+                        .destPort(isl.getDestPort())
+                        .build())
+                .collect(Collectors.toList()));
+        return flowPath;
+    }
+}
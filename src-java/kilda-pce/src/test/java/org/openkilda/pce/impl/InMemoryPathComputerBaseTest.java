@@ -122,6 +122,11 @@ public class InMemoryPathComputerBaseTest {
                                 public String getIndexesAuto() {
                                     return "update";
                                 }
+
+                                @Override
+                                public int getSingletonCacheTtlSeconds() {
+                                    return 0;
+                                }
                             };
                         } else if (configurationType.equals(NetworkConfig.class)) {
                             return (T) new NetworkConfig() {
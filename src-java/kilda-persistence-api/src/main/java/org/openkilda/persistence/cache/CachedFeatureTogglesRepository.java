@@ -0,0 +1,80 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.model.FeatureToggles;
+import org.openkilda.persistence.repositories.FeatureTogglesRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@link FeatureTogglesRepository} which serves {@link #find()} from the shared {@link SingletonEntityCache}.
+ * <p/>
+ * Reads within a transaction bypass the cache, as they must see the changes made by the transaction.
+ */
+public class CachedFeatureTogglesRepository implements FeatureTogglesRepository {
+    private final FeatureTogglesRepository delegate;
+    private final SingletonEntityCache<Optional<FeatureToggles>> cache;
+    private final BooleanSupplier transactionActive;
+
+    public CachedFeatureTogglesRepository(FeatureTogglesRepository delegate, Duration ttl,
+                                          BooleanSupplier transactionActive) {
+        this(delegate, SingletonEntityCache.shared(FeatureToggles.class, ttl,
+                value -> value.map(toggles -> toggles.toBuilder().build())), transactionActive);
+    }
+
+    public CachedFeatureTogglesRepository(FeatureTogglesRepository delegate,
+                                          SingletonEntityCache<Optional<FeatureToggles>> cache,
+                                          BooleanSupplier transactionActive) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.transactionActive = transactionActive;
+    }
+
+    @Override
+    public Optional<FeatureToggles> find() {
+        if (transactionActive.getAsBoolean()) {
+            return delegate.find();
+        }
+        return cache.get(delegate::find);
+    }
+
+    @Override
+    public Collection<FeatureToggles> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void createOrUpdate(FeatureToggles entity) {
+        try {
+            delegate.createOrUpdate(entity);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public void delete(FeatureToggles entity) {
+        try {
+            delegate.delete(entity);
+        } finally {
+            cache.invalidate();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.model.KildaConfiguration;
+import org.openkilda.persistence.repositories.KildaConfigurationRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@link KildaConfigurationRepository} which serves {@link #get()} from the shared {@link SingletonEntityCache}.
+ * <p/>
+ * Reads within a transaction bypass the cache, as they must see the changes made by the transaction.
+ */
+public class CachedKildaConfigurationRepository implements KildaConfigurationRepository {
+    private final KildaConfigurationRepository delegate;
+    private final SingletonEntityCache<KildaConfiguration> cache;
+    private final BooleanSupplier transactionActive;
+
+    public CachedKildaConfigurationRepository(KildaConfigurationRepository delegate, Duration ttl,
+                                              BooleanSupplier transactionActive) {
+        this(delegate, SingletonEntityCache.shared(KildaConfiguration.class, ttl,
+                configuration -> configuration.toBuilder().build()), transactionActive);
+    }
+
+    public CachedKildaConfigurationRepository(KildaConfigurationRepository delegate,
+                                              SingletonEntityCache<KildaConfiguration> cache,
+                                              BooleanSupplier transactionActive) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.transactionActive = transactionActive;
+    }
+
+    @Override
+    public KildaConfiguration get() {
+        if (transactionActive.getAsBoolean()) {
+            return delegate.get();
+        }
+        return cache.get(delegate::get);
+    }
+
+    @Override
+    public Collection<KildaConfiguration> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void createOrUpdate(KildaConfiguration entity) {
+        try {
+            delegate.createOrUpdate(entity);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public void delete(KildaConfiguration entity) {
+        try {
+            delegate.delete(entity);
+        } finally {
+            cache.invalidate();
+        }
+    }
+}
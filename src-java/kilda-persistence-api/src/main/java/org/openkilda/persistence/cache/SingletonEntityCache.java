@@ -0,0 +1,118 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache of a singleton entity (i.e. feature toggles or kilda configuration), which is read on each
+ * request, but is rarely changed.
+ * <p/>
+ * The cached value expires after the TTL, so the changes made by other processes become visible within the TTL.
+ * The cache holds a detached copy of the entity and returns a copy of it on each hit, so a consumer can't spoil
+ * the cached value.
+ */
+public final class SingletonEntityCache<T> {
+    private static final Map<Class<?>, SingletonEntityCache<?>> SHARED = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+    private final UnaryOperator<T> copier;
+    private final LongSupplier nanoClock;
+
+    private long generation;
+    private volatile Entry<T> entry;
+
+    public SingletonEntityCache(Duration ttl, UnaryOperator<T> copier, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.copier = copier;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Get the cache of the entity type shared by all the repositories in the JVM. The TTL is defined by the first
+     * call for the entity type.
+     *
+     * @param entityType the type of the cached entity, the key of the shared cache.
+     * @param ttl how long the loaded value is kept.
+     * @param copier makes a detached copy of the value.
+     * @return the shared cache.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SingletonEntityCache<T> shared(Class<?> entityType, Duration ttl, UnaryOperator<T> copier) {
+        return (SingletonEntityCache<T>) SHARED.computeIfAbsent(entityType,
+                key -> new SingletonEntityCache<>(ttl, copier, System::nanoTime));
+    }
+
+    /**
+     * Drop the cached value of the entity type, so the next read goes to the persistence layer.
+     */
+    public static void invalidateShared(Class<?> entityType) {
+        SingletonEntityCache<?> cache = SHARED.get(entityType);
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    /**
+     * Get the cached value, or load it if there's no cached value or it has expired.
+     *
+     * @param loader reads the value from the persistence layer.
+     * @return the value.
+     */
+    public T get(Supplier<T> loader) {
+        long now = nanoClock.getAsLong();
+        Entry<T> current = entry;
+        if (current != null && now - current.loadedAt < ttlNanos) {
+            return copier.apply(current.value);
+        }
+
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+        }
+        T value = loader.get();
+        synchronized (this) {
+            // don't put the value if it was invalidated while loading, the value may be already outdated
+            if (loadGeneration == generation) {
+                entry = new Entry<>(copier.apply(value), now);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drop the cached value.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        entry = null;
+    }
+
+    private static class Entry<T> {
+        private final T value;
+        private final long loadedAt;
+
+        Entry(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -44,4 +44,14 @@ public interface FlowMeterRepository extends Repository<FlowMeter> {
      * @return a meter id or {@link Optional#empty()} if no meter available.
      */
     Optional<MeterId> findUnassignedMeterId(SwitchId switchId, MeterId defaultMeterId);
+
+    /**
+     * Find meter ids which are assigned to flows.
+     *
+     * @param switchId         the switch defines where the meter is applied on.
+     * @param lowestMeterId    the lowest meter id to be returned.
+     * @param highestMeterId   the highest meter id to be returned.
+     * @return a collection of meter ids.
+     */
+    Collection<MeterId> findAssignedMeterIds(SwitchId switchId, MeterId lowestMeterId, MeterId highestMeterId);
 }
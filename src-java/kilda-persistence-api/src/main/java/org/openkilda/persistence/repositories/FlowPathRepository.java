@@ -19,10 +19,13 @@ import org.openkilda.model.Cookie;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.FetchStrategy;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface FlowPathRepository extends Repository<FlowPath> {
@@ -40,6 +43,15 @@ public interface FlowPathRepository extends Repository<FlowPath> {
 
     Collection<PathId> findPathIdsByFlowGroupId(String flowGroupId);
 
+    /**
+     * Finds segments of all paths of the flow group in a single query.
+     * NB. The segments are loaded with their switches only, the paths are not loaded.
+     *
+     * @param flowGroupId the flow group
+     * @return segments by path id, paths without segments are not included
+     */
+    Map<PathId, List<PathSegment>> findSegmentsByFlowGroupId(String flowGroupId);
+
     /**
      * Finds paths that starts with passed {@param switchId} switch.
      * NB. This method does not return protected paths with src {@param switchId} switch.
@@ -76,6 +88,24 @@ public interface FlowPathRepository extends Repository<FlowPath> {
 
     Collection<FlowPath> findBySegmentDestSwitch(SwitchId switchId);
 
+    /**
+     * Finds cookies of the paths which have rules on the switch: the paths which segments end on the switch and
+     * the paths which have the switch in endpoints. Protected paths which start on the switch are not included.
+     * NB. Only the cookies are loaded, without the paths.
+     *
+     * @param switchId the switch
+     * @return distinct cookies
+     */
+    Collection<Long> findFlowCookiesBySwitch(SwitchId switchId);
+
+    /**
+     * Finds cookies of the paths which have rules on the switches, same as {@link #findFlowCookiesBySwitch},
+     * for all switches in a single query.
+     *
+     * @return distinct cookies by switch, switches without paths are not included
+     */
+    Map<SwitchId, Collection<Long>> findFlowCookiesOfAllSwitches();
+
     Collection<FlowPath> findWithPathSegment(SwitchId srcSwitchId, int srcPort,
                                              SwitchId dstSwitchId, int dstPort);
 
@@ -33,6 +33,30 @@ public interface FlowRepository extends Repository<Flow> {
      */
     Collection<Flow> findAll();
 
+    /**
+     * Fetches a page of flows ordered by the flow id.
+     * <p/>
+     * IMPORTANT: the method doesn't complete the flow and flow path entities with related path segments!
+     * <p/>
+     * Outside of a transaction every page is loaded by a fresh session, so the entities of the previous pages are
+     * not retained by the persistence layer. Within a transaction they stay in the transaction session until it ends.
+     *
+     * @param page the zero-based page number.
+     * @param pageSize the maximum number of flows in the page.
+     */
+    Collection<Flow> findAll(int page, int pageSize);
+
+    /**
+     * Fetches flows ordered by the flow id starting after the given one. Unlike the page number, the cursor is not
+     * affected by flows created or removed between the calls.
+     * <p/>
+     * IMPORTANT: the method doesn't complete the flow and flow path entities with related path segments!
+     *
+     * @param afterFlowId the last flow id of the previous page or null to start from the first flow.
+     * @param limit the maximum number of flows to fetch.
+     */
+    Collection<Flow> findAll(String afterFlowId, int limit);
+
     boolean exists(String flowId);
 
     Optional<Flow> findById(String flowId);
@@ -36,4 +36,13 @@ public interface TransitVlanRepository extends Repository<TransitVlan> {
      * @return a transit vlan or {@link Optional#empty()} if no vlan available.
      */
     Optional<Integer> findUnassignedTransitVlan(int defaultVlan);
+
+    /**
+     * Find transit vlans which are assigned to flows.
+     *
+     * @param lowestVlan the lowest vlan to be returned.
+     * @param highestVlan the highest vlan to be returned.
+     * @return a collection of transit vlans.
+     */
+    Collection<Integer> findAssignedTransitVlans(int lowestVlan, int highestVlan);
 }
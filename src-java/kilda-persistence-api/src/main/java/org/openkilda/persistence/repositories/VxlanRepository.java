@@ -32,4 +32,13 @@ public interface VxlanRepository extends Repository<Vxlan> {
      * @return a vxlan or {@link Optional#empty()} if no vxlan available.
      */
     Optional<Integer> findUnassignedVxlan(int defaultVni);
+
+    /**
+     * Find vxlans which are assigned to flows.
+     *
+     * @param lowestVni the lowest vxlan to be returned.
+     * @param highestVni the highest vxlan to be returned.
+     * @return a collection of vxlans.
+     */
+    Collection<Integer> findAssignedVxlans(int lowestVni, int highestVni);
 }
@@ -27,5 +27,12 @@ public interface FlowEventRepository extends Repository<FlowEvent> {
 
     Optional<FlowEvent> findByTaskId(String taskId);
 
+    Collection<FlowEvent> findByTaskIds(Collection<String> taskIds);
+
     Collection<FlowEvent> findByFlowIdAndTimeFrame(String flowId, Instant timeFrom, Instant timeTo);
+
+    /**
+     * Creates the flow events in a single request to the data storage.
+     */
+    void createAll(Collection<FlowEvent> flowEvents);
 }
@@ -22,4 +22,9 @@ import java.util.Collection;
 
 public interface FlowHistoryRepository extends Repository<FlowHistory> {
     Collection<FlowHistory> findByTaskId(String taskId);
+
+    /**
+     * Creates the flow history records in a single request to the data storage.
+     */
+    void createAll(Collection<FlowHistory> flowHistories);
 }
@@ -40,4 +40,11 @@ public interface Neo4jConfig extends Serializable {
     @Key("indexes.auto")
     @Default("validate")
     String getIndexesAuto();
+
+    /**
+     * How long the singleton entities (feature toggles and kilda configuration) are cached, 0 disables the caching.
+     */
+    @Key("singleton.cache.ttl.seconds")
+    @Default("10")
+    int getSingletonCacheTtlSeconds();
 }
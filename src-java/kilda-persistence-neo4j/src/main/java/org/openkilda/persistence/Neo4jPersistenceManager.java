@@ -34,6 +34,7 @@ import org.openkilda.persistence.repositories.impl.Neo4jRepositoryFactory;
 import org.neo4j.ogm.config.Configuration.Builder;
 import org.neo4j.ogm.session.SessionFactory;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 /**
@@ -57,7 +58,9 @@ public class Neo4jPersistenceManager implements PersistenceManager {
 
     @Override
     public RepositoryFactory getRepositoryFactory() {
-        return new Neo4jRepositoryFactory(getNeo4jTransactionManager(), getTransactionManager(), networkConfig);
+        Neo4jTransactionManager txManager = getNeo4jTransactionManager();
+        return new Neo4jRepositoryFactory(txManager, txManager, networkConfig,
+                Duration.ofSeconds(neo4jConfig.getSingletonCacheTtlSeconds()), txManager::isTxOpen);
     }
 
     private Neo4jTransactionManager getNeo4jTransactionManager() {
@@ -59,6 +59,15 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
         return Optional.ofNullable(SESSION_HOLDER.get()).orElseGet(sessionFactory::openSession);
     }
 
+    /**
+     * Check whether there's an active transaction bound to the current thread.
+     */
+    public boolean isTxOpen() {
+        return Optional.ofNullable(SESSION_HOLDER.get())
+                .map(Session::getTransaction)
+                .isPresent();
+    }
+
     @SneakyThrows
     @Override
     public <T, E extends Throwable> T doInTransaction(TransactionCallback<T, E> action) throws E {
@@ -79,6 +79,17 @@ public class Neo4jFlowCookieRepository extends Neo4jGenericRepository<FlowCookie
         return queryForLong(query, parameters, "cookie");
     }
 
+    @Override
+    public Collection<Long> findAssignedCookies(long lowestCookie, long highestCookie) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "lowest_cookie", lowestCookie,
+                "highest_cookie", highestCookie);
+
+        return queryForLongs("MATCH (n:flow_cookie) "
+                + "WHERE n.unmasked_cookie >= $lowest_cookie AND n.unmasked_cookie <= $highest_cookie "
+                + "RETURN n.unmasked_cookie AS cookie", parameters, "cookie");
+    }
+
     @Override
     protected Class<FlowCookie> getEntityType() {
         return FlowCookie.class;
@@ -30,6 +30,7 @@ import org.neo4j.ogm.cypher.query.SortOrder;
 
 import java.time.Instant;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -60,6 +61,15 @@ public class Neo4jFlowEventRepository extends Neo4jGenericRepository<FlowEvent>
         return flowEvents.isEmpty() ? Optional.empty() : Optional.of(flowEvents.iterator().next());
     }
 
+    @Override
+    public Collection<FlowEvent> findByTaskIds(Collection<String> taskIds) {
+        if (taskIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Filter taskIdFilter = new Filter(TASK_ID_PROPERTY_NAME, ComparisonOperator.IN, taskIds);
+        return loadAll(taskIdFilter);
+    }
+
     @Override
     public Collection<FlowEvent> findByFlowIdAndTimeFrame(String flowId, Instant timeFrom, Instant timeTo) {
         Filter flowIdFilter = new Filter(FLOW_ID_PROPERTY_NAME, ComparisonOperator.EQUALS, flowId);
@@ -80,6 +90,11 @@ public class Neo4jFlowEventRepository extends Neo4jGenericRepository<FlowEvent>
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void createAll(Collection<FlowEvent> flowEvents) {
+        createOrUpdateAll(flowEvents);
+    }
+
     @Override
     protected Class<FlowEvent> getEntityType() {
         return FlowEvent.class;
@@ -43,6 +43,11 @@ public class Neo4jFlowHistoryRepository extends Neo4jGenericRepository<FlowHisto
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void createAll(Collection<FlowHistory> flowHistories) {
+        createOrUpdateAll(flowHistories);
+    }
+
     @Override
     protected Class<FlowHistory> getEntityType() {
         return FlowHistory.class;
@@ -32,6 +32,7 @@ import org.neo4j.ogm.cypher.Filter;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Neo4j OGM implementation of {@link FlowMeterRepository}.
@@ -106,6 +107,21 @@ public class Neo4jFlowMeterRepository extends Neo4jGenericRepository<FlowMeter>
         return queryForLong(query, parameters, "meter").map(MeterId::new);
     }
 
+    @Override
+    public Collection<MeterId> findAssignedMeterIds(SwitchId switchId, MeterId lowestMeterId,
+                                                    MeterId highestMeterId) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "switch_id", switchId.toString(),
+                "lowest_meter", lowestMeterId.getValue(),
+                "highest_meter", highestMeterId.getValue());
+
+        return queryForLongs("MATCH (n:flow_meter {switch_id: $switch_id}) "
+                + "WHERE n.meter_id >= $lowest_meter AND n.meter_id <= $highest_meter "
+                + "RETURN n.meter_id AS meter", parameters, "meter").stream()
+                .map(MeterId::new)
+                .collect(Collectors.toList());
+    }
+
     @Override
     protected Class<FlowMeter> getEntityType() {
         return FlowMeter.class;
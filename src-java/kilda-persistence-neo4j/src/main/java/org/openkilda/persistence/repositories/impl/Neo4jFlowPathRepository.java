@@ -18,6 +18,7 @@ package org.openkilda.persistence.repositories.impl;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static org.openkilda.persistence.repositories.impl.Neo4jFlowRepository.FLOW_ID_PROPERTY_NAME;
 
 import org.openkilda.model.Cookie;
@@ -45,10 +46,13 @@ import org.neo4j.ogm.session.Session;
 import org.neo4j.ogm.typeconversion.InstantStringConverter;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -64,6 +68,17 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
     static final String FLOW_PROPERTY_NAME = "flow";
     static final String COOKIE_PROPERTY_NAME = "cookie";
 
+    // the parts of the union are: transit and egress segments, path ends, path starts except protected ones
+    private static final String FLOW_COOKIES_QUERY_TEMPLATE =
+            "MATCH (fp:flow_path)-[:owns]-(:path_segment)-[:destination]-(sw:switch) %1$s "
+            + "RETURN sw.name as switch_id, fp.cookie as cookie "
+            + "UNION MATCH (fp:flow_path)-[:destination]-(sw:switch) %1$s "
+            + "RETURN sw.name as switch_id, fp.cookie as cookie "
+            + "UNION MATCH (f:flow)-[:owns]-(fp:flow_path)-[:source]-(sw:switch) %1$s "
+            + "WITH f, fp, sw WHERE NOT fp.path_id IN [coalesce(f.protected_forward_path_id, ''), "
+            + "coalesce(f.protected_reverse_path_id, '')] "
+            + "RETURN sw.name as switch_id, fp.cookie as cookie";
+
     private final SwitchIdConverter switchIdConverter = new SwitchIdConverter();
     private final PathIdConverter pathIdConverter = new PathIdConverter();
     private final FlowPathStatusConverter statusConverter = new FlowPathStatusConverter();
@@ -150,6 +165,21 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
         return pathIds;
     }
 
+    @Override
+    public Map<PathId, List<PathSegment>> findSegmentsByFlowGroupId(String flowGroupId) {
+        Map<String, Object> flowParameters = ImmutableMap.of("flow_group_id", flowGroupId);
+
+        Map<PathId, List<PathSegment>> segments = new LinkedHashMap<>();
+        getSession().query("MATCH (:flow {group_id: $flow_group_id})-[:owns]-(fp:flow_path)-[:owns]-(ps:path_segment) "
+                + "MATCH (src:switch)<-[src_rel:source]-(ps)-[dst_rel:destination]->(dst:switch) "
+                + "RETURN fp.path_id as path_id, ps, src_rel, src, dst_rel, dst "
+                + "ORDER BY path_id, ps.seq_id", flowParameters)
+                .forEach(result -> segments.computeIfAbsent(
+                        pathIdConverter.toEntityAttribute(result.get("path_id").toString()),
+                        pathId -> new ArrayList<>()).add((PathSegment) result.get("ps")));
+        return segments;
+    }
+
     @Override
     public Collection<FlowPath> findBySrcSwitch(SwitchId switchId) {
         Filter srcSwitchFilter = createSrcSwitchFilter(switchId);
@@ -322,6 +352,25 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
         return loadAll(pathIdsFilter);
     }
 
+    @Override
+    public Collection<Long> findFlowCookiesBySwitch(SwitchId switchId) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "switch_id", switchIdConverter.toGraphProperty(switchId));
+
+        return queryForLongs(format(FLOW_COOKIES_QUERY_TEMPLATE, "WHERE sw.name = $switch_id"), parameters, "cookie");
+    }
+
+    @Override
+    public Map<SwitchId, Collection<Long>> findFlowCookiesOfAllSwitches() {
+        Map<SwitchId, Collection<Long>> result = new HashMap<>();
+        for (Map<String, Object> row : getSession().query(format(FLOW_COOKIES_QUERY_TEMPLATE, ""), emptyMap())) {
+            SwitchId switchId = switchIdConverter.toEntityAttribute(row.get("switch_id").toString());
+            result.computeIfAbsent(switchId, key -> new ArrayList<>())
+                    .add(Long.parseLong(row.get("cookie").toString()));
+        }
+        return result;
+    }
+
     @Override
     public void createOrUpdate(FlowPath flowPath) {
         // The flow path must reference a managed flow to avoid creation of duplicated flow.
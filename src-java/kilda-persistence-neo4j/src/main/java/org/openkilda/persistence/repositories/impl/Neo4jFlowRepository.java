@@ -34,6 +34,9 @@ import com.google.common.collect.ImmutableMap;
 import lombok.extern.slf4j.Slf4j;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
+import org.neo4j.ogm.cypher.Filters;
+import org.neo4j.ogm.cypher.query.Pagination;
+import org.neo4j.ogm.cypher.query.SortOrder;
 import org.neo4j.ogm.session.Neo4jSession;
 import org.neo4j.ogm.session.Session;
 import org.neo4j.ogm.typeconversion.InstantStringConverter;
@@ -81,6 +84,20 @@ public class Neo4jFlowRepository extends Neo4jGenericRepository<Flow> implements
         return loadAll(EMPTY_FILTERS, FetchStrategy.DIRECT_RELATIONS);
     }
 
+    @Override
+    public Collection<Flow> findAll(int page, int pageSize) {
+        return loadAll(EMPTY_FILTERS, new SortOrder(FLOW_ID_PROPERTY_NAME), new Pagination(page, pageSize),
+                FetchStrategy.DIRECT_RELATIONS);
+    }
+
+    @Override
+    public Collection<Flow> findAll(String afterFlowId, int limit) {
+        Filters filters = afterFlowId == null ? EMPTY_FILTERS
+                : new Filters(new Filter(FLOW_ID_PROPERTY_NAME, ComparisonOperator.GREATER_THAN, afterFlowId));
+        return loadAll(filters, new SortOrder(FLOW_ID_PROPERTY_NAME), new Pagination(0, limit),
+                FetchStrategy.DIRECT_RELATIONS);
+    }
+
     @Override
     public long countFlows() {
         return getSession().countEntitiesOfType(getEntityType());
@@ -34,6 +34,7 @@ import org.neo4j.driver.v1.exceptions.TransientException;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 import org.neo4j.ogm.cypher.Filters;
+import org.neo4j.ogm.cypher.query.Pagination;
 import org.neo4j.ogm.cypher.query.SortOrder;
 import org.neo4j.ogm.exception.CypherException;
 import org.neo4j.ogm.exception.core.MappingException;
@@ -76,8 +77,21 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
 
     @Override
     public void createOrUpdate(T entity) {
+        save(entity);
+    }
+
+    /**
+     * Creates or updates the entities in a single request to Neo4j.
+     */
+    protected void createOrUpdateAll(Collection<T> entities) {
+        if (!entities.isEmpty()) {
+            save(entities);
+        }
+    }
+
+    private void save(Object entities) {
         try {
-            getSession().save(entity, getDepthCreateUpdateEntity());
+            getSession().save(entities, getDepthCreateUpdateEntity());
         } catch (ClientException ex) {
             if (ex.code().endsWith("ConstraintValidationFailed")) {
                 throw new ConstraintViolationException("Unable to create/update " + getEntityType(), ex);
@@ -153,6 +167,19 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
         }
     }
 
+    protected Collection<T> loadAll(Filters filters, SortOrder sortOrder, Pagination pagination,
+                                    FetchStrategy fetchStrategy) {
+        try {
+            return getSession().loadAll(getEntityType(), filters, sortOrder, pagination,
+                    getDepthLoadEntity(fetchStrategy));
+        } catch (MappingException ex) {
+            log.error("OGM mapping exception", ex.getCause());
+            throw new PersistenceException("Unable to load " + getEntityType(), ex);
+        } catch (TransientException ex) {
+            throw new RecoverablePersistenceException("Unable to load " + getEntityType(), ex);
+        }
+    }
+
     protected Collection<T> loadAll(Filters filters) {
         return loadAll(filters, getDefaultFetchStrategy());
     }
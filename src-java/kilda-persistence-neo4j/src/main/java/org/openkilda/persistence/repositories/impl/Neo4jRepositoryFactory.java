@@ -18,6 +18,8 @@ package org.openkilda.persistence.repositories.impl;
 import org.openkilda.model.IslConfig;
 import org.openkilda.persistence.NetworkConfig;
 import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.cache.CachedFeatureTogglesRepository;
+import org.openkilda.persistence.cache.CachedKildaConfigurationRepository;
 import org.openkilda.persistence.repositories.BfdSessionRepository;
 import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.persistence.repositories.FlowCookieRepository;
@@ -44,6 +46,7 @@ import org.openkilda.persistence.repositories.history.PortHistoryRepository;
 import org.openkilda.persistence.repositories.history.StateLogRepository;
 
 import java.time.Duration;
+import java.util.function.BooleanSupplier;
 
 /**
  * Neo4j OGM implementation of {@link RepositoryFactory}.
@@ -53,14 +56,22 @@ public class Neo4jRepositoryFactory implements RepositoryFactory {
     private final Neo4jSessionFactory sessionFactory;
     private final TransactionManager transactionManager;
     private final IslConfig islConfig;
+    private final Duration singletonCacheTtl;
+    private final BooleanSupplier transactionActive;
 
+    /**
+     * Creates the factory, which wraps the singleton entity repositories with the cache if the cache TTL is positive.
+     */
     public Neo4jRepositoryFactory(Neo4jSessionFactory sessionFactory, TransactionManager transactionManager,
-                                  NetworkConfig networkConfig) {
+                                  NetworkConfig networkConfig, Duration singletonCacheTtl,
+                                  BooleanSupplier transactionActive) {
         this.sessionFactory = sessionFactory;
         this.transactionManager = transactionManager;
         this.islConfig = IslConfig.builder()
                 .unstableIslTimeout(Duration.ofSeconds(networkConfig.getIslUnstableTimeoutSec()))
                 .build();
+        this.singletonCacheTtl = singletonCacheTtl;
+        this.transactionActive = transactionActive;
     }
 
     @Override
@@ -115,7 +126,11 @@ public class Neo4jRepositoryFactory implements RepositoryFactory {
 
     @Override
     public FeatureTogglesRepository createFeatureTogglesRepository() {
-        return new Neo4jFeatureTogglesRepository(sessionFactory, transactionManager);
+        FeatureTogglesRepository repository = new Neo4jFeatureTogglesRepository(sessionFactory, transactionManager);
+        if (isSingletonCacheEnabled()) {
+            return new CachedFeatureTogglesRepository(repository, singletonCacheTtl, transactionActive);
+        }
+        return repository;
     }
 
     @Override
@@ -150,7 +165,12 @@ public class Neo4jRepositoryFactory implements RepositoryFactory {
 
     @Override
     public KildaConfigurationRepository createKildaConfigurationRepository() {
-        return new Neo4jKildaConfigurationRepository(sessionFactory, transactionManager);
+        KildaConfigurationRepository repository =
+                new Neo4jKildaConfigurationRepository(sessionFactory, transactionManager);
+        if (isSingletonCacheEnabled()) {
+            return new CachedKildaConfigurationRepository(repository, singletonCacheTtl, transactionActive);
+        }
+        return repository;
     }
 
     @Override
@@ -177,4 +197,8 @@ public class Neo4jRepositoryFactory implements RepositoryFactory {
     public PathSegmentRepository createPathSegmentRepository() {
         return new Neo4jPathSegmentRepository(sessionFactory, transactionManager);
     }
+
+    private boolean isSingletonCacheEnabled() {
+        return !singletonCacheTtl.isZero() && !singletonCacheTtl.isNegative();
+    }
 }
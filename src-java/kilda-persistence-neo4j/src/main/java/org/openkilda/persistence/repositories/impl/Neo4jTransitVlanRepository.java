@@ -31,6 +31,7 @@ import org.neo4j.ogm.cypher.Filter;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Neo4j OGM implementation of {@link TransitVlanRepository}.
@@ -118,6 +119,19 @@ public class Neo4jTransitVlanRepository extends Neo4jGenericRepository<TransitVl
         return queryForLong(query, parameters, "vlan").map(Long::intValue);
     }
 
+    @Override
+    public Collection<Integer> findAssignedTransitVlans(int lowestVlan, int highestVlan) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "lowest_vlan", lowestVlan,
+                "highest_vlan", highestVlan);
+
+        return queryForLongs("MATCH (n:transit_vlan) "
+                + "WHERE n.vlan >= $lowest_vlan AND n.vlan <= $highest_vlan "
+                + "RETURN n.vlan AS vlan", parameters, "vlan").stream()
+                .map(Long::intValue)
+                .collect(Collectors.toList());
+    }
+
     @Override
     protected Class<TransitVlan> getEntityType() {
         return TransitVlan.class;
@@ -27,6 +27,7 @@ import org.neo4j.ogm.cypher.Filter;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Neo4j OGM implementation of {@link VxlanRepository}.
@@ -77,6 +78,19 @@ public class Neo4jVxlanRepository extends Neo4jGenericRepository<Vxlan> implemen
         return queryForLong(query, parameters, "vni").map(Long::intValue);
     }
 
+    @Override
+    public Collection<Integer> findAssignedVxlans(int lowestVni, int highestVni) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "lowest_vni", lowestVni,
+                "highest_vni", highestVni);
+
+        return queryForLongs("MATCH (n:vxlan) "
+                + "WHERE n.vni >= $lowest_vni AND n.vni <= $highest_vni "
+                + "RETURN n.vni AS vni", parameters, "vni").stream()
+                .map(Long::intValue)
+                .collect(Collectors.toList());
+    }
+
     @Override
     protected Class<Vxlan> getEntityType() {
         return Vxlan.class;
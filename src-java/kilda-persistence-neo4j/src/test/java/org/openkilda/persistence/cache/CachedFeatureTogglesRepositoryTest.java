@@ -0,0 +1,79 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.FeatureToggles;
+import org.openkilda.persistence.Neo4jBasedTest;
+import org.openkilda.persistence.repositories.FeatureTogglesRepository;
+import org.openkilda.persistence.repositories.impl.Neo4jFeatureTogglesRepository;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public class CachedFeatureTogglesRepositoryTest extends Neo4jBasedTest {
+    private FeatureTogglesRepository persistentRepository;
+    private FeatureTogglesRepository cachedRepository;
+
+    @Before
+    public void setUp() {
+        persistentRepository = new Neo4jFeatureTogglesRepository(neo4jSessionFactory, txManager);
+        SingletonEntityCache<Optional<FeatureToggles>> cache = new SingletonEntityCache<>(Duration.ofMinutes(1),
+                value -> value.map(toggles -> toggles.toBuilder().build()), System::nanoTime);
+        cachedRepository = new CachedFeatureTogglesRepository(persistentRepository, cache, txManager::isTxOpen);
+    }
+
+    @Test
+    public void shouldServeReadsFromCacheUntilUpdate() {
+        persistentRepository.createOrUpdate(FeatureToggles.builder().createFlowEnabled(false).build());
+        assertFalse(cachedRepository.find().get().getCreateFlowEnabled());
+
+        // the change made bypassing the cached repository is not visible until the cache is invalidated
+        persistentRepository.createOrUpdate(FeatureToggles.builder().createFlowEnabled(true).build());
+        assertFalse(cachedRepository.find().get().getCreateFlowEnabled());
+
+        cachedRepository.createOrUpdate(FeatureToggles.builder().deleteFlowEnabled(true).build());
+        FeatureToggles toggles = cachedRepository.find().get();
+        assertTrue(toggles.getCreateFlowEnabled());
+        assertTrue(toggles.getDeleteFlowEnabled());
+    }
+
+    @Test
+    public void shouldBypassCacheWithinTransaction() {
+        persistentRepository.createOrUpdate(FeatureToggles.builder().createFlowEnabled(false).build());
+        assertFalse(cachedRepository.find().get().getCreateFlowEnabled());
+
+        boolean inTransaction = txManager.doInTransaction(() -> {
+            persistentRepository.createOrUpdate(FeatureToggles.builder().createFlowEnabled(true).build());
+            return cachedRepository.find().get().getCreateFlowEnabled();
+        });
+        assertTrue(inTransaction);
+    }
+
+    @Test
+    public void shouldNotExposeCachedEntity() {
+        persistentRepository.createOrUpdate(FeatureToggles.builder().createFlowEnabled(false).build());
+        cachedRepository.find().get().setCreateFlowEnabled(true);
+
+        assertEquals(false, cachedRepository.find().get().getCreateFlowEnabled());
+    }
+}
@@ -0,0 +1,74 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.openkilda.model.KildaConfiguration;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SingletonEntityCacheTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final SingletonEntityCache<KildaConfiguration> cache = new SingletonEntityCache<>(
+            Duration.ofSeconds(10), configuration -> configuration.toBuilder().build(), clock::get);
+
+    @Test
+    public void shouldReloadExpiredValue() {
+        cache.get(this::load);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10) - 1);
+        cache.get(this::load);
+        assertEquals(1, loads.get());
+
+        clock.incrementAndGet();
+        cache.get(this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void shouldReturnCopyOfCachedValue() {
+        KildaConfiguration loaded = cache.get(this::load);
+        loaded.setUseMultiTable(true);
+
+        KildaConfiguration cached = cache.get(this::load);
+        assertEquals(false, cached.getUseMultiTable());
+        assertNotSame(cached, cache.get(this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldNotCacheValueLoadedBeforeInvalidation() {
+        cache.get(() -> {
+            cache.invalidate();
+            return load();
+        });
+        cache.get(this::load);
+        assertEquals(2, loads.get());
+    }
+
+    private KildaConfiguration load() {
+        loads.incrementAndGet();
+        return KildaConfiguration.DEFAULTS.toBuilder().useMultiTable(false).build();
+    }
+}
@@ -24,7 +24,9 @@ import org.openkilda.persistence.repositories.FlowCookieRepository;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 
 public class Neo4jFlowCookieRepositoryTest extends Neo4jBasedTest {
     static final String TEST_FLOW_ID = "test_flow";
@@ -79,4 +81,18 @@ public class Neo4jFlowCookieRepositoryTest extends Neo4jBasedTest {
 
         assertEquals(0, flowCookieRepository.findAll().size());
     }
+
+    @Test
+    public void shouldFindAssignedCookiesOfRange() {
+        for (long cookie : new long[] {1, 5, 7, 10}) {
+            flowCookieRepository.createOrUpdate(FlowCookie.builder()
+                    .unmaskedCookie(cookie)
+                    .flowId(TEST_FLOW_ID + cookie)
+                    .build());
+        }
+
+        Collection<Long> assignedCookies = flowCookieRepository.findAssignedCookies(5, 9);
+
+        assertEquals(new HashSet<>(Arrays.asList(5L, 7L)), new HashSet<>(assignedCookies));
+    }
 }
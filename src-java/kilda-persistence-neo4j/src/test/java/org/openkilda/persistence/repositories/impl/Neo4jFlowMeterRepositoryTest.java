@@ -30,7 +30,9 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 
 public class Neo4jFlowMeterRepositoryTest extends Neo4jBasedTest {
     static final String TEST_FLOW_ID = "test_flow";
@@ -113,4 +115,24 @@ public class Neo4jFlowMeterRepositoryTest extends Neo4jBasedTest {
     private FlowMeter createFlowMeter() {
         return createFlowMeter(1, new PathId(TEST_PATH_ID));
     }
+
+    @Test
+    public void shouldFindAssignedMeterIdsOfRangeAndSwitch() {
+        Switch otherSwitch = buildTestSwitch(2);
+        switchRepository.createOrUpdate(otherSwitch);
+        flowMeterRepository.createOrUpdate(createFlowMeter(31, new PathId(TEST_PATH_ID + "_1")));
+        flowMeterRepository.createOrUpdate(createFlowMeter(35, new PathId(TEST_PATH_ID + "_2")));
+        flowMeterRepository.createOrUpdate(createFlowMeter(50, new PathId(TEST_PATH_ID + "_3")));
+        flowMeterRepository.createOrUpdate(FlowMeter.builder()
+                .switchId(otherSwitch.getSwitchId())
+                .meterId(new MeterId(33))
+                .pathId(new PathId(TEST_PATH_ID + "_4"))
+                .flowId(TEST_FLOW_ID)
+                .build());
+
+        Collection<MeterId> assignedMeterIds = flowMeterRepository.findAssignedMeterIds(theSwitch.getSwitchId(),
+                new MeterId(32), new MeterId(50));
+
+        assertEquals(new HashSet<>(Arrays.asList(new MeterId(35), new MeterId(50))), new HashSet<>(assignedMeterIds));
+    }
 }
@@ -47,6 +47,7 @@ import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class Neo4jFlowPathRepositoryTest extends Neo4jBasedTest {
@@ -376,6 +377,34 @@ public class Neo4jFlowPathRepositoryTest extends Neo4jBasedTest {
         assertThat(foundPaths, Matchers.empty());
     }
 
+    @Test
+    public void shouldFindFlowCookiesBySwitch() {
+        final FlowPath transitPath = buildTestFlowPathWithIntermediate(switchC, 100);
+        flow.setReversePath(buildFlowPath(flow, "_reverse", 2, 2, switchB, switchA));
+        flow.setProtectedForwardPath(buildFlowPath(flow, "_forward_protected", 10, 10, switchA, switchB));
+
+        flowRepository.createOrUpdate(flow);
+
+        assertThat(flowPathRepository.findFlowCookiesBySwitch(switchA.getSwitchId()),
+                containsInAnyOrder(transitPath.getCookie().getValue(), 2L));
+        assertThat(flowPathRepository.findFlowCookiesBySwitch(switchB.getSwitchId()),
+                containsInAnyOrder(transitPath.getCookie().getValue(), 2L, 10L));
+        assertThat(flowPathRepository.findFlowCookiesBySwitch(switchC.getSwitchId()),
+                containsInAnyOrder(transitPath.getCookie().getValue()));
+    }
+
+    @Test
+    public void shouldFindFlowCookiesOfAllSwitches() {
+        Flow flow = buildTestFlowPathPair();
+
+        flowRepository.createOrUpdate(flow);
+
+        Map<SwitchId, Collection<Long>> cookies = flowPathRepository.findFlowCookiesOfAllSwitches();
+        assertEquals(2, cookies.size());
+        assertThat(cookies.get(switchA.getSwitchId()), containsInAnyOrder(1L, 2L));
+        assertThat(cookies.get(switchB.getSwitchId()), containsInAnyOrder(1L, 2L));
+    }
+
     @Test
     public void shouldKeepSegmentsOrdered() {
         FlowPath flowPath = buildTestFlowPath();
@@ -396,6 +425,31 @@ public class Neo4jFlowPathRepositoryTest extends Neo4jBasedTest {
         assertEquals(foundPath.get().getSegments().get(0).getDestSwitch().getSwitchId(), switchC.getSwitchId());
     }
 
+    @Test
+    public void shouldFindSegmentsByFlowGroupId() {
+        switchC.setPop("pop-c");
+        switchRepository.createOrUpdate(switchC);
+        FlowPath flowPath = buildTestFlowPathWithIntermediate(switchC, 100);
+        flow.setGroupId("test_group");
+        flowRepository.createOrUpdate(flow);
+        flowPathRepository.createOrUpdate(flowPath);
+
+        Map<PathId, List<PathSegment>> foundSegments = flowPathRepository.findSegmentsByFlowGroupId("test_group");
+        assertThat(foundSegments.keySet(), containsInAnyOrder(flowPath.getPathId()));
+        List<PathSegment> segments = foundSegments.get(flowPath.getPathId());
+        assertThat(segments, hasSize(2));
+        assertEquals(switchA.getSwitchId(), segments.get(0).getSrcSwitch().getSwitchId());
+        assertEquals(1, segments.get(0).getSrcPort());
+        assertEquals(switchC.getSwitchId(), segments.get(0).getDestSwitch().getSwitchId());
+        assertEquals("pop-c", segments.get(0).getDestSwitch().getPop());
+        assertEquals(100, segments.get(0).getDestPort());
+        assertEquals(0, segments.get(0).getSeqId());
+        assertEquals(1, segments.get(1).getSeqId());
+        assertEquals(switchB.getSwitchId(), segments.get(1).getDestSwitch().getSwitchId());
+
+        assertTrue(flowPathRepository.findSegmentsByFlowGroupId("another_group").isEmpty());
+    }
+
     private FlowPath buildTestFlowPath() {
         FlowPath flowPath = buildFlowPath(flow, "_path", 1, 1, switchA, switchB);
 
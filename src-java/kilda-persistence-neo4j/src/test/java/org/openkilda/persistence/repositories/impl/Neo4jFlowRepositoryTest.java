@@ -18,6 +18,7 @@ package org.openkilda.persistence.repositories.impl;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -103,6 +104,52 @@ public class Neo4jFlowRepositoryTest extends Neo4jBasedTest {
         assertEquals(switchB.getSwitchId(), foundFlow.getDestSwitch().getSwitchId());
     }
 
+    @Test
+    public void shouldFindAllFlowsByPages() {
+        flowRepository.createOrUpdate(buildTestFlow(TEST_FLOW_ID_3, switchA, switchB));
+        flowRepository.createOrUpdate(buildTestFlow(TEST_FLOW_ID, switchA, switchB));
+        flowRepository.createOrUpdate(buildTestFlow(TEST_FLOW_ID_2, switchA, switchB));
+
+        Collection<Flow> firstPage = flowRepository.findAll(0, 2);
+        assertEquals(Lists.newArrayList(TEST_FLOW_ID, TEST_FLOW_ID_2),
+                firstPage.stream().map(Flow::getFlowId).collect(Collectors.toList()));
+        assertNotNull(firstPage.iterator().next().getForwardPath());
+
+        Collection<Flow> secondPage = flowRepository.findAll(1, 2);
+        assertEquals(Collections.singletonList(TEST_FLOW_ID_3),
+                secondPage.stream().map(Flow::getFlowId).collect(Collectors.toList()));
+
+        assertTrue(flowRepository.findAll(2, 2).isEmpty());
+    }
+
+    @Test
+    public void shouldNotRetainFlowsOfPreviousPages() {
+        flowRepository.createOrUpdate(buildTestFlow(TEST_FLOW_ID, switchA, switchB));
+
+        Flow first = flowRepository.findAll(0, 1).iterator().next();
+        Flow second = flowRepository.findAll(0, 1).iterator().next();
+
+        assertEquals(first.getFlowId(), second.getFlowId());
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void shouldFindAllFlowsAfterFlowId() {
+        flowRepository.createOrUpdate(buildTestFlow(TEST_FLOW_ID_3, switchA, switchB));
+        flowRepository.createOrUpdate(buildTestFlow(TEST_FLOW_ID, switchA, switchB));
+        flowRepository.createOrUpdate(buildTestFlow(TEST_FLOW_ID_2, switchA, switchB));
+
+        Collection<Flow> firstPage = flowRepository.findAll(null, 2);
+        assertEquals(Lists.newArrayList(TEST_FLOW_ID, TEST_FLOW_ID_2),
+                firstPage.stream().map(Flow::getFlowId).collect(Collectors.toList()));
+
+        Collection<Flow> secondPage = flowRepository.findAll(TEST_FLOW_ID_2, 2);
+        assertEquals(Collections.singletonList(TEST_FLOW_ID_3),
+                secondPage.stream().map(Flow::getFlowId).collect(Collectors.toList()));
+
+        assertTrue(flowRepository.findAll(TEST_FLOW_ID_3, 2).isEmpty());
+    }
+
     @Test
     public void shouldDeleteFlow() {
         Flow flow = buildTestFlow(TEST_FLOW_ID, switchA, switchB);
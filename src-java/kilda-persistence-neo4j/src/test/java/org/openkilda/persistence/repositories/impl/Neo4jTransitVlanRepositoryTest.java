@@ -26,7 +26,9 @@ import org.openkilda.persistence.repositories.TransitVlanRepository;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
 
 public class Neo4jTransitVlanRepositoryTest extends Neo4jBasedTest {
@@ -98,4 +100,19 @@ public class Neo4jTransitVlanRepositoryTest extends Neo4jBasedTest {
 
         assertEquals(0, transitVlanRepository.findAll().size());
     }
+
+    @Test
+    public void shouldFindAssignedTransitVlansOfRange() {
+        for (int vlan : new int[] {100, 105, 110, 120}) {
+            transitVlanRepository.createOrUpdate(TransitVlan.builder()
+                    .vlan(vlan)
+                    .pathId(new PathId(TEST_FLOW_ID + "_path" + vlan))
+                    .flowId(TEST_FLOW_ID)
+                    .build());
+        }
+
+        Collection<Integer> assignedVlans = transitVlanRepository.findAssignedTransitVlans(101, 110);
+
+        assertEquals(new HashSet<>(Arrays.asList(105, 110)), new HashSet<>(assignedVlans));
+    }
 }
@@ -25,7 +25,9 @@ import org.openkilda.persistence.repositories.VxlanRepository;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 
 public class Neo4jVxlanRepositoryTest extends Neo4jBasedTest {
     static final String TEST_FLOW_ID = "test_flow";
@@ -82,4 +84,19 @@ public class Neo4jVxlanRepositoryTest extends Neo4jBasedTest {
 
         assertEquals(0, vxlanRepository.findAll().size());
     }
+
+    @Test
+    public void shouldFindAssignedVxlansOfRange() {
+        for (int vni : new int[] {100, 105, 110, 120}) {
+            vxlanRepository.createOrUpdate(Vxlan.builder()
+                    .vni(vni)
+                    .pathId(new PathId(TEST_FLOW_ID + "_path" + vni))
+                    .flowId(TEST_FLOW_ID)
+                    .build());
+        }
+
+        Collection<Integer> assignedVxlans = vxlanRepository.findAssignedVxlans(101, 110);
+
+        assertEquals(new HashSet<>(Arrays.asList(105, 110)), new HashSet<>(assignedVxlans));
+    }
 }
@@ -17,11 +17,13 @@ package org.openkilda.wfm.topology.nbworker.services;
 
 import org.openkilda.model.FeatureToggles;
 import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.cache.SingletonEntityCache;
 import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.wfm.error.FeatureTogglesNotFoundException;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 
 @Slf4j
 public class FeatureTogglesService {
@@ -52,13 +54,19 @@ public class FeatureTogglesService {
      */
     public FeatureToggles createOrUpdateFeatureToggles(FeatureToggles featureToggles) {
         log.info("Process feature-toggles update - toggles:{}", featureToggles);
-        FeatureToggles before = featureTogglesRepository.find().orElse(FeatureToggles.DEFAULTS);
-        FeatureToggles after = transactionManager.doInTransaction(() -> {
+        Pair<FeatureToggles, FeatureToggles> update = transactionManager.doInTransaction(() -> {
+            // reads within the transaction bypass the cache, the loaded entity is copied as the update changes it
+            FeatureToggles before = featureTogglesRepository.find()
+                    .map(toggles -> toggles.toBuilder().build())
+                    .orElse(FeatureToggles.DEFAULTS);
             featureTogglesRepository.createOrUpdate(featureToggles);
-            return featureTogglesRepository.find().get();
+            return Pair.of(before, featureTogglesRepository.find().get());
         });
+        FeatureToggles after = update.getRight();
+        // drop the value which may be cached by the concurrent reads before the commit
+        SingletonEntityCache.invalidateShared(FeatureToggles.class);
 
-        if (!before.equals(after)) {
+        if (!update.getLeft().equals(after)) {
             log.info("Emit feature-toggles update notification - toggles:{}", after);
             carrier.featureTogglesUpdateNotification(after);
         }
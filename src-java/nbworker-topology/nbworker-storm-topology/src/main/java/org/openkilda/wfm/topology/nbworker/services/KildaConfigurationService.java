@@ -17,10 +17,12 @@ package org.openkilda.wfm.topology.nbworker.services;
 
 import org.openkilda.model.KildaConfiguration;
 import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.cache.SingletonEntityCache;
 import org.openkilda.persistence.repositories.KildaConfigurationRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 
 @Slf4j
 public class KildaConfigurationService {
@@ -48,9 +50,19 @@ public class KildaConfigurationService {
      */
     public KildaConfiguration updateKildaConfiguration(KildaConfiguration kildaConfiguration) {
         log.info("Process kilda config update - config: {}", kildaConfiguration);
-        return transactionManager.doInTransaction(() -> {
+        Pair<KildaConfiguration, KildaConfiguration> update = transactionManager.doInTransaction(() -> {
+            // reads within the transaction bypass the cache, the loaded entity is copied as the update changes it
+            KildaConfiguration before = kildaConfigurationRepository.get().toBuilder().build();
             kildaConfigurationRepository.createOrUpdate(kildaConfiguration);
-            return kildaConfigurationRepository.get();
+            return Pair.of(before, kildaConfigurationRepository.get());
         });
+        // drop the value which may be cached by the concurrent reads before the commit
+        SingletonEntityCache.invalidateShared(KildaConfiguration.class);
+
+        KildaConfiguration after = update.getRight();
+        if (!update.getLeft().equals(after)) {
+            log.info("Kilda config updated - before: {}, after: {}", update.getLeft(), after);
+        }
+        return after;
     }
 }
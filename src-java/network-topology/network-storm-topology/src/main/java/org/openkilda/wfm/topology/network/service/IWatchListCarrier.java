@@ -15,10 +15,15 @@
 
 package org.openkilda.wfm.topology.network.service;
 
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.model.Endpoint;
 
+import java.util.List;
+
 public interface IWatchListCarrier {
     void watchRemoved(Endpoint endpoint);
 
     void discoveryRequest(Endpoint endpoint, long currentTime);
+
+    void discoveryRequest(SwitchId datapath, List<Integer> portNumbers, long currentTime);
 }
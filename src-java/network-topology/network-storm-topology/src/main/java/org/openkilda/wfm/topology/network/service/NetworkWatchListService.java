@@ -15,47 +15,52 @@
 
 package org.openkilda.wfm.topology.network.service;
 
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.utils.TimerWheel;
+import org.openkilda.wfm.share.utils.TimerWheel.Timer;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 @Slf4j
 public class NetworkWatchListService {
+    private static final int TIMER_TICKS_PER_PERIOD = 16;
+    private static final int TIMER_WHEEL_SIZE = 64;
+
     private final IWatchListCarrier carrier;
     private final long tickPeriod;
 
-    private Set<Endpoint> endpoints = new HashSet<>();
-    private SortedMap<Long, Set<Endpoint>> timeouts = new TreeMap<>();
-
+    private Map<Endpoint, Timer<Endpoint>> endpoints = new HashMap<>();
+    private final TimerWheel<Endpoint> timeouts;
 
     public NetworkWatchListService(IWatchListCarrier carrier, long tickPeriod) {
         this.carrier = carrier;
         this.tickPeriod = tickPeriod;
+        this.timeouts = new TimerWheel<>(Math.max(1, tickPeriod / TIMER_TICKS_PER_PERIOD), TIMER_WHEEL_SIZE);
     }
 
     @VisibleForTesting
     Set<Endpoint> getEndpoints() {
-        return endpoints;
+        return endpoints.keySet();
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<Endpoint>> getTimeouts() {
+    TimerWheel<Endpoint> getTimeouts() {
         return timeouts;
     }
 
     @VisibleForTesting
     void addWatch(Endpoint endpoint, long currentTime) {
-        if (endpoints.add(endpoint)) {
+        if (!endpoints.containsKey(endpoint)) {
             carrier.discoveryRequest(endpoint, currentTime);
-            long key = currentTime + tickPeriod;
-            timeouts.computeIfAbsent(key, mappingFunction -> new HashSet<>())
-                    .add(endpoint);
+            endpoints.put(endpoint, timeouts.schedule(currentTime + tickPeriod, endpoint));
         }
     }
 
@@ -70,30 +75,24 @@ public class NetworkWatchListService {
     public void removeWatch(Endpoint endpoint) {
         log.debug("Watch-list service receive REMOVE-WATCH request for {}", endpoint);
         carrier.watchRemoved(endpoint);
-        endpoints.remove(endpoint);
+        Timer<Endpoint> timer = endpoints.remove(endpoint);
+        if (timer != null) {
+            timer.cancel();
+        }
     }
 
     /**
-     * Consume timer tick.
+     * Consume timer tick. Discovery of the due endpoints is requested by one batch per switch.
      */
     public void tick(long tickTime) {
-        SortedMap<Long, Set<Endpoint>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            HashSet<Endpoint> renew = new HashSet<>();
-            for (Set<Endpoint> e : range.values()) {
-                for (Endpoint ee : e) {
-                    if (endpoints.contains(ee)) {
-                        carrier.discoveryRequest(ee, tickTime);
-                        renew.add(ee);
-                    }
-                }
-            }
-            range.clear();
-            if (!renew.isEmpty()) {
-                long key = tickTime + tickPeriod;
-                timeouts.computeIfAbsent(key, mappingFunction -> new HashSet<>())
-                        .addAll(renew);
-            }
+        Map<SwitchId, List<Integer>> batches = new HashMap<>();
+        for (Endpoint endpoint : timeouts.advance(tickTime)) {
+            batches.computeIfAbsent(endpoint.getDatapath(), key -> new ArrayList<>())
+                    .add(endpoint.getPortNumber());
+            endpoints.put(endpoint, timeouts.schedule(tickTime + tickPeriod, endpoint));
+        }
+        for (Map.Entry<SwitchId, List<Integer>> entry : batches.entrySet()) {
+            carrier.discoveryRequest(entry.getKey(), entry.getValue(), tickTime);
         }
     }
 
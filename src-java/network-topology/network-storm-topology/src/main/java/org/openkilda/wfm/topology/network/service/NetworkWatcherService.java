@@ -15,22 +15,28 @@
 
 package org.openkilda.wfm.topology.network.service;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
+import org.openkilda.wfm.share.utils.TimerWheel;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 @Slf4j
 public class NetworkWatcherService {
+    private static final int TIMER_TICKS_PER_AWAIT_TIME = 16;
+    private static final int TIMER_WHEEL_SIZE = 64;
+
     private final IWatcherCarrier carrier;
     private final long awaitTime;
     private final Integer taskId;
@@ -38,12 +44,13 @@ public class NetworkWatcherService {
     private long packetNo = 0;
     private Set<Packet> producedPackets = new HashSet<>();
     private Set<Packet> confirmedPackets = new HashSet<>();
-    private SortedMap<Long, Set<Packet>> timeouts = new TreeMap<>();
+    private final TimerWheel<Packet> timeouts;
 
     public NetworkWatcherService(IWatcherCarrier carrier, long awaitTime, Integer taskId) {
         this.carrier = carrier;
         this.awaitTime = awaitTime;
         this.taskId = taskId;
+        this.timeouts = new TimerWheel<>(Math.max(1, awaitTime / TIMER_TICKS_PER_AWAIT_TIME), TIMER_WHEEL_SIZE);
     }
 
     public void addWatch(Endpoint endpoint) {
@@ -51,19 +58,19 @@ public class NetworkWatcherService {
     }
 
     void addWatch(Endpoint endpoint, long currentTime) {
-        Packet packet = Packet.of(endpoint, packetNo);
-        log.debug("Watcher service receive ADD-watch request for {} and produce packet id:{} task:{}",
-                  endpoint, packet.packetNo, taskId);
-
-        producedPackets.add(packet);
-        timeouts.computeIfAbsent(currentTime + awaitTime, key -> new HashSet<>())
-                .add(packet);
+        carrier.sendDiscovery(producePacket(endpoint, currentTime));
+    }
 
-        DiscoverIslCommandData discoveryRequest = new DiscoverIslCommandData(
-                endpoint.getDatapath(), endpoint.getPortNumber(), packetNo);
-        carrier.sendDiscovery(discoveryRequest);
+    public void addWatch(SwitchId datapath, List<Integer> portNumbers) {
+        addWatch(datapath, portNumbers, now());
+    }
 
-        packetNo += 1;
+    void addWatch(SwitchId datapath, List<Integer> portNumbers, long currentTime) {
+        List<DiscoverIslCommandData> requests = new ArrayList<>(portNumbers.size());
+        for (Integer portNumber : portNumbers) {
+            requests.add(producePacket(Endpoint.of(datapath, portNumber), currentTime));
+        }
+        carrier.sendDiscovery(new DiscoverIslBatchCommandData(datapath, requests));
     }
 
     /**
@@ -77,14 +84,8 @@ public class NetworkWatcherService {
     }
 
     void tick(long tickTime) {
-        SortedMap<Long, Set<Packet>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            for (Set<Packet> e : range.values()) {
-                for (Packet ee : e) {
-                    timeoutAction(ee);
-                }
-            }
-            range.clear();
+        for (Packet packet : timeouts.advance(tickTime)) {
+            timeoutAction(packet);
         }
     }
 
@@ -135,6 +136,18 @@ public class NetworkWatcherService {
         }
     }
 
+    private DiscoverIslCommandData producePacket(Endpoint endpoint, long currentTime) {
+        Packet packet = Packet.of(endpoint, packetNo);
+        log.debug("Watcher service receive ADD-watch request for {} and produce packet id:{} task:{}",
+                  endpoint, packet.packetNo, taskId);
+
+        producedPackets.add(packet);
+        timeouts.schedule(currentTime + awaitTime, packet);
+
+        packetNo += 1;
+        return new DiscoverIslCommandData(endpoint.getDatapath(), endpoint.getPortNumber(), packet.packetNo);
+    }
+
     private void timeoutAction(Packet packet) {
         producedPackets.remove(packet);
 
@@ -160,7 +173,7 @@ public class NetworkWatcherService {
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<Packet>> getTimeouts() {
+    TimerWheel<Packet> getTimeouts() {
         return timeouts;
     }
 
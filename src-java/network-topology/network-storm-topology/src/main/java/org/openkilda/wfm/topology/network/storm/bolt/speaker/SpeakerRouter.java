@@ -33,6 +33,8 @@ import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.info.switches.UnmanagedSwitchNotification;
 import org.openkilda.messaging.model.system.FeatureTogglesDto;
 import org.openkilda.messaging.nbtopology.request.UpdatePortPropertiesRequest;
+import org.openkilda.model.FeatureToggles;
+import org.openkilda.persistence.cache.SingletonEntityCache;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.mappers.FeatureTogglesMapper;
@@ -156,6 +158,7 @@ public class SpeakerRouter extends AbstractBolt {
             emit(STREAM_ISL_ID, input, makeIslTuple(input, new IslBfdFlagUpdatedCommand((IslBfdFlagUpdated) payload)));
         } else if (payload instanceof FeatureTogglesUpdate) {
             FeatureTogglesDto toggles = ((FeatureTogglesUpdate) payload).getToggles();
+            SingletonEntityCache.invalidateShared(FeatureToggles.class);
             emit(STREAM_BCAST_ID, input, makeBcastTuple(new FeatureTogglesNotificationBcast(
                     FeatureTogglesMapper.INSTANCE.map(toggles))));
         } else if (payload instanceof UpdatePortPropertiesRequest) {
@@ -0,0 +1,40 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.storm.bolt.watcher.command;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.network.storm.ICommand;
+import org.openkilda.wfm.topology.network.storm.bolt.watcher.WatcherHandler;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class WatcherAddBatchCommand implements ICommand<WatcherHandler> {
+    private final SwitchId datapath;
+    private final List<Integer> portNumbers;
+
+    public WatcherAddBatchCommand(SwitchId datapath, List<Integer> portNumbers) {
+        this.datapath = datapath;
+        this.portNumbers = portNumbers;
+    }
+
+    @Override
+    public void apply(WatcherHandler handler) {
+        handler.processAddWatch(datapath, portNumbers);
+    }
+}
@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.network.storm.bolt.watchlist;
 
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
@@ -25,6 +26,7 @@ import org.openkilda.wfm.topology.network.service.IWatchListCarrier;
 import org.openkilda.wfm.topology.network.service.NetworkWatchListService;
 import org.openkilda.wfm.topology.network.storm.ComponentId;
 import org.openkilda.wfm.topology.network.storm.bolt.port.PortHandler;
+import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherAddBatchCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherAddCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherRemoveCommand;
@@ -35,6 +37,8 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.List;
+
 public class WatchListHandler extends AbstractBolt implements IWatchListCarrier {
     public static final String BOLT_ID = ComponentId.WATCH_LIST.toString();
 
@@ -45,6 +49,9 @@ public class WatchListHandler extends AbstractBolt implements IWatchListCarrier
     public static final Fields STREAM_FIELDS = new Fields(FIELD_ID_DATAPATH, FIELD_ID_PORT_NUMBER, FIELD_ID_COMMAND,
             FIELD_ID_CONTEXT);
 
+    public static final String STREAM_BATCH_ID = "batch";
+    public static final Fields STREAM_BATCH_FIELDS = new Fields(FIELD_ID_DATAPATH, FIELD_ID_COMMAND, FIELD_ID_CONTEXT);
+
     private final NetworkOptions options;
 
     private transient NetworkWatchListService service;
@@ -82,6 +89,7 @@ public class WatchListHandler extends AbstractBolt implements IWatchListCarrier
     @Override
     public void declareOutputFields(OutputFieldsDeclarer streamManager) {
         streamManager.declare(STREAM_FIELDS);
+        streamManager.declareStream(STREAM_BATCH_ID, STREAM_BATCH_FIELDS);
     }
 
     @Override
@@ -94,6 +102,13 @@ public class WatchListHandler extends AbstractBolt implements IWatchListCarrier
         emit(getCurrentTuple(), makeDefaultTuple(new WatcherAddCommand(endpoint)));
     }
 
+    @Override
+    public void discoveryRequest(SwitchId datapath, List<Integer> portNumbers, long currentTime) {
+        CommandContext forkedContext = getCommandContext().fork(datapath.toString());
+        emit(STREAM_BATCH_ID, getCurrentTuple(),
+                new Values(datapath, new WatcherAddBatchCommand(datapath, portNumbers), forkedContext));
+    }
+
     private Values makeDefaultTuple(WatcherCommand command) {
         Endpoint endpoint = command.getEndpoint();
         CommandContext forkedContext = getCommandContext()
@@ -125,6 +125,11 @@ public class NetworkIntegrationTest {
                                 public String getIndexesAuto() {
                                     return "update";
                                 }
+
+                                @Override
+                                public int getSingletonCacheTtlSeconds() {
+                                    return 0;
+                                }
                             };
                         } else {
                             throw new UnsupportedOperationException("Unsupported configurationType "
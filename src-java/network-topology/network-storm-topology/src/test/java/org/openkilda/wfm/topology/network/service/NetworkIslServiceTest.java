@@ -198,6 +198,11 @@ public class NetworkIslServiceTest {
                                 public String getIndexesAuto() {
                                     return "update";
                                 }
+
+                                @Override
+                                public int getSingletonCacheTtlSeconds() {
+                                    return 0;
+                                }
                             };
                         } else {
                             throw new UnsupportedOperationException("Unsupported configurationType "
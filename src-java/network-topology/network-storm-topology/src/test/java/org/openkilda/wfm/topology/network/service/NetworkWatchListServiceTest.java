@@ -27,6 +27,7 @@ import static org.mockito.Mockito.verify;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.model.Endpoint;
 
+import com.google.common.collect.ImmutableList;
 import org.junit.Before;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -55,7 +56,7 @@ public class NetworkWatchListServiceTest {
         s.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(s.getEndpoints().size(), is(4));
-        assertThat(s.getTimeouts().size(), is(3));
+        assertThat(s.getTimeouts().size(), is(4));
 
         verify(carrier, times(4)).discoveryRequest(any(Endpoint.class), anyLong());
     }
@@ -75,7 +76,7 @@ public class NetworkWatchListServiceTest {
         s.removeWatch(Endpoint.of(new SwitchId(2), 1));
 
         assertThat(s.getEndpoints().size(), is(0));
-        assertThat(s.getTimeouts().size(), is(2));
+        assertThat(s.getTimeouts().size(), is(0));
 
         s.tick(100);
 
@@ -96,9 +97,14 @@ public class NetworkWatchListServiceTest {
         for (int i = 0; i <= 100; i++) {
             s.tick(i);
         }
-        verify(carrier, times(10)).discoveryRequest(eq(Endpoint.of(new SwitchId(1), 1)), anyLong());
-        verify(carrier, times(10)).discoveryRequest(eq(Endpoint.of(new SwitchId(1), 2)), anyLong());
-        verify(carrier, times(10)).discoveryRequest(eq(Endpoint.of(new SwitchId(2), 1)), anyLong());
-        verify(carrier, times(10)).discoveryRequest(eq(Endpoint.of(new SwitchId(2), 2)), anyLong());
+        verify(carrier).discoveryRequest(eq(Endpoint.of(new SwitchId(1), 1)), anyLong());
+        verify(carrier).discoveryRequest(eq(Endpoint.of(new SwitchId(1), 2)), anyLong());
+        verify(carrier).discoveryRequest(eq(Endpoint.of(new SwitchId(2), 1)), anyLong());
+        verify(carrier).discoveryRequest(eq(Endpoint.of(new SwitchId(2), 2)), anyLong());
+
+        // ports due at the same tick are requested by one batch per switch
+        verify(carrier, times(9)).discoveryRequest(eq(new SwitchId(1)), eq(ImmutableList.of(1, 2)), anyLong());
+        verify(carrier, times(9)).discoveryRequest(eq(new SwitchId(2)), eq(ImmutableList.of(1)), anyLong());
+        verify(carrier, times(9)).discoveryRequest(eq(new SwitchId(2)), eq(ImmutableList.of(2)), anyLong());
     }
 }
@@ -25,15 +25,18 @@ import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.model.Endpoint;
 
+import com.google.common.collect.ImmutableList;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -59,11 +62,32 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
 
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
     }
 
+    @Test
+    public void addWatchBatch() {
+        NetworkWatcherService w = new NetworkWatcherService(carrier, 10, taskId);
+        w.addWatch(new SwitchId(1), ImmutableList.of(1, 2, 3), 1);
+
+        ArgumentCaptor<DiscoverIslBatchCommandData> captor = ArgumentCaptor.forClass(
+                DiscoverIslBatchCommandData.class);
+        verify(carrier).sendDiscovery(captor.capture());
+        verify(carrier, never()).sendDiscovery(any(DiscoverIslCommandData.class));
+
+        DiscoverIslBatchCommandData batch = captor.getValue();
+        assertThat(batch.getSwitchId(), is(new SwitchId(1)));
+        assertThat(batch.getRequests(), is(ImmutableList.of(
+                new DiscoverIslCommandData(new SwitchId(1), 1, 0L),
+                new DiscoverIslCommandData(new SwitchId(1), 2, 1L),
+                new DiscoverIslCommandData(new SwitchId(1), 3, 2L))));
+
+        assertThat(w.getProducedPackets().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(3));
+    }
+
     @Test
     public void removeWatch() {
         NetworkWatcherService w = new NetworkWatcherService(carrier, 10, taskId);
@@ -105,7 +129,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
@@ -134,7 +158,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
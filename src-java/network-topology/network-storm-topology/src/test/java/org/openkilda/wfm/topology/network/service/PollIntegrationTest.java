@@ -20,6 +20,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
@@ -36,6 +37,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.List;
+
 @RunWith(MockitoJUnitRunner.class)
 public class PollIntegrationTest {
     private static final Integer taskId = 0;
@@ -162,6 +165,11 @@ public class PollIntegrationTest {
             watcherService.addWatch(endpoint, currentTime);
         }
 
+        @Override
+        public void discoveryRequest(SwitchId datapath, List<Integer> portNumbers, long currentTime) {
+            watcherService.addWatch(datapath, portNumbers, currentTime);
+        }
+
         @Override
         public void discoveryReceived(Endpoint endpoint, long packetNo, IslInfoData discoveryEvent, long currentTime) {
             decisionMakerService.discovered(endpoint, packetNo, discoveryEvent, currentTime);
@@ -174,6 +182,11 @@ public class PollIntegrationTest {
 
         public abstract void sendDiscovery(DiscoverIslCommandData discoveryRequest);
 
+        @Override
+        public void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest) {
+            discoveryRequest.getRequests().forEach(this::sendDiscovery);
+        }
+
         @Override
         public void clearDiscovery(Endpoint endpoint) {
             // TBD
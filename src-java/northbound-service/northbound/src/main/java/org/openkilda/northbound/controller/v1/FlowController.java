@@ -46,6 +46,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -56,6 +58,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
@@ -153,15 +156,39 @@ public class FlowController extends BaseController {
     }
 
     /**
-     * Dumps all flows. Dumps all flows with specific status if specified.
+     * Dumps all flows. The flows are streamed to the client page by page as they are received.
      *
      * @return list of flow
      */
     @ApiOperation(value = "Dumps all flows", response = FlowResponsePayload.class, responseContainer = "List")
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public CompletableFuture<List<FlowResponsePayload>> getFlows() {
-        return flowService.getAllFlows();
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getFlows() {
+        return flowService.dumpAllFlows()
+                .thenApply(body -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .body(body));
+    }
+
+    /**
+     * Gets a page of flows ordered by the flow id.
+     *
+     * @param afterFlowId the last flow id of the previous page, the first page is returned if not specified.
+     * @param limit the maximum number of flows in the page.
+     * @return list of flow
+     */
+    @ApiOperation(value = "Gets a page of flows ordered by the flow id", response = FlowResponsePayload.class,
+            responseContainer = "List")
+    @GetMapping(params = "limit")
+    @ResponseStatus(HttpStatus.OK)
+    public CompletableFuture<List<FlowResponsePayload>> getFlowsPage(
+            @RequestParam(value = "after", required = false) String afterFlowId,
+            @RequestParam("limit") int limit) {
+        if (limit <= 0) {
+            throw new MessageException(ErrorType.DATA_INVALID, "Flows page limit must be positive",
+                    "Invalid limit value");
+        }
+        return flowService.getFlowsPage(afterFlowId, limit);
     }
 
     /**
@@ -0,0 +1,64 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.messaging.kafka;
+
+import org.openkilda.messaging.WireCodec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Kafka deserializer of record values encoded in either wire format.
+ */
+public class WireCodecDeserializer<T> implements Deserializer<T> {
+    private final Class<T> type;
+    private final WireCodec codec;
+
+    public WireCodecDeserializer(Class<T> type, ObjectMapper jsonMapper) {
+        this.type = type;
+        this.codec = new WireCodec(jsonMapper, WireCodec.createBinaryMapper().registerModule(new JavaTimeModule()),
+                Collections.emptySet());
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        // nothing to do
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return codec.decode(data, type);
+        } catch (IOException e) {
+            throw new SerializationException(String.format("Can't deserialize data %s from topic %s",
+                    WireCodec.toLogString(data), topic), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // nothing to do
+    }
+}
@@ -35,6 +35,8 @@ import org.openkilda.northbound.dto.v2.flows.FlowRerouteResponseV2;
 import org.openkilda.northbound.dto.v2.flows.FlowResponseV2;
 import org.openkilda.northbound.dto.v2.flows.SwapFlowEndpointPayload;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -115,6 +117,22 @@ public interface FlowService {
      */
     CompletableFuture<List<FlowResponsePayload>> getAllFlows();
 
+    /**
+     * Gets a page of flows ordered by the flow id.
+     *
+     * @param afterFlowId the last flow id of the previous page or null to start from the first flow
+     * @param limit the maximum number of flows in the page
+     * @return the page of flows
+     */
+    CompletableFuture<List<FlowResponsePayload>> getFlowsPage(String afterFlowId, int limit);
+
+    /**
+     * Dumps all the flows page by page, the next page is requested once the previous one is written to the client.
+     *
+     * @return the body writing the flows as a JSON array, available once the first page is received
+     */
+    CompletableFuture<StreamingResponseBody> dumpAllFlows();
+
     /**
      * Deletes all flows. Primarily this is a combination of getAllFlows and deleteFlow.
      * This should be called with care ..
@@ -87,14 +87,21 @@ import org.openkilda.northbound.service.FlowService;
 import org.openkilda.northbound.utils.CorrelationIdFactory;
 import org.openkilda.northbound.utils.RequestCorrelationId;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
@@ -110,6 +117,13 @@ public class FlowServiceImpl implements FlowService {
      */
     private static final Logger logger = LoggerFactory.getLogger(FlowServiceImpl.class);
 
+    /**
+     * Serializes the streamed flows dump the same way as the HTTP message converters do.
+     */
+    private static final ObjectMapper FLOWS_DUMP_MAPPER = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .build();
+
     /**
      * The kafka topic for the flow topology.
      */
@@ -143,6 +157,12 @@ public class FlowServiceImpl implements FlowService {
     @Value("${neo4j.password}")
     private String neoPswd;
 
+    /**
+     * The number of flows requested at once while dumping all flows.
+     */
+    @Value("${northbound.flows.dump.page.size}")
+    private int flowsDumpPageSize;
+
     @Autowired
     private FlowMapper flowMapper;
 
@@ -288,9 +308,31 @@ public class FlowServiceImpl implements FlowService {
      */
     @Override
     public CompletableFuture<List<FlowResponsePayload>> getAllFlows() {
-        final String correlationId = RequestCorrelationId.getId();
         logger.debug("Get flows request processing");
-        FlowsDumpRequest data = new FlowsDumpRequest();
+        return dumpFlows(new FlowsDumpRequest(), RequestCorrelationId.getId());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<FlowResponsePayload>> getFlowsPage(String afterFlowId, int limit) {
+        logger.debug("Get flows page request processing: after flow {}, limit {}", afterFlowId, limit);
+        return dumpFlows(new FlowsDumpRequest(afterFlowId, limit), RequestCorrelationId.getId());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<StreamingResponseBody> dumpAllFlows() {
+        final String correlationId = RequestCorrelationId.getId();
+        logger.debug("Dump flows request processing: page size {}", flowsDumpPageSize);
+        return dumpFlows(new FlowsDumpRequest(null, flowsDumpPageSize), correlationId)
+                .thenApply(firstPage -> output -> writeFlows(firstPage, correlationId, output));
+    }
+
+    private CompletableFuture<List<FlowResponsePayload>> dumpFlows(FlowsDumpRequest data, String correlationId) {
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
 
         return messagingChannel.sendAndGetChunked(topic, request)
@@ -301,6 +343,38 @@ public class FlowServiceImpl implements FlowService {
                         .collect(Collectors.toList()));
     }
 
+    /**
+     * Writes the flows as a JSON array requesting the next page only when the previous one is written, so a slow
+     * client slows down the dump instead of making the flows to pile up in memory. The response is already committed
+     * here, so a failed page request just breaks the output.
+     */
+    private void writeFlows(List<FlowResponsePayload> firstPage, String correlationId, OutputStream output)
+            throws IOException {
+        try (JsonGenerator generator = FLOWS_DUMP_MAPPER.getFactory().createGenerator(output)) {
+            generator.writeStartArray();
+            List<FlowResponsePayload> page = firstPage;
+            int pageNumber = 0;
+            while (true) {
+                for (FlowResponsePayload flow : page) {
+                    generator.writeObject(flow);
+                }
+                generator.flush();
+                if (flowsDumpPageSize <= 0 || page.size() < flowsDumpPageSize) {
+                    break;
+                }
+
+                // chunks of a page may arrive in any order
+                String lastFlowId = page.stream()
+                        .map(FlowPayload::getId)
+                        .max(Comparator.naturalOrder())
+                        .orElse(null);
+                String requestId = idFactory.produceChained(String.valueOf(++pageNumber), correlationId);
+                page = dumpFlows(new FlowsDumpRequest(lastFlowId, flowsDumpPageSize), requestId).join();
+            }
+            generator.writeEndArray();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
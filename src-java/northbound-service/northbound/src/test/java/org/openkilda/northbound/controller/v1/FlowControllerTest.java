@@ -187,6 +187,28 @@ public class FlowControllerTest extends NorthboundBaseTest {
                 .contentType(APPLICATION_JSON_VALUE))
                 .andReturn();
 
+        MvcResult result = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON_UTF8_VALUE))
+                .andReturn();
+        // the flows are written by the streaming task started on the dispatch
+        result.getAsyncResult();
+        List<FlowPayload> response = MAPPER.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<List<FlowPayload>>() {});
+        assertEquals(Collections.singletonList(TestMessageMock.flow), response);
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void getFlowsPage() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/v1/flows")
+                .param("after", "some-flow")
+                .param("limit", "10")
+                .header(CORRELATION_ID, testCorrelationId())
+                .contentType(APPLICATION_JSON_VALUE))
+                .andReturn();
+
         MvcResult result = mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(APPLICATION_JSON_UTF8_VALUE))
@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.opentsdb;
 import static org.mockserver.integration.ClientAndServer.startClientAndServer;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointBatch;
 import org.openkilda.wfm.StableAbstractStormTest;
 
 import org.apache.storm.Testing;
@@ -33,6 +34,7 @@ import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.verify.VerificationTimes;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 
@@ -122,4 +124,27 @@ public class OpenTsdbTopologyTest extends StableAbstractStormTest {
         //verify that request is sent to OpenTSDB server once
         mockServer.verify(REQUEST, VerificationTimes.exactly(2));
     }
+
+    @Test
+    public void shouldSendEachDatapointOfBatch() throws Exception {
+        Datapoint datapoint1 = new Datapoint("metric", timestamp, Collections.emptyMap(), 123);
+        Datapoint datapoint2 = new Datapoint("metric", timestamp, Collections.emptyMap(), 456);
+        Datapoint datapoint3 = new Datapoint("metric", timestamp, Collections.emptyMap(), 456);
+
+        MockedSources sources = new MockedSources();
+
+        Testing.withTrackedCluster(clusterParam, (cluster) -> {
+            OpenTsdbTopology topology = new OpenTsdbTopology(makeLaunchEnvironment());
+
+            sources.addMockData(OpenTsdbTopology.OTSDB_SPOUT_ID,
+                    new Values(null, new DatapointBatch(Arrays.asList(datapoint1, datapoint2, datapoint3))));
+            completeTopologyParam.setMockedSources(sources);
+
+            StormTopology stormTopology = topology.createTopology();
+
+            Testing.completeTopology(cluster, stormTopology, completeTopologyParam);
+        });
+        //verify that the datapoints of the batch are filtered one by one
+        mockServer.verify(REQUEST, VerificationTimes.exactly(2));
+    }
 }
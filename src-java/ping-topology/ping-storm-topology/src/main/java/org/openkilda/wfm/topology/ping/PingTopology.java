@@ -124,7 +124,7 @@ public class PingTopology extends AbstractTopology<PingTopologyConfig> {
         PersistenceManager persistenceManager =
                 PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
 
-        FlowFetcher bolt = new FlowFetcher(persistenceManager, topologyConfig.getPeriodicPingCacheExpirationInterval());
+        FlowFetcher bolt = new FlowFetcher(persistenceManager, topologyConfig.getPeriodicPingCacheReconcileInterval());
         topology.setBolt(FlowFetcher.BOLT_ID, bolt, scaleFactor)
                 // NOTE(tdurakov): global grouping is responsible for proper handling parallelism of 2
                 .globalGrouping(TickDeduplicator.BOLT_ID, TickDeduplicator.STREAM_PING_ID)
@@ -230,6 +230,7 @@ public class PingTopology extends AbstractTopology<PingTopologyConfig> {
     private void otsdbEncoder(TopologyBuilder topology) {
         OtsdbEncoder bolt = new OtsdbEncoder();
         topology.setBolt(OtsdbEncoder.BOLT_ID, bolt, scaleFactor)
+                .allGrouping(TickDeduplicator.BOLT_ID)
                 .shuffleGrouping(StatsProducer.BOLT_ID);
 
         KafkaBolt output = createKafkaBolt(topologyConfig.getKafkaOtsdbTopic());
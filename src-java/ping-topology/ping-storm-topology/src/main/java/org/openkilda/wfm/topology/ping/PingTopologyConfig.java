@@ -39,8 +39,8 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         return getPingConfig().getTimeout();
     }
 
-    default long getPeriodicPingCacheExpirationInterval() {
-        return getPingConfig().getPeriodicPingCacheExpirySec();
+    default long getPeriodicPingCacheReconcileInterval() {
+        return getPingConfig().getPeriodicPingCacheReconcileSec();
     }
 
     default int getFailDelay() {
@@ -98,8 +98,8 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         @Default("1800")
         int getFailReset();
 
-        @Key("cache.expiry.sec")
-        @Default("60")
-        long getPeriodicPingCacheExpirySec();
+        @Key("cache.reconcile.sec")
+        @Default("3600")
+        long getPeriodicPingCacheReconcileSec();
     }
 }
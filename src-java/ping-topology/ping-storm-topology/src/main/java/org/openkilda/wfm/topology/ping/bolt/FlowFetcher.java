@@ -32,16 +32,15 @@ import org.openkilda.wfm.share.mappers.FlowMapper;
 import org.openkilda.wfm.topology.ping.model.PingContext;
 import org.openkilda.wfm.topology.ping.model.PingContext.Kinds;
 
-import org.apache.storm.task.OutputCollector;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 public class FlowFetcher extends Abstract {
@@ -62,13 +61,13 @@ public class FlowFetcher extends Abstract {
 
     private final PersistenceManager persistenceManager;
     private transient FlowPairRepository flowPairRepository;
-    private Set<BidirectionalFlowDto> flowsSet;
-    private long periodicPingCacheExpiryInterval;
-    private long lastPeriodicPingCacheRefresh;
+    private Map<String, BidirectionalFlowDto> flowsById;
+    private long periodicPingCacheReconcileInterval;
+    private long lastPeriodicPingCacheReconcile;
 
-    public FlowFetcher(PersistenceManager persistenceManager, long periodicPingCacheExpiryInterval) {
+    public FlowFetcher(PersistenceManager persistenceManager, long periodicPingCacheReconcileInterval) {
         this.persistenceManager = persistenceManager;
-        this.periodicPingCacheExpiryInterval = TimeUnit.SECONDS.toMillis(periodicPingCacheExpiryInterval);
+        this.periodicPingCacheReconcileInterval = TimeUnit.SECONDS.toMillis(periodicPingCacheReconcileInterval);
     }
 
     @Override
@@ -89,61 +88,91 @@ public class FlowFetcher extends Abstract {
         }
     }
 
+    /**
+     * Apply the change of a single flow to the periodic ping cache. Flow create/update/reroute/path swap
+     * notifications reload the flow (its paths could be changed), delete notifications and disabled periodic pings
+     * drop it.
+     */
     private void updatePeriodicPingHeap(Tuple input) throws PipelineException {
         PeriodicPingCommand periodicPingCommand = pullPeriodicPingRequest(input);
-        if (periodicPingCommand.isEnable()) {
-            Optional<FlowPair> flowPair = flowPairRepository.findById(periodicPingCommand.getFlowId());
-            if (flowPair.isPresent()) {
-                BidirectionalFlowDto flowDto = new BidirectionalFlowDto(FlowMapper.INSTANCE.map(flowPair.get()));
-                flowsSet.add(flowDto);
-            }
+        String flowId = periodicPingCommand.getFlowId();
+        Optional<FlowPair> flowPair = periodicPingCommand.isEnable()
+                ? flowPairRepository.findById(flowId) : Optional.empty();
+        BidirectionalFlowDto flowDto = flowPair
+                .filter(pair -> pair.getForward().isPeriodicPings())
+                .map(this::makeFlowDto)
+                .orElse(null);
+
+        BidirectionalFlowDto replaced;
+        if (flowDto != null) {
+            replaced = flowsById.put(flowId, flowDto);
         } else {
-            flowsSet.removeIf(flow -> flow.getFlowId().equals(periodicPingCommand.getFlowId()));
+            replaced = flowsById.remove(flowId);
+        }
+        if (replaced != null && !replaced.equals(flowDto)) {
+            emitCacheExpire(input, pullContext(input), replaced);
         }
     }
 
+    /**
+     * Reload the whole periodic ping cache. The cache is kept up to date by the periodic ping notifications, so
+     * this is only a reconciliation for the notifications which could be lost. It's done on start and then once per
+     * reconcile interval, which is meant to be much longer than the ping interval.
+     */
     private void refreshHeap(Tuple input, boolean emitCacheExpiry) throws PipelineException {
-        log.debug("Handle periodic ping request");
-        final Set<BidirectionalFlowDto> flows = new HashSet<>();
+        log.debug("Reload periodic ping cache");
+        final Map<String, BidirectionalFlowDto> flows = new HashMap<>();
         Collection<FlowPair> flowPairs = flowPairRepository.findWithPeriodicPingsEnabled();
         for (FlowPair fp : flowPairs) {
-            try {
-                flows.add(new BidirectionalFlowDto(FlowMapper.INSTANCE.map(fp)));
-            } catch (Exception e) {
-                String forwardPathId = Optional.ofNullable(fp)
-                        .map(FlowPair::getForward)
-                        .map(UnidirectionalFlow::getFlowPath)
-                        .map(FlowPath::getPathId)
-                        .map(PathId::getId)
-                        .orElse(null);
-                String reversePathId = Optional.ofNullable(fp)
-                        .map(FlowPair::getReverse)
-                        .map(UnidirectionalFlow::getFlowPath)
-                        .map(FlowPath::getPathId)
-                        .map(PathId::getId)
-                        .orElse(null);
-
-                String message = String.format("Failed to build flow from paths. Forward path id '%s', "
-                        + "reverse path id '%s'. Skipping.", forwardPathId, reversePathId);
-                log.info(message, e);
+            BidirectionalFlowDto flowDto = makeFlowDto(fp);
+            if (flowDto != null) {
+                flows.put(flowDto.getFlowId(), flowDto);
             }
         }
         if (emitCacheExpiry) {
             final CommandContext commandContext = pullContext(input);
-            emitCacheExpire(input, commandContext, flows);
+            for (BidirectionalFlowDto flow : flowsById.values()) {
+                if (!flow.equals(flows.get(flow.getFlowId()))) {
+                    emitCacheExpire(input, commandContext, flow);
+                }
+            }
+        }
+        flowsById = flows;
+        lastPeriodicPingCacheReconcile = System.currentTimeMillis();
+    }
+
+    private BidirectionalFlowDto makeFlowDto(FlowPair fp) {
+        try {
+            return new BidirectionalFlowDto(FlowMapper.INSTANCE.map(fp));
+        } catch (Exception e) {
+            String forwardPathId = Optional.ofNullable(fp)
+                    .map(FlowPair::getForward)
+                    .map(UnidirectionalFlow::getFlowPath)
+                    .map(FlowPath::getPathId)
+                    .map(PathId::getId)
+                    .orElse(null);
+            String reversePathId = Optional.ofNullable(fp)
+                    .map(FlowPair::getReverse)
+                    .map(UnidirectionalFlow::getFlowPath)
+                    .map(FlowPath::getPathId)
+                    .map(PathId::getId)
+                    .orElse(null);
+
+            String message = String.format("Failed to build flow from paths. Forward path id '%s', "
+                    + "reverse path id '%s'. Skipping.", forwardPathId, reversePathId);
+            log.info(message, e);
+            return null;
         }
-        flowsSet = flows;
-        lastPeriodicPingCacheRefresh = System.currentTimeMillis();
     }
 
     private void handlePeriodicRequest(Tuple input) throws PipelineException {
         log.debug("Handle periodic ping request");
 
-        if (lastPeriodicPingCacheRefresh + periodicPingCacheExpiryInterval < System.currentTimeMillis()) {
+        if (System.currentTimeMillis() - lastPeriodicPingCacheReconcile >= periodicPingCacheReconcileInterval) {
             refreshHeap(input, true);
         }
         final CommandContext commandContext = pullContext(input);
-        for (BidirectionalFlowDto flow : flowsSet) {
+        for (BidirectionalFlowDto flow : flowsById.values()) {
             PingContext pingContext = new PingContext(Kinds.PERIODIC, flow);
             emit(input, pingContext, commandContext);
         }
@@ -182,14 +211,9 @@ public class FlowFetcher extends Abstract {
         getOutput().emit(STREAM_ON_DEMAND_RESPONSE_ID, input, output);
     }
 
-    private void emitCacheExpire(Tuple input, CommandContext commandContext, Set<BidirectionalFlowDto> flows) {
-        OutputCollector collector = getOutput();
-        flowsSet.removeAll(flows);
-        for (BidirectionalFlowDto flow : flowsSet) {
-            Values output = new Values(flow, commandContext);
-            collector.emit(STREAM_EXPIRE_CACHE_ID, input, output);
-
-        }
+    private void emitCacheExpire(Tuple input, CommandContext commandContext, BidirectionalFlowDto flow) {
+        Values output = new Values(flow, commandContext);
+        getOutput().emit(STREAM_EXPIRE_CACHE_ID, input, output);
     }
 
     private FlowPingRequest pullOnDemandRequest(Tuple input) throws PipelineException {
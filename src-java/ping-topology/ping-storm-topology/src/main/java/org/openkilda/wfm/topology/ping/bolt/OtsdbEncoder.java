@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.ping.bolt;
 
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointBatch;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.JsonEncodeException;
 import org.openkilda.wfm.error.PipelineException;
@@ -28,6 +29,9 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class OtsdbEncoder extends AbstractBolt {
     public static final String BOLT_ID = ComponentId.OTSDB_ENCODER.toString();
 
@@ -36,21 +40,54 @@ public class OtsdbEncoder extends AbstractBolt {
     public static final Fields STREAM_FIELDS = new Fields(
             FieldNameBasedTupleToKafkaMapper.BOLT_KEY, FieldNameBasedTupleToKafkaMapper.BOLT_MESSAGE);
 
+    /**
+     * Datapoints are sent by the batches of up to this size, the incomplete batch is sent on the time tick.
+     */
+    private static final int BATCH_SIZE = 100;
+
+    private transient List<Datapoint> pendingDatapoints;
+
+    @Override
+    protected void init() {
+        super.init();
+
+        pendingDatapoints = new ArrayList<>();
+    }
+
     @Override
     protected void handleInput(Tuple input) throws Exception {
-        Datapoint datapoint = pullDatapoint(input);
-        String json = encode(datapoint);
+        String component = input.getSourceComponent();
+
+        if (StatsProducer.BOLT_ID.equals(component)) {
+            pendingDatapoints.add(pullDatapoint(input));
+            if (pendingDatapoints.size() >= BATCH_SIZE) {
+                flush(input);
+            }
+        } else if (TickDeduplicator.BOLT_ID.equals(component)) {
+            flush(input);
+        } else {
+            unhandledInput(input);
+        }
+    }
+
+    private void flush(Tuple input) throws JsonEncodeException {
+        if (pendingDatapoints.isEmpty()) {
+            return;
+        }
+
+        DatapointBatch batch = new DatapointBatch(new ArrayList<>(pendingDatapoints));
+        pendingDatapoints.clear();
 
-        Values output = new Values(null, json);
+        Values output = new Values(null, encode(batch));
         getOutput().emit(input, output);
     }
 
-    private String encode(Datapoint datapoint) throws JsonEncodeException {
+    private String encode(DatapointBatch batch) throws JsonEncodeException {
         String encoded;
         try {
-            encoded = Utils.MAPPER.writeValueAsString(datapoint);
+            encoded = Utils.MAPPER.writeValueAsString(batch);
         } catch (JsonProcessingException e) {
-            throw new JsonEncodeException(datapoint, e);
+            throw new JsonEncodeException(batch, e);
         }
         return encoded;
     }
@@ -15,21 +15,39 @@
 
 package org.openkilda.wfm.topology.ping.model;
 
+import org.openkilda.wfm.share.utils.TimerWheel;
+import org.openkilda.wfm.share.utils.TimerWheel.Timer;
+
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 
+/**
+ * Map of records expiring at their own time. Expiration is tracked by {@link TimerWheel}, so records with different
+ * lifetimes don't block each other and removed records don't wait in the queue until they expire.
+ */
 public class ExpirableMap<K, V extends Expirable<K>> {
-    private final LinkedList<V> queue = new LinkedList<>();
-    private final HashMap<K, V> map = new HashMap<>();
+    private static final long TIMER_TICK_MS = 100;
+    private static final int TIMER_WHEEL_SIZE = 512;
+
+    private final TimerWheel<V> timeouts = new TimerWheel<>(TIMER_TICK_MS, TIMER_WHEEL_SIZE);
+    private final HashMap<K, Timer<V>> map = new HashMap<>();
 
+    /**
+     * Add record, the record with the same key is replaced.
+     */
     public V put(K key, V value) {
-        queue.addLast(value);
-        return map.put(key, value);
+        Timer<V> replaced = map.put(key, timeouts.schedule(value.getExpireAt(), value));
+        if (replaced == null) {
+            return null;
+        }
+        replaced.cancel();
+        return replaced.getPayload();
     }
 
     public V get(K key) {
-        return map.get(key);
+        Timer<V> timer = map.get(key);
+        return timer != null ? timer.getPayload() : null;
     }
 
     public void add(V value) {
@@ -41,10 +59,10 @@ public class ExpirableMap<K, V extends Expirable<K>> {
      */
     public V addIfAbsent(V value) {
         K key = value.getExpirableKey();
-        V current = map.putIfAbsent(key, value);
+        V current = get(key);
         if (current == null) {
             current = value;
-            queue.addLast(value);
+            put(key, value);
         }
 
         return current;
@@ -54,33 +72,26 @@ public class ExpirableMap<K, V extends Expirable<K>> {
      * Remove record be key.
      */
     public V remove(K key) {
-        V value = map.remove(key);
-        if (value != null) {
-            value.setActive(false);
+        Timer<V> timer = map.remove(key);
+        if (timer == null) {
+            return null;
         }
+        timer.cancel();
+        V value = timer.getPayload();
+        value.setActive(false);
         return value;
     }
 
     /**
-     * Iterate over list until meet not expired record. Remove passed records.
+     * Remove and return records expired by the edge time.
      */
     public List<V> expire(long edge) {
-        LinkedList<V> removed = new LinkedList<>();
-
-        while (! queue.isEmpty()) {
-            V value = queue.getFirst();
-
-            if (edge < value.getExpireAt()) {
-                break;
-            }
-
-            queue.removeFirst();
+        List<V> removed = new ArrayList<>();
+        for (V value : timeouts.advance(edge)) {
             map.remove(value.getExpirableKey());
-            if (!value.isActive()) {
-                continue;
+            if (value.isActive()) {
+                removed.add(value);
             }
-
-            removed.addLast(value);
         }
 
         return removed;
@@ -15,11 +15,23 @@
 
 package org.openkilda.wfm.topology.ping.bolt;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
+import org.openkilda.messaging.model.BidirectionalFlowDto;
+import org.openkilda.model.Cookie;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPair;
+import org.openkilda.model.FlowPath;
 import org.openkilda.model.PathId;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
@@ -27,10 +39,21 @@ import org.openkilda.model.TransitVlan;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowPairRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 
 import com.google.common.collect.Lists;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
 
 public class FlowFetcherTest {
 
@@ -39,6 +62,7 @@ public class FlowFetcherTest {
     public static final SwitchId SWITCH_ID_2 = new SwitchId(2);
     public static final PathId PATH_ID_1 = new PathId("path1");
     public static final PathId PATH_ID_2 = new PathId("path2");
+    public static final long CACHE_RECONCILE_INTERVAL = 3600;
 
     FlowPairRepository flowPairRepository;
     PersistenceManager persistenceManager;
@@ -72,4 +96,107 @@ public class FlowFetcherTest {
         flowFetcher.init();
         // no exceptions means that refreshHead() method handled invalid flow
     }
+
+    @Test
+    public void updateCacheIncrementallyTest() {
+        when(flowPairRepository.findWithPeriodicPingsEnabled()).thenReturn(Collections.emptyList());
+        OutputCollector output = mock(OutputCollector.class);
+        FlowFetcher flowFetcher = new FlowFetcher(persistenceManager, CACHE_RECONCILE_INTERVAL);
+        flowFetcher.prepare(new HashMap<>(), mock(TopologyContext.class), output);
+
+        FlowPair original = makeFlowPair(true, 1);
+        when(flowPairRepository.findById(FLOW_ID)).thenReturn(Optional.of(original));
+        flowFetcher.execute(makePeriodicPingUpdate(true));
+        verify(output, never()).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), any(Tuple.class), anyList());
+
+        flowFetcher.execute(makeTick());
+        verify(output, times(1)).emit(any(Tuple.class), anyList());
+
+        // flow paths are changed, i.e. the flow is rerouted
+        when(flowPairRepository.findById(FLOW_ID)).thenReturn(Optional.of(makeFlowPair(true, 2)));
+        flowFetcher.execute(makePeriodicPingUpdate(true));
+        verifyCacheExpired(output, original);
+
+        reset(output);
+        flowFetcher.execute(makePeriodicPingUpdate(false));
+        verify(output).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), any(Tuple.class), anyList());
+
+        flowFetcher.execute(makeTick());
+        verify(output, never()).emit(any(Tuple.class), anyList());
+
+        // the full reload is done on init only, until the cache reconcile interval passes
+        verify(flowPairRepository, times(1)).findWithPeriodicPingsEnabled();
+    }
+
+    @Test
+    public void reconcileCacheOnceIntervalPassedTest() {
+        FlowPair flowPair = makeFlowPair(true, 1);
+        when(flowPairRepository.findWithPeriodicPingsEnabled())
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Lists.newArrayList(flowPair));
+        OutputCollector output = mock(OutputCollector.class);
+        FlowFetcher flowFetcher = new FlowFetcher(persistenceManager, 0);
+        flowFetcher.prepare(new HashMap<>(), mock(TopologyContext.class), output);
+
+        // the periodic ping notification of the flow has been lost
+        flowFetcher.execute(makeTick());
+
+        verify(flowPairRepository, times(2)).findWithPeriodicPingsEnabled();
+        verify(output, times(1)).emit(any(Tuple.class), anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyCacheExpired(OutputCollector output, FlowPair flowPair) {
+        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
+        verify(output).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), any(Tuple.class), captor.capture());
+        BidirectionalFlowDto expired = (BidirectionalFlowDto) captor.getValue().get(0);
+        assertEquals(flowPair.getForward().getCookie(), expired.getForward().getCookie());
+    }
+
+    private Tuple makePeriodicPingUpdate(boolean enable) {
+        Tuple tuple = makeTuple(InputRouter.BOLT_ID, InputRouter.STREAM_PERIODIC_PING_UPDATE_REQUEST_ID);
+        when(tuple.getValueByField(InputRouter.FIELD_ID_PING_REQUEST))
+                .thenReturn(new PeriodicPingCommand(FLOW_ID, enable));
+        return tuple;
+    }
+
+    private Tuple makeTick() {
+        return makeTuple(TickDeduplicator.BOLT_ID, "default");
+    }
+
+    private Tuple makeTuple(String component, String stream) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceComponent()).thenReturn(component);
+        when(tuple.getSourceStreamId()).thenReturn(stream);
+        when(tuple.getValueByField(AbstractBolt.FIELD_ID_CONTEXT)).thenReturn(new CommandContext());
+        return tuple;
+    }
+
+    private FlowPair makeFlowPair(boolean periodicPings, long cookie) {
+        Switch srcSwitch = Switch.builder().switchId(SWITCH_ID_1).build();
+        Switch destSwitch = Switch.builder().switchId(SWITCH_ID_2).build();
+        Flow flow = Flow.builder()
+                .flowId(FLOW_ID)
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .periodicPings(periodicPings)
+                .build();
+        flow.setForwardPath(FlowPath.builder()
+                .pathId(PATH_ID_1)
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .flow(flow)
+                .cookie(Cookie.buildForwardCookie(cookie))
+                .segments(Collections.emptyList())
+                .build());
+        flow.setReversePath(FlowPath.builder()
+                .pathId(PATH_ID_2)
+                .srcSwitch(destSwitch)
+                .destSwitch(srcSwitch)
+                .flow(flow)
+                .cookie(Cookie.buildReverseCookie(cookie))
+                .segments(Collections.emptyList())
+                .build());
+        return new FlowPair(flow, new TransitVlan(FLOW_ID, PATH_ID_1, 100), new TransitVlan(FLOW_ID, PATH_ID_2, 101));
+    }
 }
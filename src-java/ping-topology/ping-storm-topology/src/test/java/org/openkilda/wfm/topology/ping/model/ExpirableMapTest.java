@@ -0,0 +1,81 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.ping.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.List;
+
+public class ExpirableMapTest {
+    @Test
+    public void shouldExpireRecordsWithShorterLifetimeFirst() {
+        ExpirableMap<String, Record> map = new ExpirableMap<>();
+        map.add(new Record("long", 10_000));
+        Record shortLived = new Record("short", 1_000);
+        map.add(shortLived);
+
+        List<Record> expired = map.expire(5_000);
+        assertEquals(1, expired.size());
+        assertSame(shortLived, expired.get(0));
+        assertNull(map.get("short"));
+        assertEquals(1, map.size());
+
+        assertEquals(1, map.expire(10_000).size());
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void shouldNotExpireRemovedRecords() {
+        ExpirableMap<String, Record> map = new ExpirableMap<>();
+        Record record = new Record("key", 1_000);
+        map.add(record);
+
+        assertSame(record, map.remove("key"));
+        assertFalse(record.isActive());
+        assertTrue(map.expire(2_000).isEmpty());
+    }
+
+    @Test
+    public void shouldKeepFirstRecordOnAddIfAbsent() {
+        ExpirableMap<String, Record> map = new ExpirableMap<>();
+        Record first = new Record("key", 1_000);
+        map.add(first);
+
+        assertSame(first, map.addIfAbsent(new Record("key", 5_000)));
+        assertEquals(1, map.expire(1_000).size());
+        assertTrue(map.expire(5_000).isEmpty());
+    }
+
+    private static class Record extends Expirable<String> {
+        private final String key;
+
+        Record(String key, long expireAt) {
+            super(expireAt);
+            this.key = key;
+        }
+
+        @Override
+        public String getExpirableKey() {
+            return key;
+        }
+    }
+}
@@ -49,10 +49,10 @@ import org.openkilda.wfm.topology.stats.metrics.MeterStatsMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.PortMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.SystemRuleMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.TableStatsMetricGenBolt;
-import org.openkilda.wfm.topology.utils.JsonKafkaTranslator;
+import org.openkilda.wfm.topology.utils.BinaryKafkaTranslator;
 
 import com.google.common.collect.ImmutableList;
-import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.spout.KafkaSpout;
 import org.apache.storm.kafka.spout.KafkaSpoutConfig;
@@ -102,7 +102,8 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
         // Cache bolt get data from NEO4J on start
         PersistenceManager persistenceManager =
                 PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
-        builder.setBolt(STATS_CACHE_BOLT.name(), new CacheBolt(persistenceManager), parallelism)
+        CacheBolt cacheBolt = new CacheBolt(persistenceManager, topologyConfig.getCacheWarmUpPageSize());
+        builder.setBolt(STATS_CACHE_BOLT.name(), cacheBolt, parallelism)
                 .allGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name())
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.CACHE_DATA.toString(), statsFields);
 
@@ -122,7 +123,8 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
         logger.debug("starting flow_stats_metric_gen");
         builder.setBolt(FLOW_STATS_METRIC_GEN.name(),
                 new FlowMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
-                .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.FLOW_STATS.toString(), statsWithCacheFields);
+                .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.FLOW_STATS.toString(), statsWithCacheFields)
+                .allGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name());
         builder.setBolt(METER_STATS_METRIC_GEN.name(),
                 new MeterStatsMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
                 .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.METER_STATS.toString(), statsWithCacheFields);
@@ -153,12 +155,12 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
     private void inputSpeakerRequests(TopologyBuilder topology, int scaleFactor) {
         String id = STATS_KILDA_SPEAKER_SPOUT.name();
         KafkaTopicsConfig topics = topologyConfig.getKafkaTopics();
-        KafkaSpoutConfig<String, String> config = makeKafkaSpoutConfig(
+        KafkaSpoutConfig<String, byte[]> config = makeKafkaSpoutConfig(
                     ImmutableList.of(
                             topics.getSpeakerFlowHsTopic(),
                             topics.getSpeakerFlowTopic()),
-                    id, StringDeserializer.class)
-                .setRecordTranslator(new JsonKafkaTranslator())
+                    id, ByteArrayDeserializer.class)
+                .setRecordTranslator(new BinaryKafkaTranslator())
                 .build();
         topology.setSpout(id, new KafkaSpout<>(config), scaleFactor);
 
@@ -21,6 +21,8 @@ import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.Key;
 
+import javax.validation.constraints.Min;
+
 @Configuration
 public interface StatsTopologyConfig extends AbstractTopologyConfig {
 
@@ -47,4 +49,9 @@ public interface StatsTopologyConfig extends AbstractTopologyConfig {
     @Key("statistics.interval")
     @Default("60")
     int getStatisticsRequestInterval();
+
+    @Key("statistics.cache.warmup.page.size")
+    @Default("1000")
+    @Min(1)
+    int getCacheWarmUpPageSize();
 }
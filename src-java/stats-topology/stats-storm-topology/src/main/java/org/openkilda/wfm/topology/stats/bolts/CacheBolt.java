@@ -35,8 +35,8 @@ import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
+import org.openkilda.wfm.topology.stats.LongHashMap;
 import org.openkilda.wfm.topology.stats.MeasurePoint;
-import org.openkilda.wfm.topology.stats.MeterCacheKey;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
 import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.Commands;
 import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.FieldsNames;
@@ -49,7 +49,10 @@ import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
@@ -72,43 +75,61 @@ public class CacheBolt extends AbstractBolt {
      */
     private final PersistenceManager persistenceManager;
 
+    private final int warmUpPageSize;
+
     /**
-     * Cookie to flow and meter to flow maps.
+     * Cookie to flow and switch and meter to flow maps.
      */
-    private Map<Long, CacheFlowEntry> cookieToFlow = new HashMap<>();
-    private Map<MeterCacheKey, CacheFlowEntry> switchAndMeterToFlow = new HashMap<>();
+    private final LongHashMap<CacheFlowEntry> cookieToFlow = new LongHashMap<>();
+    private final Map<SwitchId, LongHashMap<CacheFlowEntry>> switchAndMeterToFlow = new HashMap<>();
 
-    public CacheBolt(PersistenceManager persistenceManager) {
+    public CacheBolt(PersistenceManager persistenceManager, int warmUpPageSize) {
         this.persistenceManager = persistenceManager;
+        this.warmUpPageSize = warmUpPageSize;
     }
 
+    /**
+     * Loads the flows page by page, so only one page of flow entities is kept in memory at a time.
+     * <p/>
+     * Must not be called within a transaction: each page is then loaded by a fresh session, so the session doesn't
+     * retain the entities of the previous pages.
+     */
     private void initFlowCache(FlowRepository flowRepository) {
         try {
-            flowRepository.findAll().stream()
-                    .flatMap(this::extractAllFlowPaths)
-                    .forEach(path -> {
-                        CacheFlowEntry entry = new CacheFlowEntry(
-                                path.getFlow().getFlowId(),
-                                path.getSrcSwitch().getSwitchId().toOtsdFormat(),
-                                path.getDestSwitch().getSwitchId().toOtsdFormat(),
-                                path.getCookie().getValue());
-
-                        cookieToFlow.put(path.getCookie().getValue(), entry);
-                        if (path.getMeterId() != null) {
-                            switchAndMeterToFlow.put(
-                                    new MeterCacheKey(
-                                            path.getSrcSwitch().getSwitchId(), path.getMeterId().getValue()), entry);
-                        } else {
-                            log.warn("Flow {} has no meter ID", path.getFlow().getFlowId());
-                        }
-                    });
-            logger.debug("cookieToFlow cache: {}, switchAndMeterToFlow cache: {}", cookieToFlow, switchAndMeterToFlow);
-            logger.info("Stats Cache: Initialized");
+            int page = 0;
+            Collection<Flow> flows;
+            do {
+                flows = flowRepository.findAll(page++, warmUpPageSize);
+                flows.stream()
+                        .flatMap(this::extractAllFlowPaths)
+                        .forEach(this::addToCache);
+            } while (flows.size() >= warmUpPageSize);
+
+            logger.info("Stats Cache: Initialized with {} cookies of {} pages", cookieToFlow.size(), page);
         } catch (Exception ex) {
             logger.error("Error on initFlowCache", ex);
         }
     }
 
+    private void addToCache(FlowPath path) {
+        CacheFlowEntry entry = new CacheFlowEntry(
+                path.getFlow().getFlowId(),
+                path.getSrcSwitch().getSwitchId().toOtsdFormat(),
+                path.getDestSwitch().getSwitchId().toOtsdFormat(),
+                path.getCookie().getValue());
+
+        cookieToFlow.put(path.getCookie().getValue(), entry);
+        if (path.getMeterId() != null) {
+            getMeterToFlow(path.getSrcSwitch().getSwitchId()).put(path.getMeterId().getValue(), entry);
+        } else {
+            log.warn("Flow {} has no meter ID", path.getFlow().getFlowId());
+        }
+    }
+
+    private LongHashMap<CacheFlowEntry> getMeterToFlow(SwitchId switchId) {
+        return switchAndMeterToFlow.computeIfAbsent(switchId, key -> new LongHashMap<>());
+    }
+
     private Stream<FlowPath> extractAllFlowPaths(Flow flow) {
         return Stream.concat(
                 Stream.of(flow.getForwardPath(), flow.getProtectedForwardPath()).filter(Objects::nonNull).peek(p -> {
@@ -147,17 +168,17 @@ public class CacheBolt extends AbstractBolt {
 
     private void handleGetDataFromCache(Tuple tuple) throws PipelineException {
         InfoData data = pullValue(tuple, STATS_FIELD, InfoData.class);
-        Map<Long, CacheFlowEntry> cookieDataCache = null;
-        Map<MeterCacheKey, CacheFlowEntry> meterDataCache = null;
+        List<CacheFlowEntry> cookieDataCache = null;
+        List<CacheFlowEntry> meterDataCache = null;
         String streamId;
 
         if (data instanceof FlowStatsData) {
             streamId = FLOW_STATS.name();
-            cookieDataCache = createCookieToFlowCache((FlowStatsData) data);
+            cookieDataCache = findCookieCacheEntries((FlowStatsData) data);
             logger.debug("execute:cookieDataCache: {}", cookieDataCache);
         } else if (data instanceof MeterStatsData) {
             streamId = METER_STATS.name();
-            meterDataCache = createSwitchAndMeterToFlowCache((MeterStatsData) data);
+            meterDataCache = findMeterCacheEntries((MeterStatsData) data);
             logger.debug("execute:meterDataCache: {}", meterDataCache);
         } else {
             unhandledInput(tuple);
@@ -184,41 +205,46 @@ public class CacheBolt extends AbstractBolt {
                 break;
             case REMOVE:
                 cookieToFlow.remove(cookie);
-                switchAndMeterToFlow.remove(new MeterCacheKey(switchId, meterId));
+                if (meterId != null) {
+                    LongHashMap<CacheFlowEntry> meterToFlow = switchAndMeterToFlow.get(switchId);
+                    if (meterToFlow != null) {
+                        meterToFlow.remove(meterId);
+                    }
+                }
                 break;
             default:
                 logger.error("invalid command");
                 break;
         }
-
-        logger.debug("updated cookieToFlow: {}", cookieToFlow);
     }
 
+    /**
+     * Looks up the flows of the stats entries.
+     *
+     * @return the cache entries in the order of the stats entries, null for entries of unknown cookies.
+     */
     @VisibleForTesting
-    Map<Long, CacheFlowEntry> createCookieToFlowCache(FlowStatsData data) {
-        Map<Long, CacheFlowEntry> cache = new HashMap<>();
-
+    List<CacheFlowEntry> findCookieCacheEntries(FlowStatsData data) {
+        List<CacheFlowEntry> entries = new ArrayList<>(data.getStats().size());
         for (FlowStatsEntry entry : data.getStats()) {
-            if (cookieToFlow.containsKey(entry.getCookie())) {
-                CacheFlowEntry cacheFlowEntry = cookieToFlow.get(entry.getCookie());
-                cache.put(entry.getCookie(), cacheFlowEntry);
-            }
+            entries.add(cookieToFlow.get(entry.getCookie()));
         }
-        return cache;
+        return entries;
     }
 
+    /**
+     * Looks up the flows of the stats entries.
+     *
+     * @return the cache entries in the order of the stats entries, null for entries of unknown meters.
+     */
     @VisibleForTesting
-    Map<MeterCacheKey, CacheFlowEntry> createSwitchAndMeterToFlowCache(MeterStatsData data) {
-        Map<MeterCacheKey, CacheFlowEntry> cache = new HashMap<>();
-
+    List<CacheFlowEntry> findMeterCacheEntries(MeterStatsData data) {
+        LongHashMap<CacheFlowEntry> meterToFlow = switchAndMeterToFlow.get(data.getSwitchId());
+        List<CacheFlowEntry> entries = new ArrayList<>(data.getStats().size());
         for (MeterStatsEntry entry : data.getStats()) {
-            MeterCacheKey key = new MeterCacheKey(data.getSwitchId(), entry.getMeterId());
-            if (switchAndMeterToFlow.containsKey(key)) {
-                CacheFlowEntry cacheEntry = switchAndMeterToFlow.get(key);
-                cache.put(key, cacheEntry);
-            }
+            entries.add(meterToFlow != null ? meterToFlow.get(entry.getMeterId()) : null);
         }
-        return cache;
+        return entries;
     }
 
     /**
@@ -232,20 +258,24 @@ public class CacheBolt extends AbstractBolt {
 
     private void updateCookieFlowCache(
             Long cookie, String flowId, SwitchId switchId, MeasurePoint measurePoint) {
-        CacheFlowEntry current = cookieToFlow.getOrDefault(cookie, new CacheFlowEntry(flowId, cookie));
-        CacheFlowEntry replacement = current.replaceSwitch(switchId.toOtsdFormat(), measurePoint);
-        cookieToFlow.put(cookie, replacement);
-
+        CacheFlowEntry current = cookieToFlow.get(cookie);
+        if (current == null) {
+            current = new CacheFlowEntry(flowId, cookie);
+        }
+        cookieToFlow.put(cookie, current.replaceSwitch(switchId.toOtsdFormat(), measurePoint));
     }
 
     private void updateSwitchMeterFlowCache(Long cookie, Long meterId, String flowId, SwitchId switchId) {
-        MeterCacheKey key = new MeterCacheKey(switchId, meterId);
-        CacheFlowEntry current = switchAndMeterToFlow.get(key);
+        if (meterId == null) {
+            return;
+        }
+        LongHashMap<CacheFlowEntry> meterToFlow = getMeterToFlow(switchId);
+        CacheFlowEntry current = meterToFlow.get(meterId);
 
         if (current == null) {
-            switchAndMeterToFlow.put(key, new CacheFlowEntry(flowId, cookie));
+            meterToFlow.put(meterId, new CacheFlowEntry(flowId, cookie));
         } else {
-            switchAndMeterToFlow.put(key, current.replaceCookie(cookie));
+            meterToFlow.put(meterId, current.replaceCookie(cookie));
         }
     }
 }
@@ -17,12 +17,13 @@ package org.openkilda.wfm.topology.stats.bolts;
 
 import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
-import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.WireCodec;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
-import org.openkilda.wfm.topology.utils.JsonKafkaTranslator;
+import org.openkilda.wfm.topology.utils.BinaryKafkaTranslator;
+import org.openkilda.wfm.topology.utils.SerializationUtils;
 
 import com.fasterxml.jackson.databind.JsonMappingException;
 import org.apache.storm.topology.OutputFieldsDeclarer;
@@ -35,8 +36,8 @@ import java.io.IOException;
 public class SpeakerRequestDecoderBolt extends AbstractBolt {
     public static final String BOLT_ID = StatsComponentType.SPEAKER_REQUEST_DECODER.toString();
 
-    public static final String FIELD_ID_KEY = JsonKafkaTranslator.FIELD_ID_KEY;
-    public static final String FIELD_ID_PAYLOAD = JsonKafkaTranslator.FIELD_ID_PAYLOAD;
+    public static final String FIELD_ID_KEY = BinaryKafkaTranslator.FIELD_ID_KEY;
+    public static final String FIELD_ID_PAYLOAD = BinaryKafkaTranslator.FIELD_ID_PAYLOAD;
 
     public static final String STREAM_GENERIC_ID = "generic";
     public static final String STREAM_HUB_AND_SPOKE_ID = "hs";
@@ -44,15 +45,16 @@ public class SpeakerRequestDecoderBolt extends AbstractBolt {
 
     @Override
     protected void handleInput(Tuple input) throws PipelineException {
-        String payload = pullValue(input, JsonKafkaTranslator.FIELD_ID_PAYLOAD, String.class);
+        byte[] payload = pullValue(input, BinaryKafkaTranslator.FIELD_ID_PAYLOAD, byte[].class);
+        WireCodec codec = SerializationUtils.WIRE_CODEC;
         try {
             try {
-                handleDecoded(Utils.MAPPER.readValue(payload, AbstractMessage.class));
+                handleDecoded(codec.decode(payload, AbstractMessage.class));
             } catch (JsonMappingException e) {
-                handleDecoded(Utils.MAPPER.readValue(payload, Message.class));
+                handleDecoded(codec.decode(payload, Message.class));
             }
         } catch (IOException e) {
-            log.error("Unable to decode JSON message - error:{} json:\"{}\"", e, payload);
+            log.error("Unable to decode message - error:{} payload:\"{}\"", e, WireCodec.toLogString(payload));
         }
     }
 
@@ -16,6 +16,7 @@
 package org.openkilda.wfm.topology.stats.metrics;
 
 import static org.openkilda.model.Cookie.isMaskedAsFlowCookie;
+import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_CACHE_FILTER_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
 import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.COOKIE_CACHE_FIELD;
 
@@ -25,40 +26,119 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
 import org.openkilda.wfm.topology.stats.FlowCookieException;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper;
+import org.openkilda.wfm.topology.stats.LongHashMap;
+import org.openkilda.wfm.topology.stats.StatsComponentType;
+import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.Commands;
+import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.FieldsNames;
 
+import com.google.common.annotations.VisibleForTesting;
 import org.apache.storm.tuple.Tuple;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 /**
  * The type Flow metric gen bolt.
+ * <p/>
+ * Tags of the datapoints are built once per switch, cookie, table, ports and flow and then reused by the following
+ * stats of the same rule, so a stats entry costs no allocations except the datapoints themselves. The tags of a rule
+ * are dropped when the flow is removed from the switch, the tags of a switch are dropped when the switch doesn't
+ * report stats anymore.
  */
 public class FlowMetricGenBolt extends MetricGenBolt {
 
+    /**
+     * Tags of rules which are not reported for this long are dropped from the cache.
+     */
+    private static final long TAGS_EXPIRATION_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private transient Map<SwitchId, SwitchTags> tagsCache;
+    private transient MetricBatch batch;
+    private transient long lastExpirationCheck;
+
     public FlowMetricGenBolt(String metricPrefix) {
         super(metricPrefix);
     }
 
+    @Override
+    protected void init() {
+        super.init();
+        tagsCache = new HashMap<>();
+        batch = new MetricBatch();
+    }
+
     @Override
     protected void handleInput(Tuple input) throws Exception {
-        Map<Long, CacheFlowEntry> dataCache = (Map<Long, CacheFlowEntry>) input.getValueByField(COOKIE_CACHE_FIELD);
+        if (StatsComponentType.valueOf(input.getSourceComponent()) == STATS_CACHE_FILTER_BOLT) {
+            handleCacheUpdate(input);
+        } else {
+            handleStats(input);
+        }
+    }
+
+    private void handleStats(Tuple input) throws Exception {
+        @SuppressWarnings("unchecked")
+        List<CacheFlowEntry> dataCache = (List<CacheFlowEntry>) input.getValueByField(COOKIE_CACHE_FIELD);
         log.debug("dataCache in FlowMetricGenBolt {}", dataCache);
 
         FlowStatsData data = (FlowStatsData) input.getValueByField(STATS_FIELD);
         long timestamp = pullContext(input).getCreateTime();
         SwitchId switchId = data.getSwitchId();
+        SwitchTags switchTags = tagsCache.get(switchId);
+        if (switchTags == null) {
+            switchTags = new SwitchTags(switchId.toOtsdFormat(), timestamp);
+            tagsCache.put(switchId, switchTags);
+        }
+        switchTags.lastReported = timestamp;
+
+        List<FlowStatsEntry> stats = data.getStats();
+        for (int i = 0; i < stats.size(); i++) {
+            @Nullable CacheFlowEntry flowEntry = dataCache.get(i);
+            emit(stats.get(i), timestamp, switchId, switchTags, flowEntry);
+        }
+        switchTags.removeExpired(timestamp);
+        removeExpiredSwitches(timestamp);
+    }
+
+    private void handleCacheUpdate(Tuple input) {
+        Commands command = (Commands) input.getValueByField(FieldsNames.COMMAND.name());
+        Long cookie = input.getLongByField(FieldsNames.COOKIE.name());
+        if (command != Commands.REMOVE || cookie == null) {
+            return;
+        }
+
+        SwitchId switchId = new SwitchId(input.getValueByField(FieldsNames.SWITCH.name()).toString());
+        SwitchTags switchTags = tagsCache.get(switchId);
+        if (switchTags != null) {
+            switchTags.byCookie.remove(cookie);
+            if (switchTags.byCookie.isEmpty()) {
+                tagsCache.remove(switchId);
+            }
+        }
+    }
 
-        for (FlowStatsEntry entry : data.getStats()) {
-            @Nullable CacheFlowEntry flowEntry = dataCache.get(entry.getCookie());
-            emit(entry, timestamp, switchId, flowEntry);
+    private void removeExpiredSwitches(long timestamp) {
+        if (timestamp - lastExpirationCheck < TAGS_EXPIRATION_MILLIS) {
+            return;
         }
+        tagsCache.values().removeIf(tags -> timestamp - tags.lastReported >= TAGS_EXPIRATION_MILLIS);
+        lastExpirationCheck = timestamp;
+    }
+
+    @VisibleForTesting
+    boolean isTagsCached(SwitchId switchId, long cookie) {
+        SwitchTags switchTags = tagsCache.get(switchId);
+        return switchTags != null && switchTags.byCookie.get(cookie) != null;
     }
 
     private void emit(FlowStatsEntry entry, long timestamp, @Nonnull SwitchId switchId,
-                      @Nullable CacheFlowEntry flowEntry) throws FlowCookieException {
+                      SwitchTags switchTags, @Nullable CacheFlowEntry flowEntry) throws FlowCookieException {
         String flowId = "unknown";
         if (flowEntry != null) {
             flowId = flowEntry.getFlowId();
@@ -72,20 +152,28 @@ public class FlowMetricGenBolt extends MetricGenBolt {
             }
         }
 
-        emitAnySwitchMetrics(entry, timestamp, switchId, flowId);
+        RuleTags tags = switchTags.getTags(entry, flowEntry, timestamp);
+        emitMetrics(batch.reset(timestamp, tags.anySwitchTags)
+                .add("flow.raw.packets", entry.getPacketCount())
+                .add("flow.raw.bytes", entry.getByteCount())
+                .add("flow.raw.bits", entry.getByteCount() * 8));
 
         if (flowEntry != null) {
-            Map<String, String> flowTags = makeFlowTags(entry, flowEntry.getFlowId());
-
             boolean isMatch = false;
             if (isMaskedAsFlowCookie(entry.getCookie())
-                    && switchId.toOtsdFormat().equals(flowEntry.getIngressSwitch())) {
-                emitIngressMetrics(entry, timestamp, flowTags);
+                    && switchTags.otsdSwitchId.equals(flowEntry.getIngressSwitch())) {
+                emitMetrics(batch.reset(timestamp, tags.flowTags)
+                        .add("flow.ingress.packets", entry.getPacketCount())
+                        .add("flow.ingress.bytes", entry.getByteCount())
+                        .add("flow.ingress.bits", entry.getByteCount() * 8));
                 isMatch = true;
             }
             if (isMaskedAsFlowCookie(entry.getCookie())
-                    && switchId.toOtsdFormat().equals(flowEntry.getEgressSwitch())) {
-                emitEgressMetrics(entry, timestamp, flowTags);
+                    && switchTags.otsdSwitchId.equals(flowEntry.getEgressSwitch())) {
+                emitMetrics(batch.reset(timestamp, tags.flowTags)
+                        .add("flow.packets", entry.getPacketCount())
+                        .add("flow.bytes", entry.getByteCount())
+                        .add("flow.bits", entry.getByteCount() * 8));
                 isMatch = true;
             }
 
@@ -97,39 +185,88 @@ public class FlowMetricGenBolt extends MetricGenBolt {
         }
     }
 
-    private void emitAnySwitchMetrics(FlowStatsEntry entry, long timestamp, SwitchId switchId, String flowId)
-            throws FlowCookieException {
-        Map<String, String> tags = new HashMap<>();
-        tags.put("switchid", switchId.toOtsdFormat());
-        tags.put("cookie", String.valueOf(entry.getCookie()));
-        tags.put("tableid", String.valueOf(entry.getTableId()));
-        tags.put("outPort", String.valueOf(entry.getOutPort()));
-        tags.put("inPort", String.valueOf(entry.getInPort()));
-        tags.put("flowid", flowId);
-        tags.put("direction", FlowDirectionHelper.findDirection(entry.getCookie()).name().toLowerCase());
-
-        emitMetric("flow.raw.packets", timestamp, entry.getPacketCount(), tags);
-        emitMetric("flow.raw.bytes", timestamp, entry.getByteCount(), tags);
-        emitMetric("flow.raw.bits", timestamp, entry.getByteCount() * 8, tags);
-    }
+    /**
+     * Tags of the rules of a switch, indexed by the cookie.
+     */
+    private static final class SwitchTags {
+        private final String otsdSwitchId;
+        private final LongHashMap<RuleTags> byCookie = new LongHashMap<>();
+        private long lastExpirationCheck;
+        private long lastReported;
 
-    private void emitIngressMetrics(FlowStatsEntry entry, long timestamp, Map<String, String> tags) {
-        emitMetric("flow.ingress.packets", timestamp, entry.getPacketCount(), tags);
-        emitMetric("flow.ingress.bytes", timestamp, entry.getByteCount(), tags);
-        emitMetric("flow.ingress.bits", timestamp, entry.getByteCount() * 8, tags);
-    }
+        private SwitchTags(String otsdSwitchId, long timestamp) {
+            this.otsdSwitchId = otsdSwitchId;
+            this.lastExpirationCheck = timestamp;
+        }
 
-    private void emitEgressMetrics(FlowStatsEntry entry, long timestamp, Map<String, String> tags) {
-        emitMetric("flow.packets", timestamp, entry.getPacketCount(), tags);
-        emitMetric("flow.bytes", timestamp, entry.getByteCount(), tags);
-        emitMetric("flow.bits", timestamp, entry.getByteCount() * 8, tags);
+        private RuleTags getTags(FlowStatsEntry entry, @Nullable CacheFlowEntry flowEntry, long timestamp)
+                throws FlowCookieException {
+            String flowId = flowEntry != null ? flowEntry.getFlowId() : null;
+            RuleTags tags = byCookie.get(entry.getCookie());
+            if (tags == null || !tags.matches(entry, flowId)) {
+                tags = new RuleTags(otsdSwitchId, entry, flowId);
+                byCookie.put(entry.getCookie(), tags);
+            }
+            tags.lastUsed = timestamp;
+            return tags;
+        }
+
+        private void removeExpired(long timestamp) {
+            if (timestamp - lastExpirationCheck < TAGS_EXPIRATION_MILLIS) {
+                return;
+            }
+            byCookie.removeIf(tags -> timestamp - tags.lastUsed >= TAGS_EXPIRATION_MILLIS);
+            lastExpirationCheck = timestamp;
+        }
     }
 
-    private Map<String, String> makeFlowTags(FlowStatsEntry entry, String flowId) throws FlowCookieException {
-        Map<String, String> tags = new HashMap<>();
-        tags.put("flowid", flowId);
-        tags.put("direction", FlowDirectionHelper.findDirection(entry.getCookie()).name().toLowerCase());
+    /**
+     * Tags of a rule: all of the rule attributes for the raw metrics and the flow ones for the ingress and egress
+     * metrics.
+     */
+    private static final class RuleTags {
+        private final int tableId;
+        private final int inPort;
+        private final int outPort;
+        private final String flowId;
+
+        private final Map<String, String> anySwitchTags;
+        private final Map<String, String> flowTags;
+        private long lastUsed;
+
+        private RuleTags(String otsdSwitchId, FlowStatsEntry entry, @Nullable String flowId)
+                throws FlowCookieException {
+            tableId = entry.getTableId();
+            inPort = entry.getInPort();
+            outPort = entry.getOutPort();
+            this.flowId = flowId;
 
-        return tags;
+            String direction = FlowDirectionHelper.findDirection(entry.getCookie()).name().toLowerCase();
+            Map<String, String> tags = new HashMap<>();
+            tags.put("switchid", otsdSwitchId);
+            tags.put("cookie", String.valueOf(entry.getCookie()));
+            tags.put("tableid", String.valueOf(entry.getTableId()));
+            tags.put("outPort", String.valueOf(entry.getOutPort()));
+            tags.put("inPort", String.valueOf(entry.getInPort()));
+            tags.put("flowid", flowId != null ? flowId : "unknown");
+            tags.put("direction", direction);
+            anySwitchTags = Collections.unmodifiableMap(tags);
+
+            if (flowId != null) {
+                tags = new HashMap<>();
+                tags.put("flowid", flowId);
+                tags.put("direction", direction);
+                flowTags = Collections.unmodifiableMap(tags);
+            } else {
+                flowTags = null;
+            }
+        }
+
+        private boolean matches(FlowStatsEntry entry, @Nullable String flowId) {
+            return tableId == entry.getTableId()
+                    && inPort == entry.getInPort()
+                    && outPort == entry.getOutPort()
+                    && Objects.equals(this.flowId, flowId);
+        }
     }
 }
@@ -0,0 +1,76 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import java.util.Map;
+
+/**
+ * Values of several metrics sharing the timestamp and the tags. The batch is meant to be reused by its bolt, so
+ * emitting a group of metrics doesn't allocate neither the tags nor the value holders.
+ */
+public class MetricBatch {
+    private static final int CAPACITY = 8;
+
+    private final String[] metrics = new String[CAPACITY];
+    private final long[] values = new long[CAPACITY];
+    private int size;
+
+    private long timestamp;
+    private Map<String, String> tags;
+
+    /**
+     * Drops the values of the batch and sets the timestamp and the tags of the next ones.
+     */
+    public MetricBatch reset(long timestamp, Map<String, String> tags) {
+        this.timestamp = timestamp;
+        this.tags = tags;
+        size = 0;
+        return this;
+    }
+
+    /**
+     * Adds the metric value to the batch.
+     */
+    public MetricBatch add(String metric, long value) {
+        if (size == CAPACITY) {
+            throw new IllegalStateException(String.format("Metric batch is limited by %d values", CAPACITY));
+        }
+        metrics[size] = metric;
+        values[size] = value;
+        size++;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getMetric(int index) {
+        return metrics[index];
+    }
+
+    public long getValue(int index) {
+        return values[index];
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+}
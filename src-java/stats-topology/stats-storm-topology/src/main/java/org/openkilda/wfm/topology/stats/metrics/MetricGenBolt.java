@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.stats.metrics;
 
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointBatch;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.JsonEncodeException;
 import org.openkilda.wfm.share.utils.MetricFormatter;
@@ -24,36 +25,76 @@ import org.openkilda.wfm.topology.AbstractTopology;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Tuple;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public abstract class MetricGenBolt extends AbstractBolt {
+    /**
+     * Datapoints produced for an input tuple are sent by the batches of up to this size.
+     */
+    private static final int DATAPOINT_BATCH_SIZE = 500;
 
     private MetricFormatter metricFormatter;
 
+    private transient Map<String, String> formattedMetrics;
+    private transient List<Datapoint> pendingDatapoints;
+
     public MetricGenBolt(String metricPrefix) {
         this.metricFormatter = new MetricFormatter(metricPrefix);
     }
 
-    protected static List<Object> tuple(String metric, long timestamp, Number value, Map<String, String> tag)
-            throws JsonEncodeException {
-        Datapoint datapoint = new Datapoint(metric, timestamp, tag, value);
-        String json;
+    @Override
+    protected void init() {
+        formattedMetrics = new HashMap<>();
+        pendingDatapoints = new ArrayList<>();
+    }
+
+    @Override
+    protected void dispatch(Tuple input) throws Exception {
         try {
-            json = Utils.MAPPER.writeValueAsString(datapoint);
-        } catch (JsonProcessingException e) {
-            throw new JsonEncodeException(datapoint, e);
+            super.dispatch(input);
+        } finally {
+            flushDatapoints();
         }
-        return Collections.singletonList(json);
     }
 
     void emitMetric(String metric, long timestamp, Number value, Map<String, String> tag) {
+        addDatapoint(new Datapoint(metricFormatter.format(metric), timestamp, tag, value));
+    }
+
+    /**
+     * Emits a datapoint per value of the batch. The prefixed metric names are cached, so they aren't built per value.
+     */
+    void emitMetrics(MetricBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            String metric = formattedMetrics.computeIfAbsent(batch.getMetric(i), metricFormatter::format);
+            addDatapoint(new Datapoint(metric, batch.getTimestamp(), batch.getTags(), batch.getValue(i)));
+        }
+    }
+
+    private void addDatapoint(Datapoint datapoint) {
+        pendingDatapoints.add(datapoint);
+        if (pendingDatapoints.size() >= DATAPOINT_BATCH_SIZE) {
+            flushDatapoints();
+        }
+    }
+
+    private void flushDatapoints() {
+        if (pendingDatapoints.isEmpty()) {
+            return;
+        }
+
+        DatapointBatch batch = new DatapointBatch(new ArrayList<>(pendingDatapoints));
+        pendingDatapoints.clear();
         try {
-            getOutput().emit(tuple(metricFormatter.format(metric), timestamp, value, tag));
-        } catch (JsonEncodeException e) {
-            log.error("Error during serialization of datapoint", e);
+            getOutput().emit(Collections.singletonList(Utils.MAPPER.writeValueAsString(batch)));
+        } catch (JsonProcessingException e) {
+            log.error("Error during serialization of datapoints", new JsonEncodeException(batch, e));
         }
     }
 
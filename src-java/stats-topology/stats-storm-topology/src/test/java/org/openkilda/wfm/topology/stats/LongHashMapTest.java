@@ -0,0 +1,85 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongHashMapTest {
+    @Test
+    public void shouldPutGetAndRemove() {
+        LongHashMap<String> map = new LongHashMap<>();
+        assertNull(map.put(0L, "zero"));
+        assertNull(map.put(-1L, "minus one"));
+        assertEquals("zero", map.put(0L, "zero again"));
+
+        assertEquals(2, map.size());
+        assertEquals("zero again", map.get(0L));
+        assertEquals("minus one", map.get(-1L));
+        assertNull(map.get(1L));
+
+        assertEquals("minus one", map.remove(-1L));
+        assertNull(map.remove(-1L));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0L));
+    }
+
+    @Test
+    public void shouldRemoveMatchingValues() {
+        LongHashMap<Long> map = new LongHashMap<>();
+        for (long key = 0; key < 100; key++) {
+            map.put(key, key);
+        }
+
+        map.removeIf(value -> value % 2 == 0);
+
+        assertEquals(50, map.size());
+        for (long key = 0; key < 100; key++) {
+            assertEquals(key % 2 == 0 ? null : Long.valueOf(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void shouldMatchHashMapOnRandomOperations() {
+        LongHashMap<Long> map = new LongHashMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // a narrow key range makes collisions, removals and re-insertions frequent
+            long key = random.nextInt(2_000) * 0x10000L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 2_000; key++) {
+            assertEquals(expected.get(key * 0x10000L), map.get(key * 0x10000L));
+        }
+    }
+}
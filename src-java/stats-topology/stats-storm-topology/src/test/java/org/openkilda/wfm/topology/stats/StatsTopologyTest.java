@@ -29,6 +29,7 @@ import org.openkilda.messaging.command.flow.BaseFlow;
 import org.openkilda.messaging.command.flow.InstallOneSwitchFlow;
 import org.openkilda.messaging.command.flow.RemoveFlow;
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointBatch;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.FlowStatsData;
@@ -559,7 +560,7 @@ public class StatsTopologyTest extends AbstractStormTest {
     private List<Datapoint> pollDatapoints(int expectedDatapointCount) {
         List<Datapoint> datapoints = new ArrayList<>();
 
-        for (int i = 0; i < expectedDatapointCount; i++) {
+        while (datapoints.size() < expectedDatapointCount) {
             ConsumerRecord<String, String> record = null;
             try {
                 record = otsdbConsumer.pollMessage(POLL_TIMEOUT);
@@ -567,8 +568,12 @@ public class StatsTopologyTest extends AbstractStormTest {
                     throw new AssertionError(String.format(POLL_DATAPOINT_ASSERT_MESSAGE,
                             expectedDatapointCount, datapoints.size()));
                 }
-                Datapoint datapoint = objectMapper.readValue(record.value(), Datapoint.class);
-                datapoints.add(datapoint);
+                InfoData data = objectMapper.readValue(record.value(), InfoData.class);
+                if (data instanceof DatapointBatch) {
+                    datapoints.addAll(((DatapointBatch) data).getDatapoints());
+                } else {
+                    datapoints.add((Datapoint) data);
+                }
             } catch (InterruptedException e) {
                 throw new AssertionError(String.format(POLL_DATAPOINT_ASSERT_MESSAGE,
                         expectedDatapointCount, datapoints.size()));
@@ -33,7 +33,6 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
-import org.openkilda.wfm.topology.stats.MeterCacheKey;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -42,7 +41,7 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Collections;
-import java.util.Map;
+import java.util.List;
 import java.util.UUID;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -58,6 +57,8 @@ public class CacheBoltTest {
     private static final Long REVERSE_METER_ID = MeterId.MIN_FLOW_METER_ID + 3L;
     private static final Long PROTECTED_REVERSE_METER_ID = MeterId.MIN_FLOW_METER_ID + 4L;
 
+    private static final int WARM_UP_PAGE_SIZE = 10;
+
     private static final SwitchId SRC_SWITCH_ID = new SwitchId(1L);
     private static final SwitchId DST_SWITCH_ID = new SwitchId(2L);
 
@@ -71,65 +72,83 @@ public class CacheBoltTest {
     @Test
     public void cacheBoltInitCookieTest() {
         Flow flow = getFlow();
-        when(flowRepository.findAll()).thenReturn(Collections.singletonList(flow));
+        when(flowRepository.findAll(0, WARM_UP_PAGE_SIZE)).thenReturn(Collections.singletonList(flow));
         when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
         when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
 
-        CacheBolt cacheBolt = new CacheBolt(persistenceManager);
+        CacheBolt cacheBolt = new CacheBolt(persistenceManager, WARM_UP_PAGE_SIZE);
         cacheBolt.init();
 
-        Map<Long, CacheFlowEntry> srcCache = cacheBolt.createCookieToFlowCache(getFlowStatsDataSrcSwitch());
+        List<CacheFlowEntry> srcCache = cacheBolt.findCookieCacheEntries(getFlowStatsDataSrcSwitch());
 
         Assert.assertEquals(2, srcCache.size());
-        assertCookieCache(flow, srcCache, FORWARD_PATH_COOKIE);
-        assertCookieCache(flow, srcCache, PROTECTED_FORWARD_PATH_COOKIE);
+        assertCacheEntry(flow, srcCache.get(0), FORWARD_PATH_COOKIE);
+        assertCacheEntry(flow, srcCache.get(1), PROTECTED_FORWARD_PATH_COOKIE);
 
-        Map<Long, CacheFlowEntry> dstCache = cacheBolt.createCookieToFlowCache(getFlowStatsDataDstSwitch());
+        List<CacheFlowEntry> dstCache = cacheBolt.findCookieCacheEntries(getFlowStatsDataDstSwitch());
 
         Assert.assertEquals(2, dstCache.size());
-        assertCookieCache(flow, dstCache, REVERSE_PATH_COOKIE);
-        assertCookieCache(flow, dstCache, PROTECTED_REVERSE_PATH_COOKIE);
+        assertCacheEntry(flow, dstCache.get(0), REVERSE_PATH_COOKIE);
+        assertCacheEntry(flow, dstCache.get(1), PROTECTED_REVERSE_PATH_COOKIE);
+    }
+
+    @Test
+    public void cacheBoltInitByPagesTest() {
+        Flow firstFlow = getFlow();
+        Flow secondFlow = getFlow(10);
+        when(flowRepository.findAll(0, 1)).thenReturn(Collections.singletonList(firstFlow));
+        when(flowRepository.findAll(1, 1)).thenReturn(Collections.singletonList(secondFlow));
+        when(flowRepository.findAll(2, 1)).thenReturn(Collections.emptyList());
+        when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
+        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+
+        CacheBolt cacheBolt = new CacheBolt(persistenceManager, 1);
+        cacheBolt.init();
+
+        List<CacheFlowEntry> cache = cacheBolt.findCookieCacheEntries(new FlowStatsData(SRC_SWITCH_ID, asList(
+                new FlowStatsEntry(0, FORWARD_PATH_COOKIE, 0, 0, 0, 0),
+                new FlowStatsEntry(0, 100L, 0, 0, 0, 0),
+                new FlowStatsEntry(0, FORWARD_PATH_COOKIE + 10, 0, 0, 0, 0))));
+
+        Assert.assertEquals(3, cache.size());
+        assertCacheEntry(firstFlow, cache.get(0), FORWARD_PATH_COOKIE);
+        Assert.assertNull(cache.get(1));
+        assertCacheEntry(secondFlow, cache.get(2), FORWARD_PATH_COOKIE + 10);
     }
 
     @Test
     public void cacheBoltInitMeterTest() {
         Flow flow = getFlow();
-        when(flowRepository.findAll()).thenReturn(Collections.singletonList(flow));
+        when(flowRepository.findAll(0, WARM_UP_PAGE_SIZE)).thenReturn(Collections.singletonList(flow));
         when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
         when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
 
-        CacheBolt cacheBolt = new CacheBolt(persistenceManager);
+        CacheBolt cacheBolt = new CacheBolt(persistenceManager, WARM_UP_PAGE_SIZE);
         cacheBolt.init();
 
-        Map<MeterCacheKey, CacheFlowEntry> srcCache = cacheBolt.createSwitchAndMeterToFlowCache(
-                getMeterStatsDataSrcSwitch());
+        List<CacheFlowEntry> srcCache = cacheBolt.findMeterCacheEntries(getMeterStatsDataSrcSwitch());
 
         Assert.assertEquals(2, srcCache.size());
-        assertMeterCache(flow, SRC_SWITCH_ID, srcCache, FORWARD_METER_ID, FORWARD_PATH_COOKIE);
-        assertMeterCache(flow, SRC_SWITCH_ID, srcCache, PROTECTED_FORWARD_METER_ID, PROTECTED_FORWARD_PATH_COOKIE);
+        assertCacheEntry(flow, srcCache.get(0), FORWARD_PATH_COOKIE);
+        assertCacheEntry(flow, srcCache.get(1), PROTECTED_FORWARD_PATH_COOKIE);
 
-        Map<MeterCacheKey, CacheFlowEntry> dstCache = cacheBolt.createSwitchAndMeterToFlowCache(
-                getMeterStatsDataDstSwitch());
+        List<CacheFlowEntry> dstCache = cacheBolt.findMeterCacheEntries(getMeterStatsDataDstSwitch());
         Assert.assertEquals(2, dstCache.size());
 
-        assertMeterCache(flow, DST_SWITCH_ID, dstCache, REVERSE_METER_ID, REVERSE_PATH_COOKIE);
-        assertMeterCache(flow, DST_SWITCH_ID, dstCache, PROTECTED_REVERSE_METER_ID, PROTECTED_REVERSE_PATH_COOKIE);
+        assertCacheEntry(flow, dstCache.get(0), REVERSE_PATH_COOKIE);
+        assertCacheEntry(flow, dstCache.get(1), PROTECTED_REVERSE_PATH_COOKIE);
     }
 
-    private void assertCookieCache(Flow flow, Map<Long, CacheFlowEntry> cookieToFlowCache, Long cookie) {
-        CacheFlowEntry entry = cookieToFlowCache.get(cookie);
+    private void assertCacheEntry(Flow flow, CacheFlowEntry entry, Long cookie) {
         Assert.assertEquals(flow.getFlowId(), entry.getFlowId());
         Assert.assertEquals(cookie, entry.getCookie());
     }
 
-    private void assertMeterCache(Flow flow, SwitchId switchId, Map<MeterCacheKey, CacheFlowEntry> cache,
-                                  Long meterId, Long cookie) {
-        CacheFlowEntry entry = cache.get(new MeterCacheKey(switchId, meterId));
-        Assert.assertEquals(flow.getFlowId(), entry.getFlowId());
-        Assert.assertEquals(cookie, entry.getCookie());
+    private Flow getFlow() {
+        return getFlow(0);
     }
 
-    private Flow getFlow() {
+    private Flow getFlow(long offset) {
         Switch srcSwitch = Switch.builder().switchId(SRC_SWITCH_ID).build();
         Switch destSwitch = Switch.builder().switchId(DST_SWITCH_ID).build();
         Flow flow = Flow.builder()
@@ -137,12 +156,14 @@ public class CacheBoltTest {
                 .srcSwitch(srcSwitch)
                 .destSwitch(destSwitch)
                 .build();
-        flow.setForwardPath(getPath(flow, srcSwitch, destSwitch, FORWARD_PATH_COOKIE, FORWARD_METER_ID));
-        flow.setProtectedForwardPath(getPath(
-                flow, srcSwitch, destSwitch, PROTECTED_FORWARD_PATH_COOKIE, PROTECTED_FORWARD_METER_ID));
-        flow.setReversePath(getPath(flow, destSwitch, srcSwitch, REVERSE_PATH_COOKIE, REVERSE_METER_ID));
-        flow.setProtectedReversePath(getPath(
-                flow, destSwitch, srcSwitch, PROTECTED_REVERSE_PATH_COOKIE, PROTECTED_REVERSE_METER_ID));
+        flow.setForwardPath(getPath(flow, srcSwitch, destSwitch,
+                FORWARD_PATH_COOKIE + offset, FORWARD_METER_ID + offset));
+        flow.setProtectedForwardPath(getPath(flow, srcSwitch, destSwitch,
+                PROTECTED_FORWARD_PATH_COOKIE + offset, PROTECTED_FORWARD_METER_ID + offset));
+        flow.setReversePath(getPath(flow, destSwitch, srcSwitch,
+                REVERSE_PATH_COOKIE + offset, REVERSE_METER_ID + offset));
+        flow.setProtectedReversePath(getPath(flow, destSwitch, srcSwitch,
+                PROTECTED_REVERSE_PATH_COOKIE + offset, PROTECTED_REVERSE_METER_ID + offset));
         return flow;
     }
 
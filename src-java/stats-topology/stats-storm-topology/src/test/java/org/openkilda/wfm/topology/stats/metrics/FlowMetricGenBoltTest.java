@@ -0,0 +1,183 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openkilda.wfm.AbstractBolt.FIELD_ID_CONTEXT;
+import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
+import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.COOKIE_CACHE_FIELD;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointBatch;
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsEntry;
+import org.openkilda.model.Cookie;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.topology.stats.CacheFlowEntry;
+import org.openkilda.wfm.topology.stats.StatsComponentType;
+import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.Commands;
+import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.FieldsNames;
+
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class FlowMetricGenBoltTest {
+    private static final SwitchId SWITCH_ID = new SwitchId(1L);
+    private static final SwitchId OTHER_SWITCH_ID = new SwitchId(2L);
+    private static final long COOKIE = Cookie.buildForwardCookie(1L).getValue();
+    private static final long TIMESTAMP = 1_000_000L;
+
+    private OutputCollector output;
+    private FlowMetricGenBolt bolt;
+
+    @Before
+    public void setUp() {
+        output = mock(OutputCollector.class);
+        TopologyContext context = mock(TopologyContext.class);
+        when(context.getThisComponentId()).thenReturn(StatsComponentType.FLOW_STATS_METRIC_GEN.name());
+        when(context.getThisTaskId()).thenReturn(1);
+
+        bolt = new FlowMetricGenBolt("kilda.");
+        bolt.prepare(Collections.emptyMap(), context, output);
+    }
+
+    @Test
+    public void shouldRebuildTagsWhenRuleAttributesChange() throws Exception {
+        Map<String, String> tags = emitStats(SWITCH_ID, new FlowStatsEntry(0, COOKIE, 1, 1, 1, 2), "flow-1");
+        assertEquals("flow-1", tags.get("flowid"));
+        assertEquals("0", tags.get("tableid"));
+        assertEquals("1", tags.get("inPort"));
+        assertEquals("2", tags.get("outPort"));
+
+        tags = emitStats(SWITCH_ID, new FlowStatsEntry(0, COOKIE, 1, 1, 1, 2), "flow-2");
+        assertEquals("flow-2", tags.get("flowid"));
+
+        tags = emitStats(SWITCH_ID, new FlowStatsEntry(0, COOKIE, 1, 1, 3, 2), "flow-2");
+        assertEquals("3", tags.get("inPort"));
+
+        tags = emitStats(SWITCH_ID, new FlowStatsEntry(0, COOKIE, 1, 1, 3, 4), "flow-2");
+        assertEquals("4", tags.get("outPort"));
+
+        tags = emitStats(SWITCH_ID, new FlowStatsEntry(1, COOKIE, 1, 1, 3, 4), "flow-2");
+        assertEquals("1", tags.get("tableid"));
+
+        tags = emitStats(SWITCH_ID, new FlowStatsEntry(1, COOKIE, 1, 1, 3, 4), null);
+        assertEquals("unknown", tags.get("flowid"));
+    }
+
+    @Test
+    public void shouldEvictTagsOfRemovedFlow() throws Exception {
+        emitStats(SWITCH_ID, new FlowStatsEntry(0, COOKIE, 1, 1, 1, 2), "flow-1");
+        assertTrue(bolt.isTagsCached(SWITCH_ID, COOKIE));
+
+        bolt.execute(makeCacheUpdateTuple(Commands.UPDATE, SWITCH_ID, COOKIE));
+        assertTrue(bolt.isTagsCached(SWITCH_ID, COOKIE));
+
+        bolt.execute(makeCacheUpdateTuple(Commands.REMOVE, OTHER_SWITCH_ID, COOKIE));
+        assertTrue(bolt.isTagsCached(SWITCH_ID, COOKIE));
+
+        bolt.execute(makeCacheUpdateTuple(Commands.REMOVE, SWITCH_ID, COOKIE));
+        assertFalse(bolt.isTagsCached(SWITCH_ID, COOKIE));
+    }
+
+    @Test
+    public void shouldEvictTagsOfSwitchWithoutStats() throws Exception {
+        emitStats(SWITCH_ID, new FlowStatsEntry(0, COOKIE, 1, 1, 1, 2), "flow-1", TIMESTAMP);
+        emitStats(OTHER_SWITCH_ID, new FlowStatsEntry(0, COOKIE, 1, 1, 1, 2), "flow-1",
+                TIMESTAMP + TimeUnit.MINUTES.toMillis(5));
+        assertTrue(bolt.isTagsCached(SWITCH_ID, COOKIE));
+
+        emitStats(OTHER_SWITCH_ID, new FlowStatsEntry(0, COOKIE, 1, 1, 1, 2), "flow-1",
+                TIMESTAMP + TimeUnit.MINUTES.toMillis(15));
+        assertFalse(bolt.isTagsCached(SWITCH_ID, COOKIE));
+        assertTrue(bolt.isTagsCached(OTHER_SWITCH_ID, COOKIE));
+    }
+
+    private Map<String, String> emitStats(SwitchId switchId, FlowStatsEntry entry, String flowId) throws Exception {
+        return emitStats(switchId, entry, flowId, TIMESTAMP);
+    }
+
+    private Map<String, String> emitStats(SwitchId switchId, FlowStatsEntry entry, String flowId, long timestamp)
+            throws Exception {
+        reset(output);
+        CacheFlowEntry flowEntry = flowId != null
+                ? new CacheFlowEntry(flowId, switchId.toOtsdFormat(), null, entry.getCookie()) : null;
+        Map<String, Object> values = new HashMap<>();
+        values.put(STATS_FIELD, new FlowStatsData(switchId, Collections.singletonList(entry)));
+        values.put(COOKIE_CACHE_FIELD, Collections.singletonList(flowEntry));
+        values.put(FIELD_ID_CONTEXT, makeContext(timestamp));
+        bolt.execute(makeTuple(StatsComponentType.STATS_CACHE_BOLT, values));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
+        verify(output, atLeastOnce()).emit(captor.capture());
+        List<Datapoint> datapoints = new ArrayList<>();
+        for (List<Object> tuple : captor.getAllValues()) {
+            datapoints.addAll(Utils.MAPPER.readValue((String) tuple.get(0), DatapointBatch.class).getDatapoints());
+        }
+        return datapoints.stream()
+                .filter(datapoint -> datapoint.getMetric().equals("kilda.flow.raw.packets"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No raw packets datapoint"))
+                .getTags();
+    }
+
+    private Tuple makeCacheUpdateTuple(Commands command, SwitchId switchId, long cookie) {
+        Map<String, Object> values = new HashMap<>();
+        values.put(FieldsNames.COMMAND.name(), command);
+        values.put(FieldsNames.SWITCH.name(), switchId.toString());
+        values.put(FieldsNames.COOKIE.name(), cookie);
+        values.put(FIELD_ID_CONTEXT, makeContext(TIMESTAMP));
+        return makeTuple(StatsComponentType.STATS_CACHE_FILTER_BOLT, values);
+    }
+
+    private static CommandContext makeContext(long timestamp) {
+        CommandContext context = mock(CommandContext.class);
+        when(context.getCreateTime()).thenReturn(timestamp);
+        return context;
+    }
+
+    private static Tuple makeTuple(StatsComponentType source, Map<String, Object> values) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceComponent()).thenReturn(source.name());
+        when(tuple.getFields()).thenReturn(new Fields(new ArrayList<>(values.keySet())));
+        when(tuple.getValues()).thenReturn(new ArrayList<>(values.values()));
+        values.forEach((field, value) -> when(tuple.getValueByField(field)).thenReturn(value));
+        when(tuple.getLongByField(FieldsNames.COOKIE.name())).thenReturn((Long) values.get(FieldsNames.COOKIE.name()));
+        return tuple;
+    }
+}
@@ -74,6 +74,19 @@ public interface SwitchManagerTopologyConfig  extends AbstractTopologyConfig {
     @Description("The timeout for performing validate and synchronize operations")
     int getProcessTimeout();
 
+    @Key("swmanager.rules.validation.threads")
+    @Default("4")
+    @Min(1)
+    @Description("The number of threads which validate rules of several switches at once")
+    int getRulesValidationThreads();
+
+    @Key("swmanager.rules.validation.batch.window.ms")
+    @Default("200")
+    @Min(0)
+    @Description("How long switches with received rules wait for other switches being validated "
+            + "to validate their rules together")
+    int getRulesValidationBatchWindow();
+
     @Key("lldp-rate-limit")
     @Default("1")
     int getLldpRateLimit(); // rate in packets per second
@@ -156,6 +156,11 @@ public class SwitchManagerHub extends HubBolt implements SwitchManagerCarrier {
         syncService.handleTaskTimeout(key);
     }
 
+    @Override
+    public void registerTimeoutCallback(String key, int timeout) {
+        registerCallback(key, timeout);
+    }
+
     @Override
     public void cancelTimeoutCallback(String key) {
         cancelCallback(key);
@@ -197,6 +197,18 @@ public class SwitchValidateFsm
         return key;
     }
 
+    public SwitchId getSwitchId() {
+        return switchId;
+    }
+
+    public List<FlowEntry> getFlowEntries() {
+        return flowEntries;
+    }
+
+    public List<FlowEntry> getExpectedDefaultFlowEntries() {
+        return expectedDefaultFlowEntries;
+    }
+
     protected void initialized(SwitchValidateState from, SwitchValidateState to,
                                SwitchValidateEvent event, Object context) {
         if (switchProperties == null) {
@@ -254,11 +266,18 @@ public class SwitchValidateFsm
     }
 
     private void checkAllDataReceived() {
-        if (flowEntries != null && presentMeters != null && expectedDefaultFlowEntries != null) {
-            fire(NEXT);
+        if (isAllDataReceived()) {
+            log.info("All switch data received, waiting for rules validation (switch={}, key={})", switchId, key);
         }
     }
 
+    /**
+     * Whether all the switch data required for validation has been received.
+     */
+    public boolean isAllDataReceived() {
+        return flowEntries != null && presentMeters != null && expectedDefaultFlowEntries != null;
+    }
+
     protected void receivingDataFailedByTimeout(SwitchValidateState from, SwitchValidateState to,
                                                 SwitchValidateEvent event, Object context) {
         ErrorData errorData = new ErrorData(ErrorType.OPERATION_TIMED_OUT, "Receiving data failed by timeout",
@@ -271,6 +290,12 @@ public class SwitchValidateFsm
 
     protected void validateRules(SwitchValidateState from, SwitchValidateState to,
                                  SwitchValidateEvent event, Object context) {
+        if (context instanceof ValidateRulesResult) {
+            log.info("Rules validated within a batch (switch={}, key={})", switchId, key);
+            validateRulesResult = (ValidateRulesResult) context;
+            return;
+        }
+
         log.info("Validate rules (switch={}, key={})", switchId, key);
         try {
             validateRulesResult = validationService.validateRules(switchId, flowEntries, expectedDefaultFlowEntries);
@@ -26,6 +26,8 @@ public interface SwitchManagerCarrier {
 
     void response(String key, Message message);
 
+    void registerTimeoutCallback(String key, int timeout);
+
     void cancelTimeoutCallback(String key);
 
     SwitchManagerTopologyConfig getTopologyConfig();
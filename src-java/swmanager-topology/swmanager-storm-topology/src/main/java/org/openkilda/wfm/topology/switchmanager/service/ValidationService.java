@@ -22,10 +22,23 @@ import org.openkilda.wfm.topology.switchmanager.model.ValidateMetersResult;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateRulesResult;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ValidationService {
     ValidateRulesResult validateRules(SwitchId switchId, List<FlowEntry> presentRules,
                                       List<FlowEntry> expectedDefaultRules);
 
+    /**
+     * Validates rules of several switches at once. The expected flow rules of all switches are fetched in a single
+     * query, so it is cheaper than validating the switches one by one when most of the network is validated, e.g.
+     * after the controller restart. The switches are validated concurrently on a bounded pool of the service.
+     *
+     * @param presentRules rule dumps by switch.
+     * @param expectedDefaultRules expected default rules by switch.
+     * @return validation results by switch, switches which failed to be validated are not included.
+     */
+    Map<SwitchId, ValidateRulesResult> validateRules(Map<SwitchId, List<FlowEntry>> presentRules,
+                                                     Map<SwitchId, List<FlowEntry>> expectedDefaultRules);
+
     ValidateMetersResult validateMeters(SwitchId switchId, List<MeterEntry> presentMeters);
 }
@@ -18,13 +18,17 @@ package org.openkilda.wfm.topology.switchmanager.service.impl;
 import org.openkilda.messaging.command.switches.SwitchValidateRequest;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.info.meter.SwitchMeterEntries;
+import org.openkilda.messaging.info.rule.FlowEntry;
 import org.openkilda.messaging.info.rule.SwitchExpectedDefaultFlowEntries;
 import org.openkilda.messaging.info.rule.SwitchFlowEntries;
+import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.wfm.topology.switchmanager.SwitchManagerTopologyConfig;
 import org.openkilda.wfm.topology.switchmanager.fsm.SwitchValidateFsm;
 import org.openkilda.wfm.topology.switchmanager.fsm.SwitchValidateFsm.SwitchValidateEvent;
 import org.openkilda.wfm.topology.switchmanager.fsm.SwitchValidateFsm.SwitchValidateState;
+import org.openkilda.wfm.topology.switchmanager.model.ValidateRulesResult;
 import org.openkilda.wfm.topology.switchmanager.service.SwitchManagerCarrier;
 import org.openkilda.wfm.topology.switchmanager.service.SwitchValidateService;
 import org.openkilda.wfm.topology.switchmanager.service.ValidationService;
@@ -33,15 +37,23 @@ import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 import org.squirrelframework.foundation.fsm.StateMachineBuilder;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 public class SwitchValidateServiceImpl implements SwitchValidateService {
 
     private Map<String, SwitchValidateFsm> fsms = new HashMap<>();
+    private Map<String, SwitchValidateFsm> rulesValidationQueue = new LinkedHashMap<>();
+    private final String rulesValidationBatchKey = "rules-validation-batch-" + UUID.randomUUID();
+    private final int rulesValidationBatchWindow;
+    private boolean rulesValidationBatchTimerActive;
 
     @VisibleForTesting
     ValidationService validationService;
@@ -52,7 +64,9 @@ public class SwitchValidateServiceImpl implements SwitchValidateService {
     public SwitchValidateServiceImpl(SwitchManagerCarrier carrier, PersistenceManager persistenceManager) {
         this.carrier = carrier;
         this.builder = SwitchValidateFsm.builder();
-        this.validationService = new ValidationServiceImpl(persistenceManager, carrier.getTopologyConfig());
+        SwitchManagerTopologyConfig topologyConfig = carrier.getTopologyConfig();
+        this.validationService = new ValidationServiceImpl(persistenceManager, topologyConfig);
+        this.rulesValidationBatchWindow = topologyConfig.getRulesValidationBatchWindow();
         this.repositoryFactory = persistenceManager.getRepositoryFactory();
     }
 
@@ -115,6 +129,12 @@ public class SwitchValidateServiceImpl implements SwitchValidateService {
 
     @Override
     public void handleTaskTimeout(String key) {
+        if (rulesValidationBatchKey.equals(key)) {
+            rulesValidationBatchTimerActive = false;
+            validateQueuedRules();
+            return;
+        }
+
         SwitchValidateFsm fsm = fsms.get(key);
         if (fsm == null) {
             return;
@@ -158,6 +178,69 @@ public class SwitchValidateServiceImpl implements SwitchValidateService {
 
         if (exitStates.contains(fsm.getCurrentState())) {
             fsms.remove(fsm.getKey());
+            rulesValidationQueue.remove(fsm.getKey());
+        } else if (fsm.getCurrentState() == SwitchValidateState.RECEIVE_DATA && fsm.isAllDataReceived()
+                && !rulesValidationQueue.containsKey(fsm.getKey())) {
+            enqueueRulesValidation(fsm);
+        }
+    }
+
+    /**
+     * Defers rules validation of the switch whose data is complete, so the switches validated concurrently share a
+     * single flow cookies query. The queue is flushed once no other validation is waiting for switch data or once
+     * the batch window is over.
+     */
+    private void enqueueRulesValidation(SwitchValidateFsm fsm) {
+        rulesValidationQueue.put(fsm.getKey(), fsm);
+
+        boolean waitingForData = rulesValidationBatchWindow > 0 && fsms.values().stream()
+                .anyMatch(each -> each.getCurrentState() == SwitchValidateState.RECEIVE_DATA
+                        && !each.isAllDataReceived());
+        if (!waitingForData) {
+            validateQueuedRules();
+        } else if (!rulesValidationBatchTimerActive) {
+            carrier.registerTimeoutCallback(rulesValidationBatchKey, rulesValidationBatchWindow);
+            rulesValidationBatchTimerActive = true;
+        }
+    }
+
+    private void validateQueuedRules() {
+        if (rulesValidationBatchTimerActive) {
+            carrier.cancelTimeoutCallback(rulesValidationBatchKey);
+            rulesValidationBatchTimerActive = false;
+        }
+        if (rulesValidationQueue.isEmpty()) {
+            return;
+        }
+
+        List<SwitchValidateFsm> queued = new ArrayList<>(rulesValidationQueue.values());
+        rulesValidationQueue.clear();
+
+        // Several validations of the same switch can't share a batch, the extra ones are validated on their own.
+        Map<SwitchId, SwitchValidateFsm> batch = new HashMap<>();
+        for (SwitchValidateFsm fsm : queued) {
+            batch.putIfAbsent(fsm.getSwitchId(), fsm);
+        }
+
+        Map<SwitchId, ValidateRulesResult> results = Collections.emptyMap();
+        if (batch.size() > 1) {
+            Map<SwitchId, List<FlowEntry>> presentRules = new HashMap<>();
+            Map<SwitchId, List<FlowEntry>> expectedDefaultRules = new HashMap<>();
+            batch.forEach((switchId, fsm) -> {
+                presentRules.put(switchId, fsm.getFlowEntries());
+                expectedDefaultRules.put(switchId, fsm.getExpectedDefaultFlowEntries());
+            });
+            try {
+                results = validationService.validateRules(presentRules, expectedDefaultRules);
+            } catch (Exception e) {
+                log.error("Failed to validate rules of {} switches at once", batch.size(), e);
+            }
+        }
+
+        for (SwitchValidateFsm fsm : queued) {
+            ValidateRulesResult result = batch.get(fsm.getSwitchId()) == fsm ? results.get(fsm.getSwitchId()) : null;
+            fsm.fire(SwitchValidateEvent.NEXT, result);
+            process(fsm);
         }
     }
 }
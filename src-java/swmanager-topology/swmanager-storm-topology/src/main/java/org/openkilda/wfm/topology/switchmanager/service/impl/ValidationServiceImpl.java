@@ -38,15 +38,23 @@ import org.openkilda.wfm.topology.switchmanager.service.ValidationService;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -58,6 +66,8 @@ public class ValidationServiceImpl implements ValidationService {
     private final int lldpRateLimit;
     private final int lldpPacketSize;
     private final long lldpMeterBurstSizeInPackets;
+    private final int rulesValidationThreads;
+    private ExecutorService rulesValidationExecutor;
 
     public ValidationServiceImpl(PersistenceManager persistenceManager, SwitchManagerTopologyConfig topologyConfig) {
         this.flowPathRepository = persistenceManager.getRepositoryFactory().createFlowPathRepository();
@@ -66,6 +76,7 @@ public class ValidationServiceImpl implements ValidationService {
         this.lldpRateLimit = topologyConfig.getLldpRateLimit();
         this.lldpPacketSize = topologyConfig.getLldpPacketSize();
         this.lldpMeterBurstSizeInPackets = topologyConfig.getLldpMeterBurstSizeInPackets();
+        this.rulesValidationThreads = topologyConfig.getRulesValidationThreads();
     }
 
     @Override
@@ -73,20 +84,47 @@ public class ValidationServiceImpl implements ValidationService {
                                              List<FlowEntry> expectedDefaultRules) {
         log.debug("Validating rules on switch {}", switchId);
 
-        Set<Long> expectedCookies = flowPathRepository.findBySegmentDestSwitch(switchId).stream()
-                .map(FlowPath::getCookie)
-                .map(Cookie::getValue)
-                .collect(Collectors.toSet());
+        long[] expectedCookies = toSortedCookies(flowPathRepository.findFlowCookiesBySwitch(switchId));
+        return makeRulesResponse(expectedCookies, presentRules, expectedDefaultRules, switchId);
+    }
 
-        Collection<FlowPath> paths = flowPathRepository.findByEndpointSwitch(switchId);
+    @Override
+    public Map<SwitchId, ValidateRulesResult> validateRules(Map<SwitchId, List<FlowEntry>> presentRules,
+                                                            Map<SwitchId, List<FlowEntry>> expectedDefaultRules) {
+        log.debug("Validating rules on {} switches", presentRules.size());
+
+        Map<SwitchId, Collection<Long>> expectedCookies = flowPathRepository.findFlowCookiesOfAllSwitches();
+        Map<SwitchId, Future<ValidateRulesResult>> tasks = new HashMap<>();
+        for (Entry<SwitchId, List<FlowEntry>> entry : presentRules.entrySet()) {
+            SwitchId switchId = entry.getKey();
+            tasks.put(switchId, getRulesValidationExecutor().submit(() -> makeRulesResponse(
+                    toSortedCookies(expectedCookies.getOrDefault(switchId, Collections.emptyList())),
+                    entry.getValue(), expectedDefaultRules.getOrDefault(switchId, Collections.emptyList()),
+                    switchId)));
+        }
 
-        paths.stream()
-                .map(FlowPath::getCookie)
-                .map(Cookie::getValue)
-                .forEach(expectedCookies::add);
+        Map<SwitchId, ValidateRulesResult> results = new HashMap<>();
+        for (Entry<SwitchId, Future<ValidateRulesResult>> entry : tasks.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                log.error("Failed to validate rules on switch {}", entry.getKey(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while validating rules", e);
+            }
+        }
+        return results;
+    }
 
-        return makeRulesResponse(
-                expectedCookies, presentRules, expectedDefaultRules, switchId);
+    private ExecutorService getRulesValidationExecutor() {
+        if (rulesValidationExecutor == null) {
+            rulesValidationExecutor = Executors.newFixedThreadPool(rulesValidationThreads, new ThreadFactoryBuilder()
+                    .setNameFormat("rules-validation-%d")
+                    .setDaemon(true)
+                    .build());
+        }
+        return rulesValidationExecutor;
     }
 
     @VisibleForTesting
@@ -106,25 +144,39 @@ public class ValidationServiceImpl implements ValidationService {
         return false;
     }
 
-    private ValidateRulesResult makeRulesResponse(Set<Long> expectedCookies, List<FlowEntry> presentRules,
+    private ValidateRulesResult makeRulesResponse(long[] expectedCookies, List<FlowEntry> presentRules,
                                                   List<FlowEntry> expectedDefaultRules, SwitchId switchId) {
-        Set<Long> presentCookies = presentRules.stream()
-                .map(FlowEntry::getCookie)
+        long[] presentCookies = presentRules.stream()
+                .mapToLong(FlowEntry::getCookie)
                 .filter(cookie -> !Cookie.isDefaultRule(cookie))
-                .collect(Collectors.toSet());
+                .sorted()
+                .distinct()
+                .toArray();
+
+        List<Long> missingRules = new ArrayList<>();
+        List<Long> properRules = new ArrayList<>();
+        List<Long> excessRules = new ArrayList<>();
+        // both arrays are sorted, so a single merge pass splits them
+        int expectedIdx = 0;
+        int presentIdx = 0;
+        while (expectedIdx < expectedCookies.length || presentIdx < presentCookies.length) {
+            if (presentIdx == presentCookies.length
+                    || (expectedIdx < expectedCookies.length
+                        && expectedCookies[expectedIdx] < presentCookies[presentIdx])) {
+                missingRules.add(expectedCookies[expectedIdx++]);
+            } else if (expectedIdx == expectedCookies.length
+                    || presentCookies[presentIdx] < expectedCookies[expectedIdx]) {
+                excessRules.add(presentCookies[presentIdx++]);
+            } else {
+                properRules.add(expectedCookies[expectedIdx++]);
+                presentIdx++;
+            }
+        }
 
-        Set<Long> missingRules = new HashSet<>(expectedCookies);
-        missingRules.removeAll(presentCookies);
         if (!missingRules.isEmpty() && log.isErrorEnabled()) {
             log.error("On switch {} the following rules are missed: {}", switchId,
                     cookiesIntoLogRepresentation(missingRules));
         }
-
-        Set<Long> properRules = new HashSet<>(expectedCookies);
-        properRules.retainAll(presentCookies);
-
-        Set<Long> excessRules = new HashSet<>(presentCookies);
-        excessRules.removeAll(expectedCookies);
         if (!excessRules.isEmpty() && log.isWarnEnabled()) {
             log.warn("On switch {} the following rules are excessive: {}", switchId,
                     cookiesIntoLogRepresentation(excessRules));
@@ -142,8 +194,16 @@ public class ValidationServiceImpl implements ValidationService {
                 ImmutableList.copyOf(misconfiguredRules));
     }
 
+    private static long[] toSortedCookies(Collection<Long> cookies) {
+        return cookies.stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
     private void validateDefaultRules(List<FlowEntry> presentRules, List<FlowEntry> expectedDefaultRules,
-                                      Set<Long> missingRules, Set<Long> properRules, Set<Long> excessRules,
+                                      List<Long> missingRules, List<Long> properRules, List<Long> excessRules,
                                       Set<Long> misconfiguredRules) {
         List<FlowEntry> presentDefaultRules = presentRules.stream()
                 .filter(rule -> Cookie.isDefaultRule(rule.getCookie()))
@@ -169,15 +229,11 @@ public class ValidationServiceImpl implements ValidationService {
             }
         });
 
-        presentDefaultRules.forEach(presentDefaultRule -> {
-            List<FlowEntry> defaultRule = expectedDefaultRules.stream()
-                    .filter(rule -> rule.getCookie() == presentDefaultRule.getCookie())
-                    .collect(Collectors.toList());
-
-            if (defaultRule.isEmpty()) {
-                excessRules.add(presentDefaultRule.getCookie());
-            }
-        });
+        presentDefaultRules.stream()
+                .map(FlowEntry::getCookie)
+                .distinct()
+                .filter(cookie -> expectedDefaultRules.stream().noneMatch(rule -> rule.getCookie() == cookie))
+                .forEach(excessRules::add);
     }
 
     private static String cookiesIntoLogRepresentation(Collection<Long> rules) {
@@ -20,6 +20,8 @@ import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -65,6 +67,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 
@@ -271,6 +275,65 @@ public class SwitchValidateServiceImplTest {
         verifyNoMoreInteractions(validationService);
     }
 
+    @Test
+    public void validateRulesOfConcurrentlyValidatedSwitchesAtOnce() {
+        SwitchId secondSwitchId = new SwitchId(0x0000000000000002L);
+        final String secondKey = "SECOND_KEY";
+        ValidateRulesResult rulesResult = new ValidateRulesResult(
+                emptyList(), singletonList(flowEntry.getCookie()), emptyList(), emptyList());
+        Map<SwitchId, ValidateRulesResult> results = new HashMap<>();
+        results.put(SWITCH_ID, rulesResult);
+        results.put(secondSwitchId, rulesResult);
+        when(validationService.validateRules(anyMap(), anyMap())).thenReturn(results);
+
+        request = SwitchValidateRequest.builder().switchId(SWITCH_ID).build();
+        service.handleSwitchValidateRequest(KEY, request);
+        service.handleSwitchValidateRequest(secondKey,
+                SwitchValidateRequest.builder().switchId(secondSwitchId).build());
+
+        service.handleFlowEntriesResponse(KEY, new SwitchFlowEntries(SWITCH_ID, singletonList(flowEntry)));
+        service.handleExpectedDefaultFlowEntriesResponse(KEY,
+                new SwitchExpectedDefaultFlowEntries(SWITCH_ID, emptyList()));
+        ArgumentCaptor<String> batchKeyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(carrier).registerTimeoutCallback(batchKeyCaptor.capture(), anyInt());
+        verify(carrier, times(0)).response(any(), any());
+
+        service.handleFlowEntriesResponse(secondKey, new SwitchFlowEntries(secondSwitchId, singletonList(flowEntry)));
+        service.handleExpectedDefaultFlowEntriesResponse(secondKey,
+                new SwitchExpectedDefaultFlowEntries(secondSwitchId, emptyList()));
+
+        verify(carrier).cancelTimeoutCallback(eq(batchKeyCaptor.getValue()));
+        verify(validationService).validateRules(anyMap(), anyMap());
+        verify(validationService, times(0)).validateRules(any(SwitchId.class), any(), any());
+
+        ArgumentCaptor<InfoMessage> responseCaptor = ArgumentCaptor.forClass(InfoMessage.class);
+        verify(carrier).response(eq(KEY), responseCaptor.capture());
+        verify(carrier).response(eq(secondKey), responseCaptor.capture());
+        for (InfoMessage message : responseCaptor.getAllValues()) {
+            SwitchValidationResponse response = (SwitchValidationResponse) message.getData();
+            assertEquals(singletonList(flowEntry.getCookie()), response.getRules().getProper());
+        }
+    }
+
+    @Test
+    public void validateRulesOfQueuedSwitchOnBatchWindowTimeout() {
+        request = SwitchValidateRequest.builder().switchId(SWITCH_ID).build();
+        service.handleSwitchValidateRequest(KEY, request);
+        service.handleSwitchValidateRequest("SECOND_KEY",
+                SwitchValidateRequest.builder().switchId(new SwitchId(0x0000000000000002L)).build());
+
+        service.handleFlowEntriesResponse(KEY, new SwitchFlowEntries(SWITCH_ID, singletonList(flowEntry)));
+        service.handleExpectedDefaultFlowEntriesResponse(KEY,
+                new SwitchExpectedDefaultFlowEntries(SWITCH_ID, emptyList()));
+        ArgumentCaptor<String> batchKeyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(carrier).registerTimeoutCallback(batchKeyCaptor.capture(), anyInt());
+
+        service.handleTaskTimeout(batchKeyCaptor.getValue());
+
+        verify(validationService).validateRules(eq(SWITCH_ID), any(), any());
+        verify(carrier).response(eq(KEY), any(InfoMessage.class));
+        verify(carrier, times(0)).response(eq("SECOND_KEY"), any());
+    }
 
     private void handleRequestAndInitDataReceive() {
         verify(carrier, times(1)).getTopologyConfig();
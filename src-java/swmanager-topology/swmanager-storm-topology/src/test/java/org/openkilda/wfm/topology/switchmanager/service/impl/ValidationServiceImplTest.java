@@ -16,6 +16,7 @@
 package org.openkilda.wfm.topology.switchmanager.service.impl;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
@@ -47,6 +48,7 @@ import org.openkilda.wfm.topology.switchmanager.model.ValidateRulesResult;
 import org.openkilda.wfm.topology.switchmanager.service.ValidationService;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import org.junit.BeforeClass;
@@ -55,6 +57,7 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 public class ValidationServiceImplTest {
@@ -181,6 +184,25 @@ public class ValidationServiceImplTest {
         assertTrue(response.getExcessRules().isEmpty());
     }
 
+    @Test
+    public void validateRulesOfSeveralSwitches() {
+        ValidationService validationService =
+                new ValidationServiceImpl(persistenceManager().withSegmentsCookies(2L, 3L).build(), topologyConfig);
+        Map<SwitchId, List<FlowEntry>> presentRules = ImmutableMap.of(
+                SWITCH_ID_A, Lists.newArrayList(FlowEntry.builder().cookie(1L).build(),
+                        FlowEntry.builder().cookie(2L).build()),
+                SWITCH_ID_B, Lists.newArrayList(FlowEntry.builder().cookie(2L).build()));
+        Map<SwitchId, ValidateRulesResult> response = validationService.validateRules(presentRules, emptyMap());
+
+        assertEquals(2, response.size());
+        assertEquals(ImmutableList.of(3L), response.get(SWITCH_ID_A).getMissingRules());
+        assertEquals(ImmutableList.of(2L), response.get(SWITCH_ID_A).getProperRules());
+        assertEquals(ImmutableList.of(1L), response.get(SWITCH_ID_A).getExcessRules());
+        assertTrue(response.get(SWITCH_ID_B).getMissingRules().isEmpty());
+        assertTrue(response.get(SWITCH_ID_B).getProperRules().isEmpty());
+        assertEquals(ImmutableList.of(2L), response.get(SWITCH_ID_B).getExcessRules());
+    }
+
     @Test
     public void validateDefaultRules() {
         ValidationService validationService = new ValidationServiceImpl(persistenceManager().build(), topologyConfig);
@@ -387,21 +409,15 @@ public class ValidationServiceImplTest {
         }
 
         private PersistenceManager build() {
-            List<FlowPath> pathsBySegment = new ArrayList<>(segmentsCookies.length);
+            List<Long> cookies = new ArrayList<>(segmentsCookies.length + ingressCookies.length);
             for (long cookie : segmentsCookies) {
-                FlowPath flowPath = mock(FlowPath.class);
-                when(flowPath.getCookie()).thenReturn(new Cookie(cookie));
-                pathsBySegment.add(flowPath);
+                cookies.add(cookie);
             }
-            List<FlowPath> flowPaths = new ArrayList<>(ingressCookies.length);
-            for (int i = 0; i < ingressCookies.length; i++) {
-                long cookie = ingressCookies[i];
-                Flow flow = buildFlow(cookie, "flow_");
-                FlowPath flowPath = buildFlowPath(flow, switchA, switchB, "path_" + cookie, cookie);
-                flowPaths.add(flowPath);
+            for (long cookie : ingressCookies) {
+                cookies.add(cookie);
             }
-            when(flowPathRepository.findBySegmentDestSwitch(any())).thenReturn(pathsBySegment);
-            when(flowPathRepository.findByEndpointSwitch(any())).thenReturn(flowPaths);
+            when(flowPathRepository.findFlowCookiesBySwitch(any())).thenReturn(cookies);
+            when(flowPathRepository.findFlowCookiesOfAllSwitches()).thenReturn(ImmutableMap.of(SWITCH_ID_A, cookies));
 
             FlowPath flowPathA = mock(FlowPath.class);
             when(flowPathA.getSrcSwitch()).thenReturn(switchB);
@@ -448,14 +464,5 @@ public class ValidationServiceImplTest {
             when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
             return persistenceManager;
         }
-
-        private Flow buildFlow(long cookie, String flowIdPrefix) {
-            return Flow.builder()
-                    .srcSwitch(switchA)
-                    .destSwitch(switchB)
-                    .detectConnectedDevices(detectConnectedDevices)
-                    .flowId(flowIdPrefix + cookie)
-                    .build();
-        }
     }
 }